@@ -0,0 +1,16 @@
+package com.hotel.booking.config;
+
+import com.vaadin.flow.component.page.AppShellConfigurator;
+import com.vaadin.flow.component.page.Push;
+
+/**
+ * Application shell configuration for Vaadin.
+ *
+ * <p>Enables server push so that data loaded in the background (see
+ * {@link com.hotel.booking.view.components.AsyncViewLoader}) can be sent to the browser
+ * via {@code UI.access} as soon as it is available, without waiting for the next
+ * client round-trip.
+ */
+@Push
+public class AppShell implements AppShellConfigurator {
+}
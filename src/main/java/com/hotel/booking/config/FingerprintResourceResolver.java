@@ -0,0 +1,148 @@
+package com.hotel.booking.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Resolves URLs carrying the content hash of the file ({@code /images/rooms/a-<md5>.png}) and
+ * marks them as immutable.
+ *
+ * <p><b>Purpose:</b> A fingerprinted URL always denotes the same bytes; a changed file gets a new
+ * URL. Browsers may therefore keep such responses for {@code maxAge} without ever revalidating.
+ * Requests without fingerprint are served as well, but keep the revalidating cache control of the
+ * resource handler.
+ *
+ * <p>The fingerprint is the MD5 hash of the content, as generated by
+ * {@link org.springframework.web.servlet.resource.ResourceUrlProvider} (see
+ * {@code RoomImageService#getImageUrl}). Responses carry it as {@code ETag}.
+ *
+ * @see StaticResourceConfig
+ */
+public class FingerprintResourceResolver extends VersionResourceResolver {
+
+    private final String cacheControl;
+
+    /**
+     * Creates the resolver for all paths of the resource handler.
+     *
+     * @param maxAge how long browsers may keep fingerprinted responses
+     */
+    public FingerprintResourceResolver(Duration maxAge) {
+        addContentVersionStrategy("/**");
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic().immutable().getHeaderValue();
+    }
+
+    @Override
+    @Nullable
+    protected Resource resolveResourceInternal(@Nullable HttpServletRequest request, String requestPath,
+                                               List<? extends Resource> locations, ResourceResolverChain chain) {
+        Resource resource = super.resolveResourceInternal(request, requestPath, locations, chain);
+        // The version resolver returns an HttpResource (with ETag) exactly when the path carried a valid fingerprint
+        return resource instanceof HttpResource versioned ? new ImmutableResource(resource, versioned, cacheControl) : resource;
+    }
+
+    /**
+     * Fingerprinted resource; adds the immutable cache control to the headers of the versioned resource.
+     */
+    private static final class ImmutableResource extends AbstractResource implements HttpResource {
+
+        private final Resource resource;
+        private final HttpResource versioned;
+        private final String cacheControl;
+
+        ImmutableResource(Resource resource, HttpResource versioned, String cacheControl) {
+            this.resource = resource;
+            this.versioned = versioned;
+            this.cacheControl = cacheControl;
+        }
+
+        @Override
+        public HttpHeaders getResponseHeaders() {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(versioned.getResponseHeaders());
+            headers.setCacheControl(cacheControl);
+            return headers;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return resource.getInputStream();
+        }
+
+        @Override
+        public boolean exists() {
+            return resource.exists();
+        }
+
+        @Override
+        public boolean isReadable() {
+            return resource.isReadable();
+        }
+
+        @Override
+        public URL getURL() throws IOException {
+            return resource.getURL();
+        }
+
+        @Override
+        public URI getURI() throws IOException {
+            return resource.getURI();
+        }
+
+        @Override
+        public File getFile() throws IOException {
+            return resource.getFile();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return resource.contentLength();
+        }
+
+        @Override
+        public long lastModified() throws IOException {
+            return resource.lastModified();
+        }
+
+        @Override
+        public Resource createRelative(String relativePath) throws IOException {
+            return resource.createRelative(relativePath);
+        }
+
+        @Override
+        @Nullable
+        public String getFilename() {
+            return resource.getFilename();
+        }
+
+        @Override
+        public String getDescription() {
+            return resource.getDescription();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || (other instanceof ImmutableResource immutable && resource.equals(immutable.resource));
+        }
+
+        @Override
+        public int hashCode() {
+            return resource.hashCode();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.hotel.booking.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resource resolver keeping the content of small, frequently requested files in memory.
+ *
+ * <p><b>Purpose:</b> Thumbnails and room card images are requested on every guest portal visit.
+ * Files up to {@code maxFileSize} are read from disk once and then served from memory until they
+ * change on disk (checked by their modification time). The cache holds at most {@code capacity}
+ * bytes; the least recently requested files are dropped first. Larger files are streamed from
+ * disk as before.
+ *
+ * <p>Registered in the resource chain of {@link StaticResourceConfig}, behind the caching and
+ * versioning resolvers, so the content hash of a file is computed from memory as well.
+ *
+ * @see StaticResourceConfig
+ */
+public class InMemoryResourceResolver extends AbstractResourceResolver {
+
+    private final long maxFileSize;
+    private final long capacity;
+
+    // Access-ordered: iteration starts with the least recently used file
+    private final Map<String, Content> contents = new LinkedHashMap<>(64, 0.75f, true);
+    private long size;
+
+    /**
+     * Creates the resolver.
+     *
+     * @param maxFileSize largest file kept in memory
+     * @param capacity    total size of all files kept in memory
+     */
+    public InMemoryResourceResolver(DataSize maxFileSize, DataSize capacity) {
+        this.maxFileSize = maxFileSize.toBytes();
+        this.capacity = capacity.toBytes();
+    }
+
+    @Override
+    @Nullable
+    protected Resource resolveResourceInternal(@Nullable HttpServletRequest request, String requestPath,
+                                               List<? extends Resource> locations, ResourceResolverChain chain) {
+        Resource resource = chain.resolveResource(request, requestPath, locations);
+        if (resource == null || !resource.isReadable()) {
+            return resource;
+        }
+        try {
+            return resource.contentLength() <= maxFileSize ? new InMemoryResource(resource) : resource;
+        } catch (IOException e) {
+            return resource;
+        }
+    }
+
+    @Override
+    @Nullable
+    protected String resolveUrlPathInternal(String resourceUrlPath, List<? extends Resource> locations,
+                                            ResourceResolverChain chain) {
+        return chain.resolveUrlPath(resourceUrlPath, locations);
+    }
+
+    /**
+     * @return number of bytes currently held in memory
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    // Returns the cached content if the file has not changed since it was read, reads it otherwise
+    private byte[] content(Resource file) throws IOException {
+        String key = file.getURL().toString();
+        long lastModified = file.lastModified();
+        synchronized (this) {
+            Content cached = contents.get(key);
+            if (cached != null && cached.lastModified() == lastModified) {
+                return cached.bytes();
+            }
+        }
+        byte[] bytes;
+        try (InputStream in = file.getInputStream()) {
+            bytes = in.readAllBytes();
+        }
+        if (bytes.length <= maxFileSize) {
+            put(key, new Content(bytes, lastModified));
+        }
+        return bytes;
+    }
+
+    private synchronized void put(String key, Content content) {
+        Content previous = contents.put(key, content);
+        size += content.bytes().length - (previous != null ? previous.bytes().length : 0);
+        Iterator<Content> eldest = contents.values().iterator();
+        while (size > capacity && eldest.hasNext()) {
+            size -= eldest.next().bytes().length;
+            eldest.remove();
+        }
+    }
+
+    private record Content(byte[] bytes, long lastModified) {
+    }
+
+    /**
+     * Handle of a small file; metadata comes from the file, the content from memory. The handle
+     * itself is cheap, so the resource chain may cache it without holding the content.
+     */
+    private final class InMemoryResource extends AbstractResource {
+
+        private final Resource file;
+
+        InMemoryResource(Resource file) {
+            this.file = file;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new ByteArrayInputStream(content(file));
+        }
+
+        @Override
+        public boolean exists() {
+            return file.exists();
+        }
+
+        @Override
+        public boolean isReadable() {
+            return file.isReadable();
+        }
+
+        @Override
+        public URL getURL() throws IOException {
+            return file.getURL();
+        }
+
+        @Override
+        public URI getURI() throws IOException {
+            return file.getURI();
+        }
+
+        @Override
+        public File getFile() throws IOException {
+            return file.getFile();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return file.contentLength();
+        }
+
+        @Override
+        public long lastModified() throws IOException {
+            return file.lastModified();
+        }
+
+        @Override
+        public Resource createRelative(String relativePath) throws IOException {
+            return file.createRelative(relativePath);
+        }
+
+        @Override
+        @Nullable
+        public String getFilename() {
+            return file.getFilename();
+        }
+
+        @Override
+        public String getDescription() {
+            return "in-memory " + file.getDescription();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other || (other instanceof InMemoryResource resource && file.equals(resource.file));
+        }
+
+        @Override
+        public int hashCode() {
+            return file.hashCode();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.hotel.booking.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Provides the bounded thread pool used to render invoice PDFs for archive exports.
+ *
+ * <p><b>Purpose:</b> The monthly invoice archive renders its PDFs in parallel. The pool size
+ * caps how many documents are rendered (and held in memory) at once, independent of how many
+ * invoices a month has.
+ *
+ * <p><b>Configuration:</b>
+ * <ul>
+ *   <li>{@code app.invoices.export.parallelism} (default: {@code 4}) – number of worker threads</li>
+ * </ul>
+ */
+@Configuration
+public class InvoiceExportExecutorConfig {
+
+    /**
+     * Creates the fixed-size executor for invoice rendering. Spring shuts it down on context close.
+     *
+     * @param parallelism number of worker threads ({@code app.invoices.export.parallelism})
+     * @return the invoice export executor
+     */
+    @Bean(name = "invoiceExportExecutor")
+    public ExecutorService invoiceExportExecutor(@Value("${app.invoices.export.parallelism:4}") int parallelism) {
+        return Executors.newFixedThreadPool(Math.max(1, parallelism),
+                Thread.ofPlatform().name("invoice-export-", 0).daemon(true).factory());
+    }
+}
@@ -0,0 +1,39 @@
+package com.hotel.booking.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Provides the bounded thread pool that re-renders cached invoice PDFs in the background.
+ *
+ * <p><b>Purpose:</b> After payments, cancellations or bookings change, the invoice PDF cache
+ * renders the affected invoices again. The debounce of these changes runs on the shared task
+ * scheduler; the rendering itself runs here, so a reconciliation touching many payments does not
+ * block the scheduler (dashboard refresh, delayed file deletion) with iText work.
+ *
+ * <p><b>Configuration:</b>
+ * <ul>
+ *   <li>{@code app.invoices.pdf-cache.parallelism} (default: {@code 2}) – number of worker threads</li>
+ * </ul>
+ *
+ * @see com.hotel.booking.service.InvoicePdfCache
+ */
+@Configuration
+public class InvoicePdfExecutorConfig {
+
+    /**
+     * Creates the fixed-size executor for invoice re-rendering. Spring shuts it down on context close.
+     *
+     * @param parallelism number of worker threads ({@code app.invoices.pdf-cache.parallelism})
+     * @return the invoice PDF executor
+     */
+    @Bean(name = "invoicePdfExecutor")
+    public ExecutorService invoicePdfExecutor(@Value("${app.invoices.pdf-cache.parallelism:2}") int parallelism) {
+        return Executors.newFixedThreadPool(Math.max(1, parallelism),
+                Thread.ofPlatform().name("invoice-pdf-", 0).daemon(true).factory());
+    }
+}
@@ -0,0 +1,166 @@
+package com.hotel.booking.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process region factory for the Hibernate second-level cache.
+ *
+ * <p><b>Purpose:</b> Reference data (room categories, rooms, images, extras, amenities) is read on
+ * almost every request but changes rarely. Each cache region is a {@link ConcurrentHashMap} in the
+ * heap of this node; the locking, versioning and invalidation on writes is done by Hibernate's
+ * {@code READ_WRITE} access strategies on top of it. Regions are unbounded, so only small entity
+ * types should be marked as cacheable.
+ *
+ * <p><b>Statistics:</b> Every region counts its hits, misses and puts independently of
+ * {@code hibernate.generate_statistics}; see {@link #getRegionStatistics()}.
+ *
+ * <p><b>Configuration</b> (application.properties):
+ * <ul>
+ *   <li>{@code spring.jpa.properties.hibernate.cache.region.factory_class} – this class</li>
+ *   <li>{@code spring.jpa.properties.hibernate.cache.use_second_level_cache} – entity and collection regions</li>
+ *   <li>{@code spring.jpa.properties.hibernate.cache.use_query_cache} – query result and timestamp regions</li>
+ * </ul>
+ *
+ * <p>The cache is local to one JVM. With several application nodes a write on one node does not
+ * invalidate the other nodes; switch to a clustered provider before scaling out.
+ */
+public class LocalCacheRegionFactory extends RegionFactoryTemplate {
+
+    private final Map<String, MapStorageAccess> regions = new ConcurrentHashMap<>();
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        regions.clear();
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        regions.values().forEach(MapStorageAccess::release);
+        regions.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return region(regionConfig.getRegionName());
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        return region(regionName);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+                                                                SessionFactoryImplementor sessionFactory) {
+        return region(regionName);
+    }
+
+    /**
+     * Returns the counters of all regions, ordered by name.
+     *
+     * @return one entry per region
+     */
+    public List<RegionStatistics> getRegionStatistics() {
+        return regions.entrySet().stream()
+                .map(e -> e.getValue().statistics(e.getKey()))
+                .sorted(Comparator.comparing(RegionStatistics::region))
+                .toList();
+    }
+
+    private MapStorageAccess region(String regionName) {
+        return regions.computeIfAbsent(regionName, name -> new MapStorageAccess());
+    }
+
+    /**
+     * Counters of one cache region since startup.
+     *
+     * @param region  the region name (entity, collection role or query/timestamps region)
+     * @param hits    lookups that found an entry
+     * @param misses  lookups that did not
+     * @param puts    entries written
+     * @param entries entries currently held
+     */
+    public record RegionStatistics(String region, long hits, long misses, long puts, int entries) {
+
+        /**
+         * @return hits relative to all lookups, {@code 0} before the first lookup
+         */
+        @JsonProperty
+        public double hitRatio() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+    }
+
+    // One region: a concurrent map plus counters
+    private static final class MapStorageAccess implements DomainDataStorageAccess {
+
+        private final Map<Object, Object> entries = new ConcurrentHashMap<>();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder puts = new LongAdder();
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            Object value = entries.get(key);
+            (value == null ? misses : hits).increment();
+            return value;
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            entries.put(key, value);
+            puts.increment();
+        }
+
+        @Override
+        public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+            entries.remove(key);
+        }
+
+        @Override
+        public void clearCache(SharedSessionContractImplementor session) {
+            entries.clear();
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return entries.containsKey(key);
+        }
+
+        @Override
+        public void evictData() {
+            entries.clear();
+        }
+
+        @Override
+        public void evictData(Object key) {
+            entries.remove(key);
+        }
+
+        @Override
+        public void release() {
+            entries.clear();
+        }
+
+        RegionStatistics statistics(String region) {
+            return new RegionStatistics(region, hits.sum(), misses.sum(), puts.sum(), entries.size());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.hotel.booking.config;
+
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.server.WrappedSession;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Keeps a session on the primary database for a short time after it has written.
+ *
+ * <p><b>Purpose:</b> The replica lags behind the primary. Without the guard a guest who has just
+ * booked could open "My bookings" or download the invoice and not see the new rows. Every
+ * read-write transaction registers a {@link TransactionSynchronization} that marks the current
+ * session when the transaction commits, whatever it wrote (entities, bulk updates, plain SQL).
+ * Read-only transactions of that session are then routed to the primary until the window has
+ * passed.
+ *
+ * <p>The session is the current Vaadin session or, for other requests (e.g. the invoice download
+ * under {@code /api}), the HTTP session of the current request; the guard never creates one.
+ * Reads without a session (background loaders, scheduled jobs) are never pinned and always use
+ * the replica.
+ *
+ * <p>Spring Boot registers the guard with the transaction manager as
+ * {@link TransactionExecutionListener}.
+ *
+ * @see ReplicaDataSourceConfig
+ */
+public class ReadYourWritesGuard implements TransactionExecutionListener {
+
+    private static final String LAST_WRITE_ATTRIBUTE = ReadYourWritesGuard.class.getName() + ".lastWrite";
+
+    private final Duration window;
+    private final Clock clock;
+
+    /**
+     * @param window how long a session reads from the primary after its last write
+     * @param clock  time source
+     */
+    public ReadYourWritesGuard(Duration window, Clock clock) {
+        this.window = window;
+        this.clock = clock;
+    }
+
+    /**
+     * Registers the commit callback for every new read-write transaction.
+     */
+    @Override
+    public void afterBegin(TransactionExecution transaction, @Nullable Throwable beginFailure) {
+        if (beginFailure != null || transaction.isReadOnly()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                markWritten();
+            }
+        });
+    }
+
+    /**
+     * Marks the current session as writer.
+     */
+    void markWritten() {
+        Instant now = clock.instant();
+        WrappedSession vaadinSession = currentVaadinSession();
+        if (vaadinSession != null) {
+            vaadinSession.setAttribute(LAST_WRITE_ATTRIBUTE, now);
+            return;
+        }
+        HttpSession httpSession = currentHttpSession();
+        if (httpSession != null) {
+            httpSession.setAttribute(LAST_WRITE_ATTRIBUTE, now);
+        }
+    }
+
+    /**
+     * @return {@code true} if the current session has written within the window
+     */
+    public boolean isPinnedToPrimary() {
+        Object lastWrite = lastWrite();
+        return lastWrite instanceof Instant instant && instant.plus(window).isAfter(clock.instant());
+    }
+
+    @Nullable
+    private static Object lastWrite() {
+        WrappedSession vaadinSession = currentVaadinSession();
+        if (vaadinSession != null) {
+            return vaadinSession.getAttribute(LAST_WRITE_ATTRIBUTE);
+        }
+        HttpSession httpSession = currentHttpSession();
+        return httpSession != null ? httpSession.getAttribute(LAST_WRITE_ATTRIBUTE) : null;
+    }
+
+    @Nullable
+    private static WrappedSession currentVaadinSession() {
+        VaadinSession session = VaadinSession.getCurrent();
+        return session == null ? null : session.getSession();
+    }
+
+    // Existing session of the current (non-Vaadin) request
+    @Nullable
+    private static HttpSession currentHttpSession() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes request ? request.getRequest().getSession(false) : null;
+    }
+}
@@ -0,0 +1,88 @@
+package com.hotel.booking.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.time.Clock;
+import java.time.Duration;
+import javax.sql.DataSource;
+
+/**
+ * Routes read-only transactions to a MariaDB replica and everything else to the primary.
+ *
+ * <p><b>Purpose:</b> Most traffic consists of reads (grids, reports, availability search, invoice
+ * and payment lists). Services mark these paths with {@code @Transactional(readOnly = true)}; Spring
+ * then flags the JDBC connection read-only before its first use and the
+ * {@link LazyConnectionDataSourceProxy} takes the physical connection from the replica pool instead
+ * of the primary pool. Writes, read-write transactions, schema creation and {@code data.sql} always
+ * use the primary. After a write the {@link ReadYourWritesGuard} keeps the session on the primary
+ * for a short window to hide the replication lag.
+ *
+ * <p><b>Configuration:</b> only active when a replica URL is set; without it Spring Boot's single
+ * {@code spring.datasource} is used unchanged.
+ * <ul>
+ *   <li>{@code spring.datasource.*} / {@code spring.datasource.hikari.*} – primary</li>
+ *   <li>{@code app.datasource.replica.jdbc-url} – replica URL (enables the routing)</li>
+ *   <li>{@code app.datasource.replica.*} – further Hikari settings of the replica pool, e.g.
+ *       {@code username}, {@code password}, {@code maximum-pool-size}; user and password default
+ *       to those of the primary</li>
+ *   <li>{@code app.datasource.replica.read-your-writes-window} (default: {@code PT5S})</li>
+ * </ul>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty("app.datasource.replica.jdbc-url")
+public class ReplicaDataSourceConfig {
+
+    /**
+     * Connection pool of the primary, configured like Spring Boot's default data source.
+     */
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Read-only connection pool of the replica.
+     */
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("app.datasource.replica")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setUsername(properties.determineUsername());
+        dataSource.setPassword(properties.determinePassword());
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesGuard readYourWritesGuard(
+            @Value("${app.datasource.replica.read-your-writes-window:PT5S}") Duration window) {
+        return new ReadYourWritesGuard(window, Clock.systemUTC());
+    }
+
+    /**
+     * The application data source: primary for read-write, replica (or pinned primary) for read-only.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReadYourWritesGuard guard) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replica, guard));
+        return dataSource;
+    }
+}
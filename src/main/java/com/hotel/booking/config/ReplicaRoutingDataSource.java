@@ -0,0 +1,34 @@
+package com.hotel.booking.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.Map;
+import javax.sql.DataSource;
+
+/**
+ * Data source for read-only transactions: the replica, or the primary while the
+ * {@link ReadYourWritesGuard} pins the current session to it.
+ *
+ * @see ReplicaDataSourceConfig
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReadYourWritesGuard guard;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesGuard guard) {
+        this.guard = guard;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(replica);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return guard.isPinnedToPrimary() ? Target.PRIMARY : Target.REPLICA;
+    }
+}
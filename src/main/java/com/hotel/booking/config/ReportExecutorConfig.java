@@ -0,0 +1,36 @@
+package com.hotel.booking.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Provides the bounded thread pool used for parallel report calculations.
+ *
+ * <p><b>Purpose:</b> Multi-period comparison reports compute every period in its own task and
+ * read-only transaction. The pool size caps how many of these run at once, so a single report
+ * cannot exhaust the JDBC connection pool.
+ *
+ * <p><b>Configuration:</b>
+ * <ul>
+ *   <li>{@code app.reports.parallelism} (default: {@code 4}) – number of worker threads</li>
+ * </ul>
+ */
+@Configuration
+public class ReportExecutorConfig {
+
+    /**
+     * Creates the fixed-size executor for report tasks. Spring shuts it down on context close.
+     *
+     * @param parallelism number of worker threads ({@code app.reports.parallelism})
+     * @return the report executor
+     */
+    @Bean(name = "reportExecutor")
+    public ExecutorService reportExecutor(@Value("${app.reports.parallelism:4}") int parallelism) {
+        return Executors.newFixedThreadPool(Math.max(1, parallelism),
+                Thread.ofPlatform().name("report-worker-", 0).daemon(true).factory());
+    }
+}
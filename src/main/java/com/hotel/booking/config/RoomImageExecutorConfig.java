@@ -0,0 +1,36 @@
+package com.hotel.booking.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Provides the bounded thread pool that generates the scaled-down derivatives of room images.
+ *
+ * <p><b>Purpose:</b> Decoding and scaling a multi-megabyte photo takes a noticeable amount of CPU
+ * and memory. The pool runs this work after the upload has been saved, so the upload dialog does
+ * not wait for it, and caps how many images are decoded at once.
+ *
+ * <p><b>Configuration:</b>
+ * <ul>
+ *   <li>{@code app.images.derivatives.parallelism} (default: {@code 2}) – number of worker threads</li>
+ * </ul>
+ */
+@Configuration
+public class RoomImageExecutorConfig {
+
+    /**
+     * Creates the fixed-size executor for image derivatives. Spring shuts it down on context close.
+     *
+     * @param parallelism number of worker threads ({@code app.images.derivatives.parallelism})
+     * @return the room image executor
+     */
+    @Bean(name = "roomImageExecutor")
+    public ExecutorService roomImageExecutor(@Value("${app.images.derivatives.parallelism:2}") int parallelism) {
+        return Executors.newFixedThreadPool(Math.max(1, parallelism),
+                Thread.ofPlatform().name("room-image-", 0).daemon(true).factory());
+    }
+}
@@ -0,0 +1,16 @@
+package com.hotel.booking.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} methods.
+ *
+ * <p><b>Purpose:</b> Background jobs such as the refresh of the shared dashboard snapshot
+ * (see {@link com.hotel.booking.service.LiveDashboardService}) run on the
+ * {@code TaskScheduler} auto-configured by Spring Boot ({@code spring.task.scheduling.*}).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
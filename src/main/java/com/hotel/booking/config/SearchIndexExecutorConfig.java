@@ -0,0 +1,32 @@
+package com.hotel.booking.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Provides the single thread that maintains the global search index.
+ *
+ * <p><b>Purpose:</b> Building the index streams every booking, user, invoice and payment, and each
+ * committed change re-reads a few rows. Neither should delay application startup or the request
+ * that committed the change. All index work runs on this one thread, in submission order: change
+ * events committed while the initial build is running are applied after it, so the build never
+ * overwrites newer data or re-adds deleted records.
+ *
+ * @see com.hotel.booking.service.GlobalSearchService
+ */
+@Configuration
+public class SearchIndexExecutorConfig {
+
+    /**
+     * Creates the single-threaded executor of the search index. Spring shuts it down on context close.
+     *
+     * @return the search index executor
+     */
+    @Bean(name = "searchIndexExecutor")
+    public ExecutorService searchIndexExecutor() {
+        return Executors.newSingleThreadExecutor(Thread.ofPlatform().name("search-index").daemon(true).factory());
+    }
+}
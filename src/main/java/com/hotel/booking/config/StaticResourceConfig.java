@@ -2,11 +2,17 @@ package com.hotel.booking.config;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.HttpResource;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 
 /**
  * Configures static resource handling for images served from a writable filesystem directory.
@@ -18,33 +24,57 @@ import java.nio.file.Paths;
  * <p><b>Configuration:</b>
  * <ul>
  *   <li>{@code app.images.root-dir} (default: {@code data/images}) – root directory where images are stored</li>
+ *   <li>{@code app.images.cache.max-age} (default: {@code P365D}) – how long browsers keep fingerprinted images</li>
+ *   <li>{@code app.images.cache.memory-max-file-size} (default: {@code 256KB}) – largest file served from memory</li>
+ *   <li>{@code app.images.cache.memory-size} (default: {@code 32MB}) – memory for small, frequently requested files</li>
  * </ul>
  *
  * <p>All HTTP requests to {@code /images/**} are mapped to the configured filesystem directory.
  *
+ * <p><b>Caching:</b> URLs with the content hash in the file name ({@code /images/rooms/a-<md5>.png},
+ * generated by {@code RoomImageService}) are immutable and cached by browsers for
+ * {@code app.images.cache.max-age}. Plain URLs are revalidated on every use, which costs a
+ * {@code 304 Not Modified} thanks to {@code ETag} and {@code Last-Modified}. The resolved files
+ * are cached by the resource chain, and small ones are served from memory.
+ *
  * @author Artur Derr
  * @see ImageDemoSeeder
+ * @see FingerprintResourceResolver
+ * @see InMemoryResourceResolver
  */
 @Configuration
 public class StaticResourceConfig implements WebMvcConfigurer {
 
     private final String imagesRootDir;
+    private final Duration maxAge;
+    private final DataSize memoryMaxFileSize;
+    private final DataSize memorySize;
 
     /**
      * Creates a new static resource configuration with the images root directory.
      *
-     * @param imagesRootDir the root directory path where images are stored; will be resolved to an
-     *                      absolute, normalized path
+     * @param imagesRootDir     the root directory path where images are stored; will be resolved to an
+     *                          absolute, normalized path
+     * @param maxAge            how long browsers keep fingerprinted images
+     * @param memoryMaxFileSize largest file kept in memory
+     * @param memorySize        total size of the files kept in memory
      */
-    public StaticResourceConfig(@Value("${app.images.root-dir:data/images}") String imagesRootDir) {
+    public StaticResourceConfig(@Value("${app.images.root-dir:data/images}") String imagesRootDir,
+                                @Value("${app.images.cache.max-age:P365D}") Duration maxAge,
+                                @Value("${app.images.cache.memory-max-file-size:256KB}") DataSize memoryMaxFileSize,
+                                @Value("${app.images.cache.memory-size:32MB}") DataSize memorySize) {
         this.imagesRootDir = imagesRootDir;
+        this.maxAge = maxAge;
+        this.memoryMaxFileSize = memoryMaxFileSize;
+        this.memorySize = memorySize;
     }
 
     /**
      * Registers resource handlers to serve images from the configured filesystem directory.
      *
      * <p>Maps all requests matching {@code /images/**} to the absolute filesystem path configured
-     * via {@code app.images.root-dir}, ensuring trailing slash in the location URL.
+     * via {@code app.images.root-dir}, ensuring trailing slash in the location URL. Fingerprinted
+     * URLs are resolved by the resource chain and served as immutable.
      *
      * @param registry the {@link ResourceHandlerRegistry} to register handlers with
      */
@@ -62,6 +92,32 @@ public class StaticResourceConfig implements WebMvcConfigurer {
                 // First try the writable filesystem directory (uploads/runtime images)
                 .addResourceLocations(location)
                 // Fallback to bundled classpath images (e.g., login background)
-                .addResourceLocations("classpath:/static/images/");
+                .addResourceLocations("classpath:/static/images/")
+                // Plain URLs: always revalidate; fingerprinted URLs override this with "immutable"
+                .setCacheControl(CacheControl.noCache().cachePublic())
+                .setUseLastModified(true)
+                .setEtagGenerator(StaticResourceConfig::etag)
+                // Caches resolved files and generated fingerprints
+                .resourceChain(true)
+                .addResolver(new FingerprintResourceResolver(maxAge))
+                .addResolver(new InMemoryResourceResolver(memoryMaxFileSize, memorySize));
+    }
+
+    /**
+     * Returns the ETag of an image: the fingerprint for fingerprinted URLs, otherwise derived from
+     * modification time and size, so no request has to read the file to answer a revalidation.
+     *
+     * @param resource the resolved image
+     * @return the ETag value, or {@code null} if the file cannot be read
+     */
+    static String etag(Resource resource) {
+        if (resource instanceof HttpResource httpResource && httpResource.getResponseHeaders().getETag() != null) {
+            return httpResource.getResponseHeaders().getETag();
+        }
+        try {
+            return Long.toHexString(resource.lastModified()) + "-" + Long.toHexString(resource.contentLength());
+        } catch (IOException e) {
+            return null;
+        }
     }
 }
@@ -0,0 +1,39 @@
+package com.hotel.booking.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Provides the bounded thread pool used to load view data in the background.
+ *
+ * <p><b>Purpose:</b> Views such as the dashboard and the reports show placeholder cards
+ * immediately and compute their KPIs on this pool instead of the Vaadin request thread.
+ * The fixed size keeps the number of concurrent KPI queries bounded regardless of how many
+ * sessions navigate at the same time.
+ *
+ * <p><b>Configuration:</b>
+ * <ul>
+ *   <li>{@code app.views.loader-threads} (default: {@code 8}) – number of worker threads</li>
+ * </ul>
+ *
+ * @see com.hotel.booking.view.components.AsyncViewLoader
+ */
+@Configuration
+public class ViewLoaderExecutorConfig {
+
+    /**
+     * Creates the fixed-size executor for view loaders. Spring shuts it down on context close.
+     *
+     * @param threads number of worker threads ({@code app.views.loader-threads})
+     * @return the view loader executor
+     */
+    @Bean(name = "viewLoaderExecutor")
+    public ExecutorService viewLoaderExecutor(@Value("${app.views.loader-threads:8}") int threads) {
+        return Executors.newFixedThreadPool(Math.max(1, threads),
+                Thread.ofPlatform().name("view-loader-", 0).daemon(true).factory());
+    }
+}
@@ -0,0 +1,44 @@
+package com.hotel.booking.controller;
+
+import com.hotel.booking.config.LocalCacheRegionFactory.RegionStatistics;
+import com.hotel.booking.service.CacheStatisticsService;
+import com.hotel.booking.service.InvoicePdfCache;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST Controller exposing the second-level cache statistics.
+ * 
+ * Returns one JSON object per cache region with hits, misses, puts, current
+ * entries and the hit ratio, and the counters of the invoice PDF cache
+ * (render time and size). Access is restricted to managers in
+ * {@link com.hotel.booking.security.SecurityConfig}.
+ * 
+ * @see CacheStatisticsService
+ * @see InvoicePdfCache
+ */
+@RestController
+@RequestMapping("/api/cache")
+public class CacheStatisticsController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+    private final InvoicePdfCache invoicePdfCache;
+
+    public CacheStatisticsController(CacheStatisticsService cacheStatisticsService, InvoicePdfCache invoicePdfCache) {
+        this.cacheStatisticsService = cacheStatisticsService;
+        this.invoicePdfCache = invoicePdfCache;
+    }
+
+    @GetMapping("/statistics")
+    public List<RegionStatistics> statistics() {
+        return cacheStatisticsService.getRegionStatistics();
+    }
+
+    @GetMapping("/invoice-pdfs")
+    public InvoicePdfCache.Statistics invoicePdfStatistics() {
+        return invoicePdfCache.getStatistics();
+    }
+}
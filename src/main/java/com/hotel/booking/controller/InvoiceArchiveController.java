@@ -0,0 +1,61 @@
+package com.hotel.booking.controller;
+
+import com.hotel.booking.service.InvoiceArchiveService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * REST Controller for the invoice archive export (accounting).
+ * 
+ * Streams the PDFs of all invoices issued in a period as one ZIP file. The archive is
+ * written to the response while the invoices are rendered, so the download starts
+ * immediately and the server never holds the whole archive. Access is restricted to
+ * managers in {@link com.hotel.booking.security.SecurityConfig}.
+ * 
+ * @see InvoiceArchiveService
+ */
+@RestController
+@RequestMapping("/api/invoices")
+public class InvoiceArchiveController {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvoiceArchiveController.class);
+    private final InvoiceArchiveService invoiceArchiveService;
+
+    public InvoiceArchiveController(InvoiceArchiveService invoiceArchiveService) {
+        this.invoiceArchiveService = invoiceArchiveService;
+    }
+
+    // Written synchronously: a month of invoices may take longer than the async request timeout
+    @GetMapping("/archive")
+    public void downloadArchive(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                HttpServletResponse response) throws IOException {
+        if (to.isBefore(from)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "'to' must not be before 'from'");
+            return;
+        }
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + invoiceArchiveService.getArchiveFileName(from, to) + "\"");
+        try {
+            invoiceArchiveService.writeArchive(from, to, response.getOutputStream());
+        } catch (RuntimeException e) {
+            // Headers and part of the archive may be sent already; the client sees a broken download
+            logger.error("Error exporting invoices {} - {}", from, to, e);
+            if (!response.isCommitted()) {
+                response.reset();
+                response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            }
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.hotel.booking.controller;
 
 import com.hotel.booking.entity.Invoice;
+import com.hotel.booking.service.InvoicePdfCache;
 import com.hotel.booking.service.InvoiceService;
 import com.hotel.booking.service.InvoicePdfService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -10,18 +13,28 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 /**
  * REST Controller for handling invoice PDF download requests.
  * 
  * This controller provides endpoints for downloading invoices as PDF files.
- * It handles the retrieval of invoice data and PDF generation, then returns
- * the generated PDF file to the client with appropriate HTTP headers.
+ * PDFs come from the {@link InvoicePdfCache}; the cache key is sent as {@code ETag}, so a
+ * client that still has the current version receives {@code 304 Not Modified}. Cached files
+ * are handed to Tomcat's sendfile support (zero-copy) when the connector offers it and are
+ * otherwise streamed with a small copy buffer; no PDF is held in memory as a whole.
  * 
  * @author Arman Özcanli
  * @see InvoiceService
+ * @see InvoicePdfCache
  * @see InvoicePdfService
  */
 @RestController
@@ -29,38 +42,69 @@ import org.slf4j.LoggerFactory;
 public class InvoiceDownloadController {
 
     private static final Logger logger = LoggerFactory.getLogger(InvoiceDownloadController.class);
+
+    // Request attributes of Tomcat's sendfile support (org.apache.coyote.Constants)
+    static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final InvoiceService invoiceService;
-    private final InvoicePdfService invoicePdfService;
+    private final InvoicePdfCache invoicePdfCache;
 
     /**
      * Constructs an InvoiceDownloadController with required dependencies.
      * 
      * @param invoiceService Service for retrieving invoice data
-     * @param invoicePdfService Service for generating invoice PDFs
+     * @param invoicePdfCache Disk cache of rendered invoice PDFs
      */
-    public InvoiceDownloadController(InvoiceService invoiceService, InvoicePdfService invoicePdfService) {
+    public InvoiceDownloadController(InvoiceService invoiceService, InvoicePdfCache invoicePdfCache) {
         this.invoiceService = invoiceService;
-        this.invoicePdfService = invoicePdfService;
+        this.invoicePdfCache = invoicePdfCache;
     }
 
     @GetMapping("/invoice/{id}/pdf")
-    public ResponseEntity<byte[]> downloadInvoicePdf(@PathVariable Long id) {
+    public ResponseEntity<StreamingResponseBody> downloadInvoicePdf(@PathVariable Long id, HttpServletRequest request) {
         try {
             logger.info("Downloading PDF for invoice ID: {}", id);
             
             Invoice invoice = invoiceService.findById(id)
                     .orElseThrow(() -> new RuntimeException("Invoice not found"));
             
-            byte[] pdfData = invoicePdfService.generateInvoicePdf(invoice);
-            
+            InvoicePdfCache.Key key = invoicePdfCache.keyFor(invoice);
+            HttpHeaders headers = new HttpHeaders();
+            headers.setETag(key.etag());
+            // Revalidate on every use: invoices change when payments come in
+            headers.setCacheControl(CacheControl.noCache().cachePrivate());
+
+            if (new ServletWebRequest(request).checkNotModified(key.etag())) {
+                return ResponseEntity.status(304).headers(headers).build();
+            }
+
+            Path file = invoicePdfCache.resolve(invoice, key);
+            long size = Files.size(file);
             String fileName = "Invoice_" + invoice.getInvoiceNumber() + ".pdf";
-            
-            return ResponseEntity.ok()
-                    .contentType(MediaType.APPLICATION_PDF)
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
-                    .body(pdfData);
+            headers.setContentType(MediaType.APPLICATION_PDF);
+            headers.setContentLength(size);
+            headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+                // Tomcat opens and writes the file itself after the response is committed; the
+                // cache keeps superseded files for a grace period, so the path stays valid
+                request.setAttribute(SENDFILE_FILENAME, file.toString());
+                request.setAttribute(SENDFILE_START, 0L);
+                request.setAttribute(SENDFILE_END, size);
+                return ResponseEntity.ok().headers(headers).build();
+            }
+            // Opened only when the body is written, so nothing leaks if it never runs; the grace
+            // period of the cache keeps the file until then
+            return ResponseEntity.ok().headers(headers).body(out -> {
+                try (InputStream in = Files.newInputStream(file)) {
+                    in.transferTo(out);
+                }
+            });
                     
-        } catch (Exception e) {
+        } catch (IOException | RuntimeException e) {
             logger.error("Error downloading PDF for invoice ID: {}", id, e);
             return ResponseEntity.internalServerError().build();
         }
@@ -9,9 +9,12 @@ import java.util.Set;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import com.hotel.booking.event.EntityChangePublisher;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -24,6 +27,8 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
@@ -36,16 +41,56 @@ import jakarta.persistence.Table;
  * total monetary price, as well as references to guest, room, payments,
  * extras, invoice, and feedback.
  * </p>
+ * <p>
+ * All associations are loaded lazily. Repository methods whose results leave the
+ * transaction (views, PDF and e-mail rendering) pick one of the named entity graphs
+ * below so that everything the caller reads arrives with the booking in one statement.
+ * {@code invoice} and {@code feedback} are the inverse side of a one-to-one and would
+ * otherwise be loaded with one extra select per booking.
+ * </p>
  * @author Viktor Götting
  */
 @Entity
+@EntityListeners(EntityChangePublisher.class)
 @Table(name = "bookings", indexes = {
         @Index(name = "idx_booking_booking_number", columnList = "booking_number", unique = true),
-        @Index(name = "idx_booking_dates", columnList = "check_in_date,check_out_date")
+        @Index(name = "idx_booking_dates", columnList = "check_in_date,check_out_date"),
+        @Index(name = "idx_booking_check_out_status", columnList = "check_out_date,status"),
+        @Index(name = "idx_booking_created_at", columnList = "created_at"),
+        @Index(name = "idx_booking_guest", columnList = "guest_id")
+})
+@NamedEntityGraph(name = Booking.GRAPH_DETAIL, attributeNodes = {
+        @NamedAttributeNode("guest"),
+        @NamedAttributeNode("room"),
+        @NamedAttributeNode("roomCategory"),
+        @NamedAttributeNode("extras"),
+        @NamedAttributeNode("invoice"),
+        @NamedAttributeNode("feedback")
+})
+@NamedEntityGraph(name = Booking.GRAPH_SUMMARY, attributeNodes = {
+        @NamedAttributeNode("room"),
+        @NamedAttributeNode("roomCategory"),
+        @NamedAttributeNode("invoice"),
+        @NamedAttributeNode("feedback")
+})
+@NamedEntityGraph(name = Booking.GRAPH_REPORT, attributeNodes = {
+        @NamedAttributeNode("roomCategory"),
+        @NamedAttributeNode("extras"),
+        @NamedAttributeNode("invoice"),
+        @NamedAttributeNode("feedback")
 })
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Booking {
 
+    /** Detail dialog, edit form and e-mail rendering: everything shown for a single booking. */
+    public static final String GRAPH_DETAIL = "Booking.detail";
+
+    /** Booking cards and lists: room and category, no guest or extras. */
+    public static final String GRAPH_SUMMARY = "Booking.summary";
+
+    /** Report aggregation: category and extras of every booking in a period. */
+    public static final String GRAPH_REPORT = "Booking.report";
+
     /** Primary key ID. */
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -79,25 +124,25 @@ public class Booking {
 
     /** Associated guest (owner of the booking). */
 
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "guest_id", nullable = false,
     foreignKey = @ForeignKey(name = "fk_booking_guest"))
     private User guest;
 
     /** Booked room. */
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "room_id", nullable = false, foreignKey = @ForeignKey(name = "fk_booking_room"))
     private Room room;
 
     /** Room category. */
-    @ManyToOne(optional = false, fetch = FetchType.EAGER)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "room_category_id", nullable = false,
                 foreignKey = @ForeignKey(name = "fk_booking_room_category"))
     private RoomCategory roomCategory;
 
     /** Associated invoice. */
 
-    @OneToOne(mappedBy = "booking", fetch = FetchType.EAGER)
+    @OneToOne(mappedBy = "booking", fetch = FetchType.LAZY)
     private Invoice invoice;
 
     /** Payments that have been booked to this booking. */
@@ -110,7 +155,7 @@ public class Booking {
 
     /** Extras for this booking. */
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
     name = "booking_extra",
     joinColumns = @JoinColumn(name = "booking_id"),
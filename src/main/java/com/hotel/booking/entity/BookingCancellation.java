@@ -1,20 +1,26 @@
 // Ruslan Krause
 package com.hotel.booking.entity;
 
+import com.hotel.booking.event.EntityChangePublisher;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
+@EntityListeners(EntityChangePublisher.class)
+@NamedEntityGraph(name = BookingCancellation.GRAPH_WITH_HANDLER, attributeNodes = @NamedAttributeNode("handledBy"))
 @Table(name = "booking_cancellation")
 public class BookingCancellation {
 
+    /** History shown in the booking details: includes the staff member who handled it. */
+    public static final String GRAPH_WITH_HANDLER = "BookingCancellation.withHandler";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "booking_id", nullable = false)
     private Booking booking;
 
@@ -31,7 +37,7 @@ public class BookingCancellation {
     @Column(name = "cancellation_fee", precision = 10, scale = 2)
     private BigDecimal cancellationFee;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "handled_by")
     private User handledBy;
 
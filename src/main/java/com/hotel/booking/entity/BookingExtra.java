@@ -4,6 +4,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -17,12 +20,15 @@ import jakarta.persistence.Table;
  * Represents an extra service or amenity that can be added to a hotel booking.
  * <p>
  * This entity is mapped to the <code>room_extras</code> table and can be associated with multiple bookings.
+ * Extras are kept in the second-level cache.
  * </p>
  *
  * @author Matthias Lohr
  */
 @Entity
 @Table(name = "room_extras")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class BookingExtra {
 
 
@@ -56,7 +62,7 @@ public class BookingExtra {
      * This side is ignored during JSON serialization to prevent infinite recursion in bidirectional relationships.
      */
     @JsonIgnore
-    @ManyToMany(mappedBy = "extras", fetch = FetchType.EAGER)
+    @ManyToMany(mappedBy = "extras", fetch = FetchType.LAZY)
     private List<Booking> bookings = new ArrayList<>();
 
 
@@ -6,14 +6,18 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
+@NamedEntityGraph(name = BookingModification.GRAPH_WITH_HANDLER, attributeNodes = @NamedAttributeNode("handledBy"))
 @Table(name = "booking_modification")
 public class BookingModification {
 
+    /** History shown in the booking details: includes the staff member who handled it. */
+    public static final String GRAPH_WITH_HANDLER = "BookingModification.withHandler";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "booking_id", nullable = false)
     private Booking booking;
 
@@ -32,7 +36,7 @@ public class BookingModification {
     @Column(length = 1000)
     private String reason;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "handled_by")
     private User handledBy;
 
@@ -6,10 +6,14 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Max;
@@ -35,8 +39,18 @@ import jakarta.validation.constraints.Size;
  */
 @Entity
 @Table(name = "feedback")
+@NamedEntityGraph(name = Feedback.GRAPH_WITH_BOOKING,
+        attributeNodes = @NamedAttributeNode(value = "booking", subgraph = "booking"),
+        subgraphs = @NamedSubgraph(name = "booking", attributeNodes = {
+                @NamedAttributeNode("room"),
+                @NamedAttributeNode("roomCategory"),
+                @NamedAttributeNode("invoice")
+        }))
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Feedback {
+
+    /** Review lists: the reviewed booking with its room and category. */
+    public static final String GRAPH_WITH_BOOKING = "Feedback.withBooking";
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -57,7 +71,7 @@ public class Feedback {
     
     // Activate when Booking entity 
     @JsonIgnore
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booking_id")
     private Booking booking;
     
@@ -6,15 +6,23 @@ import java.util.Objects;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.hotel.booking.event.EntityChangePublisher;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.ForeignKey;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.DecimalMin;
@@ -42,9 +50,25 @@ import jakarta.validation.constraints.Size;
  * @see Payment
  */
 @Entity
-@Table(name = "invoices")
+@EntityListeners(EntityChangePublisher.class)
+@Table(name = "invoices", indexes = {
+        @Index(name = "idx_invoice_issued_at", columnList = "issued_at"),
+        @Index(name = "idx_invoice_status_issued_at", columnList = "status,issued_at")
+})
+@NamedEntityGraph(name = Invoice.GRAPH_PDF,
+        attributeNodes = @NamedAttributeNode(value = "booking", subgraph = "booking"),
+        subgraphs = @NamedSubgraph(name = "booking", attributeNodes = {
+                @NamedAttributeNode("guest"),
+                @NamedAttributeNode("room"),
+                @NamedAttributeNode("roomCategory"),
+                @NamedAttributeNode("extras"),
+                @NamedAttributeNode("feedback")
+        }))
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Invoice {
+
+    /** PDF and invoice e-mail rendering: the booking with guest, room and extras. */
+    public static final String GRAPH_PDF = "Invoice.pdf";
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -83,7 +107,7 @@ public class Invoice {
     
     /** Associated booking. */
     @JsonIgnore
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booking_id", nullable = false,
             foreignKey = @ForeignKey(name = "fk_invoice_booking"))
     private Booking booking;
@@ -7,13 +7,18 @@ import java.util.Objects;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.hotel.booking.event.EntityChangePublisher;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -42,7 +47,12 @@ import jakarta.validation.constraints.Size;
  * @see Invoice
  */
 @Entity
-@Table(name = "payments")
+@EntityListeners(EntityChangePublisher.class)
+@Table(name = "payments", indexes = {
+        @Index(name = "idx_payment_paid_at", columnList = "paid_at"),
+        @Index(name = "idx_payment_status_paid_at", columnList = "status,paid_at"),
+        @Index(name = "idx_payment_transaction_ref", columnList = "transaction_ref")
+})
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Payment {
     
@@ -88,7 +98,7 @@ public class Payment {
     
     // Activate when Booking entity 
     @JsonIgnore
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booking_id", nullable = false)
     private Booking booking;
     
@@ -3,8 +3,15 @@ package com.hotel.booking.entity;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import com.hotel.booking.event.EntityChangePublisher;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -13,6 +20,8 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -22,15 +31,23 @@ import jakarta.persistence.Table;
  * <p>
  * This class contains details about a room, such as its number, floor, category, status, and associated bookings.
  * It is mapped to the <code>rooms</code> table in the database.
+ * Rooms are kept in the second-level cache.
  * </p>
  *
  * @author Matthias Lohr
  */
 @Entity
+@EntityListeners(EntityChangePublisher.class)
 @Table(name = "rooms")
+@NamedEntityGraph(name = Room.GRAPH_WITH_CATEGORY, attributeNodes = @NamedAttributeNode("category"))
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Room {
 
+    /** Room management grid and forms: the room together with its category. */
+    public static final String GRAPH_WITH_CATEGORY = "Room.withCategory";
+
 
     /**
      * Unique identifier for the room.
@@ -58,7 +75,7 @@ public class Room {
      * Category of the room (e.g., single, double, suite).
      * Can be null if the category is deleted.
      */
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = true)
     @JsonBackReference
     private RoomCategory category;
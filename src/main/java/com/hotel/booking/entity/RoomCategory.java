@@ -8,7 +8,14 @@ import java.util.Set;
 
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
@@ -20,6 +27,8 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OrderBy;
 import jakarta.persistence.Table;
@@ -30,13 +39,31 @@ import jakarta.persistence.Table;
  * This class contains details about a room category, such as its name, description, price per night, maximum occupancy, amenities, and associated rooms and images.
  * It is mapped to the <code>room_category</code> table in the database.
  * </p>
+ * <p>
+ * Categories referenced by lazy associations outside an entity graph are loaded in batches:
+ * a result set with many rooms or bookings loads each distinct category once, up to 25 per select.
+ * Categories, their images and their amenities are kept in the second-level cache (see
+ * {@link com.hotel.booking.config.LocalCacheRegionFactory}); Hibernate evicts the entries on every
+ * write through JPA.
+ * </p>
  *
  * @author Matthias Lohr
  */
 @Entity
 @Table(name = "room_category")
+@NamedEntityGraph(name = RoomCategory.GRAPH_CARD, attributeNodes = @NamedAttributeNode("images"))
+@BatchSize(size = 25)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class RoomCategory {
 
+    /**
+     * Room cards and the category form: the images of the category. The amenities are not part
+     * of the graph because joining a second collection would duplicate the images; they are
+     * loaded for the whole result with one subselect instead.
+     */
+    public static final String GRAPH_CARD = "RoomCategory.card";
+
 
     /**
      * Unique identifier for the room category.
@@ -75,9 +102,11 @@ public class RoomCategory {
 
     /**
      * Set of amenities available for this room category.
-     * Amenities are loaded eagerly and are not a separate entity.
+     * Amenities are not a separate entity; they are loaded for a whole result with one subselect.
      */
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection(fetch = FetchType.LAZY)
+    @Fetch(FetchMode.SUBSELECT)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @Enumerated(EnumType.STRING)
     @JoinTable(name = "room_category_amenities", joinColumns = @JoinColumn(name = "category_id"))
     @Column(name = "amenity")
@@ -94,10 +123,13 @@ public class RoomCategory {
 
 
     /**
-     * List of images associated with this room category.
-     * Images are loaded eagerly and ordered by primary flag and ID.
+     * List of images associated with this room category, ordered by primary flag and ID.
+     * Loaded through {@link #GRAPH_CARD}; outside the graph the images of up to 25 categories
+     * of the same persistence context are loaded with one select.
      */
-    @OneToMany(mappedBy = "category", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "category", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 25)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @OrderBy("isPrimary DESC, id ASC")
     @JsonManagedReference
     private List<RoomImage> images = new ArrayList<>();
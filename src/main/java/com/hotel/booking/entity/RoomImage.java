@@ -1,8 +1,13 @@
 package com.hotel.booking.entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.hotel.booking.event.EntityChangePublisher;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Represents an image associated with a hotel room category.
@@ -15,7 +20,13 @@ import java.io.Serializable;
  * can be associated with the same room category to provide different views and perspectives.
  *
  * <p><b>Persistence:</b> Images are persisted in the {@code room_images} table and are lazily
- * loaded via their parent {@code RoomCategory}.
+ * loaded via their parent {@code RoomCategory}. Like the category they are kept in the
+ * second-level cache, so a cached image collection resolves without a select per image.
+ *
+ * <p><b>Derivatives:</b> After upload, scaled-down JPEG copies of the image are generated at
+ * fixed widths (see {@code RoomImageDerivativeService}) and their widths are recorded here.
+ * {@link #getImagePath(int)} returns the smallest copy that still fills the space an image is
+ * displayed in.
  *
  * @author Artur Derr
  * @author Viktor Götting
@@ -23,10 +34,16 @@ import java.io.Serializable;
  */
 @Entity
 @Table(name = "room_images")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners(EntityChangePublisher.class)
 public class RoomImage implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    /** Directory of the derivatives, relative to the directory of the original. */
+    public static final String DERIVATIVE_DIRECTORY = "derivatives";
+
     /** Unique identifier for this room image. */
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -49,6 +66,14 @@ public class RoomImage implements Serializable {
     @Column(name = "is_primary", nullable = false)
     private Boolean isPrimary = false;
 
+    /**
+     * Widths (px) of the generated derivatives, ascending and comma-separated (e.g. {@code 400,800}).
+     * Written only by the derivative pipeline, so saving an image edited in the UI never
+     * overwrites it with a stale value.
+     */
+    @Column(name = "derivative_widths", length = 100, updatable = false)
+    private String derivativeWidths;
+
     /** Reference to the parent room category. */
     @ManyToOne(fetch = FetchType.LAZY, optional = true)
     @JoinColumn(name = "category_id", nullable = true,
@@ -170,6 +195,72 @@ public class RoomImage implements Serializable {
         this.isPrimary = isPrimary != null ? isPrimary : false;
     }
 
+    /** @return the widths of the generated derivatives (e.g. {@code 400,800}), or {@code null} if none exist yet */
+    public String getDerivativeWidths() {
+        return derivativeWidths;
+    }
+
+    /**
+     * Sets the widths of the generated derivatives.
+     *
+     * @param derivativeWidths ascending, comma-separated widths in px
+     */
+    public void setDerivativeWidths(String derivativeWidths) {
+        this.derivativeWidths = derivativeWidths;
+    }
+
+    /**
+     * Returns the path of the smallest derivative at least {@code width} pixels wide, or of the
+     * original if no derivative is wide enough.
+     *
+     * @param width the width the image is displayed at, in device pixels
+     * @return the web path to load
+     */
+    public String getImagePath(int width) {
+        for (int derivativeWidth : parseWidths(derivativeWidths)) {
+            if (derivativeWidth >= width) {
+                return derivativePath(imagePath, derivativeWidth);
+            }
+        }
+        return imagePath;
+    }
+
+    /**
+     * Returns the web path of a derivative of an image.
+     *
+     * @param imagePath web path of the original (e.g. {@code /images/rooms/a.png})
+     * @param width     width of the derivative in px
+     * @return e.g. {@code /images/rooms/derivatives/a_800w.jpg}
+     */
+    public static String derivativePath(String imagePath, int width) {
+        int slash = imagePath.lastIndexOf('/');
+        String fileName = imagePath.substring(slash + 1);
+        int dot = fileName.lastIndexOf('.');
+        String stem = dot > 0 ? fileName.substring(0, dot) : fileName;
+        return imagePath.substring(0, slash + 1) + DERIVATIVE_DIRECTORY + "/" + stem + "_" + width + "w.jpg";
+    }
+
+    /**
+     * Parses a {@link #getDerivativeWidths()} value.
+     *
+     * @param widths comma-separated widths, may be {@code null}
+     * @return the widths in the given order; empty if none
+     */
+    public static List<Integer> parseWidths(String widths) {
+        List<Integer> result = new ArrayList<>();
+        if (widths == null || widths.isBlank()) {
+            return result;
+        }
+        for (String width : widths.split(",")) {
+            try {
+                result.add(Integer.parseInt(width.trim()));
+            } catch (NumberFormatException ignored) {
+                // Skip invalid entries
+            }
+        }
+        return result;
+    }
+
     /** @return the room category this image belongs to */
     public RoomCategory getCategory() {
         return category;
@@ -1,6 +1,7 @@
 package com.hotel.booking.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.hotel.booking.event.EntityChangePublisher;
 import jakarta.persistence.*;
 
 import java.io.Serializable;
@@ -30,6 +31,7 @@ import java.time.LocalDateTime;
  * @see UserRole
  */
 @Entity
+@EntityListeners(EntityChangePublisher.class)
 @Table(name = "users")
 public class User implements Serializable {
 
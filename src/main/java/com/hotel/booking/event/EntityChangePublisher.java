@@ -0,0 +1,46 @@
+package com.hotel.booking.event;
+
+import com.hotel.booking.event.EntityChangedEvent.ChangeType;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that turns inserts, updates and deletes into {@link EntityChangedEvent}s.
+ * <p>
+ * Registered on entities via {@code @EntityListeners(EntityChangePublisher.class)}. Hibernate
+ * obtains the listener from the Spring context (Spring Boot configures the bean container), so
+ * the {@link ApplicationEventPublisher} is injected. The callbacks run during flush, i.e. inside
+ * the writing transaction; consumers decide via {@code @TransactionalEventListener} whether they
+ * react after commit.
+ * </p>
+ * <p>
+ * Bulk JPQL updates bypass entity callbacks and therefore publish no events.
+ * </p>
+ */
+@Component
+public class EntityChangePublisher {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public EntityChangePublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    void onCreated(Object entity) {
+        eventPublisher.publishEvent(new EntityChangedEvent<>(entity, ChangeType.CREATED));
+    }
+
+    @PostUpdate
+    void onUpdated(Object entity) {
+        eventPublisher.publishEvent(new EntityChangedEvent<>(entity, ChangeType.UPDATED));
+    }
+
+    @PostRemove
+    void onDeleted(Object entity) {
+        eventPublisher.publishEvent(new EntityChangedEvent<>(entity, ChangeType.DELETED));
+    }
+}
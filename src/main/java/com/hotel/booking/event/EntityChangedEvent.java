@@ -0,0 +1,49 @@
+package com.hotel.booking.event;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.ResolvableTypeProvider;
+
+/**
+ * Application event describing a persisted change of an entity.
+ * <p>
+ * Published by {@link EntityChangePublisher} for every entity annotated with
+ * {@code @EntityListeners(EntityChangePublisher.class)}. The event is generic over the
+ * entity type, so listeners can subscribe to a single type, e.g.
+ * {@code @TransactionalEventListener void on(EntityChangedEvent<Booking> event)}.
+ * Listeners that need committed data should use {@code @TransactionalEventListener}.
+ * </p>
+ *
+ * @param <T> the entity type
+ */
+public class EntityChangedEvent<T> implements ResolvableTypeProvider {
+
+    /**
+     * Kind of change that was written to the database.
+     */
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final T entity;
+    private final ChangeType changeType;
+
+    public EntityChangedEvent(T entity, ChangeType changeType) {
+        this.entity = entity;
+        this.changeType = changeType;
+    }
+
+    public T getEntity() {
+        return entity;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    @Override
+    public ResolvableType getResolvableType() {
+        return ResolvableType.forClassWithGenerics(getClass(), ResolvableType.forInstance(entity));
+    }
+}
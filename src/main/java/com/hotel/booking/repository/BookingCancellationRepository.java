@@ -3,18 +3,25 @@
 package com.hotel.booking.repository;
 
 import com.hotel.booking.entity.BookingCancellation;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BookingCancellationRepository extends JpaRepository<BookingCancellation, Long> {
 
+    @EntityGraph(BookingCancellation.GRAPH_WITH_HANDLER)
     List<BookingCancellation> findByBookingId(Long bookingId);
 
     List<BookingCancellation> findByHandledById(Long handledById);
 
+    @EntityGraph(BookingCancellation.GRAPH_WITH_HANDLER)
     Optional<BookingCancellation> findTopByBookingIdOrderByCancelledAtDesc(Long bookingId);
+
+    // Cancellations of several bookings in one query, newest first (batch lookups of the views)
+    List<BookingCancellation> findByBookingIdInOrderByCancelledAtDesc(Collection<Long> bookingIds);
 }
\ No newline at end of file
@@ -1,12 +1,17 @@
 package com.hotel.booking.repository;
 
 import com.hotel.booking.entity.BookingExtra;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * Repository interface for managing {@link BookingExtra} entities.
  * <p>
@@ -19,13 +24,24 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface BookingExtraRepository extends JpaRepository<BookingExtra, Long> {
 
+	/**
+	 * Retrieves all extras (booking form). The result is kept in the query cache.
+	 *
+	 * @return all booking extras
+	 */
+	@Override
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+	List<BookingExtra> findAll();
+
 	/**
 	 * Removes all booking-to-extra relations for the given extra.
 	 * This is required before deleting the extra itself to avoid issues with the join table.
+	 * The query space limits the cache invalidation of this native statement to the join table.
 	 *
 	 * @param extraId the extra id (room_extras primary key)
 	 */
 	@Modifying(clearAutomatically = true, flushAutomatically = true)
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "booking_extra"))
 	@Query(value = "DELETE FROM booking_extra WHERE extra_id = :extraId", nativeQuery = true)
 	void deleteBookingExtraRelations(@Param("extraId") Long extraId);
 }
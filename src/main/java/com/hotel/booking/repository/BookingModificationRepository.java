@@ -3,6 +3,7 @@
 package com.hotel.booking.repository;
 
 import com.hotel.booking.entity.BookingModification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -12,9 +13,11 @@ import java.util.Optional;
 @Repository
 public interface BookingModificationRepository extends JpaRepository<BookingModification, Long> {
 
+    @EntityGraph(BookingModification.GRAPH_WITH_HANDLER)
     List<BookingModification> findByBookingId(Long bookingId);
 
     List<BookingModification> findByHandledById(Long handledById);
 
+    @EntityGraph(BookingModification.GRAPH_WITH_HANDLER)
     Optional<BookingModification> findTopByBookingIdOrderByModifiedAtDesc(Long bookingId);
 }
\ No newline at end of file
@@ -1,40 +1,86 @@
 package com.hotel.booking.repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.hotel.booking.entity.Booking;
 import com.hotel.booking.entity.BookingStatus;
+import com.hotel.booking.entity.Invoice;
+import com.hotel.booking.repository.projection.BookingRow;
+import com.hotel.booking.repository.projection.RecentBooking;
+
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository interface for Booking entity operations.
  * Provides methods to query bookings by various criteria.
+ * <p>
+ * Booking associations are lazy; every finder that returns entities names the
+ * {@link Booking} entity graph matching its use case.
+ * </p>
  */
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking>,
+        BookingRowQueries {
 
     // --- Basics ---------------------------------------------------------------
 
     /**
-     * Finds a booking by its unique booking number.
-     * Uses EntityGraph to eagerly load guest, room, invoice, and feedback.
+     * Finds a booking with everything the detail dialog, the edit form and the e-mails read.
+     */
+    @Override
+    @EntityGraph(Booking.GRAPH_DETAIL)
+    Optional<Booking> findById(Long id);
+
+    /**
+     * Finds a booking by its unique booking number, loaded like {@link #findById}.
      */
-    @EntityGraph(attributePaths = {"guest", "room", "invoice", "feedback"})
+    @EntityGraph(Booking.GRAPH_DETAIL)
     Optional<Booking> findByBookingNumber(String bookingNumber);
 
+    /**
+     * Finds several bookings at once, with room, category, invoice and feedback (batch updates
+     * such as the bank statement reconciliation).
+     */
+    @EntityGraph(Booking.GRAPH_SUMMARY)
+    List<Booking> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Streams the identifiers indexed by the global search. Each row contains
+     * {@code [id, bookingNumber, guestFirstName, guestLastName, guestEmail]}.
+     * {@code null} parameters mean "all"; otherwise only the given booking or the bookings of the
+     * given guest are returned. Must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            SELECT b.id, b.bookingNumber, g.firstName, g.lastName, g.email
+            FROM Booking b
+            LEFT JOIN b.guest g
+            WHERE (:id IS NULL OR b.id = :id)
+              AND (:guestId IS NULL OR g.id = :guestId)
+            """)
+    Stream<Object[]> streamSearchRows(@Param("id") Long id, @Param("guestId") Long guestId);
+
     // --- Room-related queries --------------------------------------------------
 
     /**
      * Finds all bookings for a specific room.
      */
+    @EntityGraph(Booking.GRAPH_SUMMARY)
     List<Booking> findByRoom_Id(Long roomId);
 
     // --- RoomCategory-related queries -----------------------------------------
@@ -42,6 +88,7 @@ public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpec
     /**
      * Finds all bookings for a specific room category.
      */
+    @EntityGraph(Booking.GRAPH_SUMMARY)
     @Query("SELECT b FROM Booking b WHERE b.roomCategory.category_id = :categoryId")
     List<Booking> findByRoomCategoryId(@Param("categoryId") Long categoryId);
 
@@ -59,24 +106,187 @@ public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpec
 
     // --- Time period queries --------------------------------------------------
 
+    /**
+     * Returns the grid rows of the bookings arriving on {@code day} with one of the given statuses.
+     * Served by {@code idx_booking_dates}.
+     */
+    @Query("""
+            SELECT new com.hotel.booking.repository.projection.BookingRow(
+                   b.id, b.bookingNumber, CONCAT(g.firstName, ' ', g.lastName), r.roomNumber, b.amount,
+                   b.checkInDate, b.checkOutDate, b.totalPrice, b.status, b.createdAt)
+            FROM Booking b
+            LEFT JOIN b.guest g
+            LEFT JOIN b.room r
+            WHERE b.checkInDate = :day AND b.status IN :statuses
+            ORDER BY b.bookingNumber
+            """)
+    List<BookingRow> findArrivalRows(
+            @Param("day") LocalDate day,
+            @Param("statuses") Collection<BookingStatus> statuses);
+
+    /**
+     * Returns the grid rows of the bookings departing on {@code day} with one of the given statuses.
+     * Served by {@code idx_booking_check_out_status}.
+     */
+    @Query("""
+            SELECT new com.hotel.booking.repository.projection.BookingRow(
+                   b.id, b.bookingNumber, CONCAT(g.firstName, ' ', g.lastName), r.roomNumber, b.amount,
+                   b.checkInDate, b.checkOutDate, b.totalPrice, b.status, b.createdAt)
+            FROM Booking b
+            LEFT JOIN b.guest g
+            LEFT JOIN b.room r
+            WHERE b.checkOutDate = :day AND b.status IN :statuses
+            ORDER BY b.bookingNumber
+            """)
+    List<BookingRow> findDepartureRows(
+            @Param("day") LocalDate day,
+            @Param("statuses") Collection<BookingStatus> statuses);
+
+    /**
+     * Counts arrivals per day in the given range. Each row contains
+     * {@code [checkInDate (LocalDate), count (Long)]}; days without arrivals are absent.
+     */
+    @Query("""
+            SELECT b.checkInDate, COUNT(b)
+            FROM Booking b
+            WHERE b.checkInDate BETWEEN :from AND :to
+              AND b.status IN :statuses
+            GROUP BY b.checkInDate
+            """)
+    List<Object[]> countArrivalsPerDay(
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("statuses") Collection<BookingStatus> statuses);
+
+    /**
+     * Counts departures per day in the given range. Each row contains
+     * {@code [checkOutDate (LocalDate), count (Long)]}; days without departures are absent.
+     */
+    @Query("""
+            SELECT b.checkOutDate, COUNT(b)
+            FROM Booking b
+            WHERE b.checkOutDate BETWEEN :from AND :to
+              AND b.status IN :statuses
+            GROUP BY b.checkOutDate
+            """)
+    List<Object[]> countDeparturesPerDay(
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("statuses") Collection<BookingStatus> statuses);
+
      // Alle Buchungen, in einem Zeitraum erstellt wurden:
         // (checkIn <= end) AND (checkOut >= start)
         //Matthias Lohr
+    @EntityGraph(Booking.GRAPH_REPORT)
     List<Booking> findByCreatedAtLessThanEqualAndCreatedAtGreaterThanEqual(LocalDate endInclusive, LocalDate startInclusive);
 
    //Liefert alle aktiven (cancelled ausschließen) Buchungen im Zeitraum.
+    @EntityGraph(Booking.GRAPH_SUMMARY)
     List<Booking> findByCheckInDateLessThanEqualAndCheckOutDateGreaterThanEqualAndStatusNot(
             LocalDate endInclusive,
             LocalDate startInclusive,
             BookingStatus statusToExclude
     );
 
+    /**
+     * Returns the most recently created bookings as feed rows, newest first.
+     * Served by {@code idx_booking_created_at}; the page size bounds the number of rows read.
+     */
+    @Query("""
+            SELECT new com.hotel.booking.repository.projection.RecentBooking(
+                   b.id, b.bookingNumber, CONCAT(g.firstName, ' ', g.lastName), r.roomNumber,
+                   b.checkInDate, b.status, b.createdAt)
+            FROM Booking b
+            LEFT JOIN b.guest g
+            LEFT JOIN b.room r
+            WHERE b.createdAt >= :since
+            ORDER BY b.createdAt DESC, b.id DESC
+            """)
+    List<RecentBooking> findRecentBookings(@Param("since") LocalDate since, Pageable pageable);
+
+    /**
+     * Returns the feed row of a single booking, e.g. after it was created or updated.
+     */
+    @Query("""
+            SELECT new com.hotel.booking.repository.projection.RecentBooking(
+                   b.id, b.bookingNumber, CONCAT(g.firstName, ' ', g.lastName), r.roomNumber,
+                   b.checkInDate, b.status, b.createdAt)
+            FROM Booking b
+            LEFT JOIN b.guest g
+            LEFT JOIN b.room r
+            WHERE b.id = :id
+            """)
+    Optional<RecentBooking> findRecentBookingById(@Param("id") Long id);
+
+    /**
+     * Aggregates today's front-desk figures for the dashboard in a single query.
+     * Considers all non-cancelled bookings whose stay includes {@code today}. The single row contains
+     * {@code [guestsPresent, checkinsToday, checkoutsToday, revenueToday, pendingInvoices]};
+     * the number of invoices with {@code pendingStatus} is read through a scalar subquery.
+     */
+    @Query("""
+            SELECT COALESCE(SUM(b.amount), 0),
+                   COALESCE(SUM(CASE WHEN b.checkInDate = :today THEN 1 ELSE 0 END), 0),
+                   COALESCE(SUM(CASE WHEN b.checkOutDate = :today THEN 1 ELSE 0 END), 0),
+                   COALESCE(SUM(b.totalPrice), 0),
+                   (SELECT COUNT(i) FROM Invoice i WHERE i.invoiceStatus = :pendingStatus)
+            FROM Booking b
+            WHERE b.checkInDate <= :today
+              AND b.checkOutDate >= :today
+              AND b.status <> :statusToExclude
+            """)
+    List<Object[]> summarizeDay(
+            @Param("today") LocalDate today,
+            @Param("statusToExclude") BookingStatus statusToExclude,
+            @Param("pendingStatus") Invoice.PaymentStatus pendingStatus);
+
+    /**
+     * Aggregates bookings per creation day for the report charts.
+     * Each row contains {@code [createdAt (LocalDate), count (Long), revenue (BigDecimal)]}.
+     */
+    @Query("""
+            SELECT b.createdAt, COUNT(b), COALESCE(SUM(b.totalPrice), 0)
+            FROM Booking b
+            WHERE b.createdAt BETWEEN :from AND :to
+            GROUP BY b.createdAt
+            ORDER BY b.createdAt
+            """)
+    List<Object[]> sumBookingsAndRevenuePerDay(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Returns the report figures of all bookings created in the given period.
+     * Each row contains {@code [checkInDate, checkOutDate, totalPrice]}; only these
+     * columns are read so no booking entities (and no eager associations) are loaded.
+     */
+    @Query("""
+            SELECT b.checkInDate, b.checkOutDate, b.totalPrice
+            FROM Booking b
+            WHERE b.createdAt BETWEEN :from AND :to
+            """)
+    List<Object[]> findReportFiguresCreatedBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Returns the stay intervals of all bookings that occupy at least one night in the
+     * given range. Each row contains {@code [checkInDate, checkOutDate]}; only the two
+     * date columns are read so no booking entities are loaded.
+     */
+    @Query("""
+            SELECT b.checkInDate, b.checkOutDate
+            FROM Booking b
+            WHERE b.checkInDate <= :to
+              AND b.checkOutDate > :from
+              AND b.status <> :statusToExclude
+            """)
+    List<Object[]> findStayIntervals(
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("statusToExclude") BookingStatus statusToExclude);
+
     /**
      * Finds all bookings for a guest that have checked out before a specific date
-     * and match a specific status. Uses EntityGraph to eagerly load feedback,
-     * roomCategory, and room.
+     * and match a specific status. Loads the booking cards' room, category and feedback.
      */
-    @EntityGraph(attributePaths = {"feedback", "roomCategory", "room"})
+    @EntityGraph(Booking.GRAPH_SUMMARY)
     @Query("""
             SELECT b FROM Booking b 
             WHERE b.guest.id = :guestId 
@@ -87,7 +297,12 @@ public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpec
             @Param("guestId") Long guestId,
             @Param("beforeDate") LocalDate beforeDate,
             @Param("status") com.hotel.booking.entity.BookingStatus status);
-    
+
+    /**
+     * Finds all bookings of a guest. "My bookings" opens the detail and edit dialogs
+     * directly from these entities, so they are loaded like {@link #findById}.
+     */
+    @EntityGraph(Booking.GRAPH_DETAIL)
     List<Booking> findByGuest_Id(Long guestId);
     
     // Prüfung, aber eine bestehende Buchung beim Update ignorieren
@@ -0,0 +1,29 @@
+package com.hotel.booking.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.repository.projection.BookingRow;
+
+/**
+ * Repository fragment that loads {@link BookingRow} projections filtered by a
+ * {@link Specification}. Spring Data's derived and fluent queries cannot combine
+ * specifications with constructor expressions, so {@link BookingRepository} mixes in
+ * this fragment.
+ */
+public interface BookingRowQueries {
+
+    /**
+     * Returns one page of grid rows matching {@code spec}, ordered by the page's sort.
+     * Guest and room are joined once for the projection; specifications joining the
+     * same associations reuse these joins. No count query is issued.
+     *
+     * @param spec     filter, may be {@code null}
+     * @param pageable page and sort; sort properties may use nested paths such as {@code room.roomNumber}
+     * @return the rows of the requested page
+     */
+    List<BookingRow> findBookingRows(Specification<Booking> spec, Pageable pageable);
+}
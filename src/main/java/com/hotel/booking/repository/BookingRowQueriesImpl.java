@@ -0,0 +1,65 @@
+package com.hotel.booking.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.repository.projection.BookingRow;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Criteria implementation of {@link BookingRowQueries}.
+ */
+class BookingRowQueriesImpl implements BookingRowQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingRow> findBookingRows(Specification<Booking> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingRow> query = cb.createQuery(BookingRow.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<?, ?> guest = booking.join("guest", JoinType.LEFT);
+        Join<?, ?> room = booking.join("room", JoinType.LEFT);
+
+        query.select(cb.construct(BookingRow.class,
+                booking.get("id"),
+                booking.get("bookingNumber"),
+                cb.concat(cb.concat(guest.get("firstName"), " "), guest.get("lastName")),
+                room.get("roomNumber"),
+                booking.get("amount"),
+                booking.get("checkInDate"),
+                booking.get("checkOutDate"),
+                booking.get("totalPrice"),
+                booking.get("status"),
+                booking.get("createdAt")));
+
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(booking, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), booking, cb));
+
+        TypedQuery<BookingRow> typed = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typed.setFirstResult((int) pageable.getOffset());
+            typed.setMaxResults(pageable.getPageSize());
+        }
+        return typed.getResultList();
+    }
+}
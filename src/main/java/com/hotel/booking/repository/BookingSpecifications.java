@@ -0,0 +1,91 @@
+package com.hotel.booking.repository;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.entity.BookingStatus;
+
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Reusable {@link Specification}s for {@link Booking} queries via
+ * {@link BookingRepository#findBookingRows(Specification, org.springframework.data.domain.Pageable)}
+ * and {@link BookingRepository#count(Specification)}.
+ * <p>
+ * Every factory returns {@code null} for an empty criterion; Spring Data ignores
+ * {@code null} specifications when they are combined.
+ * </p>
+ */
+public final class BookingSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private BookingSpecifications() {
+    }
+
+    /**
+     * Booking number or guest full name ("first last") contains {@code text}, ignoring case.
+     */
+    public static Specification<Booking> bookingNumberOrGuestNameContains(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String pattern = "%" + escapeLike(text.trim().toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> {
+            Join<?, ?> guest = join(root, "guest");
+            Expression<String> fullName = cb.concat(cb.concat(guest.get("firstName"), " "), guest.get("lastName"));
+            return cb.or(
+                    cb.like(cb.lower(root.get("bookingNumber")), pattern, LIKE_ESCAPE),
+                    cb.like(cb.lower(fullName), pattern, LIKE_ESCAPE));
+        };
+    }
+
+    /**
+     * Booking has exactly the given status.
+     */
+    public static Specification<Booking> hasStatus(BookingStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    /**
+     * Booking was created after the given date (exclusive).
+     */
+    public static Specification<Booking> createdAfter(LocalDate date) {
+        return date == null ? null : (root, query, cb) -> cb.greaterThan(root.get("createdAt"), date);
+    }
+
+    /**
+     * Booked room category has the given name, ignoring case.
+     */
+    public static Specification<Booking> inCategoryNamed(String categoryName) {
+        if (categoryName == null || categoryName.isBlank()) {
+            return null;
+        }
+        String name = categoryName.toLowerCase(Locale.ROOT);
+        return (root, query, cb) -> cb.equal(cb.lower(join(root, "roomCategory").get("name")), name);
+    }
+
+    // Reuses an existing fetch or join instead of joining the same association twice
+    private static Join<?, ?> join(Root<Booking> root, String attribute) {
+        for (Fetch<?, ?> fetch : root.getFetches()) {
+            if (fetch.getAttribute().getName().equals(attribute) && fetch instanceof Join<?, ?> fetchJoin) {
+                return fetchJoin;
+            }
+        }
+        return root.getJoins().stream()
+                .filter(j -> j.getAttribute().getName().equals(attribute))
+                .findFirst()
+                .orElseGet(() -> root.join(attribute, JoinType.LEFT));
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -3,6 +3,7 @@ package com.hotel.booking.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -25,12 +26,23 @@ import com.hotel.booking.entity.User;
  */
 @Repository
 public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
+
+    // Review lists show the booked category: load the booking with every feedback
+    @Override
+    @EntityGraph(Feedback.GRAPH_WITH_BOOKING)
+    List<Feedback> findAll();
+
+    @Override
+    @EntityGraph(Feedback.GRAPH_WITH_BOOKING)
+    Optional<Feedback> findById(Long id);
     
     // Find all feedback for a specific guest (via booking.guest)
+    @EntityGraph(Feedback.GRAPH_WITH_BOOKING)
     @Query("SELECT f FROM Feedback f WHERE f.booking.guest.id = :guestId")
     List<Feedback> findByGuestId(@Param("guestId") Long guestId);
     
     // Find all feedback for a specific booking
+    @EntityGraph(Feedback.GRAPH_WITH_BOOKING)
     @Query("SELECT f FROM Feedback f WHERE f.booking.id = :bookingId")
     List<Feedback> findByBookingId(@Param("bookingId") Long bookingId);
     
@@ -48,6 +60,7 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     Optional<Feedback> findByBooking(Booking booking);
     
     // Find all feedback for a specific room category
+    @EntityGraph(Feedback.GRAPH_WITH_BOOKING)
     @Query("SELECT f FROM Feedback f WHERE f.booking.roomCategory.category_id = :categoryId")
     List<Feedback> findByRoomCategoryId(@Param("categoryId") Long categoryId);
 }
@@ -1,14 +1,21 @@
 package com.hotel.booking.repository;
 
 import com.hotel.booking.entity.Invoice;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Invoice entity persistence operations.
@@ -16,28 +23,47 @@ import java.util.Optional;
  * This repository provides database access methods for invoice data.
  * It supports querying invoices by number, status, booking, date range, and associated room.
  * Includes methods for finding unpaid invoices and retrieving invoices by various criteria.
- * Extends JpaRepository to provide standard CRUD operations.
+ * Extends JpaRepository to provide standard CRUD operations; the paged grid rows are
+ * loaded through {@link InvoiceRowQueries} with {@link InvoiceSpecifications}.
  * 
  * @author Arman Özcanli
  * @see Invoice
  * @see InvoiceService
  */
 @Repository
-public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
+public interface InvoiceRepository extends JpaRepository<Invoice, Long>, JpaSpecificationExecutor<Invoice>,
+        InvoiceRowQueries {
+
+    // Single invoices are rendered as PDF or e-mail after the transaction: load the booking with them
+    @Override
+    @EntityGraph(Invoice.GRAPH_PDF)
+    Optional<Invoice> findById(Long id);
     
     // Find invoice by invoice number
+    @EntityGraph(Invoice.GRAPH_PDF)
     Optional<Invoice> findByInvoiceNumber(String invoiceNumber);
     
     // Find all invoices by status
     List<Invoice> findByInvoiceStatus(Invoice.PaymentStatus invoiceStatus);
     
+    // Count invoices by status (no entities loaded)
+    long countByInvoiceStatus(Invoice.PaymentStatus invoiceStatus);
+    
     // Find all invoices for a specific booking
+    @EntityGraph(Invoice.GRAPH_PDF)
     @Query("SELECT i FROM Invoice i WHERE i.booking.id = :bookingId")
     Optional<Invoice> findByBookingId(@Param("bookingId") Long bookingId);
     
+    // Invoices of several bookings in one query (batch lookups of the grids); booking not loaded
+    List<Invoice> findByBookingIdIn(Collection<Long> bookingIds);
+    
     // Find invoices issued between dates
     List<Invoice> findByIssuedAtBetween(LocalDateTime start, LocalDateTime end);
     
+    // Ids of the invoices issued between dates in issue order (archive export); no entities loaded
+    @Query("SELECT i.id FROM Invoice i WHERE i.issuedAt BETWEEN :start AND :end ORDER BY i.issuedAt, i.id")
+    List<Long> findIdsByIssuedAtBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+    
     // Find unpaid invoices
     List<Invoice> findByInvoiceStatusAndPaidAtIsNull(Invoice.PaymentStatus invoiceStatus);
     
@@ -47,4 +73,15 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
     
     // Find invoice by booking entity
     Optional<Invoice> findByBooking(com.hotel.booking.entity.Booking booking);
+    
+    // Stream [id, invoiceNumber, bookingNumber, guestFirstName, guestLastName] for the global search (null id = all)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            SELECT i.id, i.invoiceNumber, b.bookingNumber, g.firstName, g.lastName
+            FROM Invoice i
+            LEFT JOIN i.booking b
+            LEFT JOIN b.guest g
+            WHERE (:id IS NULL OR i.id = :id)
+            """)
+    Stream<Object[]> streamSearchRows(@Param("id") Long id);
 }
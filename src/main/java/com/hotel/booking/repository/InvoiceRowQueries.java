@@ -0,0 +1,27 @@
+package com.hotel.booking.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.hotel.booking.entity.Invoice;
+import com.hotel.booking.repository.projection.InvoiceRow;
+
+/**
+ * Repository fragment that loads {@link InvoiceRow} projections filtered by a
+ * {@link Specification}, analogous to {@link BookingRowQueries}.
+ */
+public interface InvoiceRowQueries {
+
+    /**
+     * Returns one page of grid rows matching {@code spec}, ordered by the page's sort.
+     * The booking is joined once for the projection; specifications joining it reuse this
+     * join. No count query is issued.
+     *
+     * @param spec     filter, may be {@code null}
+     * @param pageable page and sort; sort properties may use nested paths such as {@code booking.bookingNumber}
+     * @return the rows of the requested page
+     */
+    List<InvoiceRow> findInvoiceRows(Specification<Invoice> spec, Pageable pageable);
+}
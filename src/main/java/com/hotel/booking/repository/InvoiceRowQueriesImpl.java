@@ -0,0 +1,63 @@
+package com.hotel.booking.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import com.hotel.booking.entity.Invoice;
+import com.hotel.booking.repository.projection.InvoiceRow;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Criteria implementation of {@link InvoiceRowQueries}.
+ */
+class InvoiceRowQueriesImpl implements InvoiceRowQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<InvoiceRow> findInvoiceRows(Specification<Invoice> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<InvoiceRow> query = cb.createQuery(InvoiceRow.class);
+        Root<Invoice> invoice = query.from(Invoice.class);
+        Join<?, ?> booking = invoice.join("booking", JoinType.LEFT);
+
+        query.select(cb.construct(InvoiceRow.class,
+                invoice.get("id"),
+                invoice.get("invoiceNumber"),
+                booking.get("id"),
+                booking.get("bookingNumber"),
+                booking.get("status"),
+                invoice.get("amount"),
+                invoice.get("paymentMethod"),
+                invoice.get("invoiceStatus"),
+                invoice.get("issuedAt")));
+
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(invoice, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), invoice, cb));
+
+        TypedQuery<InvoiceRow> typed = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typed.setFirstResult((int) pageable.getOffset());
+            typed.setMaxResults(pageable.getPageSize());
+        }
+        return typed.getResultList();
+    }
+}
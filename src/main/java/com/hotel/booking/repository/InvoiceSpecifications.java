@@ -0,0 +1,87 @@
+package com.hotel.booking.repository;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.hotel.booking.entity.Invoice;
+
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Reusable {@link Specification}s for {@link Invoice} queries via
+ * {@link InvoiceRepository#findInvoiceRows(Specification, org.springframework.data.domain.Pageable)}
+ * and {@link InvoiceRepository#count(Specification)}.
+ * <p>
+ * Every factory returns {@code null} for an empty criterion; Spring Data ignores
+ * {@code null} specifications when they are combined. The predicates compare the plain
+ * columns (prefix {@code LIKE}, date ranges) so the database can use its indexes.
+ * </p>
+ */
+public final class InvoiceSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private InvoiceSpecifications() {
+    }
+
+    /**
+     * Invoice belongs to a booking of the given guest.
+     */
+    public static Specification<Invoice> ofGuest(Long guestId) {
+        return guestId == null ? null
+                : (root, query, cb) -> cb.equal(join(root, "booking").get("guest").get("id"), guestId);
+    }
+
+    /**
+     * Invoice number or booking number starts with {@code prefix}. Both numbers are generated
+     * in upper case, so the prefix is upper-cased instead of wrapping the columns in a function.
+     */
+    public static Specification<Invoice> numberStartsWith(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return null;
+        }
+        String pattern = escapeLike(prefix.trim().toUpperCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(root.get("invoiceNumber"), pattern, LIKE_ESCAPE),
+                cb.like(join(root, "booking").get("bookingNumber"), pattern, LIKE_ESCAPE));
+    }
+
+    /**
+     * Invoice has exactly the given payment status.
+     */
+    public static Specification<Invoice> hasStatus(Invoice.PaymentStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("invoiceStatus"), status);
+    }
+
+    /**
+     * Invoice has exactly the given payment method.
+     */
+    public static Specification<Invoice> hasMethod(Invoice.PaymentMethod method) {
+        return method == null ? null : (root, query, cb) -> cb.equal(root.get("paymentMethod"), method);
+    }
+
+    /**
+     * Invoice was issued on the given day.
+     */
+    public static Specification<Invoice> issuedOn(LocalDate day) {
+        return day == null ? null : (root, query, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(root.get("issuedAt"), day.atStartOfDay()),
+                cb.lessThan(root.get("issuedAt"), day.plusDays(1).atStartOfDay()));
+    }
+
+    // Reuses the projection's join instead of joining the booking twice
+    private static Join<?, ?> join(Root<Invoice> root, String attribute) {
+        return root.getJoins().stream()
+                .filter(j -> j.getAttribute().getName().equals(attribute))
+                .findFirst()
+                .orElseGet(() -> root.join(attribute, JoinType.LEFT));
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
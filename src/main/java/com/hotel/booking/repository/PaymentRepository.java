@@ -2,12 +2,24 @@ package com.hotel.booking.repository;
 
 import com.hotel.booking.entity.Invoice;
 import com.hotel.booking.entity.Payment;
+import com.hotel.booking.repository.projection.PendingTransfer;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Payment entity persistence operations.
@@ -15,20 +27,79 @@ import java.util.Optional;
  * This repository provides database access methods for payment transaction data.
  * It supports querying payments by booking, transaction reference, status, method, and date range.
  * Includes methods for finding payments by combined criteria (status and method).
- * Extends JpaRepository to provide standard CRUD operations.
+ * Extends JpaRepository to provide standard CRUD operations; the paged grid rows are
+ * loaded through {@link PaymentRowQueries} with {@link PaymentSpecifications}.
  * 
  * @author Arman Özcanli
  * @see Payment
  * @see PaymentService
  */
 @Repository
-public interface PaymentRepository extends JpaRepository<Payment, Long> {
+public interface PaymentRepository extends JpaRepository<Payment, Long>, JpaSpecificationExecutor<Payment>,
+        PaymentRowQueries {
     
     // Find all payments for a specific booking (using temporary bookingId field)
     List<Payment> findByBookingId(Long bookingId);
     
+    // Payments of several bookings in one query (batch lookups of the grids)
+    List<Payment> findByBookingIdInOrderByIdAsc(Collection<Long> bookingIds);
+    
     // Find payment by transaction reference
     Optional<Payment> findByTransactionRef(String transactionRef);
+
+    /**
+     * Returns the payments with the given status and method as index entries for the bank
+     * statement reconciliation, without loading the entities.
+     *
+     * @param status the payment status, usually {@code PENDING}
+     * @param method the payment method, usually {@code TRANSFER}
+     * @return one entry per payment
+     */
+    @Query("""
+            SELECT new com.hotel.booking.repository.projection.PendingTransfer(p.id, b.id, b.bookingNumber, p.transactionRef, p.amount)
+            FROM Payment p JOIN p.booking b
+            WHERE p.status = :status AND p.method = :method
+            """)
+    List<PendingTransfer> findTransfers(@Param("status") Invoice.PaymentStatus status,
+                                        @Param("method") Invoice.PaymentMethod method);
+
+    /**
+     * Locks the payments among {@code ids} that still have the expected status and method
+     * ({@code SELECT ... FOR UPDATE}) and returns their ids. The bank statement reconciliation
+     * matches against a snapshot of the pending transfers; a payment paid by hand or cancelled in
+     * the meantime is not returned, and the lock keeps the returned ones from changing until
+     * {@link #updateStatusIn} has run in the same transaction.
+     *
+     * @param ids      candidate payments
+     * @param expected the status the payments must still have, usually {@code PENDING}
+     * @param method   the method the payments must still have, usually {@code TRANSFER}
+     * @return the ids of the locked payments
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.id FROM Payment p WHERE p.id IN :ids AND p.status = :expected AND p.method = :method")
+    List<Long> lockIdsByStatus(@Param("ids") Collection<Long> ids,
+                               @Param("expected") Invoice.PaymentStatus expected,
+                               @Param("method") Invoice.PaymentMethod method);
+
+    /**
+     * Changes the status of all given payments that still have the expected status and method,
+     * in one statement.
+     *
+     * @param ids      the payments, usually locked by {@link #lockIdsByStatus}
+     * @param status   the new status, usually {@code PAID}
+     * @param paidAt   the payment time to record
+     * @param expected the status the payments must still have, usually {@code PENDING}
+     * @param method   the method the payments must still have, usually {@code TRANSFER}
+     * @return number of updated payments
+     */
+    @Modifying
+    @Query("""
+            UPDATE Payment p SET p.status = :status, p.paidAt = :paidAt
+            WHERE p.id IN :ids AND p.status = :expected AND p.method = :method
+            """)
+    int updateStatusIn(@Param("ids") Collection<Long> ids, @Param("status") Invoice.PaymentStatus status,
+                       @Param("paidAt") LocalDateTime paidAt, @Param("expected") Invoice.PaymentStatus expected,
+                       @Param("method") Invoice.PaymentMethod method);
     
     // Find payments by status
     List<Payment> findByStatus(Invoice.PaymentStatus status);
@@ -41,4 +112,14 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     
     // Find all payments by status and method
     List<Payment> findByStatusAndMethod(Invoice.PaymentStatus status, Invoice.PaymentMethod method);
+    
+    // Stream [id, transactionRef, bookingNumber, amount, status] for the global search (null id = all)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            SELECT p.id, p.transactionRef, b.bookingNumber, p.amount, p.status
+            FROM Payment p
+            LEFT JOIN p.booking b
+            WHERE (:id IS NULL OR p.id = :id)
+            """)
+    Stream<Object[]> streamSearchRows(@Param("id") Long id);
 }
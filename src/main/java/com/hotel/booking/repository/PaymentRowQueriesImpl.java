@@ -0,0 +1,64 @@
+package com.hotel.booking.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import com.hotel.booking.entity.Payment;
+import com.hotel.booking.repository.projection.PaymentRow;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Criteria implementation of {@link PaymentRowQueries}.
+ */
+class PaymentRowQueriesImpl implements PaymentRowQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<PaymentRow> findPaymentRows(Specification<Payment> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PaymentRow> query = cb.createQuery(PaymentRow.class);
+        Root<Payment> payment = query.from(Payment.class);
+        Join<?, ?> booking = payment.join("booking", JoinType.LEFT);
+
+        query.select(cb.construct(PaymentRow.class,
+                payment.get("id"),
+                booking.get("id"),
+                booking.get("bookingNumber"),
+                booking.get("status"),
+                payment.get("amount"),
+                payment.get("refundedAmount"),
+                payment.get("method"),
+                payment.get("status"),
+                payment.get("transactionRef"),
+                payment.get("paidAt")));
+
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(payment, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), payment, cb));
+
+        TypedQuery<PaymentRow> typed = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typed.setFirstResult((int) pageable.getOffset());
+            typed.setMaxResults(pageable.getPageSize());
+        }
+        return typed.getResultList();
+    }
+}
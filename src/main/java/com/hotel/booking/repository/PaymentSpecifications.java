@@ -0,0 +1,104 @@
+package com.hotel.booking.repository;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.hotel.booking.entity.Invoice;
+import com.hotel.booking.entity.Payment;
+
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Reusable {@link Specification}s for {@link Payment} queries via
+ * {@link PaymentRepository#findPaymentRows(Specification, org.springframework.data.domain.Pageable)}
+ * and {@link PaymentRepository#count(Specification)}.
+ * <p>
+ * Every factory returns {@code null} for an empty criterion; Spring Data ignores
+ * {@code null} specifications when they are combined. The predicates compare the plain
+ * columns (prefix {@code LIKE}, date ranges) so the database can use its indexes.
+ * </p>
+ */
+public final class PaymentSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private PaymentSpecifications() {
+    }
+
+    /**
+     * Payment belongs to a booking of the given guest.
+     */
+    public static Specification<Payment> ofGuest(Long guestId) {
+        return guestId == null ? null
+                : (root, query, cb) -> cb.equal(join(root, "booking").get("guest").get("id"), guestId);
+    }
+
+    /**
+     * Booking number or transaction reference starts with {@code prefix}; a numeric prefix
+     * also matches the booking id exactly. Both numbers are generated in upper case, so the
+     * prefix is upper-cased instead of wrapping the columns in a function.
+     */
+    public static Specification<Payment> numberStartsWith(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return null;
+        }
+        String trimmed = prefix.trim();
+        String pattern = escapeLike(trimmed.toUpperCase(Locale.ROOT)) + "%";
+        Long bookingId = parseId(trimmed);
+        return (root, query, cb) -> {
+            Join<?, ?> booking = join(root, "booking");
+            Predicate byNumber = cb.or(
+                    cb.like(booking.get("bookingNumber"), pattern, LIKE_ESCAPE),
+                    cb.like(root.get("transactionRef"), pattern, LIKE_ESCAPE));
+            return bookingId == null ? byNumber : cb.or(byNumber, cb.equal(booking.get("id"), bookingId));
+        };
+    }
+
+    /**
+     * Payment has exactly the given status.
+     */
+    public static Specification<Payment> hasStatus(Invoice.PaymentStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    /**
+     * Payment has exactly the given method.
+     */
+    public static Specification<Payment> hasMethod(Invoice.PaymentMethod method) {
+        return method == null ? null : (root, query, cb) -> cb.equal(root.get("method"), method);
+    }
+
+    /**
+     * Payment was made on the given day.
+     */
+    public static Specification<Payment> paidOn(LocalDate day) {
+        return day == null ? null : (root, query, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(root.get("paidAt"), day.atStartOfDay()),
+                cb.lessThan(root.get("paidAt"), day.plusDays(1).atStartOfDay()));
+    }
+
+    // Reuses the projection's join instead of joining the booking twice
+    private static Join<?, ?> join(Root<Payment> root, String attribute) {
+        return root.getJoins().stream()
+                .filter(j -> j.getAttribute().getName().equals(attribute))
+                .findFirst()
+                .orElseGet(() -> root.join(attribute, JoinType.LEFT));
+    }
+
+    private static Long parseId(String text) {
+        try {
+            return Long.valueOf(text);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
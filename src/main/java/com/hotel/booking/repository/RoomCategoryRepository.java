@@ -1,11 +1,15 @@
 package com.hotel.booking.repository;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.google.common.base.Optional;
 import com.hotel.booking.entity.RoomCategory;
+import jakarta.persistence.QueryHint;
 import java.util.List;
 
 /**
@@ -14,12 +18,37 @@ import java.util.List;
  * Provides database access methods for room categories, including
  * custom queries based on category attributes.
  * </p>
+ * <p>
+ * {@link #findAll()} and {@link #findAllActive()} feed the booking form and the room cards on
+ * almost every request; their results are kept in the query cache and invalidated by Hibernate
+ * whenever a category is written.
+ * </p>
  *
  * @author Matthias Lohr
  */
 @Repository
 public interface RoomCategoryRepository extends JpaRepository<RoomCategory, Long> {
 
+    /**
+     * Retrieves all room categories with images and amenities, as shown on the room cards.
+     *
+     * @return all room categories
+     */
+    @Override
+    @EntityGraph(RoomCategory.GRAPH_CARD)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<RoomCategory> findAll();
+
+    /**
+     * Retrieves a room category with images and amenities (category form).
+     *
+     * @param id the category id
+     * @return the category, if it exists
+     */
+    @Override
+    @EntityGraph(RoomCategory.GRAPH_CARD)
+    java.util.Optional<RoomCategory> findById(Long id);
+
     /**
      * Retrieves a {@link RoomCategory} by its name.
      *
@@ -27,6 +56,7 @@ public interface RoomCategoryRepository extends JpaRepository<RoomCategory, Long
      * @return an {@link Optional} containing the {@link RoomCategory} if found,
      *         or an empty {@link Optional} if no category exists with the given name
      */
+    @EntityGraph(RoomCategory.GRAPH_CARD)
     Optional<RoomCategory> findByName(String name);
     
     /**
@@ -34,6 +64,8 @@ public interface RoomCategoryRepository extends JpaRepository<RoomCategory, Long
      *
      * @return a list of active RoomCategory entities
      */
+    @EntityGraph(RoomCategory.GRAPH_CARD)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT rc FROM RoomCategory rc WHERE rc.active = true")
     List<RoomCategory> findAllActive();
     
@@ -42,6 +74,7 @@ public interface RoomCategoryRepository extends JpaRepository<RoomCategory, Long
      *
      * @return a list of inactive RoomCategory entities
      */
+    @EntityGraph(RoomCategory.GRAPH_CARD)
     @Query("SELECT rc FROM RoomCategory rc WHERE rc.active = false OR rc.active IS NULL")
     List<RoomCategory> findAllInactive();
     
@@ -3,8 +3,10 @@ package com.hotel.booking.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.hotel.booking.entity.RoomImage;
  
@@ -29,5 +31,23 @@ public interface RoomImageRepository extends JpaRepository<RoomImage, Long> {
      */
     @Query("SELECT DISTINCT ri FROM RoomImage ri LEFT JOIN FETCH ri.category ORDER BY ri.imagePath")
     List<RoomImage> findAllWithCategory();
-}
 
+    /**
+     * Finds all images whose derivatives have not been generated yet.
+     */
+    @Query("SELECT ri FROM RoomImage ri WHERE ri.derivativeWidths IS NULL ORDER BY ri.id")
+    List<RoomImage> findWithoutDerivatives();
+
+    /**
+     * Records the widths of the generated derivatives of an image. The column is not updatable
+     * through the entity, so edits made in the UI at the same time cannot reset it.
+     *
+     * @param id     the image id
+     * @param widths ascending, comma-separated widths ({@code ""} if the original is small already)
+     * @return the number of updated rows
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE RoomImage ri SET ri.derivativeWidths = :widths WHERE ri.id = :id")
+    int updateDerivativeWidths(@Param("id") Long id, @Param("widths") String widths);
+}
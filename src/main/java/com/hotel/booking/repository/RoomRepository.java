@@ -1,10 +1,17 @@
 package com.hotel.booking.repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.hotel.booking.entity.BookingStatus;
 import com.hotel.booking.entity.Room;
 import com.hotel.booking.entity.RoomCategory;
 import com.hotel.booking.entity.RoomStatus;
@@ -21,12 +28,32 @@ import com.hotel.booking.entity.RoomStatus;
 @Repository
 public interface RoomRepository extends JpaRepository<Room, Long> {
 
+    /**
+     * Retrieves all rooms together with their category (room management grid).
+     *
+     * @return all rooms
+     */
+    @Override
+    @EntityGraph(Room.GRAPH_WITH_CATEGORY)
+    List<Room> findAll();
+
+    /**
+     * Retrieves a room together with its category (room form).
+     *
+     * @param id the room id
+     * @return the room, if it exists
+     */
+    @Override
+    @EntityGraph(Room.GRAPH_WITH_CATEGORY)
+    Optional<Room> findById(Long id);
+
     /**
      * Retrieves all rooms with the given status.
      *
      * @param status the status of the rooms
      * @return a list of rooms matching the specified status
      */
+    @EntityGraph(Room.GRAPH_WITH_CATEGORY)
     List<Room> findByStatus(RoomStatus status);
 
     /**
@@ -45,6 +72,15 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
      */
     long countByStatus(RoomStatus status);
 
+    /**
+     * Counts all rooms grouped by status in a single query.
+     * Each row contains {@code [status (RoomStatus), count (Long)]}; statuses without rooms are absent.
+     *
+     * @return one row per room status that occurs
+     */
+    @Query("SELECT r.status, COUNT(r) FROM Room r GROUP BY r.status")
+    List<Object[]> countGroupedByStatus();
+
     /**
      * Counts the number of rooms belonging to the given category.
      *
@@ -53,11 +89,47 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
      */
     long countByCategory(RoomCategory category);
 
+    /**
+     * Returns the ids of those categories that have at least one room without an overlapping
+     * booking in the period, in a single query. A booking overlaps when it starts on or before
+     * {@code checkOut}, ends on or after {@code checkIn} and does not have the excluded status.
+     *
+     * @param categories     the categories to check
+     * @param checkIn        first day of the period
+     * @param checkOut       last day of the period
+     * @param excludedStatus bookings with this status do not block a room
+     * @return the ids of the categories with a free room
+     */
+    @Query("""
+            SELECT DISTINCT r.category.category_id
+            FROM Room r
+            WHERE r.category IN :categories
+              AND NOT EXISTS (
+                  SELECT 1 FROM Booking b
+                  WHERE b.room = r
+                    AND b.checkInDate <= :checkOut
+                    AND b.checkOutDate >= :checkIn
+                    AND b.status <> :excludedStatus)
+            """)
+    List<Long> findCategoryIdsWithFreeRoom(
+            @Param("categories") Collection<RoomCategory> categories,
+            @Param("checkIn") LocalDate checkIn,
+            @Param("checkOut") LocalDate checkOut,
+            @Param("excludedStatus") BookingStatus excludedStatus);
+
     // Count rooms by category (alias for countByCategory)
     default long countRoomsByCategory(RoomCategory category) {
         return countByCategory(category);
     }
 
+    /**
+     * Counts all rooms that are currently active (bookable).
+     *
+     * @return the number of active rooms
+     */
+    long countByActiveTrue();
+
     // Find available rooms
+    @EntityGraph(Room.GRAPH_WITH_CATEGORY)
     List<Room> findByStatusAndActive(RoomStatus status, Boolean active);
 }
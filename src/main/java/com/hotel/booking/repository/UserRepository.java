@@ -3,11 +3,17 @@ package com.hotel.booking.repository;
 import com.hotel.booking.entity.User;
 import com.hotel.booking.entity.UserRole;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Spring Data JPA repository for {@link User} entity access.
@@ -82,4 +88,21 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return {@code true} if a user with this email exists, {@code false} otherwise
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Streams the identifiers indexed by the global search.
+     *
+     * <p>Each row contains {@code [id, username, firstName, lastName, email, role]}. A {@code null}
+     * id streams all users. The stream must be consumed inside a transaction and closed.
+     *
+     * @param id the user to load, or {@code null} for all users
+     * @return the search rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            SELECT u.id, u.username, u.firstName, u.lastName, u.email, u.role
+            FROM User u
+            WHERE (:id IS NULL OR u.id = :id)
+            """)
+    Stream<Object[]> streamSearchRows(@Param("id") Long id);
 }
\ No newline at end of file
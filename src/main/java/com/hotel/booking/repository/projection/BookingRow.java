@@ -0,0 +1,39 @@
+package com.hotel.booking.repository.projection;
+
+import com.hotel.booking.entity.BookingStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Read-only row of the booking management grids.
+ * <p>
+ * Loaded through a constructor expression, so list views keep a few scalar values per
+ * booking in the session instead of a managed {@link com.hotel.booking.entity.Booking}
+ * with its eager guest, room, category, invoice and extras. Dialogs and actions load the
+ * full booking by {@link #id()} when they need it.
+ * </p>
+ *
+ * @param id            booking id
+ * @param bookingNumber booking number shown to staff
+ * @param guestName     first and last name of the guest
+ * @param roomNumber    assigned room number (may be {@code null})
+ * @param amount        number of guests
+ * @param checkInDate   arrival date
+ * @param checkOutDate  departure date
+ * @param totalPrice    total price of the stay
+ * @param status        current booking status
+ * @param createdAt     creation date
+ */
+public record BookingRow(
+        Long id,
+        String bookingNumber,
+        String guestName,
+        String roomNumber,
+        Integer amount,
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        BigDecimal totalPrice,
+        BookingStatus status,
+        LocalDate createdAt) {
+}
@@ -0,0 +1,36 @@
+package com.hotel.booking.repository.projection;
+
+import com.hotel.booking.entity.BookingStatus;
+import com.hotel.booking.entity.Invoice;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row of the invoice grid.
+ * <p>
+ * Loaded through a constructor expression instead of managed {@link Invoice} entities,
+ * which would pull in the booking and its eager associations for every row.
+ * </p>
+ *
+ * @param id            invoice id
+ * @param invoiceNumber invoice number
+ * @param bookingId     id of the invoiced booking
+ * @param bookingNumber number of the invoiced booking
+ * @param bookingStatus status of the invoiced booking
+ * @param amount        invoiced amount
+ * @param paymentMethod payment method of the invoice
+ * @param invoiceStatus payment status of the invoice
+ * @param issuedAt      issue timestamp
+ */
+public record InvoiceRow(
+        Long id,
+        String invoiceNumber,
+        Long bookingId,
+        String bookingNumber,
+        BookingStatus bookingStatus,
+        BigDecimal amount,
+        Invoice.PaymentMethod paymentMethod,
+        Invoice.PaymentStatus invoiceStatus,
+        LocalDateTime issuedAt) {
+}
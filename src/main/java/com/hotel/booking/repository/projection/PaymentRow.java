@@ -0,0 +1,39 @@
+package com.hotel.booking.repository.projection;
+
+import com.hotel.booking.entity.BookingStatus;
+import com.hotel.booking.entity.Invoice;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row of the payment grid.
+ * <p>
+ * Loaded through a constructor expression instead of managed
+ * {@link com.hotel.booking.entity.Payment} entities, which would pull in the booking and
+ * its eager associations for every row.
+ * </p>
+ *
+ * @param id             payment id
+ * @param bookingId      id of the paid booking
+ * @param bookingNumber  number of the paid booking
+ * @param bookingStatus  status of the paid booking
+ * @param amount         paid amount
+ * @param refundedAmount refunded part of the amount (may be {@code null})
+ * @param method         payment method
+ * @param status         payment status
+ * @param transactionRef external transaction reference (may be {@code null})
+ * @param paidAt         payment timestamp (may be {@code null})
+ */
+public record PaymentRow(
+        Long id,
+        Long bookingId,
+        String bookingNumber,
+        BookingStatus bookingStatus,
+        BigDecimal amount,
+        BigDecimal refundedAmount,
+        Invoice.PaymentMethod method,
+        Invoice.PaymentStatus status,
+        String transactionRef,
+        LocalDateTime paidAt) {
+}
@@ -0,0 +1,22 @@
+package com.hotel.booking.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Pending bank transfer as indexed by the bank statement reconciliation.
+ *
+ * @param paymentId      id of the pending payment
+ * @param bookingId      id of the booking the transfer pays for
+ * @param bookingNumber  number of that booking (guests quote it in the transfer reference)
+ * @param transactionRef expected transaction reference (may be {@code null})
+ * @param amount         expected amount
+ *
+ * @see com.hotel.booking.service.BankStatementReconciliationService
+ */
+public record PendingTransfer(
+        Long paymentId,
+        Long bookingId,
+        String bookingNumber,
+        String transactionRef,
+        BigDecimal amount) {
+}
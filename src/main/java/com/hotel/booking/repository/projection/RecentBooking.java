@@ -0,0 +1,30 @@
+package com.hotel.booking.repository.projection;
+
+import com.hotel.booking.entity.BookingStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only row of the dashboard's recent bookings feed.
+ * <p>
+ * Loaded through a constructor expression, so no booking entity and none of its
+ * associations are materialized for the feed.
+ * </p>
+ *
+ * @param id            booking id
+ * @param bookingNumber booking number shown to staff
+ * @param guestName     first and last name of the guest
+ * @param roomNumber    assigned room number (may be {@code null})
+ * @param checkInDate   arrival date
+ * @param status        current booking status
+ * @param createdAt     creation date, used for ordering
+ */
+public record RecentBooking(
+        Long id,
+        String bookingNumber,
+        String guestName,
+        String roomNumber,
+        LocalDate checkInDate,
+        BookingStatus status,
+        LocalDate createdAt) {
+}
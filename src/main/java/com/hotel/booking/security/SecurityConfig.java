@@ -1,5 +1,6 @@
 package com.hotel.booking.security;
 
+import com.hotel.booking.entity.UserRole;
 import com.hotel.booking.view.LoginView;
 import com.vaadin.flow.spring.security.VaadinAwareSecurityContextHolderStrategyConfiguration;
 import com.vaadin.flow.spring.security.VaadinSecurityConfigurer;
@@ -39,6 +40,8 @@ public class SecurityConfig {
     @Bean
     SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http.authorizeHttpRequests(auth -> auth.requestMatchers("/images/**").permitAll());
+        http.authorizeHttpRequests(auth -> auth.requestMatchers("/api/cache/**").hasRole(UserRole.MANAGER_VALUE));
+        http.authorizeHttpRequests(auth -> auth.requestMatchers("/api/invoices/archive").hasRole(UserRole.MANAGER_VALUE));
 
         http.with(VaadinSecurityConfigurer.vaadin(), configurer ->
                 configurer.loginView(LoginView.class));
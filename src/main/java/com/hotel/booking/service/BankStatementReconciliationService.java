@@ -0,0 +1,367 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.entity.Invoice.PaymentMethod;
+import com.hotel.booking.entity.Invoice.PaymentStatus;
+import com.hotel.booking.repository.PaymentRepository;
+import com.hotel.booking.repository.projection.PendingTransfer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service reconciling bank statements against pending bank transfers.
+ * <p>
+ * Transfers ({@link PaymentMethod#TRANSFER}) stay {@code PENDING} until the money arrives.
+ * An import reads the statement (CSV) line by line and looks every word of the transfer
+ * reference up in a hash index over the transaction references and booking numbers of all
+ * pending transfers, so a statement is matched in one pass regardless of its length. Matched
+ * payments are marked as paid through {@link PaymentService#markTransfersPaid} (booking
+ * confirmation and invoice included), in transactions of
+ * {@code app.payments.reconciliation.batch-size} payments: per batch one locking select and one
+ * set-based update of the payments, and JDBC-batched booking updates. The index is a snapshot:
+ * a payment that was paid or cancelled in the meantime is not updated and reported as a problem.
+ * </p>
+ * <p>
+ * <b>CSV format:</b> a header row naming the columns, separated by {@code ;} or {@code ,}.
+ * The amount column is recognised as {@code amount}/{@code betrag}, the reference column as
+ * {@code reference}/{@code purpose}/{@code verwendungszweck}/{@code description}. Without a
+ * recognisable header, the columns are {@code date;amount;reference}. Amounts may use decimal
+ * comma or point; debits (negative amounts) are ignored.
+ * </p>
+ *
+ * @see PaymentService
+ */
+@Service
+public class BankStatementReconciliationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BankStatementReconciliationService.class);
+
+    // Shown in the UI; the log has the rest
+    private static final int MAX_PROBLEMS = 50;
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentService paymentService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate batchTransaction;
+    private final int batchSize;
+
+    public BankStatementReconciliationService(PaymentRepository paymentRepository,
+                                              PaymentService paymentService,
+                                              EntityManager entityManager,
+                                              PlatformTransactionManager transactionManager,
+                                              @Value("${app.payments.reconciliation.batch-size:500}") int batchSize) {
+        this.paymentRepository = paymentRepository;
+        this.paymentService = paymentService;
+        this.entityManager = entityManager;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Reads the statement and marks every matched pending transfer as paid.
+     *
+     * @param statement the CSV file (UTF-8); not closed
+     * @return counts and the first problems found
+     * @throws IOException if the statement cannot be read
+     */
+    public ReconciliationResult reconcile(InputStream statement) throws IOException {
+        long start = System.nanoTime();
+        TransferIndex index = new TransferIndex(paymentRepository.findTransfers(PaymentStatus.PENDING, PaymentMethod.TRANSFER));
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(statement, StandardCharsets.UTF_8));
+        List<PendingTransfer> batch = new ArrayList<>(batchSize);
+        List<String> problems = new ArrayList<>();
+        int lines = 0;
+        int matched = 0;
+        int unmatched = 0;
+
+        String line = reader.readLine();
+        if (line == null) {
+            return new ReconciliationResult(0, 0, 0, List.of());
+        }
+        line = stripBom(line);
+        char separator = line.indexOf(';') >= 0 ? ';' : ',';
+        Columns columns = Columns.fromHeader(split(line, separator));
+        int lineNumber = 1;
+        if (columns.headerPresent()) {
+            line = reader.readLine();
+            lineNumber++;
+        }
+
+        for (; line != null; line = reader.readLine(), lineNumber++) {
+            if (line.isBlank()) {
+                continue;
+            }
+            lines++;
+            List<String> fields = split(line, separator);
+            BigDecimal amount = columns.amount(fields);
+            if (amount == null) {
+                problem(problems, "Line " + lineNumber + ": no readable amount");
+                unmatched++;
+                continue;
+            }
+            if (amount.signum() <= 0) {
+                continue;
+            }
+            PendingTransfer transfer = index.match(columns.reference(fields), amount);
+            if (transfer == null) {
+                unmatched++;
+                continue;
+            }
+            if (transfer.amount() != null && amount.compareTo(transfer.amount()) < 0) {
+                problem(problems, "Line " + lineNumber + ": " + amount + " received for booking "
+                        + transfer.bookingNumber() + ", " + transfer.amount() + " expected");
+                unmatched++;
+                continue;
+            }
+            index.remove(transfer);
+            batch.add(transfer);
+            if (batch.size() == batchSize) {
+                int paid = apply(batch, problems);
+                matched += paid;
+                unmatched += batch.size() - paid;
+                batch.clear();
+            }
+        }
+        int paid = apply(batch, problems);
+        matched += paid;
+        unmatched += batch.size() - paid;
+
+        logger.info("Reconciled {} statement lines in {} ms: {} matched, {} unmatched",
+                lines, (System.nanoTime() - start) / 1_000_000, matched, unmatched);
+        return new ReconciliationResult(lines, matched, unmatched, List.copyOf(problems));
+    }
+
+    // One transaction per batch. The payments are locked and updated with one statement each;
+    // with COMMIT flush mode the invoice lookups do not flush every confirmed booking, so the
+    // booking updates go out as JDBC batches at commit.
+    // Returns the number of payments marked as paid; the others are reported as problems.
+    private int apply(List<PendingTransfer> batch, List<String> problems) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Set<Long> paid = batchTransaction.execute(status -> {
+            entityManager.setFlushMode(FlushModeType.COMMIT);
+            return paymentService.markTransfersPaid(batch);
+        });
+        for (PendingTransfer transfer : batch) {
+            if (paid == null || !paid.contains(transfer.paymentId())) {
+                problem(problems, "Booking " + transfer.bookingNumber() + ": payment " + transfer.paymentId()
+                        + " is no longer a pending transfer");
+            }
+        }
+        return paid != null ? paid.size() : 0;
+    }
+
+    private static void problem(List<String> problems, String problem) {
+        logger.debug("Bank statement: {}", problem);
+        if (problems.size() < MAX_PROBLEMS) {
+            problems.add(problem);
+        }
+    }
+
+    private static String stripBom(String line) {
+        return !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+
+    // Splits one CSV line; fields may be quoted with "" as escaped quote
+    static List<String> split(String line, char separator) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    // "1.234,56", "1,234.56", "1234,56" and "-12.50" (optionally with currency sign)
+    static BigDecimal parseAmount(String text) {
+        if (text == null) {
+            return null;
+        }
+        String value = text.replaceAll("[^0-9,.+-]", "");
+        int comma = value.lastIndexOf(',');
+        int point = value.lastIndexOf('.');
+        if (comma > point) {
+            value = value.replace(".", "").replace(',', '.');
+        } else {
+            value = value.replace(",", "");
+        }
+        try {
+            return value.isEmpty() ? null : new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Positions of the amount and reference columns.
+     */
+    private record Columns(int amount, int reference, boolean headerPresent) {
+
+        private static final Columns DEFAULT = new Columns(1, 2, false);
+
+        static Columns fromHeader(List<String> header) {
+            int amount = -1;
+            int reference = -1;
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i).toLowerCase(Locale.ROOT);
+                if (amount < 0 && (name.equals("amount") || name.equals("betrag"))) {
+                    amount = i;
+                } else if (reference < 0 && (name.equals("reference") || name.equals("purpose")
+                        || name.equals("verwendungszweck") || name.equals("description"))) {
+                    reference = i;
+                }
+            }
+            return amount >= 0 && reference >= 0 ? new Columns(amount, reference, true) : DEFAULT;
+        }
+
+        BigDecimal amount(List<String> fields) {
+            return amount < fields.size() ? parseAmount(fields.get(amount)) : null;
+        }
+
+        String reference(List<String> fields) {
+            return reference < fields.size() ? fields.get(reference) : "";
+        }
+    }
+
+    /**
+     * Hash index over the transaction references and booking numbers of the pending transfers.
+     * References and keys are split into upper-case words the same way, so a key matches when its
+     * words appear in the reference in a row ({@code TRX/2026/17} matches
+     * {@code "Payment TRX 2026 17"}). Several transfers may share a key (e.g. deposit and
+     * balance of one booking); then the one whose amount fits the credit is taken.
+     */
+    static final class TransferIndex {
+
+        // First word of a key -> all keys starting with it
+        private final Map<String, List<Key>> byFirstWord = new HashMap<>();
+
+        TransferIndex(List<PendingTransfer> transfers) {
+            for (PendingTransfer transfer : transfers) {
+                put(transfer.transactionRef(), transfer);
+                put(transfer.bookingNumber(), transfer);
+            }
+        }
+
+        /**
+         * @param reference the transfer reference of the statement line
+         * @param amount    the credited amount
+         * @return a transfer whose key occurs in the reference: one with exactly {@code amount}
+         *         before one covered by it before an underpaid one, earlier keys first;
+         *         {@code null} if no key occurs
+         */
+        PendingTransfer match(String reference, BigDecimal amount) {
+            if (reference == null) {
+                return null;
+            }
+            List<String> words = words(reference);
+            PendingTransfer best = null;
+            int bestFit = -1;
+            for (int i = 0; i < words.size() && bestFit < 2; i++) {
+                for (Key key : byFirstWord.getOrDefault(words.get(i), List.of())) {
+                    int fit = fit(key.transfer(), amount);
+                    if (fit > bestFit && key.occursAt(words, i)) {
+                        best = key.transfer();
+                        bestFit = fit;
+                    }
+                }
+            }
+            return best;
+        }
+
+        // A transfer is paid once; later lines quoting it again stay unmatched
+        void remove(PendingTransfer transfer) {
+            remove(transfer.transactionRef(), transfer);
+            remove(transfer.bookingNumber(), transfer);
+        }
+
+        private void put(String text, PendingTransfer transfer) {
+            List<String> words = text != null ? words(text) : List.of();
+            if (!words.isEmpty()) {
+                byFirstWord.computeIfAbsent(words.getFirst(), word -> new ArrayList<>(1)).add(new Key(words, transfer));
+            }
+        }
+
+        private void remove(String text, PendingTransfer transfer) {
+            List<String> words = text != null ? words(text) : List.of();
+            if (words.isEmpty()) {
+                return;
+            }
+            List<Key> keys = byFirstWord.get(words.getFirst());
+            if (keys != null) {
+                keys.removeIf(key -> key.transfer() == transfer);
+                if (keys.isEmpty()) {
+                    byFirstWord.remove(words.getFirst());
+                }
+            }
+        }
+
+        // 2 = exact amount, 1 = paid in full or amount unknown, 0 = underpaid
+        private static int fit(PendingTransfer transfer, BigDecimal amount) {
+            if (transfer.amount() == null || amount == null) {
+                return 1;
+            }
+            int comparison = amount.compareTo(transfer.amount());
+            return comparison == 0 ? 2 : comparison > 0 ? 1 : 0;
+        }
+
+        // Booking numbers contain '-' (20261018-AB12CD34); everything else separates words
+        static List<String> words(String text) {
+            List<String> words = new ArrayList<>();
+            for (String word : text.toUpperCase(Locale.ROOT).split("[^A-Z0-9-]+")) {
+                if (!word.isEmpty()) {
+                    words.add(word);
+                }
+            }
+            return words;
+        }
+
+        private record Key(List<String> words, PendingTransfer transfer) {
+
+            boolean occursAt(List<String> reference, int start) {
+                return start + words.size() <= reference.size()
+                        && reference.subList(start, start + words.size()).equals(words);
+            }
+        }
+    }
+}
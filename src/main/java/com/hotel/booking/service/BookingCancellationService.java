@@ -46,6 +46,7 @@ public class BookingCancellationService {
     }
 
     // Speichert einen BookingCancellation-Eintrag
+    @Transactional
     public BookingCancellation save(BookingCancellation cancellation) {
         BookingCancellation saved = cancellationRepository.save(cancellation);
         
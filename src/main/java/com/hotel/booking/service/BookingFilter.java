@@ -0,0 +1,30 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.entity.BookingStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Filter criteria of the booking management grid.
+ * <p>
+ * {@code null} (or blank) values mean "no restriction". Translated into a JPA
+ * {@code Specification} by {@link BookingService#findBookings}, so filtering, paging and
+ * sorting happen in the database.
+ * </p>
+ *
+ * @param search       part of the booking number or the guest's full name (case-insensitive)
+ * @param status       exact booking status
+ * @param createdAfter only bookings created after this date
+ * @param categoryName name of the booked room category (case-insensitive)
+ */
+public record BookingFilter(
+        String search,
+        BookingStatus status,
+        LocalDate createdAfter,
+        String categoryName) {
+
+    /** Filter without any restriction. */
+    public static BookingFilter none() {
+        return new BookingFilter(null, null, null, null);
+    }
+}
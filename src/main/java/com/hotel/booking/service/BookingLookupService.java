@@ -0,0 +1,93 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.entity.BookingCancellation;
+import com.hotel.booking.entity.Invoice;
+import com.hotel.booking.entity.Payment;
+import com.hotel.booking.repository.BookingCancellationRepository;
+import com.hotel.booking.repository.InvoiceRepository;
+import com.hotel.booking.repository.PaymentRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Batch loader for the per-booking lookups of the finance and guest views.
+ * <p>
+ * Instead of one {@code findByBookingId} per grid row or booking card, a view collects the
+ * booking ids it is about to render and resolves payments, cancellations and invoices with
+ * one {@code IN (...)} query each. The result is a {@link BookingLookups} snapshot that the
+ * renderers read from.
+ * </p>
+ *
+ * @see BookingLookups
+ */
+@Service
+@Transactional(readOnly = true)
+public class BookingLookupService {
+
+    private final PaymentRepository paymentRepository;
+    private final BookingCancellationRepository cancellationRepository;
+    private final InvoiceRepository invoiceRepository;
+
+    public BookingLookupService(PaymentRepository paymentRepository,
+                                BookingCancellationRepository cancellationRepository,
+                                InvoiceRepository invoiceRepository) {
+        this.paymentRepository = paymentRepository;
+        this.cancellationRepository = cancellationRepository;
+        this.invoiceRepository = invoiceRepository;
+    }
+
+    /**
+     * Loads the lookups of the given bookings with three queries, or none for an empty input.
+     *
+     * @param bookingIds ids of the bookings about to be rendered; {@code null} ids are ignored
+     * @return the snapshot covering exactly these bookings
+     */
+    public BookingLookups load(Collection<Long> bookingIds) {
+        Set<Long> ids = bookingIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (ids.isEmpty()) {
+            return BookingLookups.empty();
+        }
+
+        Map<Long, List<Payment>> payments = paymentRepository.findByBookingIdInOrderByIdAsc(ids).stream()
+                .collect(Collectors.groupingBy(p -> p.getBooking().getId()));
+
+        // Newest first: the first cancellation per booking is its latest one
+        Map<Long, BookingCancellation> cancellations = new HashMap<>();
+        for (BookingCancellation cancellation : cancellationRepository.findByBookingIdInOrderByCancelledAtDesc(ids)) {
+            cancellations.putIfAbsent(cancellation.getBooking().getId(), cancellation);
+        }
+
+        Map<Long, Invoice> invoices = new HashMap<>();
+        for (Invoice invoice : invoiceRepository.findByBookingIdIn(ids)) {
+            invoices.putIfAbsent(invoice.getBooking().getId(), invoice);
+        }
+
+        return new BookingLookups(ids, payments, cancellations, invoices);
+    }
+
+    /**
+     * Extends {@code known} by the bookings it does not cover yet. Lazy grids call this for
+     * every fetched page, so scrolling back to a page costs no further queries.
+     *
+     * @param known      lookups loaded so far
+     * @param bookingIds ids of the bookings about to be rendered
+     * @return {@code known} if it already covers all bookings, otherwise the merged snapshot
+     */
+    public BookingLookups loadMissing(BookingLookups known, Collection<Long> bookingIds) {
+        List<Long> missing = bookingIds.stream()
+                .filter(id -> id != null && !known.covers(id))
+                .toList();
+        return missing.isEmpty() ? known : known.merge(load(missing));
+    }
+}
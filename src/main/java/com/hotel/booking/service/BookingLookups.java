@@ -0,0 +1,98 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.entity.BookingCancellation;
+import com.hotel.booking.entity.Invoice;
+import com.hotel.booking.entity.Payment;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Payments, latest cancellation and invoice of a set of bookings, loaded in one batch by
+ * {@link BookingLookupService}.
+ * <p>
+ * Views prefetch the bookings of the visible page once and then read every row from this
+ * snapshot instead of issuing one query per row. The snapshot is immutable;
+ * {@link #merge(BookingLookups)} combines it with a later batch.
+ * </p>
+ */
+public final class BookingLookups {
+
+    private static final BookingLookups EMPTY = new BookingLookups(Set.of(), Map.of(), Map.of(), Map.of());
+
+    private final Set<Long> bookingIds;
+    private final Map<Long, List<Payment>> payments;
+    private final Map<Long, BookingCancellation> latestCancellations;
+    private final Map<Long, Invoice> invoices;
+
+    BookingLookups(Set<Long> bookingIds,
+                   Map<Long, List<Payment>> payments,
+                   Map<Long, BookingCancellation> latestCancellations,
+                   Map<Long, Invoice> invoices) {
+        this.bookingIds = Set.copyOf(bookingIds);
+        this.payments = Map.copyOf(payments);
+        this.latestCancellations = Map.copyOf(latestCancellations);
+        this.invoices = Map.copyOf(invoices);
+    }
+
+    /** Snapshot without any booking. */
+    public static BookingLookups empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Whether the booking was part of a loaded batch. Only then do the getters reflect the
+     * database; for other bookings they return empty results.
+     */
+    public boolean covers(Long bookingId) {
+        return bookingIds.contains(bookingId);
+    }
+
+    /** All payments of the booking, ordered by id. */
+    public List<Payment> payments(Long bookingId) {
+        return payments.getOrDefault(bookingId, List.of());
+    }
+
+    /** The most recent cancellation of the booking, if any. */
+    public Optional<BookingCancellation> latestCancellation(Long bookingId) {
+        return Optional.ofNullable(latestCancellations.get(bookingId));
+    }
+
+    /** The invoice of the booking, if any. */
+    public Optional<Invoice> invoice(Long bookingId) {
+        return Optional.ofNullable(invoices.get(bookingId));
+    }
+
+    /**
+     * Combines both snapshots; entries of {@code other} win for bookings contained in both.
+     *
+     * @param other a later batch
+     * @return the combined snapshot
+     */
+    public BookingLookups merge(BookingLookups other) {
+        if (other.bookingIds.isEmpty()) {
+            return this;
+        }
+        if (bookingIds.isEmpty()) {
+            return other;
+        }
+        Set<Long> ids = new HashSet<>(bookingIds);
+        ids.addAll(other.bookingIds);
+        return new BookingLookups(ids,
+                combine(payments, other.payments, other.bookingIds),
+                combine(latestCancellations, other.latestCancellations, other.bookingIds),
+                combine(invoices, other.invoices, other.bookingIds));
+    }
+
+    // Replaces the entries of the newer batch's bookings, including those it found nothing for
+    private static <V> Map<Long, V> combine(Map<Long, V> older, Map<Long, V> newer, Set<Long> newerIds) {
+        Map<Long, V> combined = new HashMap<>(older);
+        combined.keySet().removeAll(newerIds);
+        combined.putAll(newer);
+        return combined;
+    }
+}
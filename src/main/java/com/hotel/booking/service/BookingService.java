@@ -8,8 +8,14 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,8 +25,10 @@ import com.hotel.booking.entity.BookingStatus;
 import com.hotel.booking.entity.Room;
 import com.hotel.booking.entity.RoomCategory;
 import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.BookingSpecifications;
 import com.hotel.booking.repository.RoomCategoryRepository;
 import com.hotel.booking.repository.RoomRepository;
+import com.hotel.booking.repository.projection.BookingRow;
 
 /**
  * Service for booking operations.
@@ -35,6 +43,8 @@ public class BookingService {
     private final RoomCategoryRepository roomCategoryRepository;
     private final EmailService emailService;
     private final BookingModificationService modificationService;
+
+    private static final Sort DEFAULT_GRID_SORT = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
     
    
     public BookingService(BookingRepository bookingRepository, RoomRepository roomRepository, RoomCategoryRepository roomCategoryRepository, EmailService emailService, BookingModificationService modificationService) {
@@ -49,6 +59,36 @@ public class BookingService {
         return bookingRepository.findAll();
     }
 
+    /**
+     * Loads one page of grid rows matching the filter. Filtering, sorting and paging run in the
+     * database; without a requested sort the newest bookings come first. Only the row columns are
+     * read, no booking entities are loaded.
+     */
+    @Transactional(readOnly = true)
+    public List<BookingRow> findBookings(BookingFilter filter, Pageable pageable) {
+        Pageable page = pageable.getSort().isSorted()
+                ? pageable
+                : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), DEFAULT_GRID_SORT);
+        // The grid asks for the count separately, so no count query here
+        return bookingRepository.findBookingRows(toSpecification(filter), page);
+    }
+
+    /**
+     * Counts the bookings matching the filter with a single count query.
+     */
+    @Transactional(readOnly = true)
+    public long countBookings(BookingFilter filter) {
+        return bookingRepository.count(toSpecification(filter));
+    }
+
+    private static Specification<Booking> toSpecification(BookingFilter filter) {
+        return Specification.allOf(
+                BookingSpecifications.bookingNumberOrGuestNameContains(filter.search()),
+                BookingSpecifications.hasStatus(filter.status()),
+                BookingSpecifications.createdAfter(filter.createdAfter()),
+                BookingSpecifications.inCategoryNamed(filter.categoryName()));
+    }
+
     public Optional<Booking> findById(Long id) {
         return bookingRepository.findById(id);
     }
@@ -175,49 +215,6 @@ public class BookingService {
         return bookingRepository.findByCheckInDateLessThanEqualAndCheckOutDateGreaterThanEqualAndStatusNot(start, end, BookingStatus.CANCELLED);
     }
 
-    //Buchungen der letzten 5 Tage
-    //Matthias Lohr
-    public List<Booking> getRecentBookings() {
-        LocalDate today = LocalDate.now();
-        LocalDate fiveDaysAgo = today.minusDays(5);
-        return bookingRepository.findAll()
-        .stream()
-                .filter(booking -> !booking.getCreatedAt().isBefore(fiveDaysAgo))
-                .toList();
-    }
-
-    // Matthias Lohr
-    public int getNumberOfGuestsPresent() {
-        List<Booking> todayBookings = bookingRepository.findByCheckInDateLessThanEqualAndCheckOutDateGreaterThanEqualAndStatusNot(LocalDate.now(), LocalDate.now(), BookingStatus.CANCELLED);
-        return todayBookings.stream()
-                .mapToInt(Booking::getAmount)
-                .sum();
-    }
-
-    // Matthias Lohr
-    public int getNumberOfCheckoutsToday() {
-        List<Booking> todayCheckouts = bookingRepository.findByCheckInDateLessThanEqualAndCheckOutDateGreaterThanEqualAndStatusNot(LocalDate.now(), LocalDate.now(), BookingStatus.CANCELLED);
-        return (int) todayCheckouts.stream()
-                .filter(booking -> booking.getCheckOutDate().isEqual(LocalDate.now()))
-                .count();
-    }
-
-    // Matthias Lohr
-    public int getNumberOfCheckinsToday() {
-        List<Booking> todayCheckins = bookingRepository.findByCheckInDateLessThanEqualAndCheckOutDateGreaterThanEqualAndStatusNot(LocalDate.now(), LocalDate.now(), BookingStatus.CANCELLED);
-        return (int) todayCheckins.stream()
-                .filter(booking -> booking.getCheckInDate().isEqual(LocalDate.now()))
-                .count();
-    }
-
-    // Matthias Lohr
-    public BigDecimal getRevenueToday() {
-        List<Booking> todayBookings = bookingRepository.findByCheckInDateLessThanEqualAndCheckOutDateGreaterThanEqualAndStatusNot(LocalDate.now(), LocalDate.now(), BookingStatus.CANCELLED);
-        return todayBookings.stream()
-                .map(Booking::getTotalPrice)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-
     private String generateBookingNumber() {
     // Example: YYYYMMDD-xxxxx
     String prefix = LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE);
@@ -297,6 +294,8 @@ public class BookingService {
 
 
     //Viktor Götting Sucht die verfügbaren Kategorien in der gesuchten Zeit und sortiert alle aus die mehr Gäste brauchen als MaxOccupancy zulässt
+    // Read-only: läuft auf dem Replikat; die verbindliche Prüfung beim Speichern (save) läuft auf dem Primary
+    @Transactional(readOnly = true)
     public List<RoomCategory> availableRoomCategoriesSearch(
         LocalDate checkIn,
         LocalDate checkOut,
@@ -318,26 +317,24 @@ public class BookingService {
         categoriesToCheck = List.of(opt.get());
     }
 
-    
-    List<RoomCategory> availableCategories = new ArrayList<>();
-
-    for (RoomCategory category : categoriesToCheck) {
-        if (category == null || category.getMaxOccupancy() == null) {
-            continue;
-        }
+    // Prüfe MaxOccupancy
+    List<RoomCategory> candidates = categoriesToCheck.stream()
+        .filter(category -> category != null && category.getMaxOccupancy() != null)
+        .filter(category -> occupancy <= category.getMaxOccupancy())
+        .toList();
+    if (candidates.isEmpty()) {
+        return List.of();
+    }
 
-        // Prüfe MaxOccupancy
-        if (occupancy > category.getMaxOccupancy()) {
-            continue;
-        }
+    // Prüfe mit einer einzigen Abfrage, welche Kategorien im Zeitraum mindestens ein freies Zimmer haben
+    Set<Long> withFreeRoom = new HashSet<>(roomRepository.findCategoryIdsWithFreeRoom(
+        candidates, checkIn, checkOut, BookingStatus.CANCELLED));
 
-        // Prüfe, ob mindestens ein Zimmer der Kategorie im Zeitraum verfügbar ist
-        if (isRoomAvailable(category, checkIn, checkOut)) {
-            availableCategories.add(category);
-        }
-    }
+    List<RoomCategory> availableCategories = candidates.stream()
+        .filter(category -> withFreeRoom.contains(category.getCategory_id()))
+        .collect(Collectors.toCollection(ArrayList::new));
 
-    return availableCategories;
+    return RoomCategoryService.withCollections(availableCategories);
 }
 
     //In diesem Service, da die Methode so nur fürs Booking verwendet wird
@@ -0,0 +1,39 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.config.LocalCacheRegionFactory;
+import com.hotel.booking.config.LocalCacheRegionFactory.RegionStatistics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Service exposing the hit ratios of the second-level cache.
+ * <p>
+ * Reads the counters of the {@link LocalCacheRegionFactory}. When the cache is disabled
+ * ({@code HIBERNATE_SECOND_LEVEL_CACHE=false}) or another provider is configured, no regions
+ * are reported.
+ * </p>
+ */
+@Service
+public class CacheStatisticsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CacheStatisticsService(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Returns hits, misses, puts and size of every cache region, ordered by region name.
+     *
+     * @return the region statistics, empty if the local cache is not in use
+     */
+    public List<RegionStatistics> getRegionStatistics() {
+        RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getCache().getRegionFactory();
+        return regionFactory instanceof LocalCacheRegionFactory local ? local.getRegionStatistics() : List.of();
+    }
+}
@@ -0,0 +1,58 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.entity.BookingStatus;
+import com.hotel.booking.entity.Invoice;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.RoomRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Service providing the KPIs of the dashboard.
+ * <p>
+ * All figures are computed with exactly two aggregate queries per render:
+ * conditional sums over today's bookings (including the pending invoice count
+ * as a subquery) and a GROUP BY over the room status. No entities are loaded.
+ * </p>
+ */
+@Service
+@Transactional(readOnly = true)
+public class DashboardService {
+
+    private final BookingRepository bookingRepository;
+    private final RoomRepository roomRepository;
+
+    public DashboardService(BookingRepository bookingRepository, RoomRepository roomRepository) {
+        this.bookingRepository = bookingRepository;
+        this.roomRepository = roomRepository;
+    }
+
+    /**
+     * Builds the KPI snapshot for today.
+     */
+    public DashboardSnapshot getSnapshot() {
+        LocalDate today = LocalDate.now();
+
+        // Aggregates without GROUP BY always return exactly one row
+        List<Object[]> rows = bookingRepository.summarizeDay(
+            today, BookingStatus.CANCELLED, Invoice.PaymentStatus.PENDING);
+        Object[] day = rows.isEmpty() ? new Object[5] : rows.get(0);
+
+        return new DashboardSnapshot(
+            today,
+            intValue(day[0]),
+            intValue(day[1]),
+            intValue(day[2]),
+            day[3] == null ? BigDecimal.ZERO : new BigDecimal(day[3].toString()),
+            intValue(day[4]),
+            RoomService.toStatusCounts(roomRepository.countGroupedByStatus()));
+    }
+
+    private static int intValue(Object value) {
+        return value == null ? 0 : ((Number) value).intValue();
+    }
+}
@@ -0,0 +1,40 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.entity.RoomStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Immutable set of today's KPIs shown on the dashboard.
+ * <p>
+ * Built by {@link DashboardService#getSnapshot()} from two aggregate queries
+ * instead of one query (and entity load) per card.
+ * </p>
+ *
+ * @param date           the day the figures refer to
+ * @param guestsPresent  sum of guests of all non-cancelled bookings staying today
+ * @param checkinsToday  number of non-cancelled bookings arriving today
+ * @param checkoutsToday number of non-cancelled bookings departing today
+ * @param revenueToday   total price of all non-cancelled bookings staying today
+ * @param pendingInvoices number of invoices with status PENDING
+ * @param roomsByStatus  number of rooms per status (contains every status)
+ */
+public record DashboardSnapshot(
+        LocalDate date,
+        int guestsPresent,
+        int checkinsToday,
+        int checkoutsToday,
+        BigDecimal revenueToday,
+        int pendingInvoices,
+        Map<RoomStatus, Long> roomsByStatus) {
+
+    public long occupiedRooms() {
+        return roomsByStatus.getOrDefault(RoomStatus.OCCUPIED, 0L);
+    }
+
+    public long availableRooms() {
+        return roomsByStatus.getOrDefault(RoomStatus.AVAILABLE, 0L);
+    }
+}
@@ -30,14 +30,14 @@ import jakarta.mail.internet.MimeMessage;
 public class EmailService {
 
     private final JavaMailSender emailSender;
-    private final InvoicePdfService invoicePdfService;
+    private final InvoicePdfCache invoicePdfCache;
     private final BookingModificationService modificationService;
 
     @Value("${app.mail.from:no-reply@example.com}")
     private String defaultFrom;
-    public EmailService(JavaMailSender emailSender, InvoicePdfService invoicePdfService, @Lazy BookingModificationService modificationService) {
+    public EmailService(JavaMailSender emailSender, InvoicePdfCache invoicePdfCache, @Lazy BookingModificationService modificationService) {
         this.emailSender = emailSender;
-        this.invoicePdfService = invoicePdfService;
+        this.invoicePdfCache = invoicePdfCache;
         this.modificationService = modificationService;
     }
 
@@ -116,7 +116,7 @@ public class EmailService {
         String email = getGuestEmail(invoice.getBooking());
         if (email == null) return;
         
-        byte[] pdfBytes = invoicePdfService.generateInvoicePdf(invoice);
+        byte[] pdfBytes = invoicePdfCache.getPdf(invoice);
         sendHtmlMessageWithAttachment(email, "Invoice - " + invoice.getInvoiceNumber(), 
                 buildInvoiceTemplate(invoice), pdfBytes, 
                 "invoice_" + invoice.getInvoiceNumber() + ".pdf", "application/pdf");
@@ -0,0 +1,20 @@
+package com.hotel.booking.service;
+
+import java.time.LocalDate;
+
+/**
+ * Number of arrivals and departures on one day of the front-desk horizon.
+ *
+ * @param date       the day
+ * @param arrivals   bookings checking in on that day
+ * @param departures bookings checking out on that day
+ */
+public record FrontDeskDay(LocalDate date, long arrivals, long departures) {
+
+    /**
+     * @return {@code true} if at least one guest arrives or departs on this day
+     */
+    public boolean hasMovements() {
+        return arrivals > 0 || departures > 0;
+    }
+}
@@ -0,0 +1,138 @@
+package com.hotel.booking.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.hotel.booking.entity.BookingStatus;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.projection.BookingRow;
+
+/**
+ * Arrivals and departures for the front desk.
+ * <p>
+ * Every method reads only the bookings that check in or out in the requested period,
+ * through queries on {@code check_in_date} and {@code check_out_date} that are served by
+ * the booking indexes. Results are {@link BookingRow}s, no booking entities are loaded.
+ * </p>
+ * <ul>
+ *   <li>An <b>arrival</b> is a pending, confirmed or modified booking checking in on the day.</li>
+ *   <li>A <b>departure</b> is a checked-in booking checking out on the day. Bookings that never
+ *       arrived are no departures; they remain arrivals of their check-in day.</li>
+ * </ul>
+ */
+@Service
+@Transactional(readOnly = true)
+public class FrontDeskService {
+
+    /** Number of days covered by {@link #getHorizon(LocalDate)}, including the start day. */
+    public static final int HORIZON_DAYS = 7;
+
+    static final List<BookingStatus> ARRIVAL_STATUSES =
+            List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED, BookingStatus.MODIFIED);
+
+    static final List<BookingStatus> DEPARTURE_STATUSES = List.of(BookingStatus.CHECKED_IN);
+
+    private final BookingRepository bookingRepository;
+
+    public FrontDeskService(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+    }
+
+    /**
+     * Returns the bookings arriving on the given day, ordered by booking number.
+     *
+     * @param day the arrival day
+     * @return the arrivals
+     */
+    public List<BookingRow> findArrivals(LocalDate day) {
+        return bookingRepository.findArrivalRows(day, ARRIVAL_STATUSES);
+    }
+
+    /**
+     * Returns the bookings departing on the given day, ordered by booking number.
+     *
+     * @param day the departure day
+     * @return the departures
+     */
+    public List<BookingRow> findDepartures(LocalDate day) {
+        return bookingRepository.findDepartureRows(day, DEPARTURE_STATUSES);
+    }
+
+    /**
+     * Returns whether a booking can be checked in on the given day, i.e. whether it is one of
+     * the day's arrivals. The front desk checks the grid row to show the action and the freshly
+     * loaded booking again before performing it.
+     *
+     * @param status      the booking status
+     * @param checkInDate the check-in date
+     * @param day         the day of the check-in, usually today
+     * @return {@code true} if the booking can be checked in
+     */
+    public boolean canCheckIn(BookingStatus status, LocalDate checkInDate, LocalDate day) {
+        return status != null && ARRIVAL_STATUSES.contains(status) && day.equals(checkInDate);
+    }
+
+    /**
+     * Returns whether a booking can be checked out on the given day: it is checked in and
+     * checks out on that day.
+     *
+     * @param status       the booking status
+     * @param checkOutDate the check-out date
+     * @param day          the day of the check-out, usually today
+     * @return {@code true} if the booking can be checked out
+     */
+    public boolean canCheckOut(BookingStatus status, LocalDate checkOutDate, LocalDate day) {
+        return status == BookingStatus.CHECKED_IN && day.equals(checkOutDate);
+    }
+
+    /**
+     * Returns the arrivals and departures of the given day in one list, ordered by booking number.
+     *
+     * @param day the day
+     * @return arrivals and departures
+     */
+    public List<BookingRow> findMovements(LocalDate day) {
+        Map<Long, BookingRow> rows = new LinkedHashMap<>();
+        findArrivals(day).forEach(row -> rows.put(row.id(), row));
+        findDepartures(day).forEach(row -> rows.putIfAbsent(row.id(), row));
+
+        List<BookingRow> movements = new ArrayList<>(rows.values());
+        movements.sort(Comparator.comparing(BookingRow::bookingNumber, Comparator.nullsLast(Comparator.naturalOrder())));
+        return movements;
+    }
+
+    /**
+     * Counts arrivals and departures for {@link #HORIZON_DAYS} days starting at {@code from}
+     * with two grouped queries. Days without movements are included with zero counts.
+     *
+     * @param from first day of the horizon, usually today
+     * @return one entry per day in chronological order
+     */
+    public List<FrontDeskDay> getHorizon(LocalDate from) {
+        LocalDate to = from.plusDays(HORIZON_DAYS - 1L);
+        Map<LocalDate, Long> arrivals = toCountsByDay(bookingRepository.countArrivalsPerDay(from, to, ARRIVAL_STATUSES));
+        Map<LocalDate, Long> departures = toCountsByDay(bookingRepository.countDeparturesPerDay(from, to, DEPARTURE_STATUSES));
+
+        List<FrontDeskDay> horizon = new ArrayList<>(HORIZON_DAYS);
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            horizon.add(new FrontDeskDay(day, arrivals.getOrDefault(day, 0L), departures.getOrDefault(day, 0L)));
+        }
+        return horizon;
+    }
+
+    private static Map<LocalDate, Long> toCountsByDay(List<Object[]> rows) {
+        Map<LocalDate, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((LocalDate) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,222 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.entity.Invoice;
+import com.hotel.booking.entity.Payment;
+import com.hotel.booking.entity.User;
+import com.hotel.booking.event.EntityChangedEvent;
+import com.hotel.booking.event.EntityChangedEvent.ChangeType;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.InvoiceRepository;
+import com.hotel.booking.repository.PaymentRepository;
+import com.hotel.booking.repository.UserRepository;
+import com.hotel.booking.service.SearchHit.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+/**
+ * Global staff search over bookings, users, invoices and payments.
+ * <p>
+ * Booking numbers, guest names, emails, invoice numbers and transaction references are kept in
+ * one {@link NGramIndex}. The index is filled after startup by streaming narrow projection rows
+ * (no entities) and afterwards kept current by committed {@link EntityChangedEvent}s, so a search
+ * never touches the database.
+ * </p>
+ * <p>
+ * Building and re-indexing run on the single {@code searchIndexExecutor} thread, in the order
+ * they were triggered: neither startup nor the committing request waits for the index, and
+ * changes committed during the initial build are applied after it. Until the build has
+ * finished, searches return the records indexed so far.
+ * </p>
+ */
+@Service
+public class GlobalSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GlobalSearchService.class);
+
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final PaymentRepository paymentRepository;
+    private final TransactionTemplate readTransaction;
+    private final Executor searchIndexExecutor;
+
+    private final NGramIndex<DocumentKey, SearchHit> index = new NGramIndex<>();
+
+    public GlobalSearchService(BookingRepository bookingRepository,
+                               UserRepository userRepository,
+                               InvoiceRepository invoiceRepository,
+                               PaymentRepository paymentRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Qualifier("searchIndexExecutor") Executor searchIndexExecutor) {
+        this.bookingRepository = bookingRepository;
+        this.userRepository = userRepository;
+        this.invoiceRepository = invoiceRepository;
+        this.paymentRepository = paymentRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.searchIndexExecutor = searchIndexExecutor;
+    }
+
+    /**
+     * Returns up to {@code limit} hits whose identifiers contain {@code query} (case-insensitive).
+     * Queries shorter than {@value NGramIndex#N} characters return no hits.
+     */
+    public List<SearchHit> search(String query, int limit) {
+        return index.search(query, limit);
+    }
+
+    /**
+     * Builds the index in the background after startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleIndexBuild() {
+        submit("build the search index", this::buildIndex);
+    }
+
+    /**
+     * Re-indexes a record in the background after a committed change. User changes also
+     * re-index the user's bookings because they contain the guest name and email.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent<?> event) {
+        // Read the id now; the entity may change before the task runs
+        DocumentKey key = switch (event.getEntity()) {
+            case Booking booking -> new DocumentKey(Type.BOOKING, booking.getId());
+            case User user -> new DocumentKey(Type.USER, user.getId());
+            case Invoice invoice -> new DocumentKey(Type.INVOICE, invoice.getId());
+            case Payment payment -> new DocumentKey(Type.PAYMENT, payment.getId());
+            default -> null;
+        };
+        if (key != null) {
+            boolean deleted = event.getChangeType() == ChangeType.DELETED;
+            submit("re-index " + key, () -> reindex(key, deleted));
+        }
+    }
+
+    // Runs on the index thread
+    private void buildIndex() {
+        long start = System.nanoTime();
+        readTransaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = bookingRepository.streamSearchRows(null, null)) {
+                rows.forEach(this::indexBooking);
+            }
+            try (Stream<Object[]> rows = userRepository.streamSearchRows(null)) {
+                rows.forEach(this::indexUser);
+            }
+            try (Stream<Object[]> rows = invoiceRepository.streamSearchRows(null)) {
+                rows.forEach(this::indexInvoice);
+            }
+            try (Stream<Object[]> rows = paymentRepository.streamSearchRows(null)) {
+                rows.forEach(this::indexPayment);
+            }
+        });
+        logger.info("Global search index built with {} documents in {} ms",
+                index.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Runs on the index thread
+    private void reindex(DocumentKey key, boolean deleted) {
+        if (deleted) {
+            index.remove(key);
+            return;
+        }
+        Long id = key.id();
+        readTransaction.executeWithoutResult(status -> {
+            switch (key.type()) {
+                case BOOKING -> {
+                    try (Stream<Object[]> rows = bookingRepository.streamSearchRows(id, null)) {
+                        rows.forEach(this::indexBooking);
+                    }
+                }
+                case USER -> {
+                    try (Stream<Object[]> rows = userRepository.streamSearchRows(id)) {
+                        rows.forEach(this::indexUser);
+                    }
+                    try (Stream<Object[]> rows = bookingRepository.streamSearchRows(null, id)) {
+                        rows.forEach(this::indexBooking);
+                    }
+                }
+                case INVOICE -> {
+                    try (Stream<Object[]> rows = invoiceRepository.streamSearchRows(id)) {
+                        rows.forEach(this::indexInvoice);
+                    }
+                }
+                case PAYMENT -> {
+                    try (Stream<Object[]> rows = paymentRepository.streamSearchRows(id)) {
+                        rows.forEach(this::indexPayment);
+                    }
+                }
+            }
+        });
+    }
+
+    private void submit(String description, Runnable task) {
+        searchIndexExecutor.execute(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.warn("Could not {}", description, e);
+            }
+        });
+    }
+
+    // [id, bookingNumber, guestFirstName, guestLastName, guestEmail]
+    private void indexBooking(Object[] row) {
+        String bookingNumber = (String) row[1];
+        String guestName = fullName(row[2], row[3]);
+        String email = (String) row[4];
+        SearchHit hit = new SearchHit(Type.BOOKING, (Long) row[0], bookingNumber, guestName, bookingNumber);
+        index.put(new DocumentKey(Type.BOOKING, hit.id()), hit, bookingNumber, guestName, email);
+    }
+
+    // [id, username, firstName, lastName, email, role]
+    private void indexUser(Object[] row) {
+        String username = (String) row[1];
+        String name = fullName(row[2], row[3]);
+        String email = (String) row[4];
+        SearchHit hit = new SearchHit(Type.USER, (Long) row[0], name, email + " · " + row[5], email);
+        index.put(new DocumentKey(Type.USER, hit.id()), hit, name, email, username);
+    }
+
+    // [id, invoiceNumber, bookingNumber, guestFirstName, guestLastName]
+    private void indexInvoice(Object[] row) {
+        String invoiceNumber = (String) row[1];
+        String bookingNumber = (String) row[2];
+        String subtitle = bookingNumber == null ? "" : "Booking " + bookingNumber + " · " + fullName(row[3], row[4]);
+        SearchHit hit = new SearchHit(Type.INVOICE, (Long) row[0], invoiceNumber, subtitle, invoiceNumber);
+        index.put(new DocumentKey(Type.INVOICE, hit.id()), hit, invoiceNumber, bookingNumber);
+    }
+
+    // [id, transactionRef, bookingNumber, amount, status]
+    private void indexPayment(Object[] row) {
+        String transactionRef = (String) row[1];
+        String bookingNumber = (String) row[2];
+        String title = transactionRef != null ? transactionRef : "Payment #" + row[0];
+        String subtitle = (bookingNumber == null ? "" : "Booking " + bookingNumber + " · ") + row[3] + " € · " + row[4];
+        String searchKey = transactionRef != null ? transactionRef : bookingNumber;
+        SearchHit hit = new SearchHit(Type.PAYMENT, (Long) row[0], title, subtitle, searchKey);
+        index.put(new DocumentKey(Type.PAYMENT, hit.id()), hit, transactionRef, bookingNumber);
+    }
+
+    private static String fullName(Object firstName, Object lastName) {
+        if (firstName == null && lastName == null) {
+            return "";
+        }
+        return (firstName == null ? "" : firstName) + " " + (lastName == null ? "" : lastName);
+    }
+
+    private record DocumentKey(Type type, Long id) {
+    }
+}
@@ -0,0 +1,151 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.repository.InvoiceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Service exporting all invoices of a period as one ZIP archive of PDFs (accounting).
+ * <p>
+ * The PDFs are rendered in parallel on the bounded {@code invoiceExportExecutor} pool and
+ * written into the archive in the order they complete. At most
+ * {@code app.invoices.export.window} documents are in flight at a time, so memory stays at a
+ * few PDFs no matter how many invoices the period contains. The PDFs are rendered directly by
+ * {@link InvoicePdfService}: a month of one-off documents would otherwise push the frequently
+ * downloaded ones out of the {@link InvoicePdfCache}.
+ * </p>
+ *
+ * @see InvoicePdfService
+ */
+@Service
+public class InvoiceArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvoiceArchiveService.class);
+
+    private final InvoiceRepository invoiceRepository;
+    private final InvoicePdfService invoicePdfService;
+    private final ExecutorService invoiceExportExecutor;
+    private final int window;
+
+    public InvoiceArchiveService(InvoiceRepository invoiceRepository,
+                                 InvoicePdfService invoicePdfService,
+                                 @Qualifier("invoiceExportExecutor") ExecutorService invoiceExportExecutor,
+                                 @Value("${app.invoices.export.window:8}") int window) {
+        this.invoiceRepository = invoiceRepository;
+        this.invoicePdfService = invoicePdfService;
+        this.invoiceExportExecutor = invoiceExportExecutor;
+        this.window = Math.max(1, window);
+    }
+
+    /**
+     * Returns the file name of the archive for the period.
+     *
+     * @param from first issue day
+     * @param to   last issue day
+     * @return e.g. {@code Invoices_2026-09-01_2026-09-30.zip}
+     */
+    public String getArchiveFileName(LocalDate from, LocalDate to) {
+        return "Invoices_" + from + "_" + to + ".zip";
+    }
+
+    /**
+     * Writes the PDFs of all invoices issued from {@code from} to {@code to} (inclusive) as ZIP
+     * into the stream. The stream is not closed.
+     *
+     * @param from first issue day
+     * @param to   last issue day
+     * @param out  target, e.g. the response body
+     * @return number of invoices written
+     * @throws IOException if writing to the stream fails (e.g. the client disconnected)
+     */
+    public int writeArchive(LocalDate from, LocalDate to, OutputStream out) throws IOException {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("Invalid period: " + from + " - " + to);
+        }
+        List<Long> invoiceIds = invoiceRepository.findIdsByIssuedAtBetween(from.atStartOfDay(), to.atTime(LocalTime.MAX));
+        logger.info("Exporting {} invoices issued {} - {}", invoiceIds.size(), from, to);
+
+        ZipOutputStream zip = new ZipOutputStream(out);
+        // PDF content streams are compressed already
+        zip.setLevel(Deflater.BEST_SPEED);
+
+        CompletionService<ArchiveEntry> completion = new ExecutorCompletionService<>(invoiceExportExecutor);
+        List<Future<ArchiveEntry>> inFlight = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        Iterator<Long> pending = invoiceIds.iterator();
+        int written = 0;
+        try {
+            while (inFlight.size() < window && pending.hasNext()) {
+                inFlight.add(completion.submit(renderTask(pending.next())));
+            }
+            while (!inFlight.isEmpty()) {
+                Future<ArchiveEntry> done = completion.take();
+                inFlight.remove(done);
+                ArchiveEntry entry = done.get();
+                if (pending.hasNext()) {
+                    inFlight.add(completion.submit(renderTask(pending.next())));
+                }
+                if (entry != null) {
+                    zip.putNextEntry(new ZipEntry(uniqueName(entry.fileName(), names)));
+                    zip.write(entry.pdf());
+                    zip.closeEntry();
+                    written++;
+                }
+            }
+            zip.finish();
+            zip.flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Invoice export interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Invoice export failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            // Client gone or rendering failed: do not keep rendering for nobody
+            inFlight.forEach(future -> future.cancel(true));
+        }
+        logger.info("Exported {} invoices issued {} - {}", written, from, to);
+        return written;
+    }
+
+    // Loads the invoice with its booking graph in the worker and renders its PDF
+    private Callable<ArchiveEntry> renderTask(Long invoiceId) {
+        return () -> invoiceRepository.findById(invoiceId)
+                .map(invoice -> new ArchiveEntry("Invoice_" + invoice.getInvoiceNumber() + ".pdf",
+                        invoicePdfService.generateInvoicePdf(invoice)))
+                .orElse(null);
+    }
+
+    // Invoice numbers are unique, but a ZIP must never contain a name twice
+    private static String uniqueName(String fileName, Set<String> names) {
+        String name = fileName;
+        for (int i = 2; !names.add(name); i++) {
+            name = fileName.replace(".pdf", "_" + i + ".pdf");
+        }
+        return name;
+    }
+
+    private record ArchiveEntry(String fileName, byte[] pdf) {
+    }
+}
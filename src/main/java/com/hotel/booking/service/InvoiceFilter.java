@@ -0,0 +1,36 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.entity.Invoice;
+
+import java.time.LocalDate;
+
+/**
+ * Filter criteria of the invoice grid.
+ * <p>
+ * {@code null} (or blank) values mean "no restriction". Translated into a JPA
+ * {@code Specification} by {@link InvoiceService#findInvoices}, so filtering, paging and
+ * sorting happen in the database.
+ * </p>
+ *
+ * @param guestId      only invoices of this guest's bookings (set for guests)
+ * @param numberPrefix start of the invoice number or the booking number (case-insensitive)
+ * @param status       exact payment status of the invoice
+ * @param method       exact payment method of the invoice
+ * @param issuedOn     only invoices issued on this day
+ */
+public record InvoiceFilter(
+        Long guestId,
+        String numberPrefix,
+        Invoice.PaymentStatus status,
+        Invoice.PaymentMethod method,
+        LocalDate issuedOn) {
+
+    /**
+     * Filter without any restriction besides the guest scope.
+     *
+     * @param guestId guest whose invoices are shown; {@code null} for all invoices
+     */
+    public static InvoiceFilter forGuest(Long guestId) {
+        return new InvoiceFilter(guestId, null, null, null, null);
+    }
+}
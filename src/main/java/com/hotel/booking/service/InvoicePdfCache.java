@@ -0,0 +1,509 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.entity.AdressEmbeddable;
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.entity.BookingCancellation;
+import com.hotel.booking.entity.BookingExtra;
+import com.hotel.booking.entity.Invoice;
+import com.hotel.booking.entity.Payment;
+import com.hotel.booking.entity.User;
+import com.hotel.booking.event.EntityChangedEvent;
+import com.hotel.booking.event.EntityChangedEvent.ChangeType;
+import com.hotel.booking.repository.BookingCancellationRepository;
+import com.hotel.booking.repository.InvoiceRepository;
+import com.hotel.booking.repository.PaymentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Content-addressed disk cache for rendered invoice PDFs.
+ * <p>
+ * Every PDF is stored as {@code <invoiceId>-<hash>.pdf}. The hash covers everything
+ * {@link InvoicePdfService} prints: the invoice, its booking (guest, dates, extras), the
+ * booking's payments and its latest cancellation. A changed invoice therefore gets a new file
+ * and the old one is deleted; an unchanged invoice is served from disk without rendering.
+ * Superseded and evicted files are deleted only after {@code app.invoices.pdf-cache.delete-grace},
+ * so downloads that already got the path (sendfile, streaming) can finish.
+ * The hash doubles as the HTTP {@code ETag} of the download.
+ * </p>
+ * <p>
+ * After a committed change of an invoice, payment, cancellation or booking the affected
+ * invoices are re-rendered in the background (debounced by
+ * {@code app.invoices.pdf-cache.regenerate-debounce} on the task scheduler, rendered on the
+ * {@code invoicePdfExecutor}), so the next download or e-mail finds
+ * the new file. The cache is bounded by {@code app.invoices.pdf-cache.max-size}; beyond that
+ * the least recently used files are deleted. PDFs are rendered straight into the file through
+ * a bounded buffer; render times and sizes are reported by {@link #getStatistics()}.
+ * </p>
+ *
+ * @see InvoicePdfService
+ */
+@Service
+public class InvoicePdfCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvoicePdfCache.class);
+
+    /** Part of every hash; bump when the layout of {@link InvoicePdfService} changes. */
+    static final String RENDER_VERSION = "2";
+
+    private static final String SUFFIX = ".pdf";
+
+    // Write buffer of one rendering; iText itself does not buffer
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InvoicePdfService invoicePdfService;
+    private final InvoiceRepository invoiceRepository;
+    private final PaymentRepository paymentRepository;
+    private final BookingCancellationRepository cancellationRepository;
+    private final TaskScheduler taskScheduler;
+    private final Executor renderExecutor;
+    private final Path directory;
+    private final long maxBytes;
+    private final Duration regenerateDebounce;
+    private final Duration deleteGrace;
+
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder renders = new LongAdder();
+    private final LongAdder renderNanos = new LongAdder();
+    private final LongAdder renderedBytes = new LongAdder();
+    private final AtomicLong maxRenderNanos = new AtomicLong();
+    private final Map<String, CompletableFuture<Path>> rendering = new ConcurrentHashMap<>();
+    private final Set<Long> pendingBookings = ConcurrentHashMap.newKeySet();
+    // Files waiting for their delayed deletion, with the token of the scheduled deletion; no longer
+    // counted in totalBytes. Guarded by itself.
+    private final Map<Path, Object> retired = new HashMap<>();
+
+    public InvoicePdfCache(InvoicePdfService invoicePdfService,
+                           InvoiceRepository invoiceRepository,
+                           PaymentRepository paymentRepository,
+                           BookingCancellationRepository cancellationRepository,
+                           TaskScheduler taskScheduler,
+                           @Qualifier("invoicePdfExecutor") Executor renderExecutor,
+                           @Value("${app.invoices.pdf-cache.dir:data/invoice-pdfs}") String directory,
+                           @Value("${app.invoices.pdf-cache.max-size:256MB}") DataSize maxSize,
+                           @Value("${app.invoices.pdf-cache.regenerate-debounce:PT2S}") Duration regenerateDebounce,
+                           @Value("${app.invoices.pdf-cache.delete-grace:PT1M}") Duration deleteGrace) {
+        this.invoicePdfService = invoicePdfService;
+        this.invoiceRepository = invoiceRepository;
+        this.paymentRepository = paymentRepository;
+        this.cancellationRepository = cancellationRepository;
+        this.taskScheduler = taskScheduler;
+        this.renderExecutor = renderExecutor;
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+        this.maxBytes = maxSize.toBytes();
+        this.regenerateDebounce = regenerateDebounce;
+        this.deleteGrace = deleteGrace;
+        initDirectory();
+    }
+
+    /**
+     * Cache key of a rendered invoice.
+     *
+     * @param invoiceId id of the invoice
+     * @param hash      hex SHA-256 of everything printed on the invoice
+     */
+    public record Key(Long invoiceId, String hash) {
+
+        /** Strong HTTP entity tag of the PDF. */
+        public String etag() {
+            return "\"" + hash + "\"";
+        }
+
+        String fileName() {
+            return invoiceId + "-" + hash + SUFFIX;
+        }
+    }
+
+    /**
+     * Computes the key of the invoice's current state. Reads the booking's payments and latest
+     * cancellation (two small queries), but renders nothing.
+     *
+     * @param invoice invoice loaded with {@link Invoice#GRAPH_PDF}
+     * @return the key; equal keys mean identical PDFs
+     */
+    public Key keyFor(Invoice invoice) {
+        Booking booking = invoice.getBooking();
+        List<Payment> payments = List.of();
+        Optional<BookingCancellation> cancellation = Optional.empty();
+        if (booking != null && booking.getId() != null) {
+            payments = paymentRepository.findByBookingId(booking.getId());
+            cancellation = cancellationRepository.findTopByBookingIdOrderByCancelledAtDesc(booking.getId());
+        }
+        return new Key(invoice.getId(), hash(fingerprint(invoice, payments, cancellation)));
+    }
+
+    /**
+     * Returns the cached PDF file, rendering and storing it first on a miss. Concurrent
+     * requests for the same key render it only once.
+     *
+     * @param invoice invoice loaded with {@link Invoice#GRAPH_PDF}
+     * @param key     key computed by {@link #keyFor(Invoice)}
+     * @return path of the PDF file
+     */
+    public Path resolve(Invoice invoice, Key key) {
+        Path file = directory.resolve(key.fileName());
+        revive(file);
+        if (Files.exists(file)) {
+            hits.increment();
+            touch(file);
+            return file;
+        }
+        misses.increment();
+        CompletableFuture<Path> mine = new CompletableFuture<>();
+        CompletableFuture<Path> running = rendering.putIfAbsent(key.hash(), mine);
+        if (running != null) {
+            return running.join();
+        }
+        try {
+            Path stored = store(invoice, key);
+            mine.complete(stored);
+            return stored;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            rendering.remove(key.hash());
+        }
+    }
+
+    /**
+     * Returns the PDF of the invoice's current state as bytes (e-mail attachments).
+     *
+     * @param invoice invoice loaded with {@link Invoice#GRAPH_PDF}
+     * @return the PDF content
+     */
+    public byte[] getPdf(Invoice invoice) {
+        if (invoice.getId() == null) {
+            // Not persisted yet: nothing to key the file by
+            return invoicePdfService.generateInvoicePdf(invoice);
+        }
+        Path file = resolve(invoice, keyFor(invoice));
+        try {
+            return Files.readAllBytes(file);
+        } catch (IOException e) {
+            // Evicted between resolve and read: render directly
+            logger.debug("Cached invoice PDF {} vanished, rendering again", file, e);
+            return invoicePdfService.generateInvoicePdf(invoice);
+        }
+    }
+
+    /**
+     * Deletes all cached PDFs of the invoice (after the grace period).
+     *
+     * @param invoiceId id of the invoice
+     */
+    public void evict(Long invoiceId) {
+        for (Path file : filesOf(invoiceId)) {
+            retire(file);
+        }
+    }
+
+    /**
+     * Schedules the re-rendering of the invoices of the changed booking after commit. Several
+     * changes of one booking within the debounce window (e.g. payment, invoice and booking
+     * status of one checkout) are coalesced into one rendering. The scheduler only waits out the
+     * debounce; the rendering runs on the render executor.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent<?> event) {
+        Object entity = event.getEntity();
+        if (entity instanceof Invoice invoice && event.getChangeType() == ChangeType.DELETED) {
+            evict(invoice.getId());
+            return;
+        }
+        Long bookingId = switch (entity) {
+            case Invoice invoice -> invoice.getBooking() != null ? invoice.getBooking().getId() : null;
+            case Payment payment -> payment.getBooking() != null ? payment.getBooking().getId() : null;
+            case BookingCancellation cancellation -> cancellation.getBooking() != null ? cancellation.getBooking().getId() : null;
+            case Booking booking -> event.getChangeType() == ChangeType.DELETED ? null : booking.getId();
+            default -> null;
+        };
+        if (bookingId != null && pendingBookings.add(bookingId)) {
+            taskScheduler.schedule(() -> {
+                pendingBookings.remove(bookingId);
+                renderExecutor.execute(() -> regenerate(bookingId));
+            }, Instant.now().plus(regenerateDebounce));
+        }
+    }
+
+    // Renders the current state of the booking's invoices unless it is cached already
+    void regenerate(Long bookingId) {
+        try {
+            for (Invoice listed : invoiceRepository.findByBookingIdIn(List.of(bookingId))) {
+                invoiceRepository.findById(listed.getId()).ifPresent(invoice -> resolve(invoice, keyFor(invoice)));
+            }
+        } catch (RuntimeException e) {
+            // The next download renders on demand
+            logger.warn("Could not regenerate invoice PDFs of booking {}", bookingId, e);
+        }
+    }
+
+    /** Current size of all cached files in bytes. */
+    long totalBytes() {
+        return totalBytes.get();
+    }
+
+    /**
+     * Returns the counters since startup (manager endpoint {@code /api/cache/invoice-pdfs}).
+     *
+     * @return hits, misses, render times and sizes
+     */
+    public Statistics getStatistics() {
+        long count = renders.sum();
+        return new Statistics(hits.sum(), misses.sum(), count,
+                count == 0 ? 0 : renderNanos.sum() / 1_000_000.0 / count,
+                maxRenderNanos.get() / 1_000_000.0,
+                count == 0 ? 0 : renderedBytes.sum() / count,
+                totalBytes.get(), maxBytes);
+    }
+
+    /**
+     * Counters of the invoice PDF cache since startup.
+     *
+     * @param hits                downloads and e-mails served from a cached file
+     * @param misses              lookups that had to render
+     * @param renders             PDFs rendered, including background regeneration
+     * @param averageRenderMillis mean time to render and write one PDF
+     * @param maxRenderMillis     slowest rendering
+     * @param averageBytes        mean size of a rendered PDF
+     * @param bytesOnDisk         current size of the cache directory
+     * @param maxBytes            configured size limit
+     */
+    public record Statistics(long hits, long misses, long renders, double averageRenderMillis,
+                             double maxRenderMillis, long averageBytes, long bytesOnDisk, long maxBytes) {
+    }
+
+    private void recordRender(long nanos, long size) {
+        renders.increment();
+        renderNanos.add(nanos);
+        renderedBytes.add(size);
+        maxRenderNanos.accumulateAndGet(nanos, Math::max);
+        logger.debug("Rendered invoice PDF in {} ms, {} bytes", nanos / 1_000_000, size);
+    }
+
+    // Renders straight into a temporary file first so readers never see a partial PDF
+    private Path store(Invoice invoice, Key key) {
+        Path file = directory.resolve(key.fileName());
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, key.invoiceId() + "-", ".tmp");
+            long start = System.nanoTime();
+            long size;
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_SIZE)) {
+                size = invoicePdfService.writeInvoicePdf(invoice, out);
+            }
+            recordRender(System.nanoTime() - start, size);
+            long replaced = Files.exists(file) ? Files.size(file) : 0;
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            totalBytes.addAndGet(size - replaced);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not cache invoice PDF " + file, e);
+        } finally {
+            if (temp != null) {
+                deleteQuietly(temp);
+            }
+        }
+        // Older states of the same invoice are only still read by running downloads
+        for (Path stale : filesOf(key.invoiceId())) {
+            if (!stale.equals(file)) {
+                retire(stale);
+            }
+        }
+        evictIfFull();
+        return file;
+    }
+
+    // Deletes the least recently used files until the cache fits into its size limit again
+    private synchronized void evictIfFull() {
+        if (totalBytes.get() <= maxBytes) {
+            return;
+        }
+        List<Path> files = listFiles("*" + SUFFIX);
+        files.sort(Comparator.comparing(InvoicePdfCache::lastModified));
+        for (Path file : files) {
+            if (totalBytes.get() <= maxBytes) {
+                break;
+            }
+            retire(file); // no-op for files retired already
+        }
+    }
+
+    // Takes the file out of the cache now and deletes it after the grace period, unless it is
+    // requested again in the meantime (see revive)
+    private void retire(Path file) {
+        Object token = new Object();
+        synchronized (retired) {
+            if (retired.putIfAbsent(file, token) != null) {
+                return;
+            }
+            totalBytes.addAndGet(-sizeOf(file));
+        }
+        // The token keeps a deletion scheduled before a revive from deleting a file retired again later
+        taskScheduler.schedule(() -> {
+            synchronized (retired) {
+                if (retired.remove(file, token)) {
+                    deleteQuietly(file);
+                }
+            }
+        }, Instant.now().plus(deleteGrace));
+    }
+
+    // A retired file whose state is current again (e.g. a payment change was reverted) is kept
+    private void revive(Path file) {
+        synchronized (retired) {
+            if (retired.remove(file) != null) {
+                totalBytes.addAndGet(sizeOf(file));
+            }
+        }
+    }
+
+    private void initDirectory() {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create invoice PDF cache " + directory, e);
+        }
+        // Leftovers of interrupted writes
+        listFiles("*.tmp").forEach(this::deleteQuietly);
+        long bytes = 0;
+        for (Path file : listFiles("*" + SUFFIX)) {
+            bytes += sizeOf(file);
+        }
+        totalBytes.set(bytes);
+        logger.info("Invoice PDF cache at {} holds {} bytes (limit {})", directory, bytes, maxBytes);
+    }
+
+    private List<Path> filesOf(Long invoiceId) {
+        return listFiles(invoiceId + "-*" + SUFFIX);
+    }
+
+    private List<Path> listFiles(String glob) {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, glob)) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            logger.warn("Could not list invoice PDF cache {}", directory, e);
+        }
+        return files;
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.debug("Could not delete {}", file, e);
+        }
+    }
+
+    // The modification time is the "last used" time of the eviction order
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            logger.debug("Could not touch {}", file, e);
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    // Everything InvoicePdfService prints, one value per line
+    static String fingerprint(Invoice invoice, List<Payment> payments, Optional<BookingCancellation> cancellation) {
+        StringBuilder sb = new StringBuilder(512).append(RENDER_VERSION).append('\n');
+        append(sb, invoice.getId(), invoice.getInvoiceNumber(), invoice.getAmount(), invoice.getPaymentMethod(),
+                invoice.getInvoiceStatus(), invoice.getIssuedAt(), invoice.getPaidAt());
+
+        Booking booking = invoice.getBooking();
+        if (booking != null) {
+            append(sb, booking.getId(), booking.getBookingNumber(), booking.getCheckInDate(),
+                    booking.getCheckOutDate(), booking.getTotalPrice(), booking.getStatus());
+            if (booking.getExtras() != null) {
+                booking.getExtras().stream()
+                        .map(BookingExtra::getName)
+                        .sorted(Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .forEach(name -> append(sb, "extra", name));
+            }
+            User guest = booking.getGuest();
+            if (guest != null) {
+                append(sb, guest.getFirstName(), guest.getLastName(), guest.getEmail());
+                AdressEmbeddable address = guest.getAddress();
+                if (address != null) {
+                    append(sb, address.getStreet(), address.getHouseNumber(), address.getPostalCode(),
+                            address.getCity(), address.getCountry());
+                }
+            }
+        }
+        payments.stream()
+                .sorted(Comparator.comparing(Payment::getId, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .forEach(p -> append(sb, "payment", p.getId(), p.getStatus(), p.getRefundedAmount(), p.getPaidAt()));
+        cancellation.ifPresent(c -> append(sb, "cancellation", c.getId(), c.getCancelledAt(), c.getRefundedAmount(),
+                c.getCancellationFee()));
+        return sb.toString();
+    }
+
+    private static void append(StringBuilder sb, Object... values) {
+        for (Object value : values) {
+            sb.append(value).append('|');
+        }
+        sb.append('\n');
+    }
+
+    private static String hash(String fingerprint) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(fingerprint.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -16,10 +16,10 @@ import org.springframework.stereotype.Service;
  * - Generate PDF content from invoice data
  * - Construct appropriate file names for downloads
  * 
- * All operations are delegated to the underlying InvoicePdfService for PDF generation.
+ * PDFs are served from the {@link InvoicePdfCache}, which renders via InvoicePdfService on a miss.
  * 
  * @author Arman Özcanli
- * @see InvoicePdfService
+ * @see InvoicePdfCache
  * @see InvoiceService
  * @see Invoice
  */
@@ -28,11 +28,11 @@ public class InvoicePdfDownloadService {
 
     private static final Logger logger = LoggerFactory.getLogger(InvoicePdfDownloadService.class);
     private final InvoiceService invoiceService;
-    private final InvoicePdfService invoicePdfService;
+    private final InvoicePdfCache invoicePdfCache;
 
-    public InvoicePdfDownloadService(InvoiceService invoiceService, InvoicePdfService invoicePdfService) {
+    public InvoicePdfDownloadService(InvoiceService invoiceService, InvoicePdfCache invoicePdfCache) {
         this.invoiceService = invoiceService;
-        this.invoicePdfService = invoicePdfService;
+        this.invoicePdfCache = invoicePdfCache;
     }
 
     public byte[] generatePdfForInvoice(Long invoiceId) {
@@ -41,7 +41,7 @@ public class InvoicePdfDownloadService {
         Invoice invoice = invoiceService.findById(invoiceId)
                 .orElseThrow(() -> new RuntimeException("Invoice not found"));
         
-        return invoicePdfService.generateInvoicePdf(invoice);
+        return invoicePdfCache.getPdf(invoice);
     }
 
     public String getInvoiceFileName(Long invoiceId) {
@@ -0,0 +1,204 @@
+package com.hotel.booking.service;
+
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.io.image.ImageData;
+import com.itextpdf.io.image.ImageDataFactory;
+import com.itextpdf.kernel.colors.DeviceRgb;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Image;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Rendering resources shared by all invoice PDFs, loaded once.
+ * <p>
+ * The static header (hotel address and logo) is laid out once into a small template PDF whose
+ * only page is exactly the size of the header. Every invoice copies that page as a Form XObject,
+ * so the logo is neither read nor re-encoded per document. The logo is read from the classpath
+ * and scaled down to print resolution for its 100pt slot. The font program is parsed once;
+ * iText still needs one {@link PdfFont} per document, which is cheap to derive from it.
+ * </p>
+ * <p>
+ * Instances are immutable and safe to share between threads.
+ * </p>
+ *
+ * @see InvoicePdfService
+ */
+final class InvoicePdfResources {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvoicePdfResources.class);
+
+    static final String LOGO_RESOURCE = "static/images/HoteliumLogo.png";
+
+    static final DeviceRgb HEADER_COLOR = new DeviceRgb(25, 45, 85); // Dark blue
+    static final DeviceRgb ACCENT_COLOR = new DeviceRgb(218, 165, 32); // Gold
+
+    /** Page margin of {@link Document}; the header spans the width between the margins. */
+    static final float PAGE_MARGIN = 36;
+
+    // The logo is printed at most 100pt wide; 300 px keep it sharp at 216 dpi
+    private static final int LOGO_MAX_PIXELS = 300;
+    private static final float LOGO_SIZE = 100;
+
+    private final FontProgram font;
+    private final byte[] headerTemplate;
+
+    private InvoicePdfResources(FontProgram font, byte[] headerTemplate) {
+        this.font = font;
+        this.headerTemplate = headerTemplate;
+    }
+
+    /**
+     * Reads the logo and font and renders the header template.
+     *
+     * @return the loaded resources
+     */
+    static InvoicePdfResources load() {
+        try {
+            FontProgram font = FontProgramFactory.createFont(StandardFonts.HELVETICA);
+            return new InvoicePdfResources(font, renderHeader(loadLogo()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load invoice PDF resources", e);
+        }
+    }
+
+    /**
+     * Creates the document font of one PDF from the preloaded font program.
+     *
+     * @return a font bound to the next document it is used in
+     */
+    PdfFont createFont() {
+        return PdfFontFactory.createFont(font, PdfEncodings.WINANSI);
+    }
+
+    /**
+     * Copies the header template into the document.
+     *
+     * @param target the document being rendered
+     * @return the header as image element spanning the width between the page margins
+     */
+    Image createHeader(PdfDocument target) throws IOException {
+        try (PdfDocument template = new PdfDocument(new PdfReader(new ByteArrayInputStream(headerTemplate)))) {
+            PdfFormXObject header = template.getFirstPage().copyAsFormXObject(target);
+            return new Image(header);
+        }
+    }
+
+    // Lays the header out twice: once to measure its height, once on a page of exactly that height
+    private static byte[] renderHeader(ImageData logo) {
+        float width = PageSize.A4.getWidth() - 2 * PAGE_MARGIN;
+        float probeHeight = 1000;
+        float used;
+        try (PdfDocument probe = new PdfDocument(new PdfWriter(new ByteArrayOutputStream()));
+             Document document = new Document(probe, new PageSize(width, probeHeight), false)) {
+            document.setMargins(0, 0, 0, 0);
+            document.add(createHeaderTable(logo));
+            used = probeHeight - document.getRenderer().getCurrentArea().getBBox().getHeight();
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PdfDocument pdf = new PdfDocument(new PdfWriter(out));
+             Document document = new Document(pdf, new PageSize(width, (float) Math.ceil(used)))) {
+            document.setMargins(0, 0, 0, 0);
+            document.add(createHeaderTable(logo));
+        }
+        return out.toByteArray();
+    }
+
+    private static Table createHeaderTable(ImageData logo) {
+        Table headerTable = new Table(2).setWidth(UnitValue.createPercentValue(100));
+
+        // Hotel Info (left)
+        Cell infoCell = new Cell();
+        infoCell.add(new Paragraph("Hotelium").setFontSize(18).setBold().setFontColor(HEADER_COLOR));
+        infoCell.add(new Paragraph("Luxury Hotel Experience").setFontSize(10).setFontColor(ACCENT_COLOR).setItalic());
+        infoCell.add(new Paragraph("Interaktion 1, 33602 Bielefeld").setFontSize(9));
+        infoCell.add(new Paragraph("Tel: +49 (521) 123-4567 | E-Mail: info@hotelium.de").setFontSize(8));
+        infoCell.setBorder(null);
+        infoCell.setPadding(0);
+        headerTable.addCell(infoCell);
+
+        // Logo (right)
+        Cell logoCell = new Cell();
+        if (logo != null) {
+            Image image = new Image(logo);
+            image.scaleToFit(LOGO_SIZE, LOGO_SIZE);
+            logoCell.add(image).setTextAlignment(TextAlignment.RIGHT);
+        } else {
+            logoCell.add(new Paragraph(""));
+        }
+        logoCell.setBorder(null);
+        logoCell.setPadding(0);
+        logoCell.setPaddingLeft(200);
+        logoCell.setMarginLeft(10);
+        logoCell.setTextAlignment(TextAlignment.RIGHT);
+        headerTable.addCell(logoCell);
+        return headerTable;
+    }
+
+    // Reads the logo from the classpath (works from the packaged jar) and scales it down once
+    private static ImageData loadLogo() {
+        ClassPathResource resource = new ClassPathResource(LOGO_RESOURCE);
+        try (InputStream in = resource.getInputStream()) {
+            BufferedImage source = ImageIO.read(in);
+            if (source == null) {
+                logger.warn("Logo {} is not a readable image, invoices are rendered without logo", LOGO_RESOURCE);
+                return null;
+            }
+            BufferedImage scaled = scaleDown(source);
+            ByteArrayOutputStream png = new ByteArrayOutputStream();
+            ImageIO.write(scaled, "png", png);
+            return ImageDataFactory.create(png.toByteArray());
+        } catch (IOException e) {
+            logger.warn("Logo {} not found, invoices are rendered without logo", LOGO_RESOURCE, e);
+            return null;
+        }
+    }
+
+    private static BufferedImage scaleDown(BufferedImage source) {
+        int longest = Math.max(source.getWidth(), source.getHeight());
+        if (longest <= LOGO_MAX_PIXELS) {
+            return source;
+        }
+        double factor = (double) LOGO_MAX_PIXELS / longest;
+        int width = Math.max(1, (int) Math.round(source.getWidth() * factor));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * factor));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+}
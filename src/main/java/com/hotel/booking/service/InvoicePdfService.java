@@ -11,18 +11,17 @@ import com.itextpdf.layout.Document;
 import com.itextpdf.layout.element.Paragraph;
 import com.itextpdf.layout.element.Table;
 import com.itextpdf.layout.element.Cell;
-import com.itextpdf.layout.element.Image;
 import com.itextpdf.layout.element.LineSeparator;
 import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.UnitValue;
 import com.itextpdf.kernel.colors.ColorConstants;
 import com.itextpdf.kernel.colors.DeviceRgb;
-import java.io.File;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
@@ -42,6 +41,7 @@ import java.util.Locale;
  * 
  * The generated PDFs follow German formatting conventions (date format, currency, etc.)
  * and include visual elements such as hotel logos and color schemes.
+ * The logo, font and static header are prepared once, see {@link InvoicePdfResources}.
  * 
  * PDF documents are generated in-memory and returned as byte arrays for downloading.
  * 
@@ -57,64 +57,56 @@ public class InvoicePdfService {
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy").withLocale(Locale.GERMANY);
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm").withLocale(Locale.GERMANY);
 
+    private static final DeviceRgb PAID_COLOR = new DeviceRgb(34, 139, 34); // Green
+    private static final DeviceRgb PENDING_COLOR = new DeviceRgb(218, 165, 32); // Gold/Amber
+    private static final DeviceRgb REFUNDED_COLOR = new DeviceRgb(30, 144, 255); // Blue
+    private static final DeviceRgb FAILED_COLOR = new DeviceRgb(220, 20, 60); // Red
+
     private final BookingCancellationRepository bookingCancellationRepository;
     private final PaymentRepository paymentRepository;
 
+    private final InvoicePdfResources resources;
+
     public InvoicePdfService(BookingCancellationRepository bookingCancellationRepository,
                              PaymentRepository paymentRepository) {
         this.bookingCancellationRepository = bookingCancellationRepository;
         this.paymentRepository = paymentRepository;
+        this.resources = InvoicePdfResources.load();
     }
 
     public byte[] generateInvoicePdf(Invoice invoice) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeInvoicePdf(invoice, baos, resources);
+        return baos.toByteArray();
+    }
+
+    /**
+     * Renders the invoice directly into the given stream, without holding the whole PDF in memory.
+     * The stream is not closed.
+     *
+     * @param invoice invoice loaded with {@link Invoice#GRAPH_PDF}
+     * @param out     target of the PDF, e.g. a buffered file stream
+     * @return number of bytes written
+     */
+    public long writeInvoicePdf(Invoice invoice, OutputStream out) {
+        return writeInvoicePdf(invoice, out, resources);
+    }
+
+    private long writeInvoicePdf(Invoice invoice, OutputStream out, InvoicePdfResources shared) {
         try {
             logger.info("Generating PDF for invoice: {}", invoice.getInvoiceNumber());
             
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            PdfWriter writer = new PdfWriter(baos);
+            PdfWriter writer = new PdfWriter(out);
+            writer.setCloseStream(false);
             PdfDocument pdfDoc = new PdfDocument(writer);
             Document document = new Document(pdfDoc);
             
-            DeviceRgb headerColor = new DeviceRgb(25, 45, 85); // Dark blue
-            DeviceRgb accentColor = new DeviceRgb(218, 165, 32); // Gold
+            document.setFont(shared.createFont());
+            DeviceRgb headerColor = InvoicePdfResources.HEADER_COLOR;
+            DeviceRgb accentColor = InvoicePdfResources.ACCENT_COLOR;
 
             // ===== HEADER WITH LOGO (LOGO ON TOP RIGHT) =====
-            Table headerTable = new Table(2).setWidth(UnitValue.createPercentValue(100));
-            
-            // Hotel Info (left)
-            Cell infoCell = new Cell();
-            infoCell.add(new Paragraph("Hotelium").setFontSize(18).setBold().setFontColor(headerColor));
-            infoCell.add(new Paragraph("Luxury Hotel Experience").setFontSize(10).setFontColor(accentColor).setItalic());
-            infoCell.add(new Paragraph("Interaktion 1, 33602 Bielefeld").setFontSize(9));
-            infoCell.add(new Paragraph("Tel: +49 (521) 123-4567 | E-Mail: info@hotelium.de").setFontSize(8));
-            infoCell.setBorder(null);
-            infoCell.setPadding(0);
-            headerTable.addCell(infoCell);
-            
-            // Logo (right)
-            Cell logoCell = new Cell();
-            try {
-                String logoPath = "src/main/resources/static/images/HoteliumLogo.png";
-                File logoFile = new File(logoPath);
-                if (logoFile.exists()) {
-                    Image logo = new Image(com.itextpdf.io.image.ImageDataFactory.create(logoPath));
-                    logo.scaleToFit(100, 100);
-                    logoCell.add(logo).setTextAlignment(TextAlignment.RIGHT);
-                } else {
-                    logoCell.add(new Paragraph(""));
-                }
-            } catch (Exception e) {
-                logger.warn("Logo not found, continuing without logo", e);
-                logoCell.add(new Paragraph(""));
-            }
-            logoCell.setBorder(null);
-            logoCell.setPadding(0);
-            logoCell.setPaddingLeft(200);
-            logoCell.setMarginLeft(10);
-            logoCell.setTextAlignment(TextAlignment.RIGHT);
-            headerTable.addCell(logoCell);
-            
-            document.add(headerTable);
+            document.add(shared.createHeader(pdfDoc));
             document.add(new LineSeparator(new com.itextpdf.kernel.pdf.canvas.draw.SolidLine(2)).setMarginBottom(15));
             
             // ===== INVOICE TITLE =====
@@ -257,18 +249,18 @@ public class InvoicePdfService {
             DeviceRgb statusColor;
             switch (statusEnum) {
                 case PAID:
-                    statusColor = new DeviceRgb(34, 139, 34); // Green
+                    statusColor = PAID_COLOR;
                     break;
                 case PENDING:
                 case PARTIAL:
-                    statusColor = new DeviceRgb(218, 165, 32); // Gold/Amber
+                    statusColor = PENDING_COLOR;
                     break;
                 case REFUNDED:
-                    statusColor = new DeviceRgb(30, 144, 255); // Blue
+                    statusColor = REFUNDED_COLOR;
                     break;
                 case FAILED:
                 default:
-                    statusColor = new DeviceRgb(220, 20, 60); // Red
+                    statusColor = FAILED_COLOR;
                     break;
             }
 
@@ -385,8 +377,9 @@ public class InvoicePdfService {
             document.add(new Paragraph("Hotelium GmbH | Managing Director: Max Mustermann | Munich Regional Court HRB 123456").setTextAlignment(TextAlignment.CENTER).setFontSize(7).setFontColor(ColorConstants.GRAY));
             
             document.close();
-            logger.info("PDF generated successfully, size: {} bytes", baos.size());
-            return baos.toByteArray();
+            long size = writer.getCurrentPos();
+            logger.info("PDF generated successfully, size: {} bytes", size);
+            return size;
 
         } catch (Exception e) {
             logger.error("Error generating PDF", e);
@@ -5,8 +5,14 @@ import com.hotel.booking.entity.Invoice;
 import com.hotel.booking.entity.Invoice.PaymentMethod;
 import com.hotel.booking.entity.Invoice.PaymentStatus;
 import com.hotel.booking.repository.InvoiceRepository;
+import com.hotel.booking.repository.InvoiceSpecifications;
+import com.hotel.booking.repository.projection.InvoiceRow;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -43,6 +49,8 @@ public class InvoiceService {
     
     /** Invoice number prefix */
     private static final String INVOICE_PREFIX = "INV-";
+
+    private static final Sort DEFAULT_GRID_SORT = Sort.by(Sort.Order.desc("issuedAt"), Sort.Order.desc("id"));
     
     private final InvoiceRepository invoiceRepository;
     private final EmailService emailService;
@@ -57,6 +65,37 @@ public class InvoiceService {
         return invoiceRepository.findAll();
     }
 
+    /**
+     * Loads one page of grid rows matching the filter. Filtering (including the guest scope),
+     * sorting and paging run in the database; without a requested sort the newest invoices
+     * come first. Only the row columns are read, no invoice entities are loaded.
+     */
+    @Transactional(readOnly = true)
+    public List<InvoiceRow> findInvoices(InvoiceFilter filter, Pageable pageable) {
+        Pageable page = pageable.getSort().isSorted()
+                ? pageable
+                : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), DEFAULT_GRID_SORT);
+        // The grid asks for the count separately, so no count query here
+        return invoiceRepository.findInvoiceRows(toSpecification(filter), page);
+    }
+
+    /**
+     * Counts the invoices matching the filter with a single count query.
+     */
+    @Transactional(readOnly = true)
+    public long countInvoices(InvoiceFilter filter) {
+        return invoiceRepository.count(toSpecification(filter));
+    }
+
+    private static Specification<Invoice> toSpecification(InvoiceFilter filter) {
+        return Specification.allOf(
+                InvoiceSpecifications.ofGuest(filter.guestId()),
+                InvoiceSpecifications.numberStartsWith(filter.numberPrefix()),
+                InvoiceSpecifications.hasStatus(filter.status()),
+                InvoiceSpecifications.hasMethod(filter.method()),
+                InvoiceSpecifications.issuedOn(filter.issuedOn()));
+    }
+
     @Transactional(readOnly = true)
     public Optional<Invoice> findById(Long id) {
         return invoiceRepository.findById(id);
@@ -102,8 +141,9 @@ public class InvoiceService {
         invoiceRepository.deleteById(id);
     }
 
+    @Transactional(readOnly = true)
     public int getNumberOfPendingInvoices() {
-        return invoiceRepository.findByInvoiceStatus(PaymentStatus.PENDING).size();
+        return (int) invoiceRepository.countByInvoiceStatus(PaymentStatus.PENDING);
     }
     
     /**
@@ -0,0 +1,150 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.entity.Invoice;
+import com.hotel.booking.entity.Payment;
+import com.hotel.booking.entity.Room;
+import com.hotel.booking.event.EntityChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Node-wide live KPI snapshot shared by all open dashboards.
+ * <p>
+ * Instead of every staff session querying its own KPIs, one scheduler refreshes a single
+ * {@link DashboardSnapshot} every {@code app.dashboard.refresh-interval} and after committed
+ * booking, payment, invoice or room changes (debounced by {@code app.dashboard.refresh-debounce}).
+ * Open dashboards {@link #subscribe(Consumer) subscribe} and receive each changed snapshot,
+ * which they push to the browser. The database load therefore stays at two queries per refresh,
+ * independent of the number of open sessions.
+ * </p>
+ * <p>
+ * Without subscribers the scheduler does nothing; {@link #getCurrent()} then reloads the
+ * snapshot on demand once it is older than the refresh interval.
+ * </p>
+ */
+@Service
+public class LiveDashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveDashboardService.class);
+
+    private final DashboardService dashboardService;
+    private final TaskScheduler taskScheduler;
+    private final Duration refreshInterval;
+    private final Duration refreshDebounce;
+
+    private final List<Consumer<DashboardSnapshot>> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+
+    private volatile DashboardSnapshot current;
+    private volatile Instant refreshedAt = Instant.EPOCH;
+
+    public LiveDashboardService(DashboardService dashboardService,
+                                TaskScheduler taskScheduler,
+                                @Value("${app.dashboard.refresh-interval:PT5S}") Duration refreshInterval,
+                                @Value("${app.dashboard.refresh-debounce:PT1S}") Duration refreshDebounce) {
+        this.dashboardService = dashboardService;
+        this.taskScheduler = taskScheduler;
+        this.refreshInterval = refreshInterval;
+        this.refreshDebounce = refreshDebounce;
+    }
+
+    /**
+     * Returns the shared snapshot, loading it first if there is none yet or it is outdated.
+     */
+    public DashboardSnapshot getCurrent() {
+        DashboardSnapshot snapshot = current;
+        if (snapshot != null && !isStale()) {
+            return snapshot;
+        }
+        synchronized (this) {
+            // Another caller may have refreshed while this one was waiting
+            return current != null && !isStale() ? current : refresh();
+        }
+    }
+
+    /**
+     * Registers a listener that receives every changed snapshot. Listeners are called on the
+     * scheduler thread and must not block (views hand the snapshot to {@code UI.access}).
+     *
+     * @param listener receives the new snapshot
+     * @return removes the listener again
+     */
+    public Runnable subscribe(Consumer<DashboardSnapshot> listener) {
+        subscribers.add(listener);
+        return () -> subscribers.remove(listener);
+    }
+
+    /**
+     * Periodic refresh; skipped while no dashboard is open.
+     */
+    @Scheduled(fixedDelayString = "${app.dashboard.refresh-interval:PT5S}")
+    public void refreshIfSubscribed() {
+        if (!subscribers.isEmpty()) {
+            refresh();
+        }
+    }
+
+    /**
+     * Schedules a refresh after a committed change of a KPI-relevant entity. Several changes
+     * within the debounce window (e.g. booking, invoice and payment of one checkout) are
+     * coalesced into one refresh.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent<?> event) {
+        Object entity = event.getEntity();
+        if (!(entity instanceof Booking || entity instanceof Payment
+                || entity instanceof Invoice || entity instanceof Room)) {
+            return;
+        }
+        if (subscribers.isEmpty()) {
+            // Nobody is watching: just make the next getCurrent() reload
+            refreshedAt = Instant.EPOCH;
+            return;
+        }
+        if (refreshScheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(() -> {
+                refreshScheduled.set(false);
+                refresh();
+            }, Instant.now().plus(refreshDebounce));
+        }
+    }
+
+    /**
+     * Reloads the snapshot and notifies all subscribers if any figure changed.
+     * Synchronized so that concurrent triggers never run the KPI queries twice in parallel.
+     */
+    synchronized DashboardSnapshot refresh() {
+        DashboardSnapshot previous = current;
+        DashboardSnapshot snapshot = dashboardService.getSnapshot();
+        current = snapshot;
+        refreshedAt = Instant.now();
+
+        if (!snapshot.equals(previous)) {
+            for (Consumer<DashboardSnapshot> subscriber : subscribers) {
+                try {
+                    subscriber.accept(snapshot);
+                } catch (RuntimeException e) {
+                    logger.warn("Dashboard subscriber failed", e);
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    private boolean isStale() {
+        return refreshedAt.plus(refreshInterval).isBefore(Instant.now());
+    }
+}
@@ -0,0 +1,253 @@
+package com.hotel.booking.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Thread-safe in-memory trigram inverted index for substring search over short identifiers.
+ * <p>
+ * Every document has a key, a value returned as hit and a few text fields (booking number,
+ * name, email, ...). Each normalized field is split into overlapping trigrams; each trigram
+ * maps to a sorted posting list of document numbers. A query intersects the posting lists
+ * of its trigrams (smallest first) and verifies the remaining candidates with a substring
+ * check, so the cost depends on the size of the rarest trigram, not on the number of documents.
+ * </p>
+ * <p>
+ * Replaced or removed documents leave tombstones in the posting lists; once they make up
+ * half of the index the posting lists are rebuilt.
+ * </p>
+ *
+ * @param <K> document key type
+ * @param <V> hit type
+ */
+public final class NGramIndex<K, V> {
+
+    /** Gram length; queries shorter than this return no hits. */
+    public static final int N = 3;
+
+    private static final int MIN_COMPACTION_SIZE = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<K, Integer> docsByKey = new HashMap<>();
+    private final List<Document<K, V>> docs = new ArrayList<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private int tombstones;
+
+    /**
+     * Adds or replaces the document with the given key.
+     *
+     * @param key    document key
+     * @param value  hit returned for this document
+     * @param fields searchable texts ({@code null} entries are ignored)
+     */
+    public void put(K key, V value, String... fields) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+            addLocked(key, value, fields);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the document with the given key, if present.
+     */
+    public void remove(K key) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} documents with a field containing {@code query}
+     * (case-insensitive), most recently indexed first.
+     */
+    public List<V> search(String query, int limit) {
+        String needle = normalize(query);
+        if (needle.length() < N || limit <= 0) {
+            return List.of();
+        }
+        long[] grams = Arrays.stream(grams(needle)).distinct().toArray();
+
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[grams.length];
+            for (int i = 0; i < grams.length; i++) {
+                lists[i] = postings.get(grams[i]);
+                if (lists[i] == null) {
+                    return List.of();
+                }
+            }
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+            List<V> hits = new ArrayList<>(Math.min(limit, lists[0].size));
+            // Walk the rarest list backwards (newest documents first); the other lists are probed
+            // with cursors that only move backwards as well, so each probe is a short gallop
+            int[] cursors = new int[lists.length];
+            for (int l = 1; l < lists.length; l++) {
+                cursors[l] = lists[l].size - 1;
+            }
+            candidates:
+            for (int i = lists[0].size - 1; i >= 0 && hits.size() < limit; i--) {
+                int docId = lists[0].ids[i];
+                for (int l = 1; l < lists.length; l++) {
+                    cursors[l] = lists[l].seekAtMost(docId, cursors[l]);
+                    if (cursors[l] < 0) {
+                        break candidates;
+                    }
+                    if (lists[l].ids[cursors[l]] != docId) {
+                        continue candidates;
+                    }
+                }
+                Document<K, V> doc = docs.get(docId);
+                if (doc != null && doc.contains(needle)) {
+                    hits.add(doc.value());
+                }
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed documents.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docsByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower-cases and trims the text and collapses whitespace, so that
+     * "  Max   MUSTER" matches "max muster".
+     */
+    static String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private void addLocked(K key, V value, String[] fields) {
+        String[] normalized = Arrays.stream(fields)
+                .map(NGramIndex::normalize)
+                .filter(f -> !f.isEmpty())
+                .toArray(String[]::new);
+        int docId = docs.size();
+        docs.add(new Document<>(key, value, normalized));
+        docsByKey.put(key, docId);
+        for (String field : normalized) {
+            for (long gram : grams(field)) {
+                // Document ids only grow, so appending keeps every posting list sorted
+                postings.computeIfAbsent(gram, g -> new Postings()).addIfLast(docId);
+            }
+        }
+    }
+
+    private void removeLocked(K key) {
+        Integer docId = docsByKey.remove(key);
+        if (docId != null) {
+            docs.set(docId, null);
+            tombstones++;
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (docs.size() < MIN_COMPACTION_SIZE || tombstones * 2 < docs.size()) {
+            return;
+        }
+        List<Document<K, V>> live = docs.stream().filter(d -> d != null).toList();
+        docs.clear();
+        docsByKey.clear();
+        postings.clear();
+        tombstones = 0;
+        for (Document<K, V> doc : live) {
+            addLocked(doc.key(), doc.value(), doc.fields());
+        }
+    }
+
+    // Packs the three chars of each gram into one long (16 bits per char)
+    private static long[] grams(String text) {
+        if (text.length() < N) {
+            return new long[0];
+        }
+        long[] grams = new long[text.length() - N + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        return grams;
+    }
+
+    private record Document<K, V>(K key, V value, String[] fields) {
+
+        boolean contains(String needle) {
+            for (String field : fields) {
+                if (field.contains(needle)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    // Growable sorted int array; avoids boxing millions of document ids
+    private static final class Postings {
+
+        private int[] ids = new int[4];
+        private int size;
+
+        void addIfLast(int docId) {
+            if (size > 0 && ids[size - 1] == docId) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = docId;
+        }
+
+        /**
+         * Returns the index of the largest id {@code <= docId} at or below {@code from},
+         * or -1 if there is none. Gallops backwards, then binary-searches the last step.
+         */
+        int seekAtMost(int docId, int from) {
+            if (from < 0 || ids[from] <= docId) {
+                return from;
+            }
+            int step = 1;
+            int high = from;
+            int low = from - step;
+            while (low >= 0 && ids[low] > docId) {
+                high = low;
+                step <<= 1;
+                low = from - step;
+            }
+            low = Math.max(low, -1);
+            // Invariant: ids[high] > docId and (low == -1 or ids[low] <= docId)
+            while (high - low > 1) {
+                int mid = (low + high) >>> 1;
+                if (ids[mid] > docId) {
+                    high = mid;
+                } else {
+                    low = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
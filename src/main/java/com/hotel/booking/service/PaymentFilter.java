@@ -0,0 +1,37 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.entity.Invoice;
+
+import java.time.LocalDate;
+
+/**
+ * Filter criteria of the payment grid.
+ * <p>
+ * {@code null} (or blank) values mean "no restriction". Translated into a JPA
+ * {@code Specification} by {@link PaymentService#findPayments}, so filtering, paging and
+ * sorting happen in the database.
+ * </p>
+ *
+ * @param guestId      only payments of this guest's bookings (set for guests)
+ * @param numberPrefix start of the booking number or the transaction reference
+ *                     (case-insensitive); a number additionally matches the booking id
+ * @param status       exact payment status
+ * @param method       exact payment method
+ * @param paidOn       only payments made on this day
+ */
+public record PaymentFilter(
+        Long guestId,
+        String numberPrefix,
+        Invoice.PaymentStatus status,
+        Invoice.PaymentMethod method,
+        LocalDate paidOn) {
+
+    /**
+     * Filter without any restriction besides the guest scope.
+     *
+     * @param guestId guest whose payments are shown; {@code null} for all payments
+     */
+    public static PaymentFilter forGuest(Long guestId) {
+        return new PaymentFilter(guestId, null, null, null, null);
+    }
+}
@@ -5,15 +5,30 @@ import com.hotel.booking.entity.Invoice.PaymentMethod;
 import com.hotel.booking.entity.Invoice.PaymentStatus;
 import com.hotel.booking.entity.Payment;
 import com.hotel.booking.entity.BookingStatus;
+import com.hotel.booking.event.EntityChangedEvent;
+import com.hotel.booking.event.EntityChangedEvent.ChangeType;
 import com.hotel.booking.repository.BookingRepository;
 import com.hotel.booking.repository.PaymentRepository;
+import com.hotel.booking.repository.PaymentSpecifications;
+import com.hotel.booking.repository.projection.PaymentRow;
+import com.hotel.booking.repository.projection.PendingTransfer;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service class for managing payment operations.
@@ -44,16 +59,21 @@ import java.util.Optional;
 @Transactional
 public class PaymentService {
 
+    private static final Sort DEFAULT_GRID_SORT = Sort.by(Sort.Order.desc("id"));
+
     private final PaymentRepository paymentRepository;
     private final BookingRepository bookingRepository;
     private final InvoiceService invoiceService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public PaymentService(PaymentRepository paymentRepository,
                           BookingRepository bookingRepository,
-                          InvoiceService invoiceService) {
+                          InvoiceService invoiceService,
+                          ApplicationEventPublisher eventPublisher) {
         this.paymentRepository = paymentRepository;
         this.bookingRepository = bookingRepository;
         this.invoiceService = invoiceService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional(readOnly = true)
@@ -61,6 +81,37 @@ public class PaymentService {
         return paymentRepository.findAll();
     }
 
+    /**
+     * Loads one page of grid rows matching the filter. Filtering (including the guest scope),
+     * sorting and paging run in the database; without a requested sort the newest payments
+     * come first. Only the row columns are read, no payment entities are loaded.
+     */
+    @Transactional(readOnly = true)
+    public List<PaymentRow> findPayments(PaymentFilter filter, Pageable pageable) {
+        Pageable page = pageable.getSort().isSorted()
+                ? pageable
+                : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), DEFAULT_GRID_SORT);
+        // The grid asks for the count separately, so no count query here
+        return paymentRepository.findPaymentRows(toSpecification(filter), page);
+    }
+
+    /**
+     * Counts the payments matching the filter with a single count query.
+     */
+    @Transactional(readOnly = true)
+    public long countPayments(PaymentFilter filter) {
+        return paymentRepository.count(toSpecification(filter));
+    }
+
+    private static Specification<Payment> toSpecification(PaymentFilter filter) {
+        return Specification.allOf(
+                PaymentSpecifications.ofGuest(filter.guestId()),
+                PaymentSpecifications.numberStartsWith(filter.numberPrefix()),
+                PaymentSpecifications.hasStatus(filter.status()),
+                PaymentSpecifications.hasMethod(filter.method()),
+                PaymentSpecifications.paidOn(filter.paidOn()));
+    }
+
     @Transactional(readOnly = true)
     public List<Payment> findByBookingId(Long bookingId) {
         return paymentRepository.findByBookingId(bookingId);
@@ -210,6 +261,58 @@ public class PaymentService {
         }
     }
 
+    /**
+     * Marks matched bank transfers as paid (bank statement reconciliation).
+     * <p>
+     * The payments that are still pending transfers are locked with one select and updated with
+     * one set-based statement, so payments paid by hand or cancelled since the statement was
+     * matched stay as they are. The bookings of the updated payments are then loaded in one
+     * query and confirmed and invoiced like in {@link #processPaymentForBooking}.
+     * </p>
+     *
+     * @param transfers the matched transfers
+     * @return the ids of the payments that were marked as paid
+     */
+    @Transactional
+    public Set<Long> markTransfersPaid(Collection<PendingTransfer> transfers) {
+        if (transfers.isEmpty()) {
+            return Set.of();
+        }
+        Map<Long, Long> bookingByPayment = new HashMap<>();
+        for (PendingTransfer transfer : transfers) {
+            bookingByPayment.put(transfer.paymentId(), transfer.bookingId());
+        }
+        Set<Long> paid = new HashSet<>(paymentRepository.lockIdsByStatus(bookingByPayment.keySet(),
+                PaymentStatus.PENDING, PaymentMethod.TRANSFER));
+        if (paid.isEmpty()) {
+            return paid;
+        }
+        paymentRepository.updateStatusIn(paid, PaymentStatus.PAID, LocalDateTime.now(),
+                PaymentStatus.PENDING, PaymentMethod.TRANSFER);
+        Set<Long> bookingIds = new HashSet<>();
+        for (Long paymentId : paid) {
+            Long bookingId = bookingByPayment.get(paymentId);
+            if (bookingId != null) {
+                bookingIds.add(bookingId);
+            }
+        }
+        // The set-based update bypasses the entity listener, so the change events are published here
+        for (Payment payment : paymentRepository.findAllById(paid)) {
+            eventPublisher.publishEvent(new EntityChangedEvent<>(payment, ChangeType.UPDATED));
+        }
+        for (Booking booking : bookingRepository.findByIdIn(bookingIds)) {
+            if (booking.getStatus() == BookingStatus.PENDING || booking.getStatus() == BookingStatus.MODIFIED) {
+                booking.setStatus(BookingStatus.CONFIRMED);
+                updateBookingStatusIfCompleted(booking);
+                // The invoice is part of the loaded graph, no lookup per booking
+                if (booking.getInvoice() == null) {
+                    invoiceService.createInvoiceForBooking(booking, PaymentMethod.TRANSFER, PaymentStatus.PAID);
+                }
+            }
+        }
+        return paid;
+    }
+
     /**
      * Updates booking status to COMPLETED if check-out date is in the past.
      */
@@ -0,0 +1,101 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.event.EntityChangedEvent;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.projection.RecentBooking;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded in-memory feed of the most recently created bookings for the dashboard.
+ * <p>
+ * The feed is loaded once with a paged query on {@code created_at} (at most
+ * {@code app.dashboard.recent-bookings.size} rows) and then kept current by booking events:
+ * created bookings are pushed to the front (evicting the oldest entry), updated ones are
+ * replaced in place. Reading the feed therefore costs O(N) in memory and no query,
+ * independent of the size of the bookings table.
+ * </p>
+ * <p>
+ * Only bookings created within the last {@value #RECENT_DAYS} days are returned.
+ * </p>
+ */
+@Service
+public class RecentBookingsFeed {
+
+    static final int RECENT_DAYS = 5;
+
+    private final BookingRepository bookingRepository;
+    private final int capacity;
+
+    // Guarded by this; null until first loaded or after a deletion
+    private Deque<RecentBooking> entries;
+
+    public RecentBookingsFeed(BookingRepository bookingRepository,
+                              @Value("${app.dashboard.recent-bookings.size:10}") int capacity) {
+        this.bookingRepository = bookingRepository;
+        this.capacity = Math.max(1, capacity);
+    }
+
+    /**
+     * Returns the latest bookings of the last {@value #RECENT_DAYS} days, newest first.
+     */
+    @Transactional(readOnly = true)
+    public synchronized List<RecentBooking> getLatest() {
+        LocalDate since = LocalDate.now().minusDays(RECENT_DAYS);
+        if (entries == null) {
+            entries = new ArrayDeque<>(bookingRepository.findRecentBookings(since, PageRequest.of(0, capacity)));
+        }
+        return entries.stream()
+                .filter(entry -> !entry.createdAt().isBefore(since))
+                .toList();
+    }
+
+    /**
+     * Applies a committed booking change to the feed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public synchronized void onBookingChanged(EntityChangedEvent<Booking> event) {
+        if (entries == null) {
+            return;
+        }
+        Long id = event.getEntity().getId();
+        switch (event.getChangeType()) {
+            case CREATED -> bookingRepository.findRecentBookingById(id).ifPresent(this::addNewest);
+            case UPDATED -> bookingRepository.findRecentBookingById(id).ifPresent(this::replace);
+            // The slot of a deleted booking can only be refilled from the database
+            case DELETED -> {
+                if (entries.removeIf(entry -> entry.id().equals(id))) {
+                    entries = null;
+                }
+            }
+        }
+    }
+
+    // New bookings are the newest ones: push to the front and drop the oldest when full
+    private void addNewest(RecentBooking booking) {
+        entries.removeIf(entry -> entry.id().equals(booking.id()));
+        entries.addFirst(booking);
+        while (entries.size() > capacity) {
+            entries.pollLast();
+        }
+    }
+
+    // Updates keep their position (the creation date never changes)
+    private void replace(RecentBooking booking) {
+        entries = entries.stream()
+                .map(entry -> entry.id().equals(booking.id()) ? booking : entry)
+                .collect(Collectors.toCollection(ArrayDeque::new));
+    }
+}
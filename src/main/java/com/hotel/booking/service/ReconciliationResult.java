@@ -0,0 +1,16 @@
+package com.hotel.booking.service;
+
+import java.util.List;
+
+/**
+ * Outcome of one bank statement import.
+ *
+ * @param lines     statement lines read (without header)
+ * @param matched   lines matched to a pending transfer and marked as paid
+ * @param unmatched credit lines without a matching pending transfer
+ * @param problems  first problems found (unreadable lines, amounts too low), for display
+ *
+ * @see BankStatementReconciliationService
+ */
+public record ReconciliationResult(int lines, int matched, int unmatched, List<String> problems) {
+}
@@ -0,0 +1,219 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Service computing multi-period comparison reports (MoM, YoY, rolling 12 months).
+ * <p>
+ * Every period is calculated as its own task on the bounded {@code reportExecutor}
+ * pool and inside its own read-only transaction, so N periods are evaluated in
+ * parallel instead of one after another on the request thread. The per-period
+ * results are merged into one table ordered chronologically, where each row also
+ * carries the change relative to the row before it.
+ * </p>
+ */
+@Service
+public class ReportComparisonService {
+
+    private static final DateTimeFormatter GERMAN_DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("MMM yyyy", Locale.ENGLISH);
+
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService reportExecutor;
+
+    public ReportComparisonService(BookingRepository bookingRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Qualifier("reportExecutor") ExecutorService reportExecutor) {
+        this.bookingRepository = bookingRepository;
+        this.reportExecutor = reportExecutor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Builds the periods for a comparison mode, ordered from oldest to newest.
+     * <ul>
+     *   <li>{@code MONTH_OVER_MONTH}: the selected range and the same range one month earlier</li>
+     *   <li>{@code YEAR_OVER_YEAR}: the selected range and the same range one year earlier</li>
+     *   <li>{@code ROLLING_12_MONTHS}: the twelve calendar months up to the month of {@code to}</li>
+     * </ul>
+     */
+    public List<ReportPeriod> buildPeriods(ComparisonMode mode, LocalDate from, LocalDate to) {
+        if (mode == null || from == null || to == null || to.isBefore(from)) {
+            return List.of();
+        }
+        return switch (mode) {
+            case MONTH_OVER_MONTH -> List.of(
+                rangePeriod(from.minusMonths(1), to.minusMonths(1)),
+                rangePeriod(from, to));
+            case YEAR_OVER_YEAR -> List.of(
+                rangePeriod(from.minusYears(1), to.minusYears(1)),
+                rangePeriod(from, to));
+            case ROLLING_12_MONTHS -> {
+                List<ReportPeriod> months = new ArrayList<>(12);
+                YearMonth last = YearMonth.from(to);
+                for (int i = 11; i >= 0; i--) {
+                    YearMonth month = last.minusMonths(i);
+                    months.add(new ReportPeriod(month.format(MONTH_FORMAT), month.atDay(1), month.atEndOfMonth()));
+                }
+                yield months;
+            }
+        };
+    }
+
+    /**
+     * Computes the comparison table for the given mode and selected range.
+     */
+    public List<PeriodComparisonRow> compare(ComparisonMode mode, LocalDate from, LocalDate to) {
+        return compare(buildPeriods(mode, from, to));
+    }
+
+    /**
+     * Computes the figures of all periods in parallel and merges them into one table.
+     * <p>
+     * The rows keep the order of {@code periods}; the change columns refer to the
+     * previous row and are {@code null} for the first one.
+     * </p>
+     */
+    public List<PeriodComparisonRow> compare(List<ReportPeriod> periods) {
+        if (periods == null || periods.isEmpty()) {
+            return List.of();
+        }
+
+        List<CompletableFuture<PeriodFigures>> tasks = periods.stream()
+            .map(period -> CompletableFuture.supplyAsync(
+                () -> readOnlyTransaction.execute(status -> calculateFigures(period)), reportExecutor))
+            .toList();
+
+        List<PeriodComparisonRow> rows = new ArrayList<>(periods.size());
+        PeriodFigures previous = null;
+        for (CompletableFuture<PeriodFigures> task : tasks) {
+            PeriodFigures current = join(task);
+            rows.add(new PeriodComparisonRow(
+                current.period(),
+                current.bookings(),
+                current.revenue(),
+                current.avgStayDays(),
+                current.avgRevenuePerBooking(),
+                previous == null ? null : changePercent(current.revenue().doubleValue(), previous.revenue().doubleValue()),
+                previous == null ? null : changePercent(current.bookings(), previous.bookings())));
+            previous = current;
+        }
+        return rows;
+    }
+
+    // Runs inside the read-only transaction of one worker; reads only the report columns
+    private PeriodFigures calculateFigures(ReportPeriod period) {
+        List<Object[]> figures = bookingRepository.findReportFiguresCreatedBetween(period.from(), period.to());
+
+        BigDecimal revenue = BigDecimal.ZERO;
+        long stayDays = 0;
+        for (Object[] row : figures) {
+            stayDays += ChronoUnit.DAYS.between((LocalDate) row[0], (LocalDate) row[1]);
+            if (row[2] != null) {
+                revenue = revenue.add((BigDecimal) row[2]);
+            }
+        }
+
+        int bookings = figures.size();
+        double avgStay = bookings == 0 ? 0.0 : (double) stayDays / bookings;
+        BigDecimal avgRevenue = bookings == 0
+            ? BigDecimal.ZERO
+            : revenue.divide(BigDecimal.valueOf(bookings), 2, RoundingMode.HALF_UP);
+        return new PeriodFigures(period, bookings, revenue, avgStay, avgRevenue);
+    }
+
+    // Unwraps the CompletionException so callers see the original failure
+    private static PeriodFigures join(CompletableFuture<PeriodFigures> task) {
+        try {
+            return task.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Percentage change, null when there is nothing to compare against
+    private static Double changePercent(double current, double previous) {
+        if (previous == 0) {
+            return null;
+        }
+        return (current - previous) / previous * 100;
+    }
+
+    private static ReportPeriod rangePeriod(LocalDate from, LocalDate to) {
+        return new ReportPeriod(from.format(GERMAN_DATE_FORMAT) + " – " + to.format(GERMAN_DATE_FORMAT), from, to);
+    }
+
+    /**
+     * Supported comparison modes with their display label.
+     */
+    public enum ComparisonMode {
+        MONTH_OVER_MONTH("Month over Month"),
+        YEAR_OVER_YEAR("Year over Year"),
+        ROLLING_12_MONTHS("Rolling 12 Months");
+
+        private final String label;
+
+        ComparisonMode(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /**
+     * A reporting period (both dates inclusive) with its display label.
+     */
+    public record ReportPeriod(String label, LocalDate from, LocalDate to) {
+    }
+
+    /**
+     * One row of the comparison table.
+     *
+     * @param revenueChangePercent revenue change against the previous row in percent, {@code null} if not comparable
+     * @param bookingChangePercent booking change against the previous row in percent, {@code null} if not comparable
+     */
+    public record PeriodComparisonRow(
+            ReportPeriod period,
+            int bookings,
+            BigDecimal revenue,
+            double avgStayDays,
+            BigDecimal avgRevenuePerBooking,
+            Double revenueChangePercent,
+            Double bookingChangePercent) {
+    }
+
+    // Intermediate result of one worker task
+    private record PeriodFigures(
+            ReportPeriod period,
+            int bookings,
+            BigDecimal revenue,
+            double avgStayDays,
+            BigDecimal avgRevenuePerBooking) {
+    }
+}
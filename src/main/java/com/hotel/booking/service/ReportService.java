@@ -2,6 +2,9 @@ package com.hotel.booking.service;
 
 import com.hotel.booking.entity.Booking;
 import com.hotel.booking.entity.BookingExtra;
+import com.hotel.booking.entity.BookingStatus;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.RoomRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -10,6 +13,7 @@ import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -23,17 +27,25 @@ import java.util.stream.Collectors;
  * average stay duration, and popularity metrics for a given period.
  * It is primarily used by the Reports & Analytics view.
  * </p>
+ * <p>
+ * All methods only read and run in read-only transactions, which go to the replica
+ * when one is configured.
+ * </p>
  *
  * @author Matthias Lohr
  */
 @Service
-@Transactional
+@Transactional(readOnly = true)
 public class ReportService {
 
     private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final RoomRepository roomRepository;
 
-    public ReportService(BookingService bookingService) {
+    public ReportService(BookingService bookingService, BookingRepository bookingRepository, RoomRepository roomRepository) {
         this.bookingService = bookingService;
+        this.bookingRepository = bookingRepository;
+        this.roomRepository = roomRepository;
     }
 
     /**
@@ -242,6 +254,83 @@ public class ReportService {
             .sum();
     }
 
+    //------------------Time series for the trend charts-------------
+
+    /**
+     * Builds the daily revenue, booking and occupancy series for the trend charts.
+     * <p>
+     * Revenue and bookings are aggregated per creation day in the database, occupancy
+     * is derived from the stay intervals of all non-cancelled bookings (occupied rooms
+     * per night relative to the number of active rooms). Days without data are filled
+     * with zero so the series stay continuous, and every series is downsampled with
+     * {@link TimeSeriesDownsampler} to at most {@code maxPoints} points before it is
+     * handed to the view.
+     * </p>
+     */
+    @Transactional(readOnly = true)
+    public TrendSeries getTrendSeries(LocalDate from, LocalDate to, int maxPoints) {
+        if (from == null || to == null || to.isBefore(from)) {
+            return new TrendSeries(List.of(), List.of(), List.of());
+        }
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+
+        // Revenue and bookings per creation day (dense arrays indexed by day offset)
+        double[] revenue = new double[days];
+        double[] bookings = new double[days];
+        for (Object[] row : bookingRepository.sumBookingsAndRevenuePerDay(from, to)) {
+            int index = (int) ChronoUnit.DAYS.between(from, (LocalDate) row[0]);
+            bookings[index] = ((Number) row[1]).doubleValue();
+            revenue[index] = ((Number) row[2]).doubleValue();
+        }
+
+        // Occupied rooms per night via difference array: +1 on the first night, -1 after the last one
+        int[] delta = new int[days + 1];
+        for (Object[] row : bookingRepository.findStayIntervals(from, to, BookingStatus.CANCELLED)) {
+            LocalDate checkIn = (LocalDate) row[0];
+            LocalDate checkOut = (LocalDate) row[1];
+            int start = (int) Math.max(0, ChronoUnit.DAYS.between(from, checkIn));
+            int end = (int) Math.min(days, ChronoUnit.DAYS.between(from, checkOut));
+            if (start < end) {
+                delta[start]++;
+                delta[end]--;
+            }
+        }
+        long activeRooms = roomRepository.countByActiveTrue();
+        double[] occupancy = new double[days];
+        int occupied = 0;
+        for (int i = 0; i < days; i++) {
+            occupied += delta[i];
+            occupancy[i] = activeRooms == 0 ? 0.0 : occupied * 100.0 / activeRooms;
+        }
+
+        return new TrendSeries(
+            downsample(from, revenue, maxPoints),
+            downsample(from, bookings, maxPoints),
+            downsample(from, occupancy, maxPoints));
+    }
+
+    // Helper: turns a dense daily array into points and reduces it to the point budget
+    private List<TimeSeriesPoint> downsample(LocalDate from, double[] values, int maxPoints) {
+        List<TimeSeriesPoint> points = new ArrayList<>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            points.add(new TimeSeriesPoint(from.plusDays(i), values[i]));
+        }
+        return TimeSeriesDownsampler.largestTriangleThreeBuckets(points, maxPoints);
+    }
+
+    /**
+     * Downsampled daily series shown in the trend charts of the Reports view.
+     *
+     * @param revenue   revenue per creation day
+     * @param bookings  number of bookings per creation day
+     * @param occupancy occupied rooms per night in percent of all active rooms
+     */
+    public record TrendSeries(
+            List<TimeSeriesPoint> revenue,
+            List<TimeSeriesPoint> bookings,
+            List<TimeSeriesPoint> occupancy) {
+    }
+
     /**
      * Creates a human-readable trend string comparing two numeric values.
      * <p>
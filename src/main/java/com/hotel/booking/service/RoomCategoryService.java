@@ -9,12 +9,14 @@ import com.hotel.booking.repository.RoomImageRepository;
 import com.hotel.booking.repository.RoomRepository;
 import com.hotel.booking.repository.InvoiceRepository;
 import com.hotel.booking.repository.BookingRepository;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -90,13 +92,31 @@ public class RoomCategoryService {
         }
     }
 
+    /**
+     * Initializes the images and amenities of categories loaded with {@link RoomCategory#GRAPH_CARD}.
+     * From the database the images arrive with the query and touching one amenity set loads the
+     * amenities of every category of the same query with a single subselect. Categories served by
+     * the second-level cache (entity graphs do not apply there) take both collections from the
+     * collection cache. Must run inside the transaction that loaded the categories.
+     *
+     * @param categories categories of one query result
+     * @return the same categories, ready to be shown after the transaction
+     */
+    static <C extends Collection<RoomCategory>> C withCollections(C categories) {
+        categories.forEach(c -> {
+            Hibernate.initialize(c.getImages());
+            Hibernate.initialize(c.getAmenities());
+        });
+        return categories;
+    }
+
     /**
      * Retrieves all room categories from the database.
      *
      * @return a list of all RoomCategory entities
      */
     public List<RoomCategory> getAllRoomCategories() {
-        return roomCategoryRepository.findAll();
+        return withCollections(roomCategoryRepository.findAll());
     }
 
     /**
@@ -106,7 +126,9 @@ public class RoomCategoryService {
      * @return an Optional containing the RoomCategory if found, empty otherwise
      */
     public Optional<RoomCategory> getRoomCategoryById(Long id) {
-        return roomCategoryRepository.findById(id);
+        Optional<RoomCategory> category = roomCategoryRepository.findById(id);
+        category.ifPresent(c -> withCollections(List.of(c)));
+        return category;
     }
 
     /**
@@ -225,7 +247,7 @@ public class RoomCategoryService {
      * @return a list of all active RoomCategory entities
      */
     public List<RoomCategory> getActiveCategories() {
-        return roomCategoryRepository.findAllActive();
+        return withCollections(roomCategoryRepository.findAllActive());
     }
 
     /**
@@ -237,7 +259,7 @@ public class RoomCategoryService {
      * @return a list of all inactive RoomCategory entities
      */
     public List<RoomCategory> getInactiveCategories() {
-        return roomCategoryRepository.findAllInactive();
+        return withCollections(roomCategoryRepository.findAllInactive());
     }
 
     /**
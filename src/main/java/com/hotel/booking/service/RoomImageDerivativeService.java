@@ -0,0 +1,237 @@
+package com.hotel.booking.service;
+
+import com.hotel.booking.entity.RoomImage;
+import com.hotel.booking.event.EntityChangedEvent;
+import com.hotel.booking.event.EntityChangedEvent.ChangeType;
+import com.hotel.booking.repository.RoomImageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+/**
+ * Service generating scaled-down JPEG copies ("derivatives") of room images.
+ * <p>
+ * Uploaded photos are stored as they are, often several megabytes large, while room cards and
+ * thumbnails display them a few hundred pixels wide. After a new {@link RoomImage} has been
+ * committed, this service decodes the original once on the {@code roomImageExecutor} pool and
+ * writes one JPEG per configured width smaller than the original to
+ * {@code <images>/rooms/derivatives/}. The generated widths are recorded on the image, so
+ * components can load the smallest copy that fits (see {@link RoomImage#getImagePath(int)}).
+ * Images without derivatives (e.g. the demo images) are processed once after startup.
+ * </p>
+ * <p>
+ * Only JPEG is generated: the JDK has no WebP encoder and room photos are opaque. If the
+ * original cannot be read, an empty width list is recorded and the original keeps being served.
+ * </p>
+ *
+ * @see RoomImageService
+ */
+@Service
+public class RoomImageDerivativeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomImageDerivativeService.class);
+
+    private static final String WEB_PATH_PREFIX = "/images/";
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private final RoomImageRepository roomImageRepository;
+    private final ExecutorService roomImageExecutor;
+    private final Path imagesRoot;
+    private final List<Integer> widths;
+    private final boolean enabled;
+
+    public RoomImageDerivativeService(RoomImageRepository roomImageRepository,
+                                      @Qualifier("roomImageExecutor") ExecutorService roomImageExecutor,
+                                      @Value("${app.images.root-dir:data/images}") String imagesRootDir,
+                                      @Value("${app.images.derivatives.widths:400,800,1600}") String widths,
+                                      @Value("${app.images.derivatives.enabled:true}") boolean enabled) {
+        this.roomImageRepository = roomImageRepository;
+        this.roomImageExecutor = roomImageExecutor;
+        this.imagesRoot = Paths.get(imagesRootDir).toAbsolutePath().normalize();
+        this.widths = RoomImage.parseWidths(widths).stream().filter(width -> width > 0).sorted().distinct().toList();
+        this.enabled = enabled;
+    }
+
+    /**
+     * Generates the missing derivatives of existing images (demo data, images uploaded before
+     * derivatives existed) in the background.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void generateMissing() {
+        if (!enabled) {
+            return;
+        }
+        List<RoomImage> images = roomImageRepository.findWithoutDerivatives();
+        if (!images.isEmpty()) {
+            logger.info("Generating derivatives for {} room images", images.size());
+            images.forEach(this::schedule);
+        }
+    }
+
+    /**
+     * Generates the derivatives of a newly created image once it has been committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomImageChanged(EntityChangedEvent<RoomImage> event) {
+        if (enabled && event.getChangeType() == ChangeType.CREATED) {
+            schedule(event.getEntity());
+        }
+    }
+
+    /**
+     * Generates the derivatives of an image on the {@code roomImageExecutor} pool.
+     *
+     * @param image the image; must have been saved
+     * @return the recorded widths (e.g. {@code 400,800}) once done
+     */
+    public CompletableFuture<String> schedule(RoomImage image) {
+        Long id = image.getId();
+        String imagePath = image.getImagePath();
+        return CompletableFuture.supplyAsync(() -> generate(id, imagePath), roomImageExecutor)
+                .whenComplete((recorded, error) -> {
+                    if (error != null) {
+                        logger.warn("Could not generate derivatives of room image {} ({})", id, imagePath, error);
+                    }
+                });
+    }
+
+    /**
+     * Resolves a web path below {@code /images/} in the images directory.
+     *
+     * @param webPath e.g. {@code /images/rooms/a.png}
+     * @return the file, or {@code null} if the path does not point into the images directory
+     */
+    Path resolveDiskPath(String webPath) {
+        if (webPath == null || !webPath.startsWith(WEB_PATH_PREFIX)) {
+            return null;
+        }
+        Path path = imagesRoot.resolve(webPath.substring(WEB_PATH_PREFIX.length())).normalize();
+        return path.startsWith(imagesRoot) ? path : null;
+    }
+
+    // Decodes the original once and writes every configured width that is smaller than it
+    String generate(Long id, String imagePath) {
+        List<Integer> generated = new ArrayList<>();
+        BufferedImage original = read(imagePath);
+        if (original != null) {
+            BufferedImage source = original;
+            // Largest first, so every step scales from the previous (already smaller) result
+            for (int width : widths.reversed()) {
+                if (width >= original.getWidth()) {
+                    continue;
+                }
+                source = scale(source, width);
+                try {
+                    write(source, resolveDiskPath(RoomImage.derivativePath(imagePath, width)));
+                    generated.addFirst(width);
+                } catch (IOException e) {
+                    logger.warn("Could not write {}px derivative of {}", width, imagePath, e);
+                }
+            }
+        }
+        String recorded = generated.stream().map(String::valueOf).collect(Collectors.joining(","));
+        roomImageRepository.updateDerivativeWidths(id, recorded);
+        logger.debug("Room image {} ({}): derivatives {}", id, imagePath, recorded);
+        return recorded;
+    }
+
+    // Reads the uploaded file, falling back to the images bundled in the jar
+    private BufferedImage read(String imagePath) {
+        Path file = resolveDiskPath(imagePath);
+        if (file == null) {
+            return null;
+        }
+        try {
+            if (Files.isRegularFile(file)) {
+                try (InputStream in = Files.newInputStream(file)) {
+                    return ImageIO.read(in);
+                }
+            }
+            ClassPathResource bundled = new ClassPathResource("static" + imagePath);
+            if (bundled.exists()) {
+                try (InputStream in = bundled.getInputStream()) {
+                    return ImageIO.read(in);
+                }
+            }
+            logger.warn("Room image {} not found", imagePath);
+        } catch (IOException e) {
+            logger.warn("Could not read room image {}", imagePath, e);
+        }
+        return null;
+    }
+
+    // Halves the size step by step before the final bicubic step; one large bicubic step drops detail
+    private static BufferedImage scale(BufferedImage source, int width) {
+        BufferedImage current = source;
+        while (current.getWidth() / 2 >= width) {
+            current = resize(current, current.getWidth() / 2);
+        }
+        return current.getWidth() == width ? current : resize(current, width);
+    }
+
+    private static BufferedImage resize(BufferedImage source, int width) {
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+        // JPEG has no alpha channel: transparent areas become white
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+
+    // Writes to a temporary file first, so a half-written derivative is never served
+    private static void write(BufferedImage image, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path tmp = Files.createTempFile(target.getParent(), "derivative-", ".tmp");
+        try {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            try (OutputStream out = Files.newOutputStream(tmp);
+                 ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(JPEG_QUALITY);
+                param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+                writer.setOutput(imageOut);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+}
@@ -6,12 +6,14 @@ import com.hotel.booking.repository.RoomImageRepository;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
@@ -22,6 +24,12 @@ import java.util.UUID;
  * This service provides functionality to upload, store, delete, and manage images associated with room categories.
  * It handles both file system operations (creating, deleting image files) and database persistence through the repository.
  * Ensures data integrity by maintaining only one primary image per room category.
+ * Scaled-down copies of new images are generated in the background by {@link RoomImageDerivativeService}.
+ * </p>
+ * <p>
+ * Components load images through {@link #getImageUrl(RoomImage, int)}: the URL names the smallest fitting
+ * copy and carries the content hash of the file, so browsers can cache it permanently
+ * (see {@code StaticResourceConfig}).
  * </p>
  *
  * @author Artur Derr
@@ -32,18 +40,22 @@ public class RoomImageService {
     private static final String WEB_PATH_PREFIX = "/images/rooms/";
 
     private final RoomImageRepository roomImageRepository;
+    private final ResourceUrlProvider resourceUrlProvider;
     private final Path imageDirectory;
 
     /**
      * Constructs a new RoomImageService with the specified dependencies.
      *
      * @param roomImageRepository the repository for accessing room image data
+     * @param resourceUrlProvider generates the fingerprinted URLs of the files below {@code /images/}
      * @param imagesRootDir the root directory for storing images, configured via application properties
      *                      (defaults to "data/images" if not specified)
      */
     public RoomImageService(RoomImageRepository roomImageRepository,
+                            ResourceUrlProvider resourceUrlProvider,
                             @Value("${app.images.root-dir:data/images}") String imagesRootDir) {
         this.roomImageRepository = roomImageRepository;
+        this.resourceUrlProvider = resourceUrlProvider;
         this.imageDirectory = Paths.get(imagesRootDir, "rooms");
     }
 
@@ -141,7 +153,7 @@ public class RoomImageService {
     /**
      * Deletes a room image from both the database and the file system.
      * <p>
-     * Removes the image file from disk if it exists, then deletes the corresponding database record.
+     * Removes the image file and its derivatives from disk if they exist, then deletes the corresponding database record.
      * If the file cannot be found on disk, the database record is still deleted.
      * </p>
      *
@@ -157,6 +169,10 @@ public class RoomImageService {
         if (diskPath != null) {
             try {
                 Files.deleteIfExists(diskPath);
+                for (int width : RoomImage.parseWidths(roomImage.getDerivativeWidths())) {
+                    Files.deleteIfExists(imageDirectory.resolve(RoomImage.DERIVATIVE_DIRECTORY)
+                            .resolve(extractFileName(RoomImage.derivativePath(roomImage.getImagePath(), width))));
+                }
             } catch (IOException e) {
                 throw new IllegalStateException("Could not delete file from disk", e);
             }
@@ -177,6 +193,53 @@ public class RoomImageService {
         return roomImageRepository.findAllWithCategory();
     }
 
+    /**
+     * Returns the URL to load an image with at the given display width.
+     * <p>
+     * Picks the smallest derivative at least {@code width} pixels wide (or the original) and adds the
+     * content hash of that file to the name, e.g. {@code /images/rooms/derivatives/a_800w-5f3c...e1.jpg}.
+     * </p>
+     *
+     * @param image the room image
+     * @param width the width the image is displayed at, in device pixels
+     * @return the fingerprinted URL, or the plain path if the file cannot be resolved
+     */
+    public String getImageUrl(RoomImage image, int width) {
+        return fingerprint(image.getImagePath(width));
+    }
+
+    /**
+     * Returns the derivatives of an image as {@code srcset} attribute value with fingerprinted URLs,
+     * so the browser chooses the size.
+     *
+     * @param image the room image
+     * @return e.g. {@code "/images/rooms/derivatives/a_400w-...jpg 400w, ..."}, or {@code null} without derivatives
+     */
+    public String getSrcSet(RoomImage image) {
+        List<String> candidates = new ArrayList<>();
+        for (int width : RoomImage.parseWidths(image.getDerivativeWidths())) {
+            candidates.add(fingerprint(RoomImage.derivativePath(image.getImagePath(), width)) + " " + width + "w");
+        }
+        return candidates.isEmpty() ? null : String.join(", ", candidates);
+    }
+
+    /**
+     * Adds the content hash to the file name of a path below {@code /images/}.
+     * <p>
+     * The resource chain caches the hash, so each file is read once per application run.
+     * </p>
+     *
+     * @param imagePath the plain web path
+     * @return the fingerprinted path, or {@code imagePath} if it cannot be resolved
+     */
+    private String fingerprint(String imagePath) {
+        if (imagePath == null || imagePath.isBlank()) {
+            return imagePath;
+        }
+        String url = resourceUrlProvider.getForLookupPath(imagePath);
+        return url != null ? url : imagePath;
+    }
+
     /**
      * Enforces the constraint that only one primary image exists per room category.
      * <p>
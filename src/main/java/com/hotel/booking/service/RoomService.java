@@ -6,12 +6,15 @@ import com.hotel.booking.entity.RoomCategory;
 import com.hotel.booking.entity.RoomStatus;
 import com.hotel.booking.repository.BookingRepository;
 import com.hotel.booking.repository.RoomRepository;
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -70,13 +73,16 @@ public class RoomService {
     }
 
     /**
-     * Retrieves a room by its ID.
+     * Retrieves a room by its ID, with its category initialized (also when the room
+     * comes from the second-level cache, where the entity graph does not apply).
      *
      * @param id the ID of the room to retrieve
      * @return an Optional containing the Room if found, empty otherwise
      */
     public Optional<Room> getRoomById(Long id) {
-        return roomRepository.findById(id);
+        Optional<Room> room = roomRepository.findById(id);
+        room.ifPresent(r -> Hibernate.initialize(r.getCategory()));
+        return room;
     }
 
     /**
@@ -282,19 +288,47 @@ public class RoomService {
         logger.info("Room with ID {} deactivated", room.getId());
     }
 
+    /**
+     * Counts rooms per status with a single GROUP BY query.
+     *
+     * @return a map containing every {@link RoomStatus} (0 for statuses without rooms)
+     */
+    @Transactional(readOnly = true)
+    public Map<RoomStatus, Long> countRoomsByStatus() {
+        return toStatusCounts(roomRepository.countGroupedByStatus());
+    }
+
+    /**
+     * Converts the rows of {@link RoomRepository#countGroupedByStatus()} into a complete status map.
+     *
+     * @param rows rows of {@code [status, count]}
+     * @return a map containing every {@link RoomStatus} (0 for statuses without rooms)
+     */
+    static Map<RoomStatus, Long> toStatusCounts(List<Object[]> rows) {
+        Map<RoomStatus, Long> counts = new EnumMap<>(RoomStatus.class);
+        for (RoomStatus status : RoomStatus.values()) {
+            counts.put(status, 0L);
+        }
+        for (Object[] row : rows) {
+            counts.put((RoomStatus) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
     /**
      * Calculates comprehensive room management statistics.
      *
      * @return RoomStatistics object containing all relevant metrics
      */
     public RoomStatistics calculateStatistics() {
-        long totalRooms = roomRepository.count();
-        long availableRooms = roomRepository.countByStatus(RoomStatus.AVAILABLE);
-        long occupiedRooms = roomRepository.countByStatus(RoomStatus.OCCUPIED);
-        long cleaningRooms = roomRepository.countByStatus(RoomStatus.CLEANING);
-        long renovatingRooms = roomRepository.countByStatus(RoomStatus.RENOVATING);
-        long outOfServiceRooms = roomRepository.countByStatus(RoomStatus.OUT_OF_SERVICE);
-        long inactiveRooms = roomRepository.countByStatus(RoomStatus.INACTIVE);
+        Map<RoomStatus, Long> byStatus = countRoomsByStatus();
+        long totalRooms = byStatus.values().stream().mapToLong(Long::longValue).sum();
+        long availableRooms = byStatus.get(RoomStatus.AVAILABLE);
+        long occupiedRooms = byStatus.get(RoomStatus.OCCUPIED);
+        long cleaningRooms = byStatus.get(RoomStatus.CLEANING);
+        long renovatingRooms = byStatus.get(RoomStatus.RENOVATING);
+        long outOfServiceRooms = byStatus.get(RoomStatus.OUT_OF_SERVICE);
+        long inactiveRooms = byStatus.get(RoomStatus.INACTIVE);
         
         long[] categoryStats = roomCategoryService.getStatistics();
         long totalCategories = categoryStats[0];
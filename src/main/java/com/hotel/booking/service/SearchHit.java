@@ -0,0 +1,33 @@
+package com.hotel.booking.service;
+
+/**
+ * Typed result of the global staff search.
+ *
+ * @param type      kind of record that matched
+ * @param id        id of the matched entity
+ * @param title     main identifier (booking number, name, invoice number, transaction reference)
+ * @param subtitle  additional context shown below the title
+ * @param searchKey text the target view is filtered with when the hit is opened
+ */
+public record SearchHit(Type type, Long id, String title, String subtitle, String searchKey) {
+
+    /**
+     * Kind of record a hit refers to.
+     */
+    public enum Type {
+        BOOKING("Booking"),
+        USER("User"),
+        INVOICE("Invoice"),
+        PAYMENT("Payment");
+
+        private final String label;
+
+        Type(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+}
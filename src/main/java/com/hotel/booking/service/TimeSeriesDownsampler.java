@@ -0,0 +1,88 @@
+package com.hotel.booking.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reduces time series to a fixed point budget before they are sent to the browser.
+ * <p>
+ * Uses the Largest-Triangle-Three-Buckets (LTTB) algorithm: the first and last point
+ * are always kept, the remaining points are split into equally sized buckets and from
+ * each bucket the point forming the largest triangle with the previously selected point
+ * and the average of the next bucket is chosen. This keeps peaks and valleys visible
+ * while a multi-year daily series shrinks to a few hundred points.
+ * </p>
+ */
+public final class TimeSeriesDownsampler {
+
+    private TimeSeriesDownsampler() {
+    }
+
+    /**
+     * Downsamples the given series to at most {@code maxPoints} points.
+     *
+     * @param data      points ordered by date (ascending)
+     * @param maxPoints point budget; values below 3 or at least the series size return the input unchanged
+     * @return the downsampled series, ordered by date
+     */
+    public static List<TimeSeriesPoint> largestTriangleThreeBuckets(List<TimeSeriesPoint> data, int maxPoints) {
+        if (data == null || data.isEmpty()) {
+            return List.of();
+        }
+        if (maxPoints < 3 || maxPoints >= data.size()) {
+            return data;
+        }
+
+        List<TimeSeriesPoint> sampled = new ArrayList<>(maxPoints);
+
+        // Bucket size without the fixed first and last point
+        double bucketSize = (double) (data.size() - 2) / (maxPoints - 2);
+
+        int selected = 0;
+        sampled.add(data.get(selected));
+
+        for (int i = 0; i < maxPoints - 2; i++) {
+            // Average of the next bucket is the third corner of the triangle
+            int nextStart = (int) Math.floor((i + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) Math.floor((i + 2) * bucketSize) + 1, data.size());
+            double avgX = 0;
+            double avgY = 0;
+            for (int j = nextStart; j < nextEnd; j++) {
+                avgX += x(data.get(j));
+                avgY += data.get(j).value();
+            }
+            int nextLength = nextEnd - nextStart;
+            avgX /= nextLength;
+            avgY /= nextLength;
+
+            // Current bucket
+            int start = (int) Math.floor(i * bucketSize) + 1;
+            int end = (int) Math.floor((i + 1) * bucketSize) + 1;
+
+            double ax = x(data.get(selected));
+            double ay = data.get(selected).value();
+
+            double maxArea = -1;
+            int maxIndex = start;
+            for (int j = start; j < end; j++) {
+                TimeSeriesPoint candidate = data.get(j);
+                double area = Math.abs((ax - avgX) * (candidate.value() - ay)
+                        - (ax - x(candidate)) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    maxIndex = j;
+                }
+            }
+
+            sampled.add(data.get(maxIndex));
+            selected = maxIndex;
+        }
+
+        sampled.add(data.get(data.size() - 1));
+        return sampled;
+    }
+
+    private static double x(TimeSeriesPoint point) {
+        return point.date().toEpochDay();
+    }
+}
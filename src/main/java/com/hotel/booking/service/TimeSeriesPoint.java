@@ -0,0 +1,12 @@
+package com.hotel.booking.service;
+
+import java.time.LocalDate;
+
+/**
+ * A single data point of a daily time series used by the report charts.
+ *
+ * @param date  the day the value belongs to
+ * @param value the (already aggregated) value for that day
+ */
+public record TimeSeriesPoint(LocalDate date, double value) {
+}
@@ -11,9 +11,13 @@ import com.hotel.booking.entity.Payment;
 import com.hotel.booking.entity.UserRole;
 import com.hotel.booking.security.SessionService;
 import com.hotel.booking.service.BookingCancellationService;
+import com.hotel.booking.service.BookingFilter;
 import com.hotel.booking.service.BookingFormService;
 import com.hotel.booking.service.BookingModificationService;
+import com.hotel.booking.repository.projection.BookingRow;
 import com.hotel.booking.service.BookingService;
+import com.hotel.booking.service.FrontDeskDay;
+import com.hotel.booking.service.FrontDeskService;
 import com.hotel.booking.service.InvoiceService;
 import com.hotel.booking.service.PaymentService;
 import com.hotel.booking.service.RoomCategoryService;
@@ -34,8 +38,12 @@ import com.vaadin.flow.component.tabs.Tab;
 import com.vaadin.flow.component.tabs.Tabs;
 import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.data.binder.ValidationException;
+import com.vaadin.flow.data.renderer.LitRenderer;
+import com.vaadin.flow.router.BeforeEnterEvent;
+import com.vaadin.flow.router.BeforeEnterObserver;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 
 import jakarta.annotation.security.RolesAllowed;
 
@@ -44,6 +52,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Route(value = "bookings", layout = MainLayout.class)
@@ -52,10 +61,11 @@ import java.util.stream.Collectors;
 @CssImport("./themes/hotel/views/booking-management.css")
 @CssImport("./themes/hotel/views/my-bookings.css")
 @RolesAllowed({UserRole.RECEPTIONIST_VALUE, UserRole.MANAGER_VALUE})
-public class BookingManagementView extends VerticalLayout {
+public class BookingManagementView extends VerticalLayout implements BeforeEnterObserver {
 
     private final SessionService sessionService;
     private final BookingService bookingService;
+    private final FrontDeskService frontDeskService;
     private final BookingFormService formService;
     private final BookingModificationService modificationService;
     private final BookingCancellationService bookingCancellationService;
@@ -65,12 +75,12 @@ public class BookingManagementView extends VerticalLayout {
     private final RoomService roomService;
 
     private static final DateTimeFormatter GERMAN_DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    private static final DateTimeFormatter DAY_TAB_FORMAT = DateTimeFormatter.ofPattern("EEE dd.MM.", Locale.ENGLISH);
     private final LocalDate today = LocalDate.now();
 
-    private final Grid<Booking> grid = new Grid<>(Booking.class, false);
-    private final Grid<Booking> checkGrid = new Grid<>(Booking.class, false);
-
-    private final List<Booking> bookings = new ArrayList<>();
+    // Grids hold read-only rows; the full booking is loaded when a dialog or action needs it
+    private final Grid<BookingRow> grid = new Grid<>(BookingRow.class, false);
+    private final Grid<BookingRow> checkGrid = new Grid<>(BookingRow.class, false);
 
     private TextField searchField;
     private Select<String> statusFilter;
@@ -83,12 +93,16 @@ public class BookingManagementView extends VerticalLayout {
 
     private Div checkInOutCard;
     private H3 checkInOutTitle;
+    // One tab per day of the front-desk horizon; the selected day fills the check grid
+    private final Map<Tab, LocalDate> dayTabs = new LinkedHashMap<>();
+    private LocalDate selectedDay = today;
 
     // Simple immutable snapshot holder for previous booking values (your style)
     private static record PrevBooking(LocalDate checkIn, LocalDate checkOut, Integer amount, BigDecimal total, Set<BookingExtra> extras) {}
 
     public BookingManagementView(SessionService sessionService,
                                  BookingService bookingService,
+                                 FrontDeskService frontDeskService,
                                  BookingFormService formService,
                                  BookingModificationService modificationService,
                                  BookingCancellationService bookingCancellationService,
@@ -98,6 +112,7 @@ public class BookingManagementView extends VerticalLayout {
                                  InvoiceService invoiceService) {
         this.sessionService = sessionService;
         this.bookingService = bookingService;
+        this.frontDeskService = frontDeskService;
         this.formService = formService;
         this.modificationService = modificationService;
         this.bookingCancellationService = bookingCancellationService;
@@ -112,7 +127,6 @@ public class BookingManagementView extends VerticalLayout {
         setSizeFull();
 
         initCategories();
-        reloadBookings();
 
         add(createHeader());
 
@@ -122,7 +136,7 @@ public class BookingManagementView extends VerticalLayout {
 
         add(createFilters(), createBookingsCard());
 
-        refreshCheckInOutCardVisibility();
+        refreshHorizon();
     }
 
     private void initCategories() {
@@ -131,16 +145,21 @@ public class BookingManagementView extends VerticalLayout {
         roomCategoryService.getAllRoomCategories().forEach(cat -> categoryNames.add(cat.getName()));
     }
 
-    private void reloadBookings() {
-        bookings.clear();
-        bookings.addAll(bookingService.findAll());
-    }
-
     private void reloadAndRefresh() {
-        reloadBookings();
         filterBookings(); // keeps current filter state
         refreshCheckGrid();
-        refreshCheckInOutCardVisibility();
+        refreshHorizon();
+    }
+
+    /**
+     * Pre-fills the search with the {@code q} query parameter set by the global search.
+     * @param event the navigation event
+     */
+    @Override
+    public void beforeEnter(BeforeEnterEvent event) {
+        event.getLocation().getQueryParameters()
+                .getSingleParameter(MainLayout.SEARCH_PARAMETER)
+                .ifPresent(searchField::setValue);
     }
 
     private Component createHeader() {
@@ -221,53 +240,64 @@ public class BookingManagementView extends VerticalLayout {
 
         grid.removeAllColumns();
 
-        grid.addColumn(Booking::getBookingNumber)
+        grid.addColumn(BookingRow::bookingNumber)
                 .setHeader("Booking ID")
+                .setSortProperty("bookingNumber")
                 .setWidth("130px")
                 .setFlexGrow(2);
 
-        grid.addColumn(Booking::getAmount)
+        grid.addColumn(BookingRow::amount)
                 .setHeader("People")
+                .setSortProperty("amount")
                 .setAutoWidth(true)
                 .setFlexGrow(0);
 
-        grid.addColumn(b -> b.getRoom() != null ? b.getRoom().getRoomNumber() : "N/A")
+        grid.addColumn(b -> b.roomNumber() != null ? b.roomNumber() : "N/A")
                 .setHeader("Room")
+                .setSortProperty("room.roomNumber")
                 .setAutoWidth(true)
                 .setFlexGrow(0);
 
-        grid.addColumn(b -> (b.getGuest() != null ? b.getGuest().getFullName() : "N/A"))
+        grid.addColumn(b -> (b.guestName() != null ? b.guestName() : "N/A"))
                 .setHeader("Guest Name")
+                .setSortProperty("guest.lastName", "guest.firstName")
                 .setAutoWidth(true)
                 .setFlexGrow(1);
 
-        grid.addColumn(b -> formatDate(b.getCheckInDate()))
+        grid.addColumn(b -> formatDate(b.checkInDate()))
                 .setHeader("Check-in Date")
+                .setSortProperty("checkInDate")
                 .setWidth("140px")
                 .setFlexGrow(1);
 
-        grid.addColumn(b -> formatDate(b.getCheckOutDate()))
+        grid.addColumn(b -> formatDate(b.checkOutDate()))
                 .setHeader("Check-out")
+                .setSortProperty("checkOutDate")
                 .setAutoWidth(true)
                 .setFlexGrow(1);
 
-        grid.addColumn(b -> "€" + (b.getTotalPrice() != null ? b.getTotalPrice() : BigDecimal.ZERO))
+        grid.addColumn(b -> "€" + (b.totalPrice() != null ? b.totalPrice() : BigDecimal.ZERO))
                 .setHeader("Amount")
+                .setSortProperty("totalPrice")
                 .setAutoWidth(true)
                 .setFlexGrow(1);
 
-        grid.addComponentColumn(this::createStatusBadge)
+        grid.addColumn(createStatusBadgeRenderer())
                 .setHeader("Status")
+                .setSortProperty("status")
                 .setAutoWidth(true)
                 .setFlexGrow(1);
 
-        grid.addComponentColumn(this::createActionButtons)
+        grid.addColumn(createActionButtonsRenderer())
                 .setHeader("Actions")
                 .setAutoWidth(true)
                 .setFlexGrow(4);
 
         grid.setWidthFull();
-        grid.setItems(bookings);
+        // Lazy data provider: each scroll/sort/filter fetches one page (plus a count) from the database
+        grid.setItems(
+                query -> bookingService.findBookings(currentFilter(), VaadinSpringDataHelpers.toSpringPageRequest(query)).stream(),
+                query -> (int) bookingService.countBookings(currentFilter()));
 
         card.add(title, grid);
         return card;
@@ -278,59 +308,80 @@ public class BookingManagementView extends VerticalLayout {
         card.addClassName("card");
         card.setWidthFull();
 
-        checkInOutTitle = new H3("Today: Check-in / Check-out");
+        checkInOutTitle = new H3("Front Desk: Arrivals / Departures");
         checkInOutTitle.addClassName("booking-section-title");
 
+        Tabs days = new Tabs();
+        days.addClassName("front-desk-days");
+        for (int i = 0; i < FrontDeskService.HORIZON_DAYS; i++) {
+            Tab tab = new Tab();
+            dayTabs.put(tab, today.plusDays(i));
+            days.add(tab);
+        }
+        days.addSelectedChangeListener(e -> {
+            selectedDay = dayTabs.getOrDefault(e.getSelectedTab(), today);
+            refreshCheckGrid();
+        });
+
         checkGrid.removeAllColumns();
 
-        checkGrid.addColumn(Booking::getBookingNumber)
+        checkGrid.addColumn(BookingRow::bookingNumber)
                 .setHeader("Booking ID")
                 .setAutoWidth(true);
 
-        checkGrid.addColumn(b -> b.getGuest() != null ? b.getGuest().getFullName() : "N/A")
+        checkGrid.addColumn(b -> b.guestName() != null ? b.guestName() : "N/A")
                 .setHeader("Guest");
 
-        checkGrid.addColumn(b -> b.getRoom() != null ? b.getRoom().getRoomNumber() : "N/A")
+        checkGrid.addColumn(b -> b.roomNumber() != null ? b.roomNumber() : "N/A")
                 .setHeader("Room");
 
-        checkGrid.addComponentColumn(this::createStatusBadge)
+        checkGrid.addColumn(createStatusBadgeRenderer())
                 .setHeader("Status")
                 .setAutoWidth(true)
                 .setFlexGrow(0);
 
-        checkGrid.addComponentColumn(this::createCheckInOutButtons)
+        checkGrid.addColumn(createCheckInOutRenderer())
                 .setHeader("Action")
                 .setAutoWidth(true);
 
         checkGrid.setWidthFull();
         checkGrid.setMaxHeight("210px");
 
-        card.add(checkInOutTitle, checkGrid);
+        card.add(checkInOutTitle, days, checkGrid);
 
         refreshCheckGrid();
         return card;
     }
 
+    // Arrivals and departures of the selected day; check-in/out buttons only appear for today
     private void refreshCheckGrid() {
-        List<Booking> actionable = bookings.stream()
-                .filter(this::isActionableToday)
-                .toList();
-        checkGrid.setItems(actionable);
+        checkGrid.setItems(frontDeskService.findMovements(selectedDay));
     }
 
-    private void refreshCheckInOutCardVisibility() {
-        boolean hasActionable = bookings.stream().anyMatch(this::isActionableToday);
+    // Updates the per-day counts and hides the card when nobody arrives or departs within the horizon
+    private void refreshHorizon() {
+        List<FrontDeskDay> horizon = frontDeskService.getHorizon(today);
+        Map<LocalDate, FrontDeskDay> byDate = horizon.stream()
+                .collect(Collectors.toMap(FrontDeskDay::date, day -> day));
+        dayTabs.forEach((tab, date) -> tab.setLabel(formatDayTab(byDate.getOrDefault(date, new FrontDeskDay(date, 0, 0)))));
+
         if (checkInOutCard != null) {
-            checkInOutCard.setVisible(hasActionable);
+            checkInOutCard.setVisible(horizon.stream().anyMatch(FrontDeskDay::hasMovements));
         }
     }
 
-    private Component createStatusBadge(Booking booking) {
-        BookingStatus st = booking != null ? booking.getStatus() : null;
-        Span badge = new Span(st != null ? st.name() : "UNKNOWN");
-        badge.addClassName("status-badge");
-        badge.addClassName("status-" + (st != null ? st.name().toLowerCase() : "unknown"));
-        return badge;
+    private String formatDayTab(FrontDeskDay day) {
+        String label = today.equals(day.date()) ? "Today" : day.date().format(DAY_TAB_FORMAT);
+        return label + " · " + day.arrivals() + " in / " + day.departures() + " out";
+    }
+
+    // Badge, action and check-in/out columns are client-side templates: no server-side components per row
+    private LitRenderer<BookingRow> createStatusBadgeRenderer() {
+        return LitRenderer.<BookingRow>of("""
+                <span class="status-badge status-${item.statusClass}">${item.status}</span>
+                """)
+                .withProperty("status", row -> row.status() != null ? row.status().name() : "UNKNOWN")
+                .withProperty("statusClass", row -> row.status() != null ? row.status().name().toLowerCase() : "unknown");
     }
 
     /**
@@ -338,114 +389,116 @@ public class BookingManagementView extends VerticalLayout {
      * Edit nur wenn Status NICHT CONFIRMED/CANCELLED/COMPLETED ist.
      * Cancel-Regeln von dir: PENDING/MODIFIED/CONFIRMED.
      */
-    private Component createActionButtons(Booking booking) {
-        HorizontalLayout actions = new HorizontalLayout();
-        actions.setSpacing(true);
-        actions.addClassName("booking-actions");
-
-        Button viewBtn = new Button("View", VaadinIcon.EYE.create());
-        viewBtn.addClickListener(e -> openDetails(booking));
-        actions.add(viewBtn);
-
-        if (isEditableByStatus(booking)) {
-            Button editBtn = new Button("Edit", VaadinIcon.EDIT.create());
-            editBtn.addClickListener(e -> openAddBookingDialog(booking));
-            actions.add(editBtn);
-        }
-
-        if (isCancellableByStatus(booking)) {
-            Button cancelBtn = new Button("Cancel", VaadinIcon.CLOSE.create());
-            cancelBtn.addClickListener(e -> confirmAndCancelBooking(booking));
-            actions.add(cancelBtn);
-        }
+    private LitRenderer<BookingRow> createActionButtonsRenderer() {
+        return LitRenderer.<BookingRow>of("""
+                <vaadin-horizontal-layout class="booking-actions" theme="spacing">
+                  <vaadin-button @click="${view}"><vaadin-icon icon="vaadin:eye" slot="prefix"></vaadin-icon>View</vaadin-button>
+                  <vaadin-button ?hidden="${!item.editable}" @click="${edit}"><vaadin-icon icon="vaadin:edit" slot="prefix"></vaadin-icon>Edit</vaadin-button>
+                  <vaadin-button ?hidden="${!item.cancellable}" @click="${cancel}"><vaadin-icon icon="vaadin:close" slot="prefix"></vaadin-icon>Cancel</vaadin-button>
+                </vaadin-horizontal-layout>
+                """)
+                .withProperty("editable", row -> isEditableByStatus(row.status()))
+                .withProperty("cancellable", row -> isCancellableByStatus(row.status()))
+                .withFunction("view", row -> withBooking(row, this::openDetails))
+                .withFunction("edit", row -> withBooking(row, this::openAddBookingDialog))
+                .withFunction("cancel", row -> withBooking(row, this::confirmAndCancelBooking));
+    }
 
-        return actions;
+    // Loads the full booking behind a grid row; rows of meanwhile deleted bookings trigger a reload
+    private void withBooking(BookingRow row, Consumer<Booking> action) {
+        bookingService.findById(row.id()).ifPresentOrElse(action, () -> {
+            Notification.show("Booking no longer exists.", 3000, Notification.Position.MIDDLE);
+            reloadAndRefresh();
+        });
     }
 
-    private boolean isEditableByStatus(Booking booking) {
-        if (booking == null || booking.getStatus() == null) return true;
-        return booking.getStatus() != BookingStatus.CONFIRMED
-                && booking.getStatus() != BookingStatus.CANCELLED
-                && booking.getStatus() != BookingStatus.COMPLETED;
+    private boolean isEditableByStatus(BookingStatus status) {
+        if (status == null) return true;
+        return status != BookingStatus.CONFIRMED
+                && status != BookingStatus.CANCELLED
+                && status != BookingStatus.COMPLETED;
     }
 
-    private boolean isCancellableByStatus(Booking booking) {
-        if (booking == null || booking.getStatus() == null) return false;
-        return booking.getStatus() == BookingStatus.PENDING
-                || booking.getStatus() == BookingStatus.MODIFIED
-                || booking.getStatus() == BookingStatus.CONFIRMED;
+    private boolean isCancellableByStatus(BookingStatus status) {
+        if (status == null) return false;
+        return status == BookingStatus.PENDING
+                || status == BookingStatus.MODIFIED
+                || status == BookingStatus.CONFIRMED;
     }
 
     // Check-in/out logic (restored with refresh of both grids)
-    private Component createCheckInOutButtons(Booking booking) {
-        HorizontalLayout layout = new HorizontalLayout();
-        layout.setSpacing(true);
-
-        boolean hasButton = false;
-
-        if (booking != null
-                && booking.getCheckInDate() != null
-                && today.equals(booking.getCheckInDate())
-                && (booking.getStatus() == BookingStatus.PENDING
-                    || booking.getStatus() == BookingStatus.CONFIRMED
-                    || booking.getStatus() == BookingStatus.MODIFIED)) {
-
-            Button checkInBtn = new Button(
-                    VaadinIcon.SIGN_IN.create(),
-                    e -> {
-                        // Only show payment dialog if status is PENDING
-                        if (booking.getStatus() == BookingStatus.PENDING) {
-                            openPaymentDialog(booking);
-                        } else {
-                            // For CONFIRMED and MODIFIED, proceed directly to check-in
-                            performCheckIn(booking);
-                            Notification.show("Check-in successful.", 3000, Notification.Position.BOTTOM_START);
-                        }
-                    });
-            checkInBtn.getElement().setAttribute("title", "Check In");
-            layout.add(checkInBtn);
-            hasButton = true;
-        }
-
-        if (booking != null
-                && booking.getCheckOutDate() != null
-                && today.equals(booking.getCheckOutDate())
-                && booking.getStatus() == BookingStatus.CHECKED_IN) {
-
-            Button checkOutBtn = new Button(
-                    VaadinIcon.SIGN_OUT.create(),
-                    e -> {
-                        try {
-                            booking.setStatus(BookingStatus.COMPLETED);
-                            if (booking.getRoom() != null) {
-                                booking.getRoom().setStatus(RoomStatus.AVAILABLE);
-                                roomService.save(booking.getRoom());
+    private LitRenderer<BookingRow> createCheckInOutRenderer() {
+        return LitRenderer.<BookingRow>of("""
+                <vaadin-horizontal-layout theme="spacing">
+                  <vaadin-button ?hidden="${!item.canCheckIn}" title="Check In" @click="${checkIn}"><vaadin-icon icon="vaadin:sign-in"></vaadin-icon></vaadin-button>
+                  <vaadin-button ?hidden="${!item.canCheckOut}" title="Check Out" @click="${checkOut}"><vaadin-icon icon="vaadin:sign-out"></vaadin-icon></vaadin-button>
+                </vaadin-horizontal-layout>
+                """)
+                .withProperty("canCheckIn", this::canCheckIn)
+                .withProperty("canCheckOut", this::canCheckOut)
+                // The client only shows the buttons; the server re-checks the row and then the
+                // loaded booking, which may have been changed since the grid was rendered
+                .withFunction("checkIn", row -> {
+                    if (canCheckIn(row)) {
+                        withBooking(row, booking -> {
+                            if (frontDeskService.canCheckIn(booking.getStatus(), booking.getCheckInDate(), today)) {
+                                checkIn(booking);
+                            } else {
+                                showOutdated("checked in");
                             }
-                            bookingService.save(booking);
-                            grid.getDataProvider().refreshItem(booking);
-                        } catch (Exception ex) {
-                            Notification.show(ex.getMessage() != null ? ex.getMessage() : "Check-out failed", 5000, Notification.Position.MIDDLE);
-                        }
-                    });
-            checkOutBtn.getElement().setAttribute("title", "Check Out");
-            layout.add(checkOutBtn);
-            hasButton = true;
-        }
+                        });
+                    }
+                })
+                .withFunction("checkOut", row -> {
+                    if (canCheckOut(row)) {
+                        withBooking(row, booking -> {
+                            if (frontDeskService.canCheckOut(booking.getStatus(), booking.getCheckOutDate(), today)) {
+                                checkOut(booking);
+                            } else {
+                                showOutdated("checked out");
+                            }
+                        });
+                    }
+                });
+    }
 
-        return hasButton ? layout : new Span();
+    private boolean canCheckIn(BookingRow row) {
+        return row != null && frontDeskService.canCheckIn(row.status(), row.checkInDate(), today);
     }
 
-    private boolean isActionableToday(Booking b) {
-        if (b == null) return false;
+    private boolean canCheckOut(BookingRow row) {
+        return row != null && frontDeskService.canCheckOut(row.status(), row.checkOutDate(), today);
+    }
 
-        return (b.getCheckInDate() != null
-                && today.equals(b.getCheckInDate())
-                && (b.getStatus() == BookingStatus.PENDING
-                    || b.getStatus() == BookingStatus.CONFIRMED
-                    || b.getStatus() == BookingStatus.MODIFIED))
-                || (b.getCheckOutDate() != null
-                && today.equals(b.getCheckOutDate())
-                && b.getStatus() == BookingStatus.CHECKED_IN);
+    // The grid row was outdated: tell the user and show the current state
+    private void showOutdated(String action) {
+        Notification.show("Booking was changed and can no longer be " + action + ".", 3000, Notification.Position.MIDDLE);
+        reloadAndRefresh();
+    }
+
+    private void checkIn(Booking booking) {
+        // Only show payment dialog if status is PENDING
+        if (booking.getStatus() == BookingStatus.PENDING) {
+            openPaymentDialog(booking);
+        } else {
+            // For CONFIRMED and MODIFIED, proceed directly to check-in
+            performCheckIn(booking);
+            Notification.show("Check-in successful.", 3000, Notification.Position.BOTTOM_START);
+        }
+    }
+
+    private void checkOut(Booking booking) {
+        try {
+            booking.setStatus(BookingStatus.COMPLETED);
+            if (booking.getRoom() != null) {
+                booking.getRoom().setStatus(RoomStatus.AVAILABLE);
+                roomService.save(booking.getRoom());
+            }
+            bookingService.save(booking);
+            reloadAndRefresh();
+        } catch (Exception ex) {
+            Notification.show(ex.getMessage() != null ? ex.getMessage() : "Check-out failed", 5000, Notification.Position.MIDDLE);
+        }
     }
 
     /**
@@ -493,8 +546,7 @@ public class BookingManagementView extends VerticalLayout {
                 roomService.save(booking.getRoom());
             }
             bookingService.save(booking);
-            grid.getDataProvider().refreshItem(booking);
-            checkGrid.getDataProvider().refreshItem(booking);
+            reloadAndRefresh();
         } catch (Exception ex) {
             Notification.show(ex.getMessage() != null ? ex.getMessage() : "Check-in failed", 5000, Notification.Position.MIDDLE);
         }
@@ -731,7 +783,7 @@ public class BookingManagementView extends VerticalLayout {
         HorizontalLayout footer = new HorizontalLayout();
         footer.setSpacing(true);
 
-        if (isEditableByStatus(b)) {
+        if (isEditableByStatus(b != null ? b.getStatus() : null)) {
             Button edit = new Button("Edit Booking");
             edit.addClickListener(e -> { d.close(); openAddBookingDialog(b); });
             footer.add(edit);
@@ -870,37 +922,21 @@ public class BookingManagementView extends VerticalLayout {
     }
 
     private void filterBookings() {
-        String search = searchField != null && searchField.getValue() != null
-                ? searchField.getValue().trim().toLowerCase()
-                : "";
+        grid.getDataProvider().refreshAll();
+    }
 
+    // Current values of the filter bar; "All ..." selections mean no restriction
+    private BookingFilter currentFilter() {
+        String search = searchField != null ? searchField.getValue() : null;
         String selectedStatus = statusFilter != null ? statusFilter.getValue() : ALL_STATUS;
         LocalDate date = dateFilter != null ? dateFilter.getValue() : null;
         String selectedCategory = categoryFilter != null ? categoryFilter.getValue() : ALL_ROOMS;
 
-        List<Booking> filtered = bookings.stream()
-                .filter(b -> {
-                    boolean matchesSearch = search.isEmpty()
-                            || (b.getBookingNumber() != null && b.getBookingNumber().toLowerCase().contains(search))
-                            || (b.getGuest() != null && b.getGuest().getFullName() != null
-                                && b.getGuest().getFullName().toLowerCase().contains(search));
-
-                    boolean matchesStatus = ALL_STATUS.equals(selectedStatus)
-                            || (b.getStatus() != null && b.getStatus().name().equals(selectedStatus));
-
-                    boolean matchesDate = (date == null)
-                            || (b.getCreatedAt() != null && b.getCreatedAt().isAfter(date));
-
-                    boolean matchesCategory = ALL_ROOMS.equals(selectedCategory)
-                            || (b.getRoomCategory() != null
-                                && b.getRoomCategory().getName() != null
-                                && b.getRoomCategory().getName().equalsIgnoreCase(selectedCategory));
-
-                    return matchesSearch && matchesStatus && matchesDate && matchesCategory;
-                })
-                .toList();
-
-        grid.setItems(filtered);
+        return new BookingFilter(
+                search,
+                selectedStatus == null || ALL_STATUS.equals(selectedStatus) ? null : BookingStatus.valueOf(selectedStatus),
+                date,
+                selectedCategory == null || ALL_ROOMS.equals(selectedCategory) ? null : selectedCategory);
     }
 
     private VerticalLayout createPreviewSection(String title,
@@ -5,8 +5,11 @@ import com.hotel.booking.entity.UserRole;
 import com.hotel.booking.security.SessionService;
 import com.hotel.booking.service.BookingFormService;
 import com.hotel.booking.service.BookingService;
-import com.hotel.booking.service.InvoiceService;
-import com.hotel.booking.service.RoomService;
+import com.hotel.booking.service.DashboardSnapshot;
+import com.hotel.booking.service.LiveDashboardService;
+import com.hotel.booking.repository.projection.RecentBooking;
+import com.hotel.booking.service.RecentBookingsFeed;
+import com.hotel.booking.view.components.AsyncViewLoader;
 import com.hotel.booking.view.components.CardFactory;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.UI;
@@ -21,10 +24,15 @@ import com.vaadin.flow.component.orderedlayout.*;
 import com.vaadin.flow.data.binder.ValidationException;
 import com.vaadin.flow.router.*;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Qualifier;
 
 import jakarta.annotation.security.RolesAllowed;
 
@@ -42,21 +50,31 @@ import jakarta.annotation.security.RolesAllowed;
 public class DashboardView extends VerticalLayout {
 
     private final SessionService sessionService;
-    private final RoomService roomService;
     private final BookingService bookingService;
-    private final InvoiceService invoiceService;
+    private final LiveDashboardService liveDashboardService;
+    private final RecentBookingsFeed recentBookingsFeed;
     private final BookingFormService formService;
 
     private static final DateTimeFormatter GERMAN_DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
 
-    private Grid<Booking> grid = new Grid<>(Booking.class, false);
+    private Grid<RecentBooking> grid = new Grid<>(RecentBooking.class, false);
+
+    // Loads KPIs and the recent bookings in the background, cancelled when the view is left
+    private final AsyncViewLoader loader;
+
+    // KPI cards of the current role and their slots, updated with every pushed snapshot
+    private final List<KpiCard> kpiCards = new ArrayList<>();
+    private final List<Div> kpiSlots = new ArrayList<>();
 
-    public DashboardView(SessionService sessionService, RoomService roomService, BookingService bookingService, InvoiceService invoiceService, BookingFormService formService) {
+    public DashboardView(SessionService sessionService, BookingService bookingService, LiveDashboardService liveDashboardService,
+                         RecentBookingsFeed recentBookingsFeed, BookingFormService formService,
+                         @Qualifier("viewLoaderExecutor") ExecutorService viewLoaderExecutor) {
         this.sessionService = sessionService;
-        this.roomService = roomService;
         this.bookingService = bookingService;
-        this.invoiceService = invoiceService;
+        this.liveDashboardService = liveDashboardService;
+        this.recentBookingsFeed = recentBookingsFeed;
         this.formService = formService;
+        this.loader = new AsyncViewLoader(this, viewLoaderExecutor);
 
         setSpacing(true);
         setPadding(true);
@@ -67,6 +85,17 @@ public class DashboardView extends VerticalLayout {
         add(createHeader(role));
         add(createKpiRow(role));
         add(createRecentBookingsCard());
+
+        // Receive the shared KPI snapshot via server push while the view is open
+        addAttachListener(attach -> {
+            UI ui = attach.getUI();
+            Runnable unsubscribe = liveDashboardService.subscribe(
+                snapshot -> ui.access(() -> showSnapshot(snapshot)));
+            addDetachListener(detach -> {
+                unsubscribe.run();
+                detach.unregisterListener();
+            });
+        });
     }
 
     /**
@@ -129,7 +158,7 @@ public class DashboardView extends VerticalLayout {
                 bookingService.save(form.getBooking()); // save booking to database
                 dialog.close();
                 Notification.show("Booking saved successfully.", 3000, Notification.Position.BOTTOM_START);
-                grid.setItems(bookingService.getRecentBookings());
+                grid.setItems(recentBookingsFeed.getLatest());
             } catch (ValidationException ex) {
                 Notification.show("Please fix validation errors before saving.", 3000, Notification.Position.MIDDLE);
             }
@@ -145,43 +174,66 @@ public class DashboardView extends VerticalLayout {
 
     /**
      * Creates a horizontal row of KPI cards depending on the user role.
+     * All cards start as placeholders and are filled from the shared {@link DashboardSnapshot};
+     * later snapshots are pushed by {@link LiveDashboardService}.
      * @param role Current user role
      * @return HorizontalLayout with KPI cards
      */
     private Component createKpiRow(UserRole role) {
-        int currentGuests = bookingService.getNumberOfGuestsPresent();
-        int checkoutsToday = bookingService.getNumberOfCheckoutsToday();
-        int checkinsToday = bookingService.getNumberOfCheckinsToday();
-        RoomService.RoomStatistics roomStats = roomService.calculateStatistics();
-        int occupiedRooms = (int) roomStats.occupiedRooms;
-        int availableRooms = (int) roomStats.availableRooms;
-        BigDecimal revenueToday = bookingService.getRevenueToday();
-        int pendingInvoices = invoiceService.getNumberOfPendingInvoices();
         // Verwende HorizontalLayout statt FlexLayout für gleichmäßige Verteilung
         HorizontalLayout row = new HorizontalLayout();
         row.setWidthFull();
         row.setSpacing(true);
 
         if (role == UserRole.RECEPTIONIST) {
-            Div card1 = CardFactory.createStatCard("Check-ins Today", String.valueOf(checkinsToday), VaadinIcon.USERS);
-            Div card2 = CardFactory.createStatCard("Check-outs Today", String.valueOf(checkoutsToday), VaadinIcon.USERS);
-            Div card3 = CardFactory.createStatCard("Occupied Rooms", String.valueOf(occupiedRooms), VaadinIcon.BED);
-            Div card4 = CardFactory.createStatCard("Pending Invoices", String.valueOf(pendingInvoices), VaadinIcon.FILE_TEXT);
-            row.add(card1, card2, card3, card4);
-            row.expand(card1, card2, card3, card4);
+            kpiCards.addAll(List.of(
+                new KpiCard("Check-ins Today", VaadinIcon.USERS, s -> String.valueOf(s.checkinsToday())),
+                new KpiCard("Check-outs Today", VaadinIcon.USERS, s -> String.valueOf(s.checkoutsToday())),
+                new KpiCard("Occupied Rooms", VaadinIcon.BED, s -> String.valueOf(s.occupiedRooms())),
+                new KpiCard("Pending Invoices", VaadinIcon.FILE_TEXT, s -> String.valueOf(s.pendingInvoices()))));
         } else if (role == UserRole.MANAGER) {
-            Div card1 = CardFactory.createStatCard("Occupied Rooms", String.valueOf(occupiedRooms), VaadinIcon.BED);
-            Div card2 = CardFactory.createStatCard("Available Rooms", String.valueOf(availableRooms), VaadinIcon.BED);
-            Div card3 = CardFactory.createStatCard("Revenue Today", String.valueOf(revenueToday) + " €", VaadinIcon.EURO);
-            Div card4 = CardFactory.createStatCard("Current Guests", String.valueOf(currentGuests), VaadinIcon.USERS);
+            kpiCards.addAll(List.of(
+                new KpiCard("Occupied Rooms", VaadinIcon.BED, s -> String.valueOf(s.occupiedRooms())),
+                new KpiCard("Available Rooms", VaadinIcon.BED, s -> String.valueOf(s.availableRooms())),
+                new KpiCard("Revenue Today", VaadinIcon.EURO, s -> s.revenueToday() + " €"),
+                new KpiCard("Current Guests", VaadinIcon.USERS, s -> String.valueOf(s.guestsPresent()))));
+        } else {
+            return row;
+        }
 
-            row.add(card1, card2, card3, card4);
-            row.expand(card1, card2, card3, card4);
+        for (KpiCard card : kpiCards) {
+            Div slot = loader.placeholder(card.label());
+            kpiSlots.add(slot);
+            row.add(slot);
+            row.expand(slot);
         }
 
+        loader.load(liveDashboardService::getCurrent, this::showSnapshot, error -> {
+            for (int i = 0; i < kpiCards.size(); i++) {
+                loader.fillError(kpiSlots.get(i), kpiCards.get(i).label());
+            }
+        });
+
         return row;
     }
 
+    /**
+     * Renders all KPI cards from the given snapshot. Runs on the UI thread.
+     * @param snapshot Current dashboard figures
+     */
+    private void showSnapshot(DashboardSnapshot snapshot) {
+        for (int i = 0; i < kpiCards.size(); i++) {
+            KpiCard card = kpiCards.get(i);
+            loader.fill(kpiSlots.get(i), CardFactory.createStatCard(card.label(), card.value().apply(snapshot), card.icon()));
+        }
+    }
+
+    /**
+     * Definition of one KPI card: label, icon and how its value is read from the snapshot.
+     */
+    private record KpiCard(String label, VaadinIcon icon, Function<DashboardSnapshot, String> value) {
+    }
+
     /**
      * Creates a card displaying recent bookings with a grid and action buttons.
      * @return Div containing recent bookings
@@ -208,10 +260,10 @@ public class DashboardView extends VerticalLayout {
         cardHeader.add(headerLeft, viewAll);
 
         // Configure columns manually
-        grid.addColumn(Booking::getBookingNumber).setHeader("Booking ID").setWidth("170px").setFlexGrow(1);
-        grid.addColumn(booking -> booking.getGuest().getFullName()).setHeader("Guest Name").setFlexGrow(2);
-        grid.addColumn(booking -> booking.getRoom().getRoomNumber()).setHeader("Room").setWidth("100px").setFlexGrow(1);
-        grid.addColumn(booking -> booking.getCheckInDate().format(GERMAN_DATE_FORMAT))
+        grid.addColumn(RecentBooking::bookingNumber).setHeader("Booking ID").setWidth("170px").setFlexGrow(1);
+        grid.addColumn(RecentBooking::guestName).setHeader("Guest Name").setFlexGrow(2);
+        grid.addColumn(RecentBooking::roomNumber).setHeader("Room").setWidth("100px").setFlexGrow(1);
+        grid.addColumn(booking -> booking.checkInDate().format(GERMAN_DATE_FORMAT))
                 .setHeader("Check-in Date").setWidth("140px").setFlexGrow(1);
         grid.addComponentColumn(this::createStatusBadge).setHeader("Status").setWidth("120px").setFlexGrow(1);
         grid.addComponentColumn(b -> {
@@ -220,7 +272,7 @@ public class DashboardView extends VerticalLayout {
             return viewBtn;
         }).setHeader("Actions").setWidth("60px").setFlexGrow(2);
 
-        grid.setItems(bookingService.getRecentBookings());
+        loader.load(recentBookingsFeed::getLatest, grid::setItems);
         grid.setAllRowsVisible(true);
         grid.setWidthFull();
 
@@ -230,13 +282,13 @@ public class DashboardView extends VerticalLayout {
 
     /**
      * Creates a badge representing the booking status.
-     * @param booking Booking object
+     * @param booking Recent booking row
      * @return Span component with status styling
      */
-    private Component createStatusBadge(Booking booking) {
-        Span badge = new Span(booking.getStatus().name());
+    private Component createStatusBadge(RecentBooking booking) {
+        Span badge = new Span(booking.status().name());
         badge.addClassName("status-badge");
-        badge.addClassName("status-" + booking.getStatus().toString().toLowerCase());
+        badge.addClassName("status-" + booking.status().toString().toLowerCase());
         return badge;
     }
 }
\ No newline at end of file
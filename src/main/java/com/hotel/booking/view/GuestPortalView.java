@@ -15,6 +15,7 @@ import com.hotel.booking.service.BookingFormService;
 import com.hotel.booking.service.BookingService;
 import com.hotel.booking.service.PaymentService;
 import com.hotel.booking.service.RoomCategoryService;
+import com.hotel.booking.service.RoomImageService;
 import com.hotel.booking.view.components.RoomGrid;
 import com.hotel.booking.view.components.PaymentDialog;
 import com.hotel.booking.view.components.ReviewsSection;
@@ -117,6 +118,7 @@ public class GuestPortalView extends VerticalLayout {
                            RoomCategoryService roomCategoryService,
                            BookingFormService bookingFormService,
                            PaymentService paymentService,
+                           RoomImageService roomImageService,
                            ReviewsSection reviewsSection) {
 
         this.sessionService = sessionService;
@@ -125,7 +127,7 @@ public class GuestPortalView extends VerticalLayout {
         this.bookingFormService = bookingFormService;
         this.paymentService = paymentService;
         this.reviewsSection = reviewsSection;
-        this.roomGrid = new RoomGrid();
+        this.roomGrid = new RoomGrid(roomImageService);
 
         // Configure layout
         setSpacing(true);
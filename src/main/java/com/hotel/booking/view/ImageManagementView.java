@@ -53,7 +53,7 @@ public class ImageManagementView extends VerticalLayout implements BeforeEnterOb
     private final RoomCategoryService roomCategoryService;
     private final RoomImageService roomImageService;
 
-    private final RoomImageGrid roomImageGrid = new RoomImageGrid();
+    private final RoomImageGrid roomImageGrid;
     private RoomImageDialogue roomImageDialogue;
 
     private RoomCategory assignToCategory;
@@ -72,6 +72,7 @@ public class ImageManagementView extends VerticalLayout implements BeforeEnterOb
                                RoomImageService roomImageService) {
         this.roomCategoryService = roomCategoryService;
         this.roomImageService = roomImageService;
+        this.roomImageGrid = new RoomImageGrid(roomImageService);
 
         wireComponents();
 
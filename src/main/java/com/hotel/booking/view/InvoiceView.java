@@ -2,10 +2,12 @@ package com.hotel.booking.view;
 
 import com.hotel.booking.entity.Invoice;
 import com.hotel.booking.entity.UserRole;
-import com.hotel.booking.service.BookingCancellationService;
+import com.hotel.booking.service.BookingLookupService;
+import com.hotel.booking.service.BookingLookups;
+import com.hotel.booking.service.InvoiceFilter;
+import com.hotel.booking.repository.projection.InvoiceRow;
 import com.hotel.booking.service.InvoiceService;
 import com.hotel.booking.service.InvoicePdfService;
-import com.hotel.booking.service.PaymentService;
 import com.hotel.booking.security.SessionService;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.Key;
@@ -22,16 +24,18 @@ import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.select.Select;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.router.BeforeEnterEvent;
+import com.vaadin.flow.router.BeforeEnterObserver;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 
 import java.text.NumberFormat;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
-import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
-import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,16 +51,19 @@ import jakarta.annotation.security.RolesAllowed;
  * Features:
  * - Display invoices in a sortable grid with columns for invoice number, booking number,
  *   amount, payment method, status, and issued date
- * - Search invoices by invoice number
+ * - Search invoices by the start of the invoice or booking number
  * - Filter invoices by payment status, payment method, and date issued
+ * - Filtering, sorting and paging run in the database (lazy data provider)
  * - Download invoices as PDF documents
+ * - MANAGER: download all invoices of a month as ZIP archive
  * - Visual status badges with color coding
  * - Formatted currency amounts in German locale
  * 
  * The view automatically filters data based on the current user's role,
  * ensuring guests see only their own invoices while staff see all invoices.
  * 
- * All data is loaded and filtered asynchronously to provide a responsive user experience.
+ * Only the visible page of rows is loaded; guests' queries are restricted to their
+ * own bookings in SQL.
  * 
  * @author Arman Özcanli
  * @see Invoice
@@ -69,24 +76,34 @@ import jakarta.annotation.security.RolesAllowed;
 @CssImport("./themes/hotel/styles.css")
 @CssImport("./themes/hotel/views/my-bookings.css")
 @RolesAllowed({UserRole.RECEPTIONIST_VALUE, UserRole.MANAGER_VALUE, UserRole.GUEST_VALUE})
-public class InvoiceView extends VerticalLayout {
+public class InvoiceView extends VerticalLayout implements BeforeEnterObserver {
 
     private static final Logger logger = LoggerFactory.getLogger(InvoiceView.class);
     private final SessionService sessionService;
     private final InvoiceService invoiceService;
     @SuppressWarnings("unused")
     private final InvoicePdfService invoicePdfService;
-    private final PaymentService paymentService;
-    private final BookingCancellationService bookingCancellationService;
-    private Grid<Invoice> grid;
+    private final BookingLookupService bookingLookupService;
+    private Grid<InvoiceRow> grid;
+    private TextField searchField;
+    // Guests only ever see the invoices of their own bookings
+    private final Long guestId;
+    // Filter of the last search; the lazy data provider reads it for every page
+    private InvoiceFilter appliedFilter;
+    // Payments and cancellations of the bookings on the fetched pages
+    private BookingLookups lookups = BookingLookups.empty();
     private static final DateTimeFormatter GERMAN_DATETIME_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("MMMM yyyy", Locale.ENGLISH);
 
-    public InvoiceView(SessionService sessionService, InvoiceService invoiceService, InvoicePdfService invoicePdfService, PaymentService paymentService, BookingCancellationService bookingCancellationService) {
+    public InvoiceView(SessionService sessionService, InvoiceService invoiceService, InvoicePdfService invoicePdfService, BookingLookupService bookingLookupService) {
         this.sessionService = sessionService;
         this.invoiceService = invoiceService;
         this.invoicePdfService = invoicePdfService;
-        this.paymentService = paymentService;
-        this.bookingCancellationService = bookingCancellationService;
+        this.bookingLookupService = bookingLookupService;
+        this.guestId = sessionService.getCurrentRole() == UserRole.GUEST
+                ? sessionService.getCurrentUser().getId()
+                : null;
+        this.appliedFilter = InvoiceFilter.forGuest(guestId);
 
         setSpacing(true);
         setPadding(true);
@@ -102,6 +119,20 @@ public class InvoiceView extends VerticalLayout {
         add(createInvoicesCard());
     }
 
+    /**
+     * Pre-fills the search with the {@code q} query parameter set by the global search.
+     * @param event the navigation event
+     */
+    @Override
+    public void beforeEnter(BeforeEnterEvent event) {
+        event.getLocation().getQueryParameters()
+                .getSingleParameter(MainLayout.SEARCH_PARAMETER)
+                .ifPresent(query -> {
+                    searchField.setValue(query);
+                    loadInvoices(query);
+                });
+    }
+
     private Component createHeader() {
         String title = sessionService.getCurrentRole() == UserRole.GUEST 
             ? "My Invoices" 
@@ -133,6 +164,7 @@ public class InvoiceView extends VerticalLayout {
         subtitle.addClassName("invoice-subtitle");
 
         TextField search = new TextField("Search");
+        searchField = search;
         search.setPlaceholder("Invoice Number or Booking Number...");
         search.setPrefixComponent(VaadinIcon.SEARCH.create());
 
@@ -167,9 +199,38 @@ public class InvoiceView extends VerticalLayout {
         buttonLayout.setJustifyContentMode(FlexComponent.JustifyContentMode.END);
 
         card.add(title, subtitle, form, buttonLayout);
+        if (sessionService.getCurrentRole() == UserRole.MANAGER) {
+            card.add(createArchiveExport());
+        }
         return card;
     }
 
+    // Manager action: all invoice PDFs of one month as ZIP (accounting)
+    private Component createArchiveExport() {
+        Select<YearMonth> month = new Select<>();
+        month.setLabel("Invoice archive");
+        YearMonth current = YearMonth.now();
+        month.setItems(java.util.stream.IntStream.range(0, 12).mapToObj(current::minusMonths).toList());
+        month.setItemLabelGenerator(m -> m.format(MONTH_FORMAT));
+        month.setValue(current.minusMonths(1));
+
+        Button exportButton = new Button("Download ZIP", VaadinIcon.DOWNLOAD.create());
+        exportButton.addClickListener(e -> downloadInvoiceArchive(month.getValue()));
+
+        HorizontalLayout layout = new HorizontalLayout(month, exportButton);
+        layout.setAlignItems(FlexComponent.Alignment.BASELINE);
+        return layout;
+    }
+
+    private void downloadInvoiceArchive(YearMonth month) {
+        if (month == null) {
+            return;
+        }
+        String url = "/api/invoices/archive?from=" + month.atDay(1) + "&to=" + month.atEndOfMonth();
+        logger.info("Opening invoice archive URL: {}", url);
+        com.vaadin.flow.component.UI.getCurrent().getPage().open(url);
+    }
+
     private Component createInvoicesCard() {
         Div card = new Div();
         card.addClassName("card");
@@ -179,18 +240,19 @@ public class InvoiceView extends VerticalLayout {
         title.addClassName("invoice-section-title");
 
         // Grid setup
-        grid = new Grid<>(Invoice.class, false);
-
-        grid.addColumn(Invoice::getInvoiceNumber).setHeader("Invoice No.").setSortable(true).setAutoWidth(true).setFlexGrow(1);
-        grid.addColumn(invoice -> invoice.getBooking() != null ? invoice.getBooking().getBookingNumber() : "").setHeader("Booking No.").setSortable(true).setAutoWidth(true).setFlexGrow(1);
-        grid.addColumn(invoice -> formatInvoiceAmount(invoice)).setHeader("Amount").setSortable(true).setFlexGrow(3);
-        grid.addColumn(Invoice::getPaymentMethod).setHeader("Payment Method").setSortable(true).setAutoWidth(true).setFlexGrow(1);
-        grid.addComponentColumn(invoice -> createStatusBadge(invoice.getInvoiceStatus()))
-            .setHeader("Status").setSortable(true).setAutoWidth(true).setFlexGrow(1);
-        grid.addColumn(invoice -> invoice.getIssuedAt() != null 
-                ? invoice.getIssuedAt().format(GERMAN_DATETIME_FORMAT) 
+        // Read-only rows instead of invoice entities with their eager booking graph
+        grid = new Grid<>(InvoiceRow.class, false);
+
+        grid.addColumn(InvoiceRow::invoiceNumber).setHeader("Invoice No.").setSortProperty("invoiceNumber").setAutoWidth(true).setFlexGrow(1);
+        grid.addColumn(invoice -> invoice.bookingNumber() != null ? invoice.bookingNumber() : "").setHeader("Booking No.").setSortProperty("booking.bookingNumber").setAutoWidth(true).setFlexGrow(1);
+        grid.addColumn(invoice -> formatInvoiceAmount(invoice)).setHeader("Amount").setSortProperty("amount").setFlexGrow(3);
+        grid.addColumn(InvoiceRow::paymentMethod).setHeader("Payment Method").setSortProperty("paymentMethod").setAutoWidth(true).setFlexGrow(1);
+        grid.addComponentColumn(invoice -> createStatusBadge(invoice.invoiceStatus()))
+            .setHeader("Status").setSortProperty("invoiceStatus").setAutoWidth(true).setFlexGrow(1);
+        grid.addColumn(invoice -> invoice.issuedAt() != null 
+                ? invoice.issuedAt().format(GERMAN_DATETIME_FORMAT) 
                 : "")
-                .setHeader("Issued At").setSortable(true).setAutoWidth(true).setFlexGrow(1);
+                .setHeader("Issued At").setSortProperty("issuedAt").setAutoWidth(true).setFlexGrow(1);
         
         // PDF Download Column
         grid.addComponentColumn(invoice -> {
@@ -202,11 +264,10 @@ public class InvoiceView extends VerticalLayout {
         }).setHeader("PDF").setAutoWidth(true).setFlexGrow(0);
         
         grid.setWidthFull();
-        // Let the page scroll, not the grid
-        grid.setAllRowsVisible(true);
-
-        // Load initial data
-        loadInvoices("");
+        // Lazy data provider: each scroll/sort/search fetches one page (plus a count) from the database
+        grid.setItems(
+                query -> prefetch(invoiceService.findInvoices(appliedFilter, VaadinSpringDataHelpers.toSpringPageRequest(query))).stream(),
+                query -> (int) invoiceService.countInvoices(appliedFilter));
 
         card.add(title, grid);
         return card;
@@ -227,87 +288,38 @@ public class InvoiceView extends VerticalLayout {
         loadInvoices(query, "All Status", "All Methods", null);
     }
 
+    // "All ..." selections mean no restriction; the guest scope always applies
     private void loadInvoices(String query, String statusFilter, String methodFilter, LocalDate dateFilter) {
-        List<Invoice> items = getBaseInvoices();
-        items = applySearchFilter(items, query);
-        items = applyStatusFilter(items, statusFilter);
-        items = applyMethodFilter(items, methodFilter);
-        items = applyDateFilter(items, dateFilter);
-        grid.setItems(items);
+        appliedFilter = new InvoiceFilter(
+                guestId,
+                query,
+                statusFilter == null || statusFilter.equals("All Status") ? null : Invoice.PaymentStatus.valueOf(statusFilter),
+                methodFilter == null || methodFilter.equals("All Methods") ? null : Invoice.PaymentMethod.valueOf(methodFilter),
+                dateFilter);
+        lookups = BookingLookups.empty();
+        grid.getDataProvider().refreshAll();
     }
 
-    // ===== FILTER HELPER METHODS =====
-
-    private List<Invoice> getBaseInvoices() {
-        List<Invoice> items = invoiceService.findAll();
-        if (sessionService.getCurrentRole() == UserRole.GUEST) {
-            Long guestId = sessionService.getCurrentUser().getId();
-            return items.stream()
-                    .filter(inv -> inv.getBooking() != null && 
-                               inv.getBooking().getGuest() != null && 
-                               inv.getBooking().getGuest().getId().equals(guestId))
-                    .collect(Collectors.toList());
-        }
-        return items;
+    // Resolves the lookups of a fetched page in one batch before its rows are rendered;
+    // only partial invoices of cancelled bookings show refund or fee details
+    private List<InvoiceRow> prefetch(List<InvoiceRow> page) {
+        lookups = bookingLookupService.loadMissing(lookups, page.stream()
+                .filter(this::showsCancellationDetails)
+                .map(InvoiceRow::bookingId)
+                .toList());
+        return page;
     }
 
-    private List<Invoice> applySearchFilter(List<Invoice> items, String query) {
-        if (query == null || query.isBlank()) {
-            return items;
-        }
-        String queryLower = query.toLowerCase().trim();
-        
-        // Try exact match by invoice number first
-        var byNumber = invoiceService.findByInvoiceNumber(query);
-        if (byNumber.isPresent()) {
-            return Collections.singletonList(byNumber.get());
-        }
-        
-        // Search by invoice number (substring) or booking number
-        return items.stream()
-                .filter(inv -> {
-                    boolean matchesInvoiceNumber = inv.getInvoiceNumber() != null && 
-                            inv.getInvoiceNumber().toLowerCase().contains(queryLower);
-                    boolean matchesBookingNumber = inv.getBooking() != null && 
-                            inv.getBooking().getBookingNumber() != null && 
-                            inv.getBooking().getBookingNumber().toLowerCase().contains(queryLower);
-                    return matchesInvoiceNumber || matchesBookingNumber;
-                })
-                .collect(Collectors.toList());
-    }
-
-    private List<Invoice> applyStatusFilter(List<Invoice> items, String statusFilter) {
-        if (statusFilter != null && !statusFilter.equals("All Status")) {
-            return items.stream()
-                    .filter(i -> i.getInvoiceStatus() != null && i.getInvoiceStatus().name().equals(statusFilter))
-                    .collect(Collectors.toList());
-        }
-        return items;
-    }
-
-    private List<Invoice> applyMethodFilter(List<Invoice> items, String methodFilter) {
-        if (methodFilter != null && !methodFilter.equals("All Methods")) {
-            return items.stream()
-                    .filter(i -> i.getPaymentMethod() != null && i.getPaymentMethod().name().equals(methodFilter))
-                    .collect(Collectors.toList());
-        }
-        return items;
-    }
-
-    private List<Invoice> applyDateFilter(List<Invoice> items, LocalDate dateFilter) {
-        if (dateFilter != null) {
-            return items.stream()
-                    .filter(i -> i.getIssuedAt() != null && 
-                               i.getIssuedAt().toLocalDate().equals(dateFilter))
-                    .collect(Collectors.toList());
-        }
-        return items;
+    private boolean showsCancellationDetails(InvoiceRow invoice) {
+        return invoice.invoiceStatus() == Invoice.PaymentStatus.PARTIAL
+                && invoice.bookingId() != null
+                && invoice.bookingStatus() == com.hotel.booking.entity.BookingStatus.CANCELLED;
     }
 
-    private void downloadInvoicePdf(Invoice invoice) {
+    private void downloadInvoicePdf(InvoiceRow invoice) {
         try {
             // Simple approach: open the API endpoint directly
-            String url = "/api/invoice/" + invoice.getId() + "/pdf";
+            String url = "/api/invoice/" + invoice.id() + "/pdf";
             logger.info("Opening PDF download URL: {}", url);
             com.vaadin.flow.component.UI.getCurrent().getPage().open(url);
         } catch (Exception e) {
@@ -316,18 +328,17 @@ public class InvoiceView extends VerticalLayout {
         }
     }
 
-    private String formatInvoiceAmount(Invoice invoice) {
+    private String formatInvoiceAmount(InvoiceRow invoice) {
         NumberFormat nf = NumberFormat.getInstance(Locale.GERMANY);
         nf.setMinimumFractionDigits(2);
         nf.setMaximumFractionDigits(2);
-        String amount = nf.format(invoice.getAmount()) + " €";
+        String amount = nf.format(invoice.amount()) + " €";
         
         // Check if this is a PARTIAL invoice for a cancelled booking
-        if (invoice.getInvoiceStatus() == com.hotel.booking.entity.Invoice.PaymentStatus.PARTIAL &&
-            invoice.getBooking() != null && 
-            invoice.getBooking().getStatus() == com.hotel.booking.entity.BookingStatus.CANCELLED) {
+        if (showsCancellationDetails(invoice)) {
             
-            java.util.List<com.hotel.booking.entity.Payment> payments = paymentService.findByBookingId(invoice.getBooking().getId());
+            lookups = bookingLookupService.loadMissing(lookups, List.of(invoice.bookingId()));
+            java.util.List<com.hotel.booking.entity.Payment> payments = lookups.payments(invoice.bookingId());
             java.util.Optional<com.hotel.booking.entity.Payment> partialPayment = 
                 payments.stream()
                     .filter(p -> p.getStatus() == com.hotel.booking.entity.Invoice.PaymentStatus.PARTIAL)
@@ -339,7 +350,7 @@ public class InvoiceView extends VerticalLayout {
                 String feeLabel = "Fee"; // Default: show "Fee" for cancellation fees
                 com.hotel.booking.entity.Payment payment = partialPayment.get();
                 java.util.Optional<com.hotel.booking.entity.BookingCancellation> cancellation = 
-                    bookingCancellationService.findLatestByBookingId(invoice.getBooking().getId());
+                    lookups.latestCancellation(invoice.bookingId());
                 
                 if (payment.getPaidAt() != null && cancellation.isPresent() &&
                     payment.getPaidAt().isBefore(cancellation.get().getCancelledAt())) {
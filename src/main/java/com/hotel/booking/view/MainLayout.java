@@ -2,11 +2,14 @@ package com.hotel.booking.view;
 
 import com.hotel.booking.entity.UserRole;
 import com.hotel.booking.security.SessionService;
+import com.hotel.booking.service.GlobalSearchService;
+import com.hotel.booking.service.SearchHit;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.applayout.AppLayout;
 import com.vaadin.flow.component.applayout.DrawerToggle;
 import com.vaadin.flow.component.avatar.Avatar;
 import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.combobox.ComboBox;
 import com.vaadin.flow.component.dependency.CssImport;
 import com.vaadin.flow.component.dialog.Dialog;
 import com.vaadin.flow.component.html.Div;
@@ -18,7 +21,9 @@ import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.data.renderer.LitRenderer;
 import com.vaadin.flow.router.HighlightConditions;
+import com.vaadin.flow.router.QueryParameters;
 import com.vaadin.flow.router.RouterLink;
 import jakarta.annotation.security.PermitAll;
 
@@ -37,6 +42,13 @@ import jakarta.annotation.security.PermitAll;
 public class MainLayout extends AppLayout {
 
     private final SessionService sessionService;
+    private final GlobalSearchService globalSearchService;
+
+    /** Query parameter used to pre-fill the search field of the target view. */
+    public static final String SEARCH_PARAMETER = "q";
+
+    /** Maximum number of hits shown in the global search dropdown. */
+    private static final int MAX_SEARCH_HITS = 50;
 
     /**
      * Constructs a MainLayout with header and navigation drawer.
@@ -47,9 +59,11 @@ public class MainLayout extends AppLayout {
      * </p>
      *
      * @param sessionService the service for managing user session and authentication
+     * @param globalSearchService the index-backed search behind the staff search box
      */
-    public MainLayout(SessionService sessionService) {
+    public MainLayout(SessionService sessionService, GlobalSearchService globalSearchService) {
         this.sessionService = sessionService;
+        this.globalSearchService = globalSearchService;
 
         setPrimarySection(Section.DRAWER);
         createHeader();
@@ -103,6 +117,12 @@ public class MainLayout extends AppLayout {
         headerRight.setAlignItems(FlexComponent.Alignment.CENTER);
         headerRight.addClassName("header-right");
 
+        // Staff get one search box across bookings, users, invoices and payments
+        UserRole role = sessionService.getCurrentRole();
+        if (role == UserRole.RECEPTIONIST || role == UserRole.MANAGER) {
+            headerRight.addComponentAsFirst(createGlobalSearch(role));
+        }
+
         HorizontalLayout header = new HorizontalLayout(headerLeft, headerRight);
         header.setWidthFull();
         header.setJustifyContentMode(FlexComponent.JustifyContentMode.BETWEEN);
@@ -189,6 +209,73 @@ public class MainLayout extends AppLayout {
         addToDrawer(drawer);
     }
 
+    /* =========================================================
+       GLOBAL SEARCH
+       ========================================================= */
+    /**
+     * Creates the global staff search box.
+     * <p>
+     * Hits come from the in-memory index of {@link GlobalSearchService} (no database query per
+     * keystroke). Selecting a hit opens the matching management view filtered by the hit.
+     * </p>
+     *
+     * @param role the current staff role (user hits open User Management only for managers)
+     * @return the search combo box
+     */
+    private ComboBox<SearchHit> createGlobalSearch(UserRole role) {
+        ComboBox<SearchHit> search = new ComboBox<>();
+        search.addClassName("global-search");
+        search.setPlaceholder("Search bookings, guests, invoices...");
+        search.setPrefixComponent(VaadinIcon.SEARCH.create());
+        search.setClearButtonVisible(true);
+        search.setItems(query -> globalSearchService
+                .search(query.getFilter().orElse(""), query.getOffset() + query.getLimit())
+                .stream()
+                .skip(query.getOffset())
+                .limit(query.getLimit()));
+        search.setItemLabelGenerator(SearchHit::title);
+        search.setRenderer(LitRenderer.<SearchHit>of("""
+                <div class="search-hit">
+                  <span class="search-hit-type">${item.type}</span>
+                  <span class="search-hit-title">${item.title}</span>
+                  <div class="search-hit-subtitle">${item.subtitle}</div>
+                </div>
+                """)
+                .withProperty("type", hit -> hit.type().getLabel())
+                .withProperty("title", SearchHit::title)
+                .withProperty("subtitle", SearchHit::subtitle));
+
+        search.addValueChangeListener(e -> {
+            SearchHit hit = e.getValue();
+            if (hit == null) {
+                return;
+            }
+            search.clear();
+            openSearchHit(hit, role);
+        });
+        return search;
+    }
+
+    /**
+     * Navigates to the view that lists the given hit, passing its key as {@code q} query parameter.
+     *
+     * @param hit the selected search hit
+     * @param role the current staff role
+     */
+    private void openSearchHit(SearchHit hit, UserRole role) {
+        Class<? extends com.vaadin.flow.component.Component> target = switch (hit.type()) {
+            case BOOKING -> BookingManagementView.class;
+            case INVOICE -> InvoiceView.class;
+            case PAYMENT -> PaymentView.class;
+            case USER -> role == UserRole.MANAGER ? UserManagementView.class : BookingManagementView.class;
+        };
+        // Receptionists cannot open User Management; show the guest's bookings instead
+        String key = hit.type() == SearchHit.Type.USER && target == BookingManagementView.class
+                ? hit.title()
+                : hit.searchKey();
+        UI.getCurrent().navigate(target, QueryParameters.of(SEARCH_PARAMETER, key == null ? "" : key));
+    }
+
     /* =========================================================
        HELPER METHODS
        ========================================================= */
@@ -16,6 +16,8 @@ import com.hotel.booking.entity.UserRole;
 import com.hotel.booking.security.SessionService;
 import com.hotel.booking.service.BookingService;
 import com.hotel.booking.service.BookingCancellationService;
+import com.hotel.booking.service.BookingLookupService;
+import com.hotel.booking.service.BookingLookups;
 import com.hotel.booking.service.InvoiceService;
 import com.hotel.booking.service.PaymentService;
 import com.hotel.booking.view.components.BookingCard;
@@ -59,6 +61,7 @@ public class MyBookingsView extends VerticalLayout {
     private final PaymentService paymentService;
     private final BookingCancellationService bookingCancellationService;
     private final InvoiceService invoiceService;
+    private final BookingLookupService bookingLookupService;
 
     // Components
     private final BookingDetailsDialog bookingDetailsDialog;
@@ -75,6 +78,7 @@ public class MyBookingsView extends VerticalLayout {
                           PaymentService paymentService,
                           BookingCancellationService bookingCancellationService,
                           InvoiceService invoiceService,
+                          BookingLookupService bookingLookupService,
                           BookingDetailsDialog bookingDetailsDialog,
                           BookingCard bookingCard,
                           EditBookingDialog editBookingDialog,
@@ -84,6 +88,7 @@ public class MyBookingsView extends VerticalLayout {
         this.paymentService = paymentService;
         this.bookingCancellationService = bookingCancellationService;
         this.invoiceService = invoiceService;
+        this.bookingLookupService = bookingLookupService;
         this.bookingDetailsDialog = bookingDetailsDialog;
         this.bookingCard = bookingCard;
         this.editBookingDialog = editBookingDialog;
@@ -180,13 +185,17 @@ public class MyBookingsView extends VerticalLayout {
             return;
         }
 
+        // Payments, cancellations and invoices of all cards in one batch instead of per card
+        BookingLookups lookups = bookingLookupService.load(filteredBookings.stream().map(Booking::getId).toList());
+
         Div bookingsContainer = new Div();
         bookingsContainer.addClassName("bookings-container");
 
         for (Booking booking : filteredBookings) {
-            HorizontalLayout actionButtons = createActionButtons(booking, tabLabel);
+            HorizontalLayout actionButtons = createActionButtons(booking, tabLabel, lookups);
             Div card = bookingCard.create(
                     booking,
+                    lookups,
                     () -> bookingDetailsDialog.open(booking),
                     actionButtons
             );
@@ -230,7 +239,7 @@ public class MyBookingsView extends VerticalLayout {
      * - It is shown if there is a pending payment OR no payment exists yet
      * - It is NOT shown for CONFIRMED / COMPLETED / CANCELLED etc.
      */
-    private Button createPayButtonIfNeeded(Booking booking) {
+    private Button createPayButtonIfNeeded(Booking booking, BookingLookups lookups) {
         if (booking.getId() == null || booking.getTotalPrice() == null) {
             return null;
         }
@@ -242,7 +251,7 @@ public class MyBookingsView extends VerticalLayout {
             return null;
         }
 
-        List<Payment> allPayments = paymentService.findByBookingId(booking.getId());
+        List<Payment> allPayments = lookups.payments(booking.getId());
         List<Payment> pendingPayments = allPayments.stream()
                 .filter(p -> p.getStatus() == Invoice.PaymentStatus.PENDING)
                 .toList();
@@ -268,14 +277,14 @@ public class MyBookingsView extends VerticalLayout {
      * - Only shown if the booking was previously PENDING (no payment made)
      * - Only shown if there's a cancellation fee to pay (unpaid)
      */
-    private Button createPayFeesButtonIfNeeded(Booking booking) {
+    private Button createPayFeesButtonIfNeeded(Booking booking, BookingLookups lookups) {
         if (booking.getId() == null || booking.getStatus() != BookingStatus.CANCELLED) {
             return null;
         }
 
         try {
-            // Get all payments once
-            List<Payment> payments = paymentService.findByBookingId(booking.getId());
+            // Payments of the prefetched batch
+            List<Payment> payments = lookups.payments(booking.getId());
             
             // Check if booking was previously PENDING (no PAID/REFUNDED payments)
             boolean wasPreviouslyPending = payments.stream()
@@ -288,7 +297,7 @@ public class MyBookingsView extends VerticalLayout {
             }
             
             // Check if there's a cancellation fee to pay
-            java.util.Optional<BookingCancellation> cancellation = bookingCancellationService.findLatestByBookingId(booking.getId());
+            java.util.Optional<BookingCancellation> cancellation = lookups.latestCancellation(booking.getId());
             BigDecimal fee = cancellation.isPresent() ? cancellation.get().getCancellationFee() : null;
             
             if (fee == null || fee.compareTo(BigDecimal.ZERO) <= 0) {
@@ -432,7 +441,7 @@ public class MyBookingsView extends VerticalLayout {
         }
     }
 
-    private HorizontalLayout createActionButtons(Booking booking, String tab) {
+    private HorizontalLayout createActionButtons(Booking booking, String tab, BookingLookups lookups) {
         HorizontalLayout layout = new HorizontalLayout();
         layout.setSpacing(true);
 
@@ -445,7 +454,7 @@ public class MyBookingsView extends VerticalLayout {
                 || status == BookingStatus.MODIFIED);
 
         if (TAB_UPCOMING.equals(tab)) {
-            Button payBtn = createPayButtonIfNeeded(booking);
+            Button payBtn = createPayButtonIfNeeded(booking, lookups);
             if (payBtn != null) {
                 layout.add(payBtn);
             }
@@ -470,7 +479,7 @@ public class MyBookingsView extends VerticalLayout {
         }
 
         if (TAB_CANCELLED.equals(tab)) {
-            Button payFeesBtn = createPayFeesButtonIfNeeded(booking);
+            Button payFeesBtn = createPayFeesButtonIfNeeded(booking, lookups);
             if (payFeesBtn != null) {
                 layout.add(payFeesBtn);
             }
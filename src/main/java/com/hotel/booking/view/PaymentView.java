@@ -4,8 +4,13 @@ import com.hotel.booking.entity.Payment;
 import com.hotel.booking.entity.Invoice;
 import com.hotel.booking.entity.UserRole;
 import com.hotel.booking.security.SessionService;
-import com.hotel.booking.service.BookingCancellationService;
+import com.hotel.booking.service.BankStatementReconciliationService;
+import com.hotel.booking.service.BookingLookupService;
+import com.hotel.booking.service.BookingLookups;
+import com.hotel.booking.service.PaymentFilter;
+import com.hotel.booking.repository.projection.PaymentRow;
 import com.hotel.booking.service.PaymentService;
+import com.hotel.booking.service.ReconciliationResult;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.Key;
 import com.vaadin.flow.component.button.Button;
@@ -16,20 +21,29 @@ import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.grid.Grid.MultiSortPriority;
 import com.vaadin.flow.component.html.*;
 import com.vaadin.flow.component.icon.VaadinIcon;
+import com.vaadin.flow.component.notification.Notification;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.select.Select;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.component.upload.Upload;
+import com.vaadin.flow.router.BeforeEnterEvent;
+import com.vaadin.flow.router.BeforeEnterObserver;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.flow.server.streams.UploadHandler;
+import com.vaadin.flow.spring.data.VaadinSpringDataHelpers;
 
 import jakarta.annotation.security.RolesAllowed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * View for displaying and managing payment transactions.
@@ -41,11 +55,13 @@ import java.util.stream.Collectors;
  * Features:
  * - Display payments in a sortable grid with columns for amount, method, status,
  *   transaction reference, and payment date
- * - Search payments by transaction reference
+ * - Search payments by the start of the booking number or transaction reference, or by booking ID
  * - Filter payments by status, payment method, and date paid
+ * - Filtering, sorting and paging run in the database (lazy data provider)
  * - Visual status badges with color coding
  * - Formatted currency amounts in German locale
  * - Multi-level sorting support
+ * - RECEPTIONIST & MANAGER: import a bank statement (CSV) to mark matching transfers as paid
  * 
  * The view automatically filters data based on the current user's role,
  * ensuring guests see only their own payment transactions while staff see all payments.
@@ -56,6 +72,7 @@ import java.util.stream.Collectors;
  * @author Arman Özcanli
  * @see Payment
  * @see PaymentService
+ * @see BankStatementReconciliationService
  * @see SessionService
  * @see Invoice
  */
@@ -64,18 +81,34 @@ import java.util.stream.Collectors;
 @CssImport("./themes/hotel/styles.css")
 @CssImport("./themes/hotel/views/my-bookings.css")
 @RolesAllowed({UserRole.RECEPTIONIST_VALUE, UserRole.MANAGER_VALUE, UserRole.GUEST_VALUE})
-public class PaymentView extends VerticalLayout {
+public class PaymentView extends VerticalLayout implements BeforeEnterObserver {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentView.class);
 
     private final SessionService sessionService;
     private final PaymentService paymentService;
-    private final BookingCancellationService bookingCancellationService;
-    private Grid<Payment> grid;
+    private final BookingLookupService bookingLookupService;
+    private final BankStatementReconciliationService reconciliationService;
+    private Grid<PaymentRow> grid;
+    private TextField searchField;
+    // Guests only ever see the payments of their own bookings
+    private final Long guestId;
+    // Filter of the last search; the lazy data provider reads it for every page
+    private PaymentFilter appliedFilter;
+    // Cancellations of the bookings on the fetched pages
+    private BookingLookups lookups = BookingLookups.empty();
     private static final DateTimeFormatter GERMAN_DATETIME_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
 
-    public PaymentView(SessionService sessionService, PaymentService paymentService, BookingCancellationService bookingCancellationService) {
+    public PaymentView(SessionService sessionService, PaymentService paymentService, BookingLookupService bookingLookupService,
+                       BankStatementReconciliationService reconciliationService) {
         this.sessionService = sessionService;
         this.paymentService = paymentService;
-        this.bookingCancellationService = bookingCancellationService;
+        this.bookingLookupService = bookingLookupService;
+        this.reconciliationService = reconciliationService;
+        this.guestId = sessionService.getCurrentRole() == UserRole.GUEST
+                ? sessionService.getCurrentUser().getId()
+                : null;
+        this.appliedFilter = PaymentFilter.forGuest(guestId);
 
         setSpacing(true);
         setPadding(true);
@@ -96,9 +129,26 @@ public class PaymentView extends VerticalLayout {
 
         add(createHeader(title, subtitle));
         add(createFilters());
+        if (sessionService.getCurrentRole() != UserRole.GUEST) {
+            add(createReconciliationCard());
+        }
         add(createPaymentsCard());
     }
 
+    /**
+     * Pre-fills the search with the {@code q} query parameter set by the global search.
+     * @param event the navigation event
+     */
+    @Override
+    public void beforeEnter(BeforeEnterEvent event) {
+        event.getLocation().getQueryParameters()
+                .getSingleParameter(MainLayout.SEARCH_PARAMETER)
+                .ifPresent(query -> {
+                    searchField.setValue(query);
+                    loadPayments(query);
+                });
+    }
+
     private Component createHeader(String title, String subtitle) {
         H1 h1 = new H1(title);
         Paragraph p = new Paragraph(subtitle);
@@ -123,6 +173,7 @@ public class PaymentView extends VerticalLayout {
         subtitle.addClassName("payment-subtitle");
 
         TextField search = new TextField("Search");
+        searchField = search;
         search.setPlaceholder("Booking number, Booking ID...");
         search.setPrefixComponent(VaadinIcon.SEARCH.create());
 
@@ -160,6 +211,53 @@ public class PaymentView extends VerticalLayout {
         return card;
     }
 
+    // Staff: mark pending bank transfers as paid from a bank statement
+    private Component createReconciliationCard() {
+        Div card = new Div();
+        card.addClassName("card");
+        card.setWidthFull();
+
+        H3 title = new H3("Bank Statement");
+        title.addClassName("payment-section-title");
+
+        Paragraph subtitle = new Paragraph("Import a CSV statement to mark matching bank transfers as paid "
+                + "(columns: amount and reference, matched by booking number or transaction reference)");
+        subtitle.addClassName("payment-subtitle");
+
+        Div result = new Div();
+        UploadHandler handler = event -> {
+            try (InputStream statement = event.getInputStream()) {
+                ReconciliationResult reconciled = reconciliationService.reconcile(statement);
+                getUI().ifPresent(ui -> ui.access(() -> showReconciliationResult(result, reconciled)));
+            } catch (IOException | RuntimeException ex) {
+                logger.error("Bank statement import failed", ex);
+                getUI().ifPresent(ui -> ui.access(() ->
+                        Notification.show("Import failed: " + ex.getMessage(), 5000, Notification.Position.TOP_CENTER)));
+            }
+        };
+        Upload upload = new Upload(handler);
+        upload.setAcceptedFileTypes(".csv", "text/csv");
+        upload.setMaxFiles(1);
+        upload.setDropLabel(new Span("Drop bank statement (CSV) here"));
+
+        card.add(title, subtitle, upload, result);
+        return card;
+    }
+
+    private void showReconciliationResult(Div result, ReconciliationResult reconciled) {
+        result.removeAll();
+        result.add(new Paragraph(reconciled.lines() + " lines read, " + reconciled.matched()
+                + " transfers marked as paid, " + reconciled.unmatched() + " without match"));
+        if (!reconciled.problems().isEmpty()) {
+            UnorderedList problems = new UnorderedList();
+            reconciled.problems().forEach(problem -> problems.add(new ListItem(problem)));
+            result.add(problems);
+        }
+        if (reconciled.matched() > 0) {
+            grid.getDataProvider().refreshAll();
+        }
+    }
+
     private Component createPaymentsCard() {
         Div card = new Div();
         card.addClassName("card");
@@ -169,24 +267,24 @@ public class PaymentView extends VerticalLayout {
         title.addClassName("payment-section-title");
 
         // Grid setup
-        grid = new Grid<>(Payment.class, false);
-
-        grid.addColumn(this::getBookingNumber).setHeader("Booking No.").setSortable(true).setAutoWidth(true).setFlexGrow(1);
-        grid.addColumn(this::formatPaymentAmount).setHeader("Amount").setSortable(true).setAutoWidth(true).setFlexGrow(1);
-        grid.addColumn(Payment::getMethod).setHeader("Method").setSortable(true).setAutoWidth(true).setFlexGrow(1);
-        grid.addComponentColumn(payment -> createStatusBadge(payment.getStatus()))
-            .setHeader("Status").setSortable(true).setAutoWidth(true).setFlexGrow(1);
-        grid.addColumn(payment -> payment.getPaidAt() != null 
-                ? payment.getPaidAt().format(GERMAN_DATETIME_FORMAT) 
+        // Read-only rows instead of payment entities with their eager booking graph
+        grid = new Grid<>(PaymentRow.class, false);
+
+        grid.addColumn(this::getBookingNumber).setHeader("Booking No.").setSortProperty("booking.bookingNumber").setAutoWidth(true).setFlexGrow(1);
+        grid.addColumn(this::formatPaymentAmount).setHeader("Amount").setSortProperty("amount").setAutoWidth(true).setFlexGrow(1);
+        grid.addColumn(PaymentRow::method).setHeader("Method").setSortProperty("method").setAutoWidth(true).setFlexGrow(1);
+        grid.addComponentColumn(payment -> createStatusBadge(payment.status()))
+            .setHeader("Status").setSortProperty("status").setAutoWidth(true).setFlexGrow(1);
+        grid.addColumn(payment -> payment.paidAt() != null 
+                ? payment.paidAt().format(GERMAN_DATETIME_FORMAT) 
                 : "")
-                .setHeader("Paid at").setSortable(true).setAutoWidth(true).setFlexGrow(1);
+                .setHeader("Paid at").setSortProperty("paidAt").setAutoWidth(true).setFlexGrow(1);
         grid.setMultiSort(true, MultiSortPriority.APPEND);
         grid.setWidthFull();
-        // Let the page scroll, not the grid
-        grid.setAllRowsVisible(true);
-
-        // Load initial data
-        loadPayments("");
+        // Lazy data provider: each scroll/sort/search fetches one page (plus a count) from the database
+        grid.setItems(
+                query -> prefetch(paymentService.findPayments(appliedFilter, VaadinSpringDataHelpers.toSpringPageRequest(query))).stream(),
+                query -> (int) paymentService.countPayments(appliedFilter));
 
         card.add(title, grid);
         return card;
@@ -207,165 +305,83 @@ public class PaymentView extends VerticalLayout {
         loadPayments(query, "All Status", "All Methods", null);
     }
 
+    // "All ..." selections mean no restriction; the guest scope always applies
     private void loadPayments(String query, String statusFilter, String methodFilter, LocalDate dateFilter) {
-        List<Payment> items = getBasePayments();
-        items = applyStatusFilter(items, statusFilter);
-        items = applyMethodFilter(items, methodFilter);
-        items = applyDateFilter(items, dateFilter);
-        items = applySearchFilter(items, query);
-        grid.setItems(items);
+        appliedFilter = new PaymentFilter(
+                guestId,
+                query,
+                statusFilter == null || statusFilter.equals("All Status") ? null : Invoice.PaymentStatus.valueOf(statusFilter),
+                toPaymentMethod(methodFilter),
+                dateFilter);
+        lookups = BookingLookups.empty();
+        grid.getDataProvider().refreshAll();
+    }
+
+    // Resolves the cancellations of a fetched page in one batch before its rows are rendered;
+    // only payments of cancelled bookings distinguish refunds from fees
+    private List<PaymentRow> prefetch(List<PaymentRow> page) {
+        lookups = bookingLookupService.loadMissing(lookups, page.stream()
+                .filter(p -> p.bookingId() != null && p.bookingStatus() == com.hotel.booking.entity.BookingStatus.CANCELLED)
+                .map(PaymentRow::bookingId)
+                .toList());
+        return page;
     }
 
     // ===== FILTER AND FORMATTING HELPER METHODS =====
     
-    private String formatPaymentAmount(Payment payment) {
+    private String formatPaymentAmount(PaymentRow payment) {
         // Check if it's a PARTIAL payment
-        if (payment.getStatus() == Invoice.PaymentStatus.PARTIAL) {
+        if (payment.status() == Invoice.PaymentStatus.PARTIAL) {
             // For PARTIAL status on cancelled bookings, check if booking was confirmed before cancellation
-            if (payment.getBooking() != null && 
-                payment.getBooking().getStatus() == com.hotel.booking.entity.BookingStatus.CANCELLED) {
+            if (payment.bookingId() != null && 
+                payment.bookingStatus() == com.hotel.booking.entity.BookingStatus.CANCELLED) {
                 // Show total amount with fee/refunded in brackets
-                if (payment.getRefundedAmount() != null && 
-                    payment.getRefundedAmount().compareTo(java.math.BigDecimal.ZERO) > 0) {
+                if (payment.refundedAmount() != null && 
+                    payment.refundedAmount().compareTo(java.math.BigDecimal.ZERO) > 0) {
                     // Determine the label: show "Refunded" if payment was made before cancellation (confirmed booking that was paid then cancelled)
                     // Show "Fee" if this is a cancellation fee for an unpaid booking
                     String label = "Fee"; // Default: show "Fee" for cancellation fees
+                    lookups = bookingLookupService.loadMissing(lookups, List.of(payment.bookingId()));
                     java.util.Optional<com.hotel.booking.entity.BookingCancellation> cancellation = 
-                        bookingCancellationService.findLatestByBookingId(payment.getBooking().getId());
+                        lookups.latestCancellation(payment.bookingId());
                     
-                    if (payment.getPaidAt() != null && cancellation.isPresent() &&
-                        payment.getPaidAt().isBefore(cancellation.get().getCancelledAt())) {
+                    if (payment.paidAt() != null && cancellation.isPresent() &&
+                        payment.paidAt().isBefore(cancellation.get().getCancelledAt())) {
                         // Payment was made before cancellation - this is a refund
                         label = "Refunded";
                     }
-                    return String.format("%.2f € (%.2f € %s)", payment.getAmount(), payment.getRefundedAmount(), label);
+                    return String.format("%.2f € (%.2f € %s)", payment.amount(), payment.refundedAmount(), label);
                 }
             }
             // For other PARTIAL payments, show refunded amount if available
-            if (payment.getRefundedAmount() != null && 
-                payment.getRefundedAmount().compareTo(java.math.BigDecimal.ZERO) > 0) {
-                return String.format("%.2f € (%.2f € Refunded)", payment.getAmount(), payment.getRefundedAmount());
+            if (payment.refundedAmount() != null && 
+                payment.refundedAmount().compareTo(java.math.BigDecimal.ZERO) > 0) {
+                return String.format("%.2f € (%.2f € Refunded)", payment.amount(), payment.refundedAmount());
             }
         }
         // For REFUNDED status, show the refunded amount
-        if (payment.getStatus() == Invoice.PaymentStatus.REFUNDED &&
-            payment.getRefundedAmount() != null && 
-            payment.getRefundedAmount().compareTo(java.math.BigDecimal.ZERO) > 0) {
-            return String.format("%.2f € (%.2f € Refunded)", payment.getAmount(), payment.getRefundedAmount());
+        if (payment.status() == Invoice.PaymentStatus.REFUNDED &&
+            payment.refundedAmount() != null && 
+            payment.refundedAmount().compareTo(java.math.BigDecimal.ZERO) > 0) {
+            return String.format("%.2f € (%.2f € Refunded)", payment.amount(), payment.refundedAmount());
         }
-        return String.format("%.2f €", payment.getAmount());
+        return String.format("%.2f €", payment.amount());
     }
 
-    private List<Payment> getBasePayments() {
-        if (sessionService.getCurrentRole() == UserRole.GUEST) {
-            Long guestId = sessionService.getCurrentUser().getId();
-            return paymentService.findAll().stream()
-                    .filter(p -> p.getBooking() != null && 
-                               p.getBooking().getGuest() != null && 
-                               p.getBooking().getGuest().getId().equals(guestId))
-                    .collect(Collectors.toList());
-        }
-        return paymentService.findAll();
-    }
-
-    private List<Payment> applyStatusFilter(List<Payment> items, String statusFilter) {
-        if (statusFilter != null && !statusFilter.equals("All Status")) {
-            return items.stream()
-                    .filter(p -> p.getStatus() != null && p.getStatus().name().equals(statusFilter))
-                    .collect(Collectors.toList());
-        }
-        return items;
-    }
-
-    private List<Payment> applyMethodFilter(List<Payment> items, String methodFilter) {
-        if (methodFilter != null && !methodFilter.equals("All Methods")) {
-            return items.stream()
-                    .filter(p -> p.getMethod() != null && p.getMethod().toString().equals(methodFilter))
-                    .collect(Collectors.toList());
-        }
-        return items;
-    }
-
-    private List<Payment> applyDateFilter(List<Payment> items, LocalDate dateFilter) {
-        if (dateFilter != null) {
-            return items.stream()
-                    .filter(p -> p.getPaidAt() != null && 
-                               p.getPaidAt().toLocalDate().equals(dateFilter))
-                    .collect(Collectors.toList());
-        }
-        return items;
-    }
-
-    private List<Payment> applySearchFilter(List<Payment> items, String query) {
-        if (query != null && !query.isBlank()) {
-            String normalized = query.trim();
-
-            // 1) If the user enters a number, treat it as Booking ID and search across all payments.
-            Long bookingId = tryParseLong(normalized);
-            if (bookingId != null) {
-                List<Payment> byBookingId = paymentService.findByBookingId(bookingId).stream()
-                        .filter(this::hasAccessToPayment)
-                        .collect(Collectors.toList());
-                if (!byBookingId.isEmpty()) {
-                    return byBookingId;
-                }
-            }
-
-            // 2) Exact match by Booking Number (business reference), search across all payments.
-            List<Payment> byBookingNumber = paymentService.findAll().stream()
-                    .filter(p -> {
-                        String bookingNumber = getBookingNumber(p);
-                        return bookingNumber != null && bookingNumber.equalsIgnoreCase(normalized);
-                    })
-                    .filter(this::hasAccessToPayment)
-                    .collect(Collectors.toList());
-            if (!byBookingNumber.isEmpty()) {
-                return byBookingNumber;
+    // The method select shows the display names ("Bank Transfer"), not the enum constants
+    private Invoice.PaymentMethod toPaymentMethod(String methodFilter) {
+        for (Invoice.PaymentMethod method : Invoice.PaymentMethod.values()) {
+            if (method.getDisplayName().equals(methodFilter)) {
+                return method;
             }
-
-            // 3) Fallback: substring search within the currently filtered set.
-            String qLower = normalized.toLowerCase();
-            return items.stream()
-                    .filter(p -> {
-                        String bookingNumber = getBookingNumber(p);
-                        boolean matchesBookingNumber = bookingNumber != null && bookingNumber.toLowerCase().contains(qLower);
-                        boolean matchesBookingId = p.getBooking() != null && p.getBooking().getId() != null
-                                && p.getBooking().getId().toString().contains(normalized);
-                        // Keep Transaction-Ref as a technical fallback (optional field).
-                        boolean matchesTxRef = p.getTransactionRef() != null && p.getTransactionRef().toLowerCase().contains(qLower);
-                        return matchesBookingNumber || matchesBookingId || matchesTxRef;
-                    })
-                    .collect(Collectors.toList());
         }
-        return items;
+        return null;
     }
 
-    private String getBookingNumber(Payment payment) {
-        if (payment == null || payment.getBooking() == null) {
+    private String getBookingNumber(PaymentRow payment) {
+        if (payment == null || payment.bookingNumber() == null) {
             return "";
         }
-        String bookingNumber = payment.getBooking().getBookingNumber();
-        return bookingNumber != null ? bookingNumber : "";
-    }
-
-    private Long tryParseLong(String value) {
-        if (value == null) {
-            return null;
-        }
-        try {
-            return Long.parseLong(value.trim());
-        } catch (NumberFormatException ex) {
-            return null;
-        }
-    }
-
-    private boolean hasAccessToPayment(Payment payment) {
-        UserRole role = sessionService.getCurrentRole();
-        if (role == UserRole.GUEST) {
-            return payment.getBooking() != null && 
-                   payment.getBooking().getGuest() != null && 
-                   payment.getBooking().getGuest().getId().equals(sessionService.getCurrentUser().getId());
-        }
-        return true;
+        return payment.bookingNumber();
     }
 }
@@ -2,19 +2,42 @@ package com.hotel.booking.view;
 
 import com.hotel.booking.entity.UserRole;
 import com.hotel.booking.service.BookingService;
+import com.hotel.booking.service.ReportComparisonService;
+import com.hotel.booking.service.ReportComparisonService.ComparisonMode;
+import com.hotel.booking.service.ReportComparisonService.PeriodComparisonRow;
 import com.hotel.booking.service.ReportService;
+import com.hotel.booking.service.TimeSeriesPoint;
+import com.hotel.booking.view.components.AsyncViewLoader;
 import com.hotel.booking.view.components.CardFactory;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.charts.Chart;
+import com.vaadin.flow.component.charts.model.AxisType;
+import com.vaadin.flow.component.charts.model.ChartType;
+import com.vaadin.flow.component.charts.model.Configuration;
+import com.vaadin.flow.component.charts.model.DataSeries;
+import com.vaadin.flow.component.charts.model.DataSeriesItem;
+import com.vaadin.flow.component.charts.model.Marker;
+import com.vaadin.flow.component.charts.model.PlotOptionsArea;
+import com.vaadin.flow.component.charts.model.style.SolidColor;
 import com.vaadin.flow.component.datepicker.DatePicker;
 import com.vaadin.flow.component.dependency.CssImport;
 import com.vaadin.flow.component.formlayout.FormLayout;
+import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.html.*;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.*;
+import com.vaadin.flow.component.select.Select;
 import com.vaadin.flow.router.*;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
 
 import jakarta.annotation.security.RolesAllowed;
 
@@ -41,6 +64,10 @@ public class ReportsView extends VerticalLayout {
 
     private final BookingService bookingService;
     private final ReportService reportService;
+    private final ReportComparisonService reportComparisonService;
+
+    /** Maximum number of points per chart series sent to the browser (LTTB budget). */
+    private static final int MAX_CHART_POINTS = 400;
 
     private CardFactory cardFactory = new CardFactory();
 
@@ -48,20 +75,36 @@ public class ReportsView extends VerticalLayout {
     DatePicker endDate = new DatePicker("End Date");
 
     private final VerticalLayout kpiArea = new VerticalLayout();
+    private final VerticalLayout chartArea = new VerticalLayout();
+
+    // Loads KPIs, charts and comparison in the background, cancelled when the view is left
+    private final AsyncViewLoader loader;
+
+    private final Select<ComparisonMode> comparisonMode = new Select<>();
+    private final Grid<PeriodComparisonRow> comparisonGrid = new Grid<>(PeriodComparisonRow.class, false);
 
     public ReportsView(
                         BookingService bookingService, 
-                        ReportService reportService) {
+                        ReportService reportService,
+                        ReportComparisonService reportComparisonService,
+                        @Qualifier("viewLoaderExecutor") ExecutorService viewLoaderExecutor) {
 
         this.bookingService = bookingService;
         this.reportService = reportService;
+        this.reportComparisonService = reportComparisonService;
+        this.loader = new AsyncViewLoader(this, viewLoaderExecutor);
 
         setSpacing(true);
         setPadding(true);
         setSizeFull();
 
-        add(createHeader(), createFilters(), kpiArea);
+        chartArea.setPadding(false);
+        chartArea.setWidthFull();
+
+        add(createHeader(), createFilters(), kpiArea, createComparisonCard(), chartArea);
         kpiArea.add(createKpiArea());
+        chartArea.add(createChartArea());
+        refreshComparison();
     }
 
     /**
@@ -131,32 +174,29 @@ public class ReportsView extends VerticalLayout {
         wrapper.setPadding(false);
         wrapper.setWidthFull();
 
+        // Capture the range on the UI thread, the loaders run in the background
+        LocalDate from = startDate.getValue();
+        LocalDate to = endDate.getValue();
+
         // first row
         HorizontalLayout row1 = new HorizontalLayout();
         row1.setWidthFull();
         row1.setSpacing(true);
 
-        Div card1 = cardFactory.createKpiCard("Total Revenue", 
-            reportService.getTotalRevenueInPeriod(startDate.getValue(), endDate.getValue()),
-            VaadinIcon.DOLLAR, "#D4AF37",
-            reportService.getTotalRevenueTrendString(startDate.getValue(), endDate.getValue()),
-            reportService.getTotalRevenueTrendPositive(startDate.getValue(), endDate.getValue()));
-        card1.setWidthFull();
-
-        Div card2 = cardFactory.createKpiCard("Top performing Category",
-         reportService.getTopCategoryInPeriod(startDate.getValue(), endDate.getValue()),
-            VaadinIcon.STAR, "#3b82f6",
-            reportService.getMostPopularCategoryLastPeriod(startDate.getValue(), endDate.getValue()),
-             false);
-        card2.setWidthFull();
-
-        Div card3 = cardFactory.createKpiCard("Total Bookings",
-            Integer.toString(bookingService.getNumberOfBookingsInPeriod(
-                startDate.getValue(), endDate.getValue())),
-            VaadinIcon.CALENDAR, "#10b981",
-            reportService.getBookingTrendString(startDate.getValue(), endDate.getValue()),
-            reportService.getBookingTrendPositive(startDate.getValue(), endDate.getValue()));
-        card3.setWidthFull();
+        Component card1 = createKpiCard("Total Revenue", VaadinIcon.DOLLAR, "#D4AF37", () -> new KpiValues(
+            reportService.getTotalRevenueInPeriod(from, to),
+            reportService.getTotalRevenueTrendString(from, to),
+            reportService.getTotalRevenueTrendPositive(from, to)));
+
+        Component card2 = createKpiCard("Top performing Category", VaadinIcon.STAR, "#3b82f6", () -> new KpiValues(
+            reportService.getTopCategoryInPeriod(from, to),
+            reportService.getMostPopularCategoryLastPeriod(from, to),
+            false));
+
+        Component card3 = createKpiCard("Total Bookings", VaadinIcon.CALENDAR, "#10b981", () -> new KpiValues(
+            Integer.toString(bookingService.getNumberOfBookingsInPeriod(from, to)),
+            reportService.getBookingTrendString(from, to),
+            reportService.getBookingTrendPositive(from, to)));
 
         row1.add(card1, card2, card3);
         row1.expand(card1, card2, card3);
@@ -166,26 +206,20 @@ public class ReportsView extends VerticalLayout {
         row2.setWidthFull();
         row2.setSpacing(true);
 
-        Div card4 = cardFactory.createKpiCard("Avg Stay Duration", 
-            reportService.getAvgStayDurationInPeriod(startDate.getValue(), endDate.getValue()),
-            VaadinIcon.CLOCK, "#8b5cf6",
-            reportService.getAvgStayTrendString(startDate.getValue(), endDate.getValue()), 
-            reportService.getAvgStayTrendPositive(startDate.getValue(), endDate.getValue()));
-        card4.setWidthFull();
-
-        Div card5 = cardFactory.createKpiCard("Most popular Extra",
-            reportService.getMostPopularExtraInPeriod(startDate.getValue(), endDate.getValue()),
-            VaadinIcon.STAR, "#8b5cf6",
-            reportService.getMostPopularExtraLastPeriod(startDate.getValue(), endDate.getValue()),
-             false);
-        card5.setWidthFull();
-
-        Div card6 = cardFactory.createKpiCard("Revenue per Booking", 
-            reportService.getAvgRevenuePerBookingInPeriod(startDate.getValue(), endDate.getValue()),
-            VaadinIcon.DOLLAR, "#6366f1",
-            reportService.getAvgRevenueTrendString(startDate.getValue(), endDate.getValue()),
-            reportService.getAvgRevenueTrendPositive(startDate.getValue(), endDate.getValue()));
-        card6.setWidthFull();
+        Component card4 = createKpiCard("Avg Stay Duration", VaadinIcon.CLOCK, "#8b5cf6", () -> new KpiValues(
+            reportService.getAvgStayDurationInPeriod(from, to),
+            reportService.getAvgStayTrendString(from, to),
+            reportService.getAvgStayTrendPositive(from, to)));
+
+        Component card5 = createKpiCard("Most popular Extra", VaadinIcon.STAR, "#8b5cf6", () -> new KpiValues(
+            reportService.getMostPopularExtraInPeriod(from, to),
+            reportService.getMostPopularExtraLastPeriod(from, to),
+            false));
+
+        Component card6 = createKpiCard("Revenue per Booking", VaadinIcon.DOLLAR, "#6366f1", () -> new KpiValues(
+            reportService.getAvgRevenuePerBookingInPeriod(from, to),
+            reportService.getAvgRevenueTrendString(from, to),
+            reportService.getAvgRevenueTrendPositive(from, to)));
 
         row2.add(card4, card5, card6);
         row2.expand(card4, card5, card6);
@@ -195,12 +229,147 @@ public class ReportsView extends VerticalLayout {
         return wrapper;
     }
 
+    /**
+     * Creates a KPI card placeholder whose value and trend are loaded asynchronously.
+     */
+    private Component createKpiCard(String title, VaadinIcon icon, String color, Supplier<KpiValues> values) {
+        return loader.card(title, values,
+            v -> cardFactory.createKpiCard(title, v.value(), icon, color, v.trend(), v.positive()));
+    }
+
+    /**
+     * Value, trend text and trend direction of one KPI card.
+     */
+    private record KpiValues(String value, String trend, boolean positive) {
+    }
+
+    /**
+     * Builds the trend charts (revenue, bookings, occupancy) for the selected range.
+     * <p>
+     * The series are aggregated per day and downsampled on the server, so even
+     * multi-year ranges only transfer {@link #MAX_CHART_POINTS} points per chart.
+     * </p>
+     */
+    private Component createChartArea() {
+        LocalDate from = startDate.getValue();
+        LocalDate to = endDate.getValue();
+
+        return loader.card("Trends",
+            () -> reportService.getTrendSeries(from, to, MAX_CHART_POINTS),
+            series -> {
+                Div card = new Div();
+                card.addClassName("card");
+                card.setWidthFull();
+
+                H3 title = new H3("Trends");
+                title.addClassName("reports-filters-title");
+
+                Paragraph subtitle = new Paragraph("Daily values for the selected period");
+                subtitle.getStyle().set("margin", "0 0 1rem 0");
+
+                card.add(title, subtitle,
+                    createTrendChart("Revenue (€)", series.revenue(), "#D4AF37"),
+                    createTrendChart("Bookings", series.bookings(), "#10b981"),
+                    createTrendChart("Occupancy (%)", series.occupancy(), "#3b82f6"));
+                return card;
+            });
+    }
+
+    /**
+     * Creates a single area chart with a date-time x-axis for the given series.
+     */
+    private Chart createTrendChart(String title, List<TimeSeriesPoint> points, String color) {
+        Chart chart = new Chart(ChartType.AREA);
+        chart.addClassName("reports-trend-chart");
+        chart.setWidthFull();
+
+        Configuration conf = chart.getConfiguration();
+        conf.setTitle(title);
+        conf.getxAxis().setType(AxisType.DATETIME);
+        conf.getyAxis().setTitle("");
+        conf.getLegend().setEnabled(false);
+        conf.getTooltip().setXDateFormat("%d.%m.%Y");
+
+        PlotOptionsArea options = new PlotOptionsArea();
+        options.setMarker(new Marker(false));
+        options.setColor(new SolidColor(color));
+        conf.setPlotOptions(options);
+
+        DataSeries dataSeries = new DataSeries(title);
+        for (TimeSeriesPoint point : points) {
+            dataSeries.add(new DataSeriesItem(
+                point.date().atStartOfDay(ZoneOffset.UTC).toInstant(), point.value()));
+        }
+        conf.addSeries(dataSeries);
+
+        return chart;
+    }
+
+    /**
+     * Creates the card with the multi-period comparison table.
+     * <p>
+     * The periods are derived from the selected range and the chosen mode
+     * (MoM, YoY or the rolling last 12 months) and calculated in parallel
+     * by the {@link ReportComparisonService}.
+     * </p>
+     */
+    private Component createComparisonCard() {
+        Div card = new Div();
+        card.addClassName("card");
+        card.setWidthFull();
+
+        H3 title = new H3("Period Comparison");
+        title.addClassName("reports-filters-title");
+
+        comparisonMode.setLabel("Compare");
+        comparisonMode.setItems(ComparisonMode.values());
+        comparisonMode.setItemLabelGenerator(ComparisonMode::getLabel);
+        comparisonMode.setValue(ComparisonMode.MONTH_OVER_MONTH);
+        comparisonMode.addValueChangeListener(e -> refreshComparison());
+
+        comparisonGrid.addColumn(row -> row.period().label()).setHeader("Period").setFlexGrow(2);
+        comparisonGrid.addColumn(PeriodComparisonRow::bookings).setHeader("Bookings").setFlexGrow(1);
+        comparisonGrid.addColumn(row -> formatChange(row.bookingChangePercent())).setHeader("Δ Bookings").setFlexGrow(1);
+        comparisonGrid.addColumn(row -> formatEuro(row.revenue())).setHeader("Revenue").setFlexGrow(1);
+        comparisonGrid.addColumn(row -> formatChange(row.revenueChangePercent())).setHeader("Δ Revenue").setFlexGrow(1);
+        comparisonGrid.addColumn(row -> String.format("%.2f days", row.avgStayDays())).setHeader("Avg Stay").setFlexGrow(1);
+        comparisonGrid.addColumn(row -> formatEuro(row.avgRevenuePerBooking())).setHeader("Revenue per Booking").setFlexGrow(1);
+        comparisonGrid.setAllRowsVisible(true);
+        comparisonGrid.setWidthFull();
+
+        card.add(title, comparisonMode, comparisonGrid);
+        return card;
+    }
+
+    /**
+     * Reloads the comparison table for the selected range and mode.
+     */
+    private void refreshComparison() {
+        ComparisonMode mode = comparisonMode.getValue();
+        LocalDate from = startDate.getValue();
+        LocalDate to = endDate.getValue();
+        loader.load(() -> reportComparisonService.compare(mode, from, to), comparisonGrid::setItems);
+    }
+
+    private static String formatEuro(BigDecimal value) {
+        return String.format("%.2f €", value);
+    }
+
+    private static String formatChange(Double percent) {
+        return percent == null ? "–" : String.format("%+.1f%%", percent);
+    }
+
     /**
      * Refreshes the KPI area by rebuilding all KPI cards
      * based on the currently selected date range.
      */
     private void refreshKpiArea() {
+        // Results of a previous, still running report are no longer needed
+        loader.cancelAll();
         kpiArea.removeAll();
         kpiArea.add(createKpiArea());
+        chartArea.removeAll();
+        chartArea.add(createChartArea());
+        refreshComparison();
     }
 }
\ No newline at end of file
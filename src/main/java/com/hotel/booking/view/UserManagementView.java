@@ -40,7 +40,7 @@ import jakarta.annotation.security.RolesAllowed;
 @CssImport("./themes/hotel/views/card-factory.css")
 @CssImport("./themes/hotel/views/user-management.css")
 @RolesAllowed(UserRole.MANAGER_VALUE)
-public class UserManagementView extends VerticalLayout {
+public class UserManagementView extends VerticalLayout implements BeforeEnterObserver {
 
     private final SessionService sessionService;
     private final UserService userService;
@@ -65,6 +65,17 @@ public class UserManagementView extends VerticalLayout {
         add(createHeader(), statsRow = createStatsRow(), createFilters(), createUsersCard());
     }
 
+    /**
+     * Pre-fills the search with the {@code q} query parameter set by the global search.
+     * @param event the navigation event
+     */
+    @Override
+    public void beforeEnter(BeforeEnterEvent event) {
+        event.getLocation().getQueryParameters()
+                .getSingleParameter(MainLayout.SEARCH_PARAMETER)
+                .ifPresent(searchField::setValue);
+    }
+
     /**
      * Creates the header section with title, subtitle, and "Add User" button.
      * @return Header component
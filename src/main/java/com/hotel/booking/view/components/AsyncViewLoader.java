@@ -0,0 +1,201 @@
+package com.hotel.booking.view.components;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.HasSize;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.html.Span;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Loads view data in the background and pushes the results into the UI.
+ * <p>
+ * A view creates one loader in its constructor. {@link #card(String, Supplier, Function)}
+ * immediately returns a skeleton placeholder, runs the supplier on the bounded
+ * {@code viewLoaderExecutor} and replaces the placeholder with the rendered component
+ * via {@link UI#access} once the data is available (requires {@code @Push}, see
+ * {@link com.hotel.booking.config.AppShell}). Navigation therefore no longer waits for
+ * every KPI query to finish.
+ * </p>
+ * <p>
+ * When the owning view is detached (the user navigates away) all outstanding loads are
+ * cancelled and their results are discarded.
+ * </p>
+ * <p>
+ * Suppliers run outside the Vaadin request thread: they must not access {@code UI},
+ * {@code VaadinSession} or the security context and should only call services with
+ * values captured beforehand.
+ * </p>
+ */
+public class AsyncViewLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncViewLoader.class);
+
+    private final Component owner;
+    private final ExecutorService executor;
+    private final List<Future<?>> pending = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a loader bound to the lifecycle of the given view.
+     *
+     * @param owner    the view; outstanding loads are cancelled when it is detached
+     * @param executor the bounded executor running the loaders
+     */
+    public AsyncViewLoader(Component owner, ExecutorService executor) {
+        this.owner = owner;
+        this.executor = executor;
+        owner.addDetachListener(e -> cancelAll());
+    }
+
+    /**
+     * Returns a skeleton card that is replaced by the rendered result once loaded.
+     *
+     * @param title    title shown on the placeholder while loading
+     * @param loader   computes the data in the background
+     * @param renderer builds the final component on the UI thread
+     * @return the slot component to add to the layout
+     */
+    public <T> Div card(String title, Supplier<T> loader, Function<T, ? extends Component> renderer) {
+        Div slot = placeholder(title);
+        load(loader, result -> fill(slot, renderer.apply(result)), error -> fillError(slot, title));
+        return slot;
+    }
+
+    /**
+     * Returns an empty skeleton slot. Use together with {@link #load} and {@link #fill}
+     * when several placeholders are filled from one background result.
+     *
+     * @param title title shown on the placeholder while loading
+     * @return the slot component to add to the layout
+     */
+    public Div placeholder(String title) {
+        Div slot = new Div(createSkeleton(title));
+        slot.addClassName("async-slot");
+        return slot;
+    }
+
+    /**
+     * Replaces the content of a placeholder slot. Must be called on the UI thread
+     * (e.g. from the {@code onLoaded} callback).
+     *
+     * @param slot    slot created by {@link #placeholder(String)}
+     * @param content the loaded component
+     */
+    public void fill(Div slot, Component content) {
+        if (content instanceof HasSize sized) {
+            sized.setWidthFull();
+        }
+        slot.removeAll();
+        slot.add(content);
+    }
+
+    /**
+     * Replaces the content of a placeholder slot with an error card.
+     *
+     * @param slot  slot created by {@link #placeholder(String)}
+     * @param title title of the card that could not be loaded
+     */
+    public void fillError(Div slot, String title) {
+        Div failed = new Div(new Span(title), new Span("Could not be loaded"));
+        failed.addClassNames("skeleton-card", "error");
+        slot.removeAll();
+        slot.add(failed);
+    }
+
+    /**
+     * Runs {@code loader} in the background and hands the result to {@code onLoaded}
+     * inside {@link UI#access}.
+     *
+     * @param loader   computes the data in the background
+     * @param onLoaded applies the result to the UI (runs with the session lock held)
+     */
+    public <T> void load(Supplier<T> loader, Consumer<T> onLoaded) {
+        load(loader, onLoaded, error -> { });
+    }
+
+    /**
+     * Like {@link #load(Supplier, Consumer)} with an additional error callback that also
+     * runs inside {@link UI#access}.
+     */
+    public <T> void load(Supplier<T> loader, Consumer<T> onLoaded, Consumer<Exception> onError) {
+        UI ui = UI.getCurrent();
+        if (ui == null) {
+            throw new IllegalStateException("AsyncViewLoader must be used from a UI thread");
+        }
+
+        FutureTask<T> future = new FutureTask<>(loader::get) {
+            @Override
+            protected void done() {
+                pending.remove(this);
+                if (isCancelled()) {
+                    return;
+                }
+                try {
+                    T result = get();
+                    deliver(ui, this, () -> onLoaded.accept(result));
+                } catch (ExecutionException e) {
+                    logger.error("Background view load failed", e.getCause());
+                    Exception cause = e.getCause() instanceof Exception ex ? ex : e;
+                    deliver(ui, this, () -> onError.accept(cause));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+
+        pending.add(future);
+        try {
+            executor.execute(future);
+        } catch (RejectedExecutionException e) {
+            pending.remove(future);
+            logger.warn("View loader executor rejected task", e);
+            onError.accept(e);
+        }
+    }
+
+    /**
+     * Cancels all loads that have not completed yet. Results of cancelled loads are discarded.
+     */
+    public void cancelAll() {
+        for (Future<?> future : pending) {
+            future.cancel(true);
+        }
+        pending.clear();
+    }
+
+    // Pushes the update unless the load was cancelled or the view is gone
+    private void deliver(UI ui, Future<?> future, Runnable update) {
+        ui.access(() -> {
+            if (!future.isCancelled() && owner.isAttached()) {
+                update.run();
+            }
+        });
+    }
+
+    private static Div createSkeleton(String title) {
+        Span titleSpan = new Span(title);
+        titleSpan.addClassName("skeleton-card-title");
+
+        Span valueLine = new Span();
+        valueLine.addClassName("skeleton-line");
+
+        Span trendLine = new Span();
+        trendLine.addClassNames("skeleton-line", "short");
+
+        Div skeleton = new Div(titleSpan, valueLine, trendLine);
+        skeleton.addClassName("skeleton-card");
+        return skeleton;
+    }
+}
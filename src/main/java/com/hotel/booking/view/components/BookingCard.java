@@ -6,7 +6,7 @@ import org.springframework.stereotype.Component;
 
 import com.hotel.booking.entity.Booking;
 import com.hotel.booking.entity.BookingStatus;
-import com.hotel.booking.service.BookingCancellationService;
+import com.hotel.booking.service.BookingLookups;
 
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.H3;
@@ -23,21 +23,16 @@ public class BookingCard {
     
     private static final DateTimeFormatter GERMAN_DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
     
-    private final BookingCancellationService bookingCancellationService;
-    
-    public BookingCard(BookingCancellationService bookingCancellationService) {
-        this.bookingCancellationService = bookingCancellationService;
-    }
-    
     /**
      * Creates a booking card with details and action buttons.
      * 
      * @param booking the booking to display
+     * @param lookups prefetched payments and cancellations of the listed bookings
      * @param onDetailsClick callback when the card is clicked
      * @param actionButtons the action buttons to display
      * @return the booking card div
      */
-    public Div create(Booking booking, Runnable onDetailsClick, HorizontalLayout actionButtons) {
+    public Div create(Booking booking, BookingLookups lookups, Runnable onDetailsClick, HorizontalLayout actionButtons) {
         Div card = new Div();
         card.addClassName("booking-item-card");
         
@@ -71,17 +66,13 @@ public class BookingCard {
         details.add(createDetailItem("Check-out", booking.getCheckOutDate().format(GERMAN_DATE_FORMAT)));
         details.add(createDetailItem("Guests", booking.getAmount() != null ? String.valueOf(booking.getAmount()) : "-"));
         
-        // Wenn bereits storniert: Suche letzte BookingCancellation und zeige die berechnete Strafe an
+        // Wenn bereits storniert: Zeige die berechnete Strafe der letzten BookingCancellation (aus dem Batch)
         if (booking.getStatus() == BookingStatus.CANCELLED && booking.getId() != null) {
-            try {
-                bookingCancellationService.findLatestByBookingId(booking.getId()).ifPresent(bc -> {
-                    if (bc.getCancellationFee() != null) {
-                        details.add(createDetailItem("Fee", String.format("%.2f €", bc.getCancellationFee())));
-                    }
-                });
-            } catch (Exception ex) {
-                // Fehler beim Lesen der Storno-Info darf die Karte nicht komplett brechen
-            }
+            lookups.latestCancellation(booking.getId()).ifPresent(bc -> {
+                if (bc.getCancellationFee() != null) {
+                    details.add(createDetailItem("Fee", String.format("%.2f €", bc.getCancellationFee())));
+                }
+            });
         }
         
         // Calculate price per night for display
@@ -5,6 +5,7 @@ import java.util.List;
 import com.hotel.booking.entity.Amenities;
 import com.hotel.booking.entity.RoomCategory;
 import com.hotel.booking.entity.RoomImage;
+import com.hotel.booking.service.RoomImageService;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.H3;
@@ -30,8 +31,12 @@ public class RoomCard extends Div {
     private static final String NO_IMAGE_TEXT = "No Image";
     private static final String PER_NIGHT_TEXT = "per night";
     private static final String CURRENCY_PREFIX = "€";
+
+    /** Width (device pixels) the card image is loaded in: about 400px wide on high-density displays */
+    private static final int IMAGE_WIDTH = 800;
   
     private final RoomCategory category;
+    private final RoomImageService roomImageService;
     private final List<RoomImage> images;
     private VerticalLayout contentArea; // Cache for direct access
     private VerticalLayout rightSide; // Cache für Rating-Platzierung rechts
@@ -40,9 +45,13 @@ public class RoomCard extends Div {
     
     /**
      * Creates a RoomCard with the specified category.
+     *
+     * @param category         the room category to display
+     * @param roomImageService provides the (fingerprinted) image URLs
      */
-    public RoomCard(RoomCategory category) {
+    public RoomCard(RoomCategory category, RoomImageService roomImageService) {
         this.category = category;
+        this.roomImageService = roomImageService;
         this.images = getCategoryImages();
         addClassName("room-card");
         buildCard();
@@ -88,7 +97,7 @@ public class RoomCard extends Div {
             // Show the first image as the main image
             RoomImage firstImage = images.get(0);
             // Use CSS variable for dynamic background image
-            imageContainer.getStyle().set("--card-image-url", "url('" + firstImage.getImagePath() + "')");
+            imageContainer.getStyle().set("--card-image-url", "url('" + roomImageService.getImageUrl(firstImage, IMAGE_WIDTH) + "')");
             // Clicking on the image opens the gallery
             imageContainer.addClickListener(e -> openGallery());
         } else {
@@ -152,7 +161,7 @@ public class RoomCard extends Div {
     public void setReviewsContentProvider(java.util.function.Consumer<Div> provider) {
         // Initialize gallery dialog if not already created
         if (galleryDialog == null) {
-            galleryDialog = new RoomGalleryDialog(category, images);
+            galleryDialog = new RoomGalleryDialog(category, images, roomImageService);
         }
         galleryDialog.setReviewsContentProvider(provider);
     }
@@ -286,7 +295,7 @@ public class RoomCard extends Div {
      */
     public void openGallery(boolean showReviewsTab) {
         if (galleryDialog == null) {
-            galleryDialog = new RoomGalleryDialog(category, images);
+            galleryDialog = new RoomGalleryDialog(category, images, roomImageService);
         }
         galleryDialog.open(showReviewsTab);
     }
@@ -2,6 +2,7 @@ package com.hotel.booking.view.components;
 
 import com.hotel.booking.entity.RoomCategory;
 import com.hotel.booking.entity.RoomImage;
+import com.hotel.booking.service.RoomImageService;
 import com.vaadin.flow.component.checkbox.Checkbox;
 import com.vaadin.flow.component.formlayout.FormLayout;
 import com.vaadin.flow.component.html.Image;
@@ -34,7 +35,11 @@ public class RoomCategoryImageSelector extends FormLayout {
     private RoomImage assignedImage;
 
     private final List<RoomCategory> availableCategories;
+    private final RoomImageService roomImageService;
     
+    /** Width (device pixels) the 200px preview is loaded in */
+    private static final int PREVIEW_WIDTH = 400;
+
     private Image imagePreview;
     private final TextField altTextField = new TextField("Alt Text");
     private final TextField titleField = new TextField("Title");
@@ -46,9 +51,12 @@ public class RoomCategoryImageSelector extends FormLayout {
      *
      * @param roomImage the RoomImage entity to edit, or null for a new image
      * @param categories the list of available room categories
+     * @param roomImageService provides the (fingerprinted) preview URL
      */
-    public RoomCategoryImageSelector(RoomImage roomImage, List<RoomCategory> categories) {
+    public RoomCategoryImageSelector(RoomImage roomImage, List<RoomCategory> categories,
+                                     RoomImageService roomImageService) {
         this.availableCategories = categories != null ? categories : List.of();
+        this.roomImageService = roomImageService;
         this.assignedImage = roomImage != null ? roomImage : new RoomImage(null);
         initializeFields(this.availableCategories);
         setupBinder();
@@ -155,7 +163,7 @@ public class RoomCategoryImageSelector extends FormLayout {
             imagePreview.setSrc("");
         } else {
             assignedImage = roomImage;
-            imagePreview.setSrc(roomImage.getImagePath());
+            imagePreview.setSrc(safeImageSrc(roomImage));
         }
 
         // Normalizes the selected value to the same instance that exists in the items list
@@ -172,12 +180,11 @@ public class RoomCategoryImageSelector extends FormLayout {
         binder.readBean(assignedImage);
     }
 
-    private static String safeImageSrc(RoomImage image) {
+    private String safeImageSrc(RoomImage image) {
         if (image == null) {
             return "";
         }
-        String src = image.getImagePath();
-        return src != null ? src : "";
+        return image.getImagePath() != null ? roomImageService.getImageUrl(image, PREVIEW_WIDTH) : "";
     }
 
     /**
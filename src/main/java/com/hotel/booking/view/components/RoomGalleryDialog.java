@@ -5,6 +5,7 @@ import java.util.function.Consumer;
 
 import com.hotel.booking.entity.RoomCategory;
 import com.hotel.booking.entity.RoomImage;
+import com.hotel.booking.service.RoomImageService;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.dialog.Dialog;
 import com.vaadin.flow.component.html.Div;
@@ -27,6 +28,11 @@ public class RoomGalleryDialog {
     /** Dialog dimensions */
     private static final String DIALOG_WIDTH = "90%";
     private static final String DIALOG_MAX_WIDTH = "1200px";
+
+    /** Widths (device pixels) images are loaded in: grid tiles, a single full-width image, the large view */
+    private static final int TILE_IMAGE_WIDTH = 800;
+    private static final int LARGE_IMAGE_WIDTH = 1600;
+    private static final String LARGE_IMAGE_SIZES = "(max-width: 1333px) 90vw, 1200px";
     
     /** Default values */
     private static final String DEFAULT_ROOM_NAME = "Room";
@@ -42,6 +48,7 @@ public class RoomGalleryDialog {
     
     private final RoomCategory category;
     private final List<RoomImage> images;
+    private final RoomImageService roomImageService;
     private Consumer<Div> reviewsContentProvider;
     
     /**
@@ -49,10 +56,12 @@ public class RoomGalleryDialog {
      * 
      * @param category the room category
      * @param images the list of room images
+     * @param roomImageService provides the (fingerprinted) image URLs
      */
-    public RoomGalleryDialog(RoomCategory category, List<RoomImage> images) {
+    public RoomGalleryDialog(RoomCategory category, List<RoomImage> images, RoomImageService roomImageService) {
         this.category = category;
         this.images = images;
+        this.roomImageService = roomImageService;
     }
     
     /**
@@ -198,6 +207,11 @@ public class RoomGalleryDialog {
         gallery.addClassName("room-gallery-grid");
         gallery.setWidthFull();
         
+        long imageCount = images.stream()
+                .filter(image -> image != null && image.getImagePath() != null && !image.getImagePath().isEmpty())
+                .count();
+        int tileWidth = imageCount == SINGLE_IMAGE_COUNT ? LARGE_IMAGE_WIDTH : TILE_IMAGE_WIDTH;
+
         int validImageCount = 0;
         for (RoomImage image : images) {
             if (image == null || image.getImagePath() == null || image.getImagePath().isEmpty()) {
@@ -207,7 +221,7 @@ public class RoomGalleryDialog {
             Div imageDiv = new Div();
             imageDiv.addClassName("room-gallery-image");
             // CSS variable for dynamic background image
-            imageDiv.getStyle().set("--gallery-image-url", "url('" + image.getImagePath() + "')");
+            imageDiv.getStyle().set("--gallery-image-url", "url('" + roomImageService.getImageUrl(image, tileWidth) + "')");
             // Clicking opens a larger view
             imageDiv.addClickListener(e -> openImageDialog(image));
             gallery.add(imageDiv);
@@ -227,7 +241,13 @@ public class RoomGalleryDialog {
      */
     private void openImageDialog(RoomImage image) {
         String altText = image.getAltText() != null ? image.getAltText() : DEFAULT_IMAGE_ALT;
-        Image img = new Image(image.getImagePath(), altText);
+        Image img = new Image(roomImageService.getImageUrl(image, LARGE_IMAGE_WIDTH), altText);
+        // Lets the browser pick the smallest derivative for the dialog width and pixel density
+        String srcSet = roomImageService.getSrcSet(image);
+        if (srcSet != null) {
+            img.getElement().setAttribute("srcset", srcSet);
+            img.getElement().setAttribute("sizes", LARGE_IMAGE_SIZES);
+        }
         img.addClassName("gallery-image-full");
         img.setWidthFull();
         
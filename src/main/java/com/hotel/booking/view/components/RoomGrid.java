@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.function.Consumer;
 
 import com.hotel.booking.entity.RoomCategory;
+import com.hotel.booking.service.RoomImageService;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.Paragraph;
 
@@ -14,7 +15,15 @@ import com.vaadin.flow.component.html.Paragraph;
  */
 public class RoomGrid extends Div {
 
-    public RoomGrid() {
+    private final RoomImageService roomImageService;
+
+    /**
+     * Creates an empty grid.
+     *
+     * @param roomImageService provides the image URLs of the cards
+     */
+    public RoomGrid(RoomImageService roomImageService) {
+        this.roomImageService = roomImageService;
         addClassName("room-grid");
         setWidthFull();
     }
@@ -31,7 +40,7 @@ public class RoomGrid extends Div {
         }
 
         for (RoomCategory category : categories) {
-            RoomCard categoryCard = new RoomCard(category);
+            RoomCard categoryCard = new RoomCard(category, roomImageService);
             
             if (cardConfigurator != null) {
                 cardConfigurator.accept(categoryCard);
@@ -75,7 +75,8 @@ public class RoomImageDialogue {
 
         RoomCategoryImageSelector selector = new RoomCategoryImageSelector(
                 roomImage,
-                roomCategoryService.getAllRoomCategories()
+                roomCategoryService.getAllRoomCategories(),
+                roomImageService
         );
 
         Button saveBtn = new Button("Update Image");
@@ -2,6 +2,7 @@ package com.hotel.booking.view.components;
 
 import com.hotel.booking.entity.RoomCategory;
 import com.hotel.booking.entity.RoomImage;
+import com.hotel.booking.service.RoomImageService;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
@@ -26,6 +27,11 @@ import java.util.function.Consumer;
  */
 public class RoomImageGrid extends Grid<RoomImage> {
 
+    /** Width (device pixels) the 80px thumbnails are loaded in; the smallest derivative covers it */
+    private static final int THUMBNAIL_WIDTH = 160;
+
+    private final RoomImageService roomImageService;
+
     private RoomCategory assignToCategory;
 
     private Consumer<RoomImage> onEdit = img -> {};
@@ -37,9 +43,12 @@ public class RoomImageGrid extends Grid<RoomImage> {
      *
      * <p>Initializes the grid without automatically adding columns and configures
      * the grid layout, columns, and styling.</p>
+     *
+     * @param roomImageService provides the (fingerprinted) thumbnail URLs
      */
-    public RoomImageGrid() {
+    public RoomImageGrid(RoomImageService roomImageService) {
         super(RoomImage.class, false);
+        this.roomImageService = roomImageService;
         configureGrid();
     }
 
@@ -157,13 +166,13 @@ public class RoomImageGrid extends Grid<RoomImage> {
      * Creates an image preview component for the grid.
      *
      * <p>Renders a square image preview (80x80 pixels) for the given room image.
-     * The preview image is retrieved from the room image's image path.</p>
+     * The preview loads the smallest derivative of the room image, if one exists.</p>
      *
      * @param roomImage the room image for which to create a preview
      * @return an Image component displaying the preview thumbnail
      */
     private Component createImagePreview(RoomImage roomImage) {
-        Image preview = new Image(roomImage.getImagePath(), "preview");
+        Image preview = new Image(roomImageService.getImageUrl(roomImage, THUMBNAIL_WIDTH), "preview");
         preview.setWidth("80px");
         preview.setHeight("80px");
         preview.addClassName("image-grid-thumbnail");
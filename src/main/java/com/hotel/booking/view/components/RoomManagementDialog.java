@@ -29,6 +29,9 @@ import com.vaadin.flow.component.UI;
  */
 public class RoomManagementDialog {
 
+    /** Width (device pixels) the 80px image thumbnails are loaded in */
+    private static final int THUMBNAIL_WIDTH = 160;
+
     private final RoomService roomService;
     private final RoomCategoryService roomCategoryService;
     private final BookingExtraService extraService;
@@ -253,7 +256,7 @@ public class RoomManagementDialog {
 
     /**
      * Creates a preview card component for a room image.
-     * Displays the image as a 80x80 pixel thumbnail in a card layout.
+     * Displays the image as a 80x80 pixel thumbnail in a card layout, loaded from its smallest derivative.
      *
      * @param image the room image entity to display
      * @return a Div component containing the image preview
@@ -262,7 +265,7 @@ public class RoomManagementDialog {
         com.vaadin.flow.component.html.Div card = new com.vaadin.flow.component.html.Div();
         card.addClassName("image-preview-card");
 
-        com.vaadin.flow.component.html.Image preview = new com.vaadin.flow.component.html.Image(image.getImagePath(), "image");
+        com.vaadin.flow.component.html.Image preview = new com.vaadin.flow.component.html.Image(image.getImagePath(THUMBNAIL_WIDTH), "image");
         preview.setWidth("80px");
         preview.setHeight("80px");
         preview.addClassName("image-preview-thumbnail");
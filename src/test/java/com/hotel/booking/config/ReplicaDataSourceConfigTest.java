@@ -0,0 +1,260 @@
+package com.hotel.booking.config;
+
+/*
+ Kurze Erklärungen zu gängigen Test-Annotationen und Hilfsobjekten:
+ - @Mock: Erzeugt ein Mock-Objekt, das Aufrufe aufzeichnet und Verhalten stubbed.
+ - @InjectMocks: Erzeugt das zu testende Objekt und injiziert @Mock-Felder darin.
+ - @BeforeEach: Diese Methode läuft vor jedem Test zur Vorbereitung (Setup).
+ - @Test: Kennzeichnet eine Testmethode (JUnit 5 / Jupiter).
+ - assertEquals(expected, actual): Prüft, ob erwarteter und tatsächlicher Wert gleich sind (Reihenfolge wichtig).
+ - assertTrue(condition) / assertFalse(condition): Prüfen Wahrheitswerte in Tests.
+ - assertNull(x) / assertNotNull(x): Prüfen, ob ein Objekt (nicht) null ist.
+ - ArgumentCaptor<T>: Fängt Argumente ab, die an Mock-Methoden übergeben wurden, zum genaueren Prüfen.
+ - mock(Class.class): Erstellt ein Mockito-Mock-Objekt zur Isolierung von Abhängigkeiten.
+ - when(mock.method(...)).thenReturn(value): Stubbt das Rückgabeverhalten eines Mock-Objekts.
+ - any(): Matcher, der jeden Wert passenden Typs akzeptiert (z.B. any(String.class)).
+ - times(n) / never(): Geben an, wie oft eine Mock-Methode erwartet wird (z.B. verify(mock, times(1))).
+ - doReturn()/doThrow(): Alternative Stubbing-Syntax (z. B. für void-Methoden oder Spies).
+ - MimeMessage: Repräsentiert eine E-Mail (HTML/Multipart) aus dem JavaMail API.
+ - verify(mock).method(...): Überprüft Aufrufe auf Mocks; oft kombiniert mit ArgumentCaptor oder Matchern.
+*/
+
+
+import com.hotel.booking.entity.Room;
+import com.hotel.booking.entity.RoomCategory;
+import com.hotel.booking.entity.RoomStatus;
+import com.hotel.booking.event.EntityChangePublisher;
+import com.hotel.booking.repository.RoomCategoryRepository;
+import com.hotel.booking.repository.RoomRepository;
+import com.vaadin.flow.internal.CurrentInstance;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.server.WrappedSession;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the read/write routing against two independent H2 databases standing in for
+ * primary and replica. Both contain a {@code marker} table whose single row names the
+ * database, so every read shows which one served it. Hibernate creates the schema on the
+ * primary only, as it would in production.
+ */
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReplicaDataSourceConfig.class, EntityChangePublisher.class})
+// Applies the guard as transaction execution listener, as in the application
+@ImportAutoConfiguration(TransactionManagerCustomizationAutoConfiguration.class)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "app.datasource.replica.jdbc-url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ReplicaDataSourceConfigTest {
+
+    private static final String MARKER = "SELECT name FROM marker";
+
+    @Autowired @Qualifier("primaryDataSource") DataSource primary;
+    @Autowired @Qualifier("replicaDataSource") DataSource replica;
+    @Autowired EntityManager entityManager;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired RoomCategoryRepository roomCategoryRepository;
+    @Autowired RoomRepository roomRepository;
+
+    // Vaadin keeps the current session only weakly; hold it for the duration of a test
+    private VaadinSession currentSession;
+
+    @BeforeAll
+    void createMarkers() {
+        for (Map.Entry<String, DataSource> db : Map.of("primary", primary, "replica", replica).entrySet()) {
+            JdbcTemplate jdbc = new JdbcTemplate(db.getValue());
+            jdbc.execute("CREATE TABLE marker (name VARCHAR(20))");
+            jdbc.update("INSERT INTO marker VALUES (?)", db.getKey());
+        }
+    }
+
+    @AfterEach
+    void clearSession() {
+        CurrentInstance.clearAll();
+        currentSession = null;
+    }
+
+    @Test
+    public void readOnlyTransaction_readsFromReplica() {
+        assertEquals("replica", readMarker(true));
+    }
+
+    @Test
+    public void readWriteTransaction_usesPrimary() {
+        assertEquals("primary", readMarker(false));
+    }
+
+    @Test
+    public void sessionThatJustWrote_readsFromPrimary() {
+        openSession();
+        assertEquals("replica", readMarker(true));
+
+        // The commit of the read-write transaction marks the session
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            RoomCategory category = new RoomCategory();
+            category.setName("Single");
+            category.setDescription("Single room");
+            category.setPricePerNight(BigDecimal.valueOf(90));
+            category.setMaxOccupancy(1);
+            category.setActive(true);
+            Room room = new Room(roomCategoryRepository.save(category), RoomStatus.AVAILABLE, true);
+            room.setRoomNumber("101");
+            room.setFloor(1);
+            roomRepository.save(room);
+        });
+        assertEquals("primary", readMarker(true));
+
+        openSession();
+        assertEquals("replica", readMarker(true));
+    }
+
+    @Test
+    public void writeWithoutEntityChange_pinsSessionToo() {
+        openSession();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                entityManager.createNativeQuery("UPDATE marker SET name = name").executeUpdate());
+
+        assertEquals("primary", readMarker(true));
+    }
+
+    @Test
+    public void rolledBackWrite_doesNotPinSession() {
+        openSession();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            entityManager.createNativeQuery("UPDATE marker SET name = name").executeUpdate();
+            status.setRollbackOnly();
+        });
+
+        assertEquals("replica", readMarker(true));
+    }
+
+    @Test
+    public void requestWithoutVaadinSession_usesHttpSession() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            // Without an HTTP session there is nothing to pin
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    entityManager.createNativeQuery("UPDATE marker SET name = name").executeUpdate());
+            assertNull(request.getSession(false));
+            assertEquals("replica", readMarker(true));
+
+            request.getSession(true);
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    entityManager.createNativeQuery("UPDATE marker SET name = name").executeUpdate());
+            assertEquals("primary", readMarker(true));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    public void guard_releasesSessionAfterWindow() {
+        MutableClock clock = new MutableClock();
+        ReadYourWritesGuard guard = new ReadYourWritesGuard(Duration.ofSeconds(5), clock);
+        openSession();
+
+        assertFalse(guard.isPinnedToPrimary());
+        guard.markWritten();
+        assertTrue(guard.isPinnedToPrimary());
+
+        clock.advance(Duration.ofSeconds(6));
+        assertFalse(guard.isPinnedToPrimary());
+
+        CurrentInstance.clearAll();
+        guard.markWritten();
+        assertFalse(guard.isPinnedToPrimary());
+    }
+
+    // Reads the marker through JPA in a (read-only) transaction
+    private String readMarker(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> (String) entityManager.createNativeQuery(MARKER).getSingleResult());
+    }
+
+    private void openSession() {
+        currentSession = session();
+        VaadinSession.setCurrent(currentSession);
+    }
+
+    // A Vaadin session whose HTTP session keeps its attributes in a map
+    private static VaadinSession session() {
+        Map<String, Object> attributes = new HashMap<>();
+        WrappedSession wrapped = mock(WrappedSession.class);
+        when(wrapped.getAttribute(anyString())).thenAnswer(i -> attributes.get(i.getArgument(0, String.class)));
+        doAnswer(i -> attributes.put(i.getArgument(0), i.getArgument(1))).when(wrapped).setAttribute(anyString(), any());
+        VaadinSession session = mock(VaadinSession.class);
+        when(session.getSession()).thenReturn(wrapped);
+        return session;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-01-01T10:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
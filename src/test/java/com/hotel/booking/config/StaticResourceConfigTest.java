@@ -0,0 +1,143 @@
+package com.hotel.booking.config;
+
+/*
+ Kurze Erklärungen zu gängigen Test-Annotationen und Hilfsobjekten:
+ - @Mock: Erzeugt ein Mock-Objekt, das Aufrufe aufzeichnet und Verhalten stubbed.
+ - @InjectMocks: Erzeugt das zu testende Objekt und injiziert @Mock-Felder darin.
+ - @BeforeEach: Diese Methode läuft vor jedem Test zur Vorbereitung (Setup).
+ - @Test: Kennzeichnet eine Testmethode (JUnit 5 / Jupiter).
+ - assertEquals(expected, actual): Prüft, ob erwarteter und tatsächlicher Wert gleich sind (Reihenfolge wichtig).
+ - assertTrue(condition) / assertFalse(condition): Prüfen Wahrheitswerte in Tests.
+ - assertNull(x) / assertNotNull(x): Prüfen, ob ein Objekt (nicht) null ist.
+ - ArgumentCaptor<T>: Fängt Argumente ab, die an Mock-Methoden übergeben wurden, zum genaueren Prüfen.
+ - mock(Class.class): Erstellt ein Mockito-Mock-Objekt zur Isolierung von Abhängigkeiten.
+ - when(mock.method(...)).thenReturn(value): Stubbt das Rückgabeverhalten eines Mock-Objekts.
+ - any(): Matcher, der jeden Wert passenden Typs akzeptiert (z.B. any(String.class)).
+ - times(n) / never(): Geben an, wie oft eine Mock-Methode erwartet wird (z.B. verify(mock, times(1))).
+ - doReturn()/doThrow(): Alternative Stubbing-Syntax (z. B. für void-Methoden oder Spies).
+ - MimeMessage: Repräsentiert eine E-Mail (HTML/Multipart) aus dem JavaMail API.
+ - verify(mock).method(...): Überprüft Aufrufe auf Mocks; oft kombiniert mit ArgumentCaptor oder Matchern.
+*/
+
+
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.mock.env.MockPropertySource;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests the {@code /images/**} resource chain: fingerprinted URLs, cache headers and the
+ * in-memory cache, in a minimal Spring MVC context.
+ */
+class StaticResourceConfigTest {
+
+    @TempDir
+    Path imagesRoot;
+
+    AnnotationConfigWebApplicationContext context;
+    MockMvc mockMvc;
+    ResourceUrlProvider resourceUrlProvider;
+    Path image;
+
+    @EnableWebMvc
+    @Configuration
+    static class WebConfig {
+        @Bean
+        static PropertySourcesPlaceholderConfigurer placeholderConfigurer() {
+            return new PropertySourcesPlaceholderConfigurer();
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        image = Files.createDirectories(imagesRoot.resolve("rooms")).resolve("a.png");
+        Files.writeString(image, "first");
+
+        context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.getEnvironment().getPropertySources().addFirst(
+                new MockPropertySource().withProperty("app.images.root-dir", imagesRoot.toString()));
+        context.addBeanFactoryPostProcessor(beanFactory ->
+                beanFactory.setConversionService(ApplicationConversionService.getSharedInstance()));
+        context.register(WebConfig.class, StaticResourceConfig.class);
+        context.refresh();
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        resourceUrlProvider = context.getBean(ResourceUrlProvider.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void fingerprintedUrl_isImmutable() throws Exception {
+        String url = resourceUrlProvider.getForLookupPath("/images/rooms/a.png");
+
+        assertNotNull(url);
+        assertTrue(url.matches("/images/rooms/a-[0-9a-f]{32}\\.png"), url);
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(content().string("first"))
+                .andExpect(header().string("Cache-Control", "max-age=31536000, public, immutable"))
+                .andExpect(header().exists("ETag"));
+    }
+
+    @Test
+    void wrongFingerprint_isNotFound() throws Exception {
+        mockMvc.perform(get("/images/rooms/a-0123456789abcdef0123456789abcdef.png"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void plainUrl_isRevalidatedWithEtag() throws Exception {
+        MvcResult first = mockMvc.perform(get("/images/rooms/a.png"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, public"))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/images/rooms/a.png").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void changedFile_isServedFreshFromMemoryCache() throws Exception {
+        mockMvc.perform(get("/images/rooms/a.png")).andExpect(content().string("first"));
+
+        Files.writeString(image, "second");
+        Files.setLastModifiedTime(image, FileTime.from(Instant.now().plusSeconds(60)));
+
+        mockMvc.perform(get("/images/rooms/a.png")).andExpect(content().string("second"));
+    }
+
+    @Test
+    void missingFile_isNotFound() throws Exception {
+        assertNull(resourceUrlProvider.getForLookupPath("/images/rooms/missing.png"));
+        mockMvc.perform(get("/images/rooms/missing.png")).andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,142 @@
+package com.hotel.booking.service;
+
+/*
+ Kurze Erklärungen zu gängigen Test-Annotationen und Hilfsobjekten:
+ - @Mock: Erzeugt ein Mock-Objekt, das Aufrufe aufzeichnet und Verhalten stubbed.
+ - @InjectMocks: Erzeugt das zu testende Objekt und injiziert @Mock-Felder darin.
+ - @BeforeEach: Diese Methode läuft vor jedem Test zur Vorbereitung (Setup).
+ - @Test: Kennzeichnet eine Testmethode (JUnit 5 / Jupiter).
+ - assertEquals(expected, actual): Prüft, ob erwarteter und tatsächlicher Wert gleich sind (Reihenfolge wichtig).
+ - assertTrue(condition) / assertFalse(condition): Prüfen Wahrheitswerte in Tests.
+ - assertNull(x) / assertNotNull(x): Prüfen, ob ein Objekt (nicht) null ist.
+ - ArgumentCaptor<T>: Fängt Argumente ab, die an Mock-Methoden übergeben wurden, zum genaueren Prüfen.
+ - mock(Class.class): Erstellt ein Mockito-Mock-Objekt zur Isolierung von Abhängigkeiten.
+ - when(mock.method(...)).thenReturn(value): Stubbt das Rückgabeverhalten eines Mock-Objekts.
+ - any(): Matcher, der jeden Wert passenden Typs akzeptiert (z.B. any(String.class)).
+ - times(n) / never(): Geben an, wie oft eine Mock-Methode erwartet wird (z.B. verify(mock, times(1))).
+ - doReturn()/doThrow(): Alternative Stubbing-Syntax (z. B. für void-Methoden oder Spies).
+ - MimeMessage: Repräsentiert eine E-Mail (HTML/Multipart) aus dem JavaMail API.
+ - verify(mock).method(...): Überprüft Aufrufe auf Mocks; oft kombiniert mit ArgumentCaptor oder Matchern.
+*/
+
+
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.entity.BookingStatus;
+import com.hotel.booking.entity.Invoice.PaymentMethod;
+import com.hotel.booking.entity.Invoice.PaymentStatus;
+import com.hotel.booking.entity.Payment;
+import com.hotel.booking.event.EntityChangePublisher;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.InvoiceRepository;
+import com.hotel.booking.repository.PaymentRepository;
+import com.hotel.booking.repository.projection.PendingTransfer;
+import com.hotel.booking.testsupport.HotelTestData;
+import com.hotel.booking.testsupport.QueryCountTest;
+import com.hotel.booking.testsupport.QueryCounter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the bank statement reconciliation against H2 with the real {@link PaymentService}:
+ * index query, guarded payment updates, booking confirmation and invoice creation.
+ * <p>
+ * {@value #BOOKINGS} bookings are pending with one pending transfer each; the first half has
+ * no invoice yet. The statement has {@value #LINES} lines, one per transfer and unrelated
+ * credits in between. Duration and statements are logged; the assertions guard the outcome.
+ * </p>
+ */
+@QueryCountTest({BankStatementReconciliationService.class, PaymentService.class, InvoiceService.class,
+        EntityChangePublisher.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class BankStatementReconciliationBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BankStatementReconciliationBenchmarkTest.class);
+
+    private static final int BOOKINGS = 2_000;
+    private static final int LINES = 20_000;
+
+    @MockitoBean
+    EmailService emailService;
+
+    @Autowired BankStatementReconciliationService reconciliationService;
+    @Autowired PaymentService paymentService;
+    @Autowired PaymentRepository paymentRepository;
+    @Autowired BookingRepository bookingRepository;
+    @Autowired InvoiceRepository invoiceRepository;
+    @Autowired HotelTestData testData;
+    @Autowired EntityManager entityManager;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    void seed() {
+        testData.seed(BOOKINGS);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            entityManager.createQuery("DELETE FROM Invoice i WHERE i.booking.id IN "
+                            + "(SELECT b.id FROM Booking b WHERE b.checkInDate < :today)")
+                    .setParameter("today", LocalDate.now())
+                    .executeUpdate();
+            entityManager.createQuery("UPDATE Booking b SET b.status = :status")
+                    .setParameter("status", BookingStatus.PENDING)
+                    .executeUpdate();
+            for (Booking booking : bookingRepository.findAll()) {
+                Payment payment = new Payment(booking.getTotalPrice(), PaymentMethod.TRANSFER);
+                payment.setStatus(PaymentStatus.PENDING);
+                payment.setTransactionRef("TRX-" + booking.getBookingNumber());
+                payment.setBooking(booking);
+                entityManager.persist(payment);
+            }
+        });
+    }
+
+    @Test
+    public void reconcile_paysEveryTransferThroughTheRealPaymentService() throws Exception {
+        StringBuilder statement = new StringBuilder("date;amount;reference\n");
+        int perTransfer = LINES / BOOKINGS;
+        for (int i = 0; i < BOOKINGS; i++) {
+            statement.append("2026-10-01;").append(200 + i).append(",00;Booking BK-").append(i).append('\n');
+            for (int j = 1; j < perTransfer; j++) {
+                statement.append("2026-10-01;35,00;Invoice 4711 other customer ").append(i).append('\n');
+            }
+        }
+
+        QueryCounter.reset();
+        long start = System.nanoTime();
+        ReconciliationResult result = reconciliationService.reconcile(
+                new ByteArrayInputStream(statement.toString().getBytes(StandardCharsets.UTF_8)));
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        log.info("{} statement lines, {} transfers: {} ms, {} statements", LINES, BOOKINGS, millis, QueryCounter.count());
+
+        assertEquals(LINES, result.lines());
+        assertEquals(BOOKINGS, result.matched());
+        assertTrue(result.problems().isEmpty(), () -> result.problems().toString());
+        assertTrue(paymentRepository.findAll().stream().allMatch(p -> p.getStatus() == PaymentStatus.PAID));
+        assertEquals(BOOKINGS, invoiceRepository.count());
+        // Past stays are completed right away, future ones confirmed
+        Map<BookingStatus, Long> statuses = bookingRepository.findAll().stream()
+                .collect(Collectors.groupingBy(Booking::getStatus, Collectors.counting()));
+        assertEquals(Map.of(BookingStatus.COMPLETED, (long) BOOKINGS / 2, BookingStatus.CONFIRMED, (long) BOOKINGS / 2), statuses);
+
+        // A second run finds no pending transfer left; the guarded update leaves paid payments alone
+        List<PendingTransfer> paid = paymentRepository.findAll().stream()
+                .map(p -> new PendingTransfer(p.getId(), null, null, p.getTransactionRef(), p.getAmount()))
+                .toList();
+        assertTrue(paymentService.markTransfersPaid(paid).isEmpty());
+    }
+}
@@ -0,0 +1,249 @@
+package com.hotel.booking.service;
+
+/*
+ Kurze Erklärungen zu gängigen Test-Annotationen und Hilfsobjekten:
+ - @Mock: Erzeugt ein Mock-Objekt, das Aufrufe aufzeichnet und Verhalten stubbed.
+ - @InjectMocks: Erzeugt das zu testende Objekt und injiziert @Mock-Felder darin.
+ - @BeforeEach: Diese Methode läuft vor jedem Test zur Vorbereitung (Setup).
+ - @Test: Kennzeichnet eine Testmethode (JUnit 5 / Jupiter).
+ - assertEquals(expected, actual): Prüft, ob erwarteter und tatsächlicher Wert gleich sind (Reihenfolge wichtig).
+ - assertTrue(condition) / assertFalse(condition): Prüfen Wahrheitswerte in Tests.
+ - assertNull(x) / assertNotNull(x): Prüfen, ob ein Objekt (nicht) null ist.
+ - ArgumentCaptor<T>: Fängt Argumente ab, die an Mock-Methoden übergeben wurden, zum genaueren Prüfen.
+ - mock(Class.class): Erstellt ein Mockito-Mock-Objekt zur Isolierung von Abhängigkeiten.
+ - when(mock.method(...)).thenReturn(value): Stubbt das Rückgabeverhalten eines Mock-Objekts.
+ - any(): Matcher, der jeden Wert passenden Typs akzeptiert (z.B. any(String.class)).
+ - times(n) / never(): Geben an, wie oft eine Mock-Methode erwartet wird (z.B. verify(mock, times(1))).
+ - doReturn()/doThrow(): Alternative Stubbing-Syntax (z. B. für void-Methoden oder Spies).
+ - MimeMessage: Repräsentiert eine E-Mail (HTML/Multipart) aus dem JavaMail API.
+ - verify(mock).method(...): Überprüft Aufrufe auf Mocks; oft kombiniert mit ArgumentCaptor oder Matchern.
+*/
+
+
+
+import com.hotel.booking.entity.Invoice.PaymentMethod;
+import com.hotel.booking.entity.Invoice.PaymentStatus;
+import com.hotel.booking.repository.PaymentRepository;
+import com.hotel.booking.repository.projection.PendingTransfer;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class BankStatementReconciliationServiceTest {
+
+    PaymentRepository paymentRepository;
+    PaymentService paymentService;
+    PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        paymentRepository = mock(PaymentRepository.class);
+        paymentService = mock(PaymentService.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        // By default every matched payment is still pending
+        when(paymentService.markTransfersPaid(any())).thenAnswer(invocation -> paymentIds(invocation.getArgument(0)));
+    }
+
+    private BankStatementReconciliationService service(int batchSize, PendingTransfer... transfers) {
+        when(paymentRepository.findTransfers(PaymentStatus.PENDING, PaymentMethod.TRANSFER)).thenReturn(List.of(transfers));
+        return new BankStatementReconciliationService(paymentRepository, paymentService,
+                mock(EntityManager.class), transactionManager, batchSize);
+    }
+
+    private static PendingTransfer transfer(long id, String bookingNumber, String transactionRef, String amount) {
+        return new PendingTransfer(id, 100 + id, bookingNumber, transactionRef, new BigDecimal(amount));
+    }
+
+    private static InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void reconcile_matchesBookingNumberAndTransactionRef() throws Exception {
+        BankStatementReconciliationService service = service(500,
+                transfer(1, "20261001-AAAA1111", null, "250.00"),
+                transfer(2, "20261002-BBBB2222", "TRX-77", "99.90"));
+
+        ReconciliationResult result = service.reconcile(csv("""
+                Datum;Betrag;Verwendungszweck
+                01.10.2026;"1.250,00";Buchung 20261001-aaaa1111 Mustermann
+                02.10.2026;99,90;TRX-77
+                02.10.2026;10,00;Unknown
+                """));
+
+        assertEquals(3, result.lines());
+        assertEquals(2, result.matched());
+        assertEquals(1, result.unmatched());
+        verify(paymentService).markTransfersPaid(argThat(batch -> paymentIds(batch).equals(Set.of(1L, 2L))));
+    }
+
+    @Test
+    void reconcile_withoutHeader_usesDefaultColumns() throws Exception {
+        BankStatementReconciliationService service = service(500, transfer(1, "20261001-AAAA1111", null, "80"));
+
+        ReconciliationResult result = service.reconcile(csv("2026-10-01,80.00,\"Ref 20261001-AAAA1111, thanks\"\n"));
+
+        assertEquals(1, result.matched());
+        verify(paymentService).markTransfersPaid(argThat(batch -> paymentIds(batch).equals(Set.of(1L))));
+    }
+
+    @Test
+    void reconcile_skipsDebitsAndReportsUnderpayment() throws Exception {
+        BankStatementReconciliationService service = service(500, transfer(1, "20261001-AAAA1111", null, "250.00"));
+
+        ReconciliationResult result = service.reconcile(csv("""
+                date;amount;reference
+                2026-10-01;-250.00;20261001-AAAA1111
+                2026-10-01;200.00;20261001-AAAA1111
+                """));
+
+        assertEquals(0, result.matched());
+        assertEquals(1, result.problems().size());
+        assertTrue(result.problems().get(0).contains("20261001-AAAA1111"));
+        verifyNoInteractions(paymentService);
+    }
+
+    @Test
+    void reconcile_matchesTransactionRefWithSeparators() throws Exception {
+        BankStatementReconciliationService service = service(500,
+                transfer(1, "20261001-AAAA1111", "PP/2026/0017", "40"),
+                transfer(2, "20261002-BBBB2222", "sepa_ref.99:A", "60"),
+                transfer(3, "20261003-CCCC3333", "Order 4711", "70"));
+
+        ReconciliationResult result = service.reconcile(csv("""
+                date;amount;reference
+                2026-10-01;40;Payment PP/2026/0017 thanks
+                2026-10-02;60;SEPA_REF.99:A
+                2026-10-03;70;order  4711
+                2026-10-03;70;Order 4712
+                """));
+
+        assertEquals(3, result.matched());
+        assertEquals(1, result.unmatched());
+        verify(paymentService).markTransfersPaid(argThat(batch -> paymentIds(batch).equals(Set.of(1L, 2L, 3L))));
+    }
+
+    @Test
+    void reconcile_twoTransfersOfOneBooking_picksTheFittingAmount() throws Exception {
+        BankStatementReconciliationService service = service(500,
+                transfer(1, "20261001-AAAA1111", null, "100.00"),
+                transfer(2, "20261001-AAAA1111", null, "300.00"));
+
+        ReconciliationResult result = service.reconcile(csv("""
+                date;amount;reference
+                2026-10-01;300.00;20261001-AAAA1111 balance
+                2026-10-02;100.00;20261001-AAAA1111 deposit
+                """));
+
+        assertEquals(2, result.matched());
+        assertTrue(result.problems().isEmpty(), () -> result.problems().toString());
+        verify(paymentService).markTransfersPaid(argThat(batch -> batch.stream().map(PendingTransfer::paymentId).toList()
+                .equals(List.of(2L, 1L))));
+    }
+
+    @Test
+    void reconcile_paysEachTransferOnce() throws Exception {
+        BankStatementReconciliationService service = service(500, transfer(1, "20261001-AAAA1111", "TRX-1", "50"));
+
+        ReconciliationResult result = service.reconcile(csv("""
+                date;amount;reference
+                2026-10-01;50;20261001-AAAA1111
+                2026-10-02;50;TRX-1
+                """));
+
+        assertEquals(1, result.matched());
+        assertEquals(1, result.unmatched());
+        verify(paymentService).markTransfersPaid(argThat(batch -> batch.size() == 1));
+    }
+
+    @Test
+    void reconcile_reportsPaymentsNoLongerPending() throws Exception {
+        BankStatementReconciliationService service = service(500,
+                transfer(1, "20261001-AAAA1111", null, "50"),
+                transfer(2, "20261002-BBBB2222", null, "50"));
+        // Payment 2 was paid by hand after the statement was matched
+        doReturn(Set.of(1L)).when(paymentService).markTransfersPaid(any());
+
+        ReconciliationResult result = service.reconcile(csv("""
+                date;amount;reference
+                2026-10-01;50;20261001-AAAA1111
+                2026-10-02;50;20261002-BBBB2222
+                """));
+
+        assertEquals(1, result.matched());
+        assertEquals(1, result.unmatched());
+        assertEquals(1, result.problems().size());
+        assertTrue(result.problems().get(0).contains("20261002-BBBB2222"));
+    }
+
+    @Test
+    void reconcile_appliesMatchesInBatches() throws Exception {
+        List<PendingTransfer> transfers = new ArrayList<>();
+        StringBuilder statement = new StringBuilder("date;amount;reference\n");
+        for (int i = 1; i <= 25; i++) {
+            transfers.add(transfer(i, "B-" + i, null, "10"));
+            statement.append("2026-10-01;10;B-").append(i).append('\n');
+        }
+        BankStatementReconciliationService service = service(10, transfers.toArray(PendingTransfer[]::new));
+
+        assertEquals(25, service.reconcile(csv(statement.toString())).matched());
+
+        // 10 + 10 + 5
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(transactionManager, times(3)).commit(any());
+        verify(paymentService, times(3)).markTransfersPaid(any());
+    }
+
+    @Test
+    void reconcile_largeStatement_matchesEveryTransfer() throws Exception {
+        int lines = 100_000;
+        List<PendingTransfer> transfers = new ArrayList<>();
+        StringBuilder statement = new StringBuilder("date;amount;reference\n");
+        for (int i = 1; i <= lines; i++) {
+            // Every second line pays a pending transfer, the others are unrelated credits
+            if (i % 2 == 0) {
+                transfers.add(transfer(i, String.format("20261001-%08d", i), null, "120.00"));
+                statement.append("2026-10-01;120,00;Booking 20261001-").append(String.format("%08d", i)).append('\n');
+            } else {
+                statement.append("2026-10-01;35,00;Invoice 4711 other customer ").append(i).append('\n');
+            }
+        }
+        BankStatementReconciliationService service = service(500, transfers.toArray(PendingTransfer[]::new));
+
+        ReconciliationResult result = service.reconcile(csv(statement.toString()));
+
+        assertEquals(lines, result.lines());
+        assertEquals(lines / 2, result.matched());
+        verify(transactionManager, times(lines / 2 / 500)).commit(any());
+    }
+
+    private static Set<Long> paymentIds(Collection<PendingTransfer> batch) {
+        return batch.stream().map(PendingTransfer::paymentId).collect(Collectors.toSet());
+    }
+
+    @Test
+    void parseAmount_acceptsGermanAndEnglishFormats() {
+        assertEquals(new BigDecimal("1234.56"), BankStatementReconciliationService.parseAmount("1.234,56 €"));
+        assertEquals(new BigDecimal("1234.56"), BankStatementReconciliationService.parseAmount("1,234.56"));
+        assertEquals(new BigDecimal("-12.50"), BankStatementReconciliationService.parseAmount("-12.50"));
+        assertNull(BankStatementReconciliationService.parseAmount("n/a"));
+    }
+}
@@ -0,0 +1,125 @@
+package com.hotel.booking.service;
+
+/*
+ Kurze Erklärungen zu gängigen Test-Annotationen und Hilfsobjekten:
+ - @Mock: Erzeugt ein Mock-Objekt, das Aufrufe aufzeichnet und Verhalten stubbed.
+ - @InjectMocks: Erzeugt das zu testende Objekt und injiziert @Mock-Felder darin.
+ - @BeforeEach: Diese Methode läuft vor jedem Test zur Vorbereitung (Setup).
+ - @Test: Kennzeichnet eine Testmethode (JUnit 5 / Jupiter).
+ - assertEquals(expected, actual): Prüft, ob erwarteter und tatsächlicher Wert gleich sind (Reihenfolge wichtig).
+ - assertTrue(condition) / assertFalse(condition): Prüfen Wahrheitswerte in Tests.
+ - assertNull(x) / assertNotNull(x): Prüfen, ob ein Objekt (nicht) null ist.
+ - ArgumentCaptor<T>: Fängt Argumente ab, die an Mock-Methoden übergeben wurden, zum genaueren Prüfen.
+ - mock(Class.class): Erstellt ein Mockito-Mock-Objekt zur Isolierung von Abhängigkeiten.
+ - when(mock.method(...)).thenReturn(value): Stubbt das Rückgabeverhalten eines Mock-Objekts.
+ - any(): Matcher, der jeden Wert passenden Typs akzeptiert (z.B. any(String.class)).
+ - times(n) / never(): Geben an, wie oft eine Mock-Methode erwartet wird (z.B. verify(mock, times(1))).
+ - doReturn()/doThrow(): Alternative Stubbing-Syntax (z. B. für void-Methoden oder Spies).
+ - MimeMessage: Repräsentiert eine E-Mail (HTML/Multipart) aus dem JavaMail API.
+ - verify(mock).method(...): Überprüft Aufrufe auf Mocks; oft kombiniert mit ArgumentCaptor oder Matchern.
+*/
+
+
+
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.entity.BookingCancellation;
+import com.hotel.booking.entity.Invoice;
+import com.hotel.booking.entity.Payment;
+import com.hotel.booking.repository.BookingCancellationRepository;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.PaymentRepository;
+import com.hotel.booking.testsupport.HotelTestData;
+import com.hotel.booking.testsupport.QueryCountTest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.hotel.booking.testsupport.QueryAssertions.assertQueries;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Batch lookups of {@link BookingLookupService}: three {@code IN} queries per batch,
+ * regardless of the number of bookings.
+ */
+@QueryCountTest(BookingLookupService.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class BookingLookupServiceTest {
+
+    private static final int BOOKINGS = 10;
+
+    @Autowired BookingLookupService bookingLookupService;
+    @Autowired BookingRepository bookingRepository;
+    @Autowired PaymentRepository paymentRepository;
+    @Autowired BookingCancellationRepository cancellationRepository;
+    @Autowired HotelTestData testData;
+
+    private List<Long> bookingIds;
+    private Long firstBookingId;
+
+    @BeforeAll
+    void seed() {
+        firstBookingId = testData.seed(BOOKINGS).bookingId();
+        List<Booking> bookings = bookingRepository.findAll();
+        bookingIds = bookings.stream().map(Booking::getId).toList();
+
+        // Two payments per booking; the first booking was cancelled twice
+        for (Booking booking : bookings) {
+            paymentRepository.save(payment(booking, Invoice.PaymentStatus.PENDING));
+            paymentRepository.save(payment(booking, Invoice.PaymentStatus.PAID));
+        }
+        Booking first = bookings.stream().filter(b -> b.getId().equals(firstBookingId)).findFirst().orElseThrow();
+        cancellationRepository.save(cancellation(first, LocalDateTime.now().minusDays(2), "10.00"));
+        cancellationRepository.save(cancellation(first, LocalDateTime.now().minusDays(1), "25.00"));
+    }
+
+    @Test
+    public void load_resolvesAllBookingsWithThreeQueries() {
+        BookingLookups lookups = assertQueries(3, () -> bookingLookupService.load(bookingIds));
+
+        for (Long id : bookingIds) {
+            assertTrue(lookups.covers(id));
+            assertEquals(2, lookups.payments(id).size());
+            assertTrue(lookups.invoice(id).isPresent());
+        }
+        assertEquals(new BigDecimal("25.00"), lookups.latestCancellation(firstBookingId).orElseThrow().getCancellationFee());
+        assertTrue(lookups.latestCancellation(bookingIds.get(1)).isEmpty());
+    }
+
+    @Test
+    public void load_withoutBookings_runsNoQuery() {
+        BookingLookups lookups = assertQueries(0, () -> bookingLookupService.load(List.of()));
+
+        assertFalse(lookups.covers(firstBookingId));
+        assertTrue(lookups.payments(firstBookingId).isEmpty());
+    }
+
+    @Test
+    public void loadMissing_onlyQueriesUncoveredBookings() {
+        BookingLookups firstPage = bookingLookupService.load(bookingIds.subList(0, 5));
+
+        assertSame(firstPage, assertQueries(0, () -> bookingLookupService.loadMissing(firstPage, bookingIds.subList(0, 5))));
+
+        BookingLookups both = assertQueries(3, () -> bookingLookupService.loadMissing(firstPage, bookingIds));
+        bookingIds.forEach(id -> assertEquals(2, both.payments(id).size()));
+    }
+
+    private static Payment payment(Booking booking, Invoice.PaymentStatus status) {
+        Payment payment = new Payment(booking.getTotalPrice(), Invoice.PaymentMethod.CARD);
+        payment.setBooking(booking);
+        payment.setStatus(status);
+        return payment;
+    }
+
+    private static BookingCancellation cancellation(Booking booking, LocalDateTime at, String fee) {
+        BookingCancellation cancellation = new BookingCancellation();
+        cancellation.setBooking(booking);
+        cancellation.setCancelledAt(at);
+        cancellation.setCancellationFee(new BigDecimal(fee));
+        return cancellation;
+    }
+}
@@ -23,9 +23,14 @@ import com.hotel.booking.entity.*;
 import com.hotel.booking.repository.BookingRepository;
 import com.hotel.booking.repository.RoomCategoryRepository;
 import com.hotel.booking.repository.RoomRepository;
+import com.hotel.booking.repository.projection.BookingRow;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -174,4 +179,35 @@ class BookingServiceTest {
         double avg = service.getAverageRatingForCategory(cat);
         assertEquals(3.0, avg);
     }
-}
\ No newline at end of file
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findBookings_unsortedPage_loadsNewestFirstRowsWithoutCount() {
+        BookingRow row = new BookingRow(1L, "BK-1", "Anna Muster", "101", 2,
+                LocalDate.now(), LocalDate.now().plusDays(2), BigDecimal.TEN, BookingStatus.CONFIRMED, LocalDate.now());
+        when(bookingRepository.findBookingRows(any(), any(Pageable.class))).thenReturn(List.of(row));
+
+        List<BookingRow> result = service.findBookings(BookingFilter.none(), PageRequest.of(2, 25));
+
+        assertEquals(List.of(row), result);
+        ArgumentCaptor<Pageable> page = ArgumentCaptor.forClass(Pageable.class);
+        verify(bookingRepository).findBookingRows(any(), page.capture());
+        assertEquals(2, page.getValue().getPageNumber());
+        assertEquals(25, page.getValue().getPageSize());
+        assertEquals(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")), page.getValue().getSort());
+        verify(bookingRepository, never()).findAll();
+        verify(bookingRepository, never()).findAll(any(Specification.class));
+        verify(bookingRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void countBookings_usesSingleCountQuery() {
+        when(bookingRepository.count(any(Specification.class))).thenReturn(42L);
+
+        long count = service.countBookings(new BookingFilter("smith", BookingStatus.CONFIRMED, null, "Suite"));
+
+        assertEquals(42L, count);
+        verify(bookingRepository, never()).findAll();
+    }
+}
@@ -0,0 +1,141 @@
+package com.hotel.booking.service;
+
+/*
+ Kurze Erklärungen zu gängigen Test-Annotationen und Hilfsobjekten:
+ - @Mock: Erzeugt ein Mock-Objekt, das Aufrufe aufzeichnet und Verhalten stubbed.
+ - @InjectMocks: Erzeugt das zu testende Objekt und injiziert @Mock-Felder darin.
+ - @BeforeEach: Diese Methode läuft vor jedem Test zur Vorbereitung (Setup).
+ - @Test: Kennzeichnet eine Testmethode (JUnit 5 / Jupiter).
+ - assertEquals(expected, actual): Prüft, ob erwarteter und tatsächlicher Wert gleich sind (Reihenfolge wichtig).
+ - assertTrue(condition) / assertFalse(condition): Prüfen Wahrheitswerte in Tests.
+ - assertNull(x) / assertNotNull(x): Prüfen, ob ein Objekt (nicht) null ist.
+ - ArgumentCaptor<T>: Fängt Argumente ab, die an Mock-Methoden übergeben wurden, zum genaueren Prüfen.
+ - mock(Class.class): Erstellt ein Mockito-Mock-Objekt zur Isolierung von Abhängigkeiten.
+ - when(mock.method(...)).thenReturn(value): Stubbt das Rückgabeverhalten eines Mock-Objekts.
+ - any(): Matcher, der jeden Wert passenden Typs akzeptiert (z.B. any(String.class)).
+ - times(n) / never(): Geben an, wie oft eine Mock-Methode erwartet wird (z.B. verify(mock, times(1))).
+ - doReturn()/doThrow(): Alternative Stubbing-Syntax (z. B. für void-Methoden oder Spies).
+ - MimeMessage: Repräsentiert eine E-Mail (HTML/Multipart) aus dem JavaMail API.
+ - verify(mock).method(...): Überprüft Aufrufe auf Mocks; oft kombiniert mit ArgumentCaptor oder Matchern.
+*/
+
+
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.entity.RoomCategory;
+import com.hotel.booking.entity.RoomImage;
+import com.hotel.booking.event.EntityChangePublisher;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.RoomCategoryRepository;
+import com.hotel.booking.testsupport.HotelTestData;
+import com.hotel.booking.testsupport.QueryCountTest;
+import com.hotel.booking.testsupport.QueryCounter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the rows and statements needed to show a page of {@value #BOOKINGS} bookings together
+ * with the images and amenities of their categories.
+ * <p>
+ * <b>Before</b> is the same finder without an entity graph, as declared under the former
+ * EAGER mapping: the bookings alone, then invoice and feedback one booking at a time (the inverse
+ * one-to-one sides cannot be proxied). <b>After</b> is the current plan: the bookings with the
+ * {@link Booking#GRAPH_REPORT} graph, then the images of all distinct categories in one batch and
+ * their amenities in one subselect. The figures are logged; the assertions guard both plans.
+ * </p>
+ */
+@QueryCountTest({BookingService.class, RoomCategoryService.class, EntityChangePublisher.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class CategoryFetchBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryFetchBenchmarkTest.class);
+
+    private static final int BOOKINGS = 1_000;
+    private static final int IMAGES_PER_CATEGORY = 4;
+
+    @MockitoBean
+    EmailService emailService;
+
+    @MockitoBean
+    BookingModificationService modificationService;
+
+    @Autowired BookingRepository bookingRepository;
+    @Autowired RoomCategoryRepository roomCategoryRepository;
+    @Autowired HotelTestData testData;
+    @Autowired EntityManager entityManager;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+
+    @BeforeAll
+    void seed() {
+        transaction = new TransactionTemplate(transactionManager);
+        testData.seed(BOOKINGS);
+        transaction.executeWithoutResult(status -> roomCategoryRepository.findAll().forEach(category -> {
+            for (int i = category.getImages().size(); i < IMAGES_PER_CATEGORY; i++) {
+                category.getImages().add(new RoomImage(category.getName().toLowerCase() + "-" + i + ".jpg", category));
+            }
+        }));
+    }
+
+    @Test
+    public void bookingPage_readsEachCategoryCollectionOnce() {
+        LocalDate today = LocalDate.now();
+
+        Measurement before = measure(() -> touchCategories(entityManager.createQuery(
+                        "SELECT b FROM Booking b WHERE b.createdAt BETWEEN :from AND :to", Booking.class)
+                .setParameter("from", today)
+                .setParameter("to", today)
+                .getResultList()));
+
+        Measurement after = measure(() -> touchCategories(
+                bookingRepository.findByCreatedAtLessThanEqualAndCreatedAtGreaterThanEqual(today, today)));
+
+        log.info("{} bookings, 2 categories with {} images and 2 amenities each", BOOKINGS, IMAGES_PER_CATEGORY);
+        log.info("before (no graph): {} statements, {} rows", before.statements(), before.rows());
+        log.info("after (graph + batch): {} statements, {} rows", after.statements(), after.rows());
+
+        assertEquals(BOOKINGS, before.bookings());
+        assertEquals(BOOKINGS, after.bookings());
+        // Bookings, invoice and feedback per booking, then categories, images and amenities
+        assertEquals(1 + 2 * BOOKINGS + 3, before.statements());
+        // Bookings, images of both categories in one batch, amenities of both in one subselect
+        assertEquals(3, after.statements());
+        assertEquals(BOOKINGS + 2L * IMAGES_PER_CATEGORY + 2L * 2, after.rows());
+        assertTrue(after.statements() < before.statements());
+        assertTrue(after.rows() < before.rows());
+    }
+
+    private static List<Booking> touchCategories(List<Booking> bookings) {
+        bookings.forEach(b -> {
+            b.getRoomCategory().getImages().size();
+            b.getRoomCategory().getAmenities().size();
+        });
+        return bookings;
+    }
+
+    // Runs the load and the collection access in one transaction and records what it cost
+    private Measurement measure(Supplier<List<Booking>> load) {
+        return transaction.execute(status -> {
+            QueryCounter.reset();
+            int bookings = load.get().size();
+            return new Measurement(bookings, QueryCounter.count(), QueryCounter.rows());
+        });
+    }
+
+    private record Measurement(int bookings, int statements, long rows) {
+    }
+}
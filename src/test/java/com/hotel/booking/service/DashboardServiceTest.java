@@ -0,0 +1,93 @@
+package com.hotel.booking.service;
+
+/*
+ Kurze Erklärungen zu gängigen Test-Annotationen und Hilfsobjekten:
+ - @Mock: Erzeugt ein Mock-Objekt, das Aufrufe aufzeichnet und Verhalten stubbed.
+ - @InjectMocks: Erzeugt das zu testende Objekt und injiziert @Mock-Felder darin.
+ - @BeforeEach: Diese Methode läuft vor jedem Test zur Vorbereitung (Setup).
+ - @Test: Kennzeichnet eine Testmethode (JUnit 5 / Jupiter).
+ - assertEquals(expected, actual): Prüft, ob erwarteter und tatsächlicher Wert gleich sind (Reihenfolge wichtig).
+ - assertTrue(condition) / assertFalse(condition): Prüfen Wahrheitswerte in Tests.
+ - assertNull(x) / assertNotNull(x): Prüfen, ob ein Objekt (nicht) null ist.
+ - ArgumentCaptor<T>: Fängt Argumente ab, die an Mock-Methoden übergeben wurden, zum genaueren Prüfen.
+ - mock(Class.class): Erstellt ein Mockito-Mock-Objekt zur Isolierung von Abhängigkeiten.
+ - when(mock.method(...)).thenReturn(value): Stubbt das Rückgabeverhalten eines Mock-Objekts.
+ - any(): Matcher, der jeden Wert passenden Typs akzeptiert (z.B. any(String.class)).
+ - times(n) / never(): Geben an, wie oft eine Mock-Methode erwartet wird (z.B. verify(mock, times(1))).
+ - doReturn()/doThrow(): Alternative Stubbing-Syntax (z. B. für void-Methoden oder Spies).
+ - MimeMessage: Repräsentiert eine E-Mail (HTML/Multipart) aus dem JavaMail API.
+ - verify(mock).method(...): Überprüft Aufrufe auf Mocks; oft kombiniert mit ArgumentCaptor oder Matchern.
+*/
+
+
+import com.hotel.booking.entity.BookingStatus;
+import com.hotel.booking.entity.Invoice;
+import com.hotel.booking.entity.RoomStatus;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.RoomRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DashboardServiceTest {
+
+    @Mock
+    BookingRepository bookingRepository;
+
+    @Mock
+    RoomRepository roomRepository;
+
+    @InjectMocks
+    DashboardService dashboardService;
+
+    @Test
+    public void getSnapshot_mapsBothAggregatesWithTwoQueries() {
+        LocalDate today = LocalDate.now();
+        when(bookingRepository.summarizeDay(today, BookingStatus.CANCELLED, Invoice.PaymentStatus.PENDING))
+            .thenReturn(List.<Object[]>of(new Object[] {7L, 2L, 3L, new BigDecimal("480.50"), 4L}));
+        when(roomRepository.countGroupedByStatus()).thenReturn(List.of(
+            new Object[] {RoomStatus.OCCUPIED, 5L},
+            new Object[] {RoomStatus.AVAILABLE, 9L}));
+
+        DashboardSnapshot snapshot = dashboardService.getSnapshot();
+
+        assertEquals(today, snapshot.date());
+        assertEquals(7, snapshot.guestsPresent());
+        assertEquals(2, snapshot.checkinsToday());
+        assertEquals(3, snapshot.checkoutsToday());
+        assertEquals(0, snapshot.revenueToday().compareTo(new BigDecimal("480.50")));
+        assertEquals(4, snapshot.pendingInvoices());
+        assertEquals(5L, snapshot.occupiedRooms());
+        assertEquals(9L, snapshot.availableRooms());
+        assertEquals(0L, snapshot.roomsByStatus().get(RoomStatus.CLEANING));
+
+        // Query budget per dashboard render: one booking aggregate + one room GROUP BY
+        verify(bookingRepository, times(1)).summarizeDay(any(), any(), any());
+        verify(roomRepository, times(1)).countGroupedByStatus();
+        verifyNoMoreInteractions(bookingRepository, roomRepository);
+    }
+
+    @Test
+    public void getSnapshot_withoutBookings_returnsZeros() {
+        when(bookingRepository.summarizeDay(any(), any(), any()))
+            .thenReturn(List.<Object[]>of(new Object[] {0L, 0L, 0L, BigDecimal.ZERO, 0L}));
+        when(roomRepository.countGroupedByStatus()).thenReturn(List.of());
+
+        DashboardSnapshot snapshot = dashboardService.getSnapshot();
+
+        assertEquals(0, snapshot.guestsPresent());
+        assertEquals(0, snapshot.revenueToday().compareTo(BigDecimal.ZERO));
+        assertEquals(0L, snapshot.occupiedRooms());
+    }
+}
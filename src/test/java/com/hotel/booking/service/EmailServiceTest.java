@@ -55,7 +55,7 @@ class EmailServiceTest {
     JavaMailSender mailSender;
 
     @Mock
-    InvoicePdfService invoicePdfService;
+    InvoicePdfCache invoicePdfCache;
 
     @Mock
     BookingModificationService modificationService;
@@ -150,7 +150,7 @@ class EmailServiceTest {
         when(booking.getGuest()).thenReturn(guest);
         when(invoice.getBooking()).thenReturn(booking);
         when(invoice.getInvoiceNumber()).thenReturn("INV-1");
-        when(invoicePdfService.generateInvoicePdf(invoice)).thenReturn("pdf".getBytes());
+        when(invoicePdfCache.getPdf(invoice)).thenReturn("pdf".getBytes());
 
         emailService.sendInvoiceCreated(invoice);
 
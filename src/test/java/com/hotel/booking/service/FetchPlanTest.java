@@ -0,0 +1,186 @@
+package com.hotel.booking.service;
+
+/*
+ Kurze Erklärungen zu gängigen Test-Annotationen und Hilfsobjekten:
+ - @Mock: Erzeugt ein Mock-Objekt, das Aufrufe aufzeichnet und Verhalten stubbed.
+ - @InjectMocks: Erzeugt das zu testende Objekt und injiziert @Mock-Felder darin.
+ - @BeforeEach: Diese Methode läuft vor jedem Test zur Vorbereitung (Setup).
+ - @Test: Kennzeichnet eine Testmethode (JUnit 5 / Jupiter).
+ - assertEquals(expected, actual): Prüft, ob erwarteter und tatsächlicher Wert gleich sind (Reihenfolge wichtig).
+ - assertTrue(condition) / assertFalse(condition): Prüfen Wahrheitswerte in Tests.
+ - assertNull(x) / assertNotNull(x): Prüfen, ob ein Objekt (nicht) null ist.
+ - ArgumentCaptor<T>: Fängt Argumente ab, die an Mock-Methoden übergeben wurden, zum genaueren Prüfen.
+ - mock(Class.class): Erstellt ein Mockito-Mock-Objekt zur Isolierung von Abhängigkeiten.
+ - when(mock.method(...)).thenReturn(value): Stubbt das Rückgabeverhalten eines Mock-Objekts.
+ - any(): Matcher, der jeden Wert passenden Typs akzeptiert (z.B. any(String.class)).
+ - times(n) / never(): Geben an, wie oft eine Mock-Methode erwartet wird (z.B. verify(mock, times(1))).
+ - doReturn()/doThrow(): Alternative Stubbing-Syntax (z. B. für void-Methoden oder Spies).
+ - MimeMessage: Repräsentiert eine E-Mail (HTML/Multipart) aus dem JavaMail API.
+ - verify(mock).method(...): Überprüft Aufrufe auf Mocks; oft kombiniert mit ArgumentCaptor oder Matchern.
+*/
+
+
+
+
+
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.entity.Feedback;
+import com.hotel.booking.entity.Invoice;
+import com.hotel.booking.entity.Room;
+import com.hotel.booking.entity.RoomCategory;
+import com.hotel.booking.event.EntityChangePublisher;
+import com.hotel.booking.repository.RoomCategoryRepository;
+import com.hotel.booking.testsupport.HotelTestData;
+import com.hotel.booking.testsupport.QueryCountTest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.hotel.booking.testsupport.QueryAssertions.assertQueryCount;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the fetch plan of the service calls whose entities leave the transaction.
+ * <p>
+ * Runs against H2 without a surrounding test transaction, so every service call returns
+ * detached entities exactly as the views receive them. Each test asserts the number of SQL
+ * statements of the call and then reads everything its caller reads: a missing entity graph
+ * shows up as {@code LazyInitializationException}, a superfluous secondary select as a higher
+ * statement count.
+ * </p>
+ */
+@QueryCountTest({BookingService.class, InvoiceService.class, FeedbackService.class,
+        RoomService.class, RoomCategoryService.class, EntityChangePublisher.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class FetchPlanTest {
+
+    @MockitoBean
+    EmailService emailService;
+
+    @MockitoBean
+    BookingModificationService modificationService;
+
+    @Autowired BookingService bookingService;
+    @Autowired InvoiceService invoiceService;
+    @Autowired FeedbackService feedbackService;
+    @Autowired RoomService roomService;
+    @Autowired RoomCategoryService roomCategoryService;
+    @Autowired RoomCategoryRepository roomCategoryRepository;
+    @Autowired HotelTestData testData;
+
+    private Long guestId;
+    private Long categoryId;
+    private Long bookingId;
+    private Long invoiceId;
+
+    @BeforeAll
+    void seed() {
+        HotelTestData.Seed seed = testData.seed(6);
+        guestId = seed.guestId();
+        categoryId = seed.categoryId();
+        bookingId = seed.bookingId();
+        invoiceId = seed.invoiceId();
+    }
+
+    @Test
+    public void findById_loadsDetailGraphInOneStatement() {
+        Booking booking = assertQueryCount(1, () -> bookingService.findById(bookingId).orElseThrow());
+
+        assertEquals("guest1", booking.getGuest().getUsername());
+        assertEquals("101", booking.getRoom().getRoomNumber());
+        assertEquals("Single", booking.getRoomCategory().getName());
+        assertEquals(1, booking.getExtras().size());
+        assertEquals("INV-0", booking.getInvoice().getInvoiceNumber());
+        assertEquals(4, booking.getFeedback().getRating());
+    }
+
+    @Test
+    public void findAllBookingsForGuest_loadsDetailGraphInOneStatement() {
+        List<Booking> bookings = assertQueryCount(1, () -> bookingService.findAllBookingsForGuest(guestId));
+
+        assertEquals(3, bookings.size());
+        bookings.forEach(b -> {
+            assertNotNull(b.getGuest().getEmail());
+            assertNotNull(b.getRoom().getRoomNumber());
+            assertNotNull(b.getRoomCategory().getPricePerNight());
+            assertEquals(1, b.getExtras().size());
+        });
+    }
+
+    @Test
+    public void findPastBookingsForGuest_loadsSummaryGraphInOneStatement() {
+        List<Booking> bookings = assertQueryCount(1, () -> bookingService.findPastBookingsForGuest(guestId));
+
+        assertEquals(2, bookings.size());
+        bookings.forEach(b -> {
+            assertNotNull(b.getFeedback());
+            assertNotNull(b.getRoomCategory().getName());
+            assertNotNull(b.getRoom().getRoomNumber());
+        });
+    }
+
+    @Test
+    public void getAllBookingsInPeriod_loadsReportGraphInOneStatement() {
+        LocalDate today = LocalDate.now();
+        List<Booking> bookings = assertQueryCount(1, () -> bookingService.getAllBookingsInPeriod(today, today));
+
+        assertEquals(6, bookings.size());
+        bookings.forEach(b -> {
+            assertNotNull(b.getRoomCategory().getName());
+            assertEquals(1, b.getExtras().size());
+        });
+    }
+
+    @Test
+    public void getAverageRatingForCategory_readsFeedbackWithoutSecondarySelects() {
+        RoomCategory category = roomCategoryRepository.findById(categoryId).orElseThrow();
+
+        double average = assertQueryCount(1, () -> bookingService.getAverageRatingForCategory(category));
+
+        assertEquals(4.0, average);
+    }
+
+    @Test
+    public void invoiceFindById_loadsPdfGraphInOneStatement() {
+        Invoice invoice = assertQueryCount(1, () -> invoiceService.findById(invoiceId).orElseThrow());
+
+        Booking booking = invoice.getBooking();
+        assertEquals("guest1@example.com", booking.getGuest().getEmail());
+        assertEquals("101", booking.getRoom().getRoomNumber());
+        assertEquals("Single", booking.getRoomCategory().getName());
+        assertEquals("Breakfast", booking.getExtras().iterator().next().getName());
+    }
+
+    @Test
+    public void feedbackFindByRoomCategoryId_loadsBookingCategoryInOneStatement() {
+        List<Feedback> reviews = assertQueryCount(1, () -> feedbackService.findByRoomCategoryId(categoryId));
+
+        assertEquals(2, reviews.size());
+        reviews.forEach(f -> assertEquals("Single", f.getBooking().getRoomCategory().getName()));
+    }
+
+    @Test
+    public void getAllRooms_loadsCategoryInOneStatement() {
+        List<Room> rooms = assertQueryCount(1, () -> roomService.getAllRooms());
+
+        assertEquals(6, rooms.size());
+        rooms.forEach(r -> assertNotNull(r.getCategory().getName()));
+    }
+
+    @Test
+    public void getAllRoomCategories_loadsImagesAndAmenitiesInTwoStatements() {
+        // Categories with images joined, then all amenities with one subselect
+        List<RoomCategory> categories = assertQueryCount(2, () -> roomCategoryService.getAllRoomCategories());
+
+        assertEquals(2, categories.size());
+        categories.forEach(c -> {
+            assertEquals(1, c.getImages().size());
+            assertEquals(2, c.getAmenities().size());
+        });
+    }
+}
@@ -0,0 +1,132 @@
+package com.hotel.booking.service;
+
+/*
+ Kurze Erklärungen zu gängigen Test-Annotationen und Hilfsobjekten:
+ - @Mock: Erzeugt ein Mock-Objekt, das Aufrufe aufzeichnet und Verhalten stubbed.
+ - @InjectMocks: Erzeugt das zu testende Objekt und injiziert @Mock-Felder darin.
+ - @BeforeEach: Diese Methode läuft vor jedem Test zur Vorbereitung (Setup).
+ - @Test: Kennzeichnet eine Testmethode (JUnit 5 / Jupiter).
+ - assertEquals(expected, actual): Prüft, ob erwarteter und tatsächlicher Wert gleich sind (Reihenfolge wichtig).
+ - assertTrue(condition) / assertFalse(condition): Prüfen Wahrheitswerte in Tests.
+ - assertNull(x) / assertNotNull(x): Prüfen, ob ein Objekt (nicht) null ist.
+ - ArgumentCaptor<T>: Fängt Argumente ab, die an Mock-Methoden übergeben wurden, zum genaueren Prüfen.
+ - mock(Class.class): Erstellt ein Mockito-Mock-Objekt zur Isolierung von Abhängigkeiten.
+ - when(mock.method(...)).thenReturn(value): Stubbt das Rückgabeverhalten eines Mock-Objekts.
+ - any(): Matcher, der jeden Wert passenden Typs akzeptiert (z.B. any(String.class)).
+ - times(n) / never(): Geben an, wie oft eine Mock-Methode erwartet wird (z.B. verify(mock, times(1))).
+ - doReturn()/doThrow(): Alternative Stubbing-Syntax (z. B. für void-Methoden oder Spies).
+ - MimeMessage: Repräsentiert eine E-Mail (HTML/Multipart) aus dem JavaMail API.
+ - verify(mock).method(...): Überprüft Aufrufe auf Mocks; oft kombiniert mit ArgumentCaptor oder Matchern.
+*/
+
+
+
+
+import com.hotel.booking.entity.BookingStatus;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.projection.BookingRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class FrontDeskServiceTest {
+
+    @Mock
+    BookingRepository bookingRepository;
+
+    @InjectMocks
+    FrontDeskService frontDeskService;
+
+    private static BookingRow row(long id, String number, BookingStatus status) {
+        LocalDate today = LocalDate.now();
+        return new BookingRow(id, number, "Anna Muster", "101", 2, today, today.plusDays(2),
+                BigDecimal.TEN, status, today.minusDays(3));
+    }
+
+    @Test
+    public void findMovements_mergesArrivalsAndDeparturesOrderedByBookingNumber() {
+        LocalDate day = LocalDate.of(2026, 3, 10);
+        BookingRow arrival = row(1L, "BK-2", BookingStatus.CONFIRMED);
+        BookingRow departure = row(2L, "BK-1", BookingStatus.CHECKED_IN);
+        when(bookingRepository.findArrivalRows(day, FrontDeskService.ARRIVAL_STATUSES)).thenReturn(List.of(arrival));
+        when(bookingRepository.findDepartureRows(day, FrontDeskService.DEPARTURE_STATUSES)).thenReturn(List.of(departure));
+
+        List<BookingRow> movements = frontDeskService.findMovements(day);
+
+        assertEquals(List.of(departure, arrival), movements);
+        verify(bookingRepository, never()).findAll();
+    }
+
+    @Test
+    public void findArrivals_onlyRequestsBookingsThatCanStillCheckIn() {
+        LocalDate day = LocalDate.of(2026, 3, 10);
+        when(bookingRepository.findArrivalRows(eq(day), any())).thenReturn(List.of());
+
+        frontDeskService.findArrivals(day);
+
+        verify(bookingRepository).findArrivalRows(day,
+                List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED, BookingStatus.MODIFIED));
+    }
+
+    @Test
+    public void findDepartures_onlyRequestsCheckedInBookings() {
+        LocalDate day = LocalDate.of(2026, 3, 10);
+        when(bookingRepository.findDepartureRows(eq(day), any())).thenReturn(List.of());
+
+        frontDeskService.findDepartures(day);
+
+        verify(bookingRepository).findDepartureRows(day, List.of(BookingStatus.CHECKED_IN));
+    }
+
+    @Test
+    public void getHorizon_coversSevenDaysAndFillsDaysWithoutMovements() {
+        LocalDate from = LocalDate.of(2026, 3, 10);
+        LocalDate to = from.plusDays(6);
+        when(bookingRepository.countArrivalsPerDay(from, to, FrontDeskService.ARRIVAL_STATUSES))
+                .thenReturn(List.<Object[]>of(new Object[] {from, 3L}, new Object[] {from.plusDays(2), 1L}));
+        when(bookingRepository.countDeparturesPerDay(from, to, FrontDeskService.DEPARTURE_STATUSES))
+                .thenReturn(List.<Object[]>of(new Object[] {from.plusDays(2), 2L}));
+
+        List<FrontDeskDay> horizon = frontDeskService.getHorizon(from);
+
+        assertEquals(FrontDeskService.HORIZON_DAYS, horizon.size());
+        assertEquals(new FrontDeskDay(from, 3, 0), horizon.get(0));
+        assertEquals(new FrontDeskDay(from.plusDays(1), 0, 0), horizon.get(1));
+        assertEquals(new FrontDeskDay(from.plusDays(2), 1, 2), horizon.get(2));
+        assertEquals(to, horizon.get(6).date());
+        assertFalse(horizon.get(1).hasMovements());
+        assertTrue(horizon.get(2).hasMovements());
+    }
+
+    @Test
+    public void canCheckIn_rejectsBookingChangedSinceTheRowWasRendered() {
+        LocalDate today = LocalDate.of(2026, 3, 10);
+
+        assertTrue(frontDeskService.canCheckIn(BookingStatus.CONFIRMED, today, today));
+        // Meanwhile checked in, cancelled or moved to another day
+        assertFalse(frontDeskService.canCheckIn(BookingStatus.CHECKED_IN, today, today));
+        assertFalse(frontDeskService.canCheckIn(BookingStatus.CANCELLED, today, today));
+        assertFalse(frontDeskService.canCheckIn(BookingStatus.CONFIRMED, today.plusDays(1), today));
+        assertFalse(frontDeskService.canCheckIn(null, today, today));
+    }
+
+    @Test
+    public void canCheckOut_onlyAcceptsCheckedInBookingLeavingToday() {
+        LocalDate today = LocalDate.of(2026, 3, 10);
+
+        assertTrue(frontDeskService.canCheckOut(BookingStatus.CHECKED_IN, today, today));
+        assertFalse(frontDeskService.canCheckOut(BookingStatus.COMPLETED, today, today));
+        assertFalse(frontDeskService.canCheckOut(BookingStatus.CONFIRMED, today, today));
+        assertFalse(frontDeskService.canCheckOut(BookingStatus.CHECKED_IN, today.plusDays(2), today));
+    }
+}
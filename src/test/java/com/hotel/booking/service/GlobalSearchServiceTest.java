@@ -0,0 +1,160 @@
+package com.hotel.booking.service;
+
+/*
+ Kurze Erklärungen zu gängigen Test-Annotationen und Hilfsobjekten:
+ - @Mock: Erzeugt ein Mock-Objekt, das Aufrufe aufzeichnet und Verhalten stubbed.
+ - @InjectMocks: Erzeugt das zu testende Objekt und injiziert @Mock-Felder darin.
+ - @BeforeEach: Diese Methode läuft vor jedem Test zur Vorbereitung (Setup).
+ - @Test: Kennzeichnet eine Testmethode (JUnit 5 / Jupiter).
+ - assertEquals(expected, actual): Prüft, ob erwarteter und tatsächlicher Wert gleich sind (Reihenfolge wichtig).
+ - assertTrue(condition) / assertFalse(condition): Prüfen Wahrheitswerte in Tests.
+ - assertNull(x) / assertNotNull(x): Prüfen, ob ein Objekt (nicht) null ist.
+ - ArgumentCaptor<T>: Fängt Argumente ab, die an Mock-Methoden übergeben wurden, zum genaueren Prüfen.
+ - mock(Class.class): Erstellt ein Mockito-Mock-Objekt zur Isolierung von Abhängigkeiten.
+ - when(mock.method(...)).thenReturn(value): Stubbt das Rückgabeverhalten eines Mock-Objekts.
+ - any(): Matcher, der jeden Wert passenden Typs akzeptiert (z.B. any(String.class)).
+ - times(n) / never(): Geben an, wie oft eine Mock-Methode erwartet wird (z.B. verify(mock, times(1))).
+ - doReturn()/doThrow(): Alternative Stubbing-Syntax (z. B. für void-Methoden oder Spies).
+ - MimeMessage: Repräsentiert eine E-Mail (HTML/Multipart) aus dem JavaMail API.
+ - verify(mock).method(...): Überprüft Aufrufe auf Mocks; oft kombiniert mit ArgumentCaptor oder Matchern.
+*/
+
+
+
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.entity.User;
+import com.hotel.booking.entity.UserRole;
+import com.hotel.booking.event.EntityChangedEvent;
+import com.hotel.booking.event.EntityChangedEvent.ChangeType;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.InvoiceRepository;
+import com.hotel.booking.repository.PaymentRepository;
+import com.hotel.booking.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class GlobalSearchServiceTest {
+
+    @Mock
+    BookingRepository bookingRepository;
+
+    @Mock
+    UserRepository userRepository;
+
+    @Mock
+    InvoiceRepository invoiceRepository;
+
+    @Mock
+    PaymentRepository paymentRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    // Index tasks are queued and run by runTasks(), in order, like the single index thread
+    final Queue<Runnable> tasks = new ArrayDeque<>();
+
+    GlobalSearchService globalSearchService;
+
+    @BeforeEach
+    void setUp() {
+        globalSearchService = new GlobalSearchService(bookingRepository, userRepository, invoiceRepository,
+            paymentRepository, transactionManager, tasks::add);
+        when(bookingRepository.streamSearchRows(null, null)).thenReturn(Stream.<Object[]>of(
+            new Object[] {1L, "BK-2025-0001", "Max", "Mustermann", "max@example.com"}));
+        when(userRepository.streamSearchRows(null)).thenReturn(Stream.<Object[]>of(
+            new Object[] {7L, "max", "Max", "Mustermann", "max@example.com", UserRole.GUEST}));
+        when(invoiceRepository.streamSearchRows(null)).thenReturn(Stream.<Object[]>of(
+            new Object[] {3L, "INV-0003", "BK-2025-0001", "Max", "Mustermann"}));
+        when(paymentRepository.streamSearchRows(null)).thenReturn(Stream.<Object[]>of(
+            new Object[] {4L, "TX-ABC-42", "BK-2025-0001", new BigDecimal("120.00"), "PAID"}));
+        globalSearchService.scheduleIndexBuild();
+        runTasks();
+    }
+
+    private void runTasks() {
+        for (Runnable task = tasks.poll(); task != null; task = tasks.poll()) {
+            task.run();
+        }
+    }
+
+    @Test
+    public void search_returnsTypedHitsAcrossAllRecords() {
+        List<SearchHit> hits = globalSearchService.search("bk-2025", 10);
+
+        assertEquals(3, hits.size());
+        assertTrue(hits.stream().anyMatch(h -> h.type() == SearchHit.Type.BOOKING && h.id() == 1L));
+        assertTrue(hits.stream().anyMatch(h -> h.type() == SearchHit.Type.INVOICE && h.searchKey().equals("INV-0003")));
+        assertTrue(hits.stream().anyMatch(h -> h.type() == SearchHit.Type.PAYMENT && h.searchKey().equals("TX-ABC-42")));
+
+        List<SearchHit> byEmail = globalSearchService.search("max@example", 10);
+        assertEquals(2, byEmail.size());
+        assertTrue(byEmail.stream().anyMatch(h -> h.type() == SearchHit.Type.USER));
+    }
+
+    @Test
+    public void onEntityChanged_userRenameReindexesUserAndBookings() {
+        User user = mock(User.class);
+        when(user.getId()).thenReturn(7L);
+        when(userRepository.streamSearchRows(7L)).thenReturn(Stream.<Object[]>of(
+            new Object[] {7L, "max", "Max", "Schmidt", "max@example.com", UserRole.GUEST}));
+        when(bookingRepository.streamSearchRows(null, 7L)).thenReturn(Stream.<Object[]>of(
+            new Object[] {1L, "BK-2025-0001", "Max", "Schmidt", "max@example.com"}));
+
+        globalSearchService.onEntityChanged(new EntityChangedEvent<>(user, ChangeType.UPDATED));
+        runTasks();
+
+        assertEquals(2, globalSearchService.search("schmidt", 10).size());
+        assertTrue(globalSearchService.search("mustermann", 10).stream()
+            .noneMatch(h -> h.type() == SearchHit.Type.USER || h.type() == SearchHit.Type.BOOKING));
+    }
+
+    @Test
+    public void onEntityChanged_deletedBookingIsRemovedWithoutQuery() {
+        Booking booking = mock(Booking.class);
+        when(booking.getId()).thenReturn(1L);
+
+        globalSearchService.onEntityChanged(new EntityChangedEvent<>(booking, ChangeType.DELETED));
+        runTasks();
+
+        assertTrue(globalSearchService.search("bk-2025", 10).stream()
+            .noneMatch(h -> h.type() == SearchHit.Type.BOOKING));
+        verify(bookingRepository, never()).streamSearchRows(eq(1L), any());
+    }
+
+    @Test
+    public void onEntityChanged_deletionDuringBuildIsAppliedAfterIt() {
+        GlobalSearchService service = new GlobalSearchService(bookingRepository, userRepository, invoiceRepository,
+            paymentRepository, transactionManager, tasks::add);
+        when(bookingRepository.streamSearchRows(null, null)).thenReturn(Stream.<Object[]>of(
+            new Object[] {1L, "BK-2025-0001", "Max", "Mustermann", "max@example.com"}));
+        when(userRepository.streamSearchRows(null)).thenReturn(Stream.empty());
+        when(invoiceRepository.streamSearchRows(null)).thenReturn(Stream.empty());
+        when(paymentRepository.streamSearchRows(null)).thenReturn(Stream.empty());
+        Booking booking = mock(Booking.class);
+        when(booking.getId()).thenReturn(1L);
+
+        // The deletion commits while the build is still pending; it must not be overwritten by the build
+        service.scheduleIndexBuild();
+        service.onEntityChanged(new EntityChangedEvent<>(booking, ChangeType.DELETED));
+        assertTrue(service.search("bk-2025", 10).isEmpty());
+        runTasks();
+
+        assertTrue(service.search("bk-2025", 10).isEmpty());
+    }
+}
@@ -0,0 +1,163 @@
+package com.hotel.booking.service;
+
+/*
+ Kurze Erklärungen zu gängigen Test-Annotationen und Hilfsobjekten:
+ - @Mock: Erzeugt ein Mock-Objekt, das Aufrufe aufzeichnet und Verhalten stubbed.
+ - @InjectMocks: Erzeugt das zu testende Objekt und injiziert @Mock-Felder darin.
+ - @BeforeEach: Diese Methode läuft vor jedem Test zur Vorbereitung (Setup).
+ - @Test: Kennzeichnet eine Testmethode (JUnit 5 / Jupiter).
+ - assertEquals(expected, actual): Prüft, ob erwarteter und tatsächlicher Wert gleich sind (Reihenfolge wichtig).
+ - assertTrue(condition) / assertFalse(condition): Prüfen Wahrheitswerte in Tests.
+ - assertNull(x) / assertNotNull(x): Prüfen, ob ein Objekt (nicht) null ist.
+ - ArgumentCaptor<T>: Fängt Argumente ab, die an Mock-Methoden übergeben wurden, zum genaueren Prüfen.
+ - mock(Class.class): Erstellt ein Mockito-Mock-Objekt zur Isolierung von Abhängigkeiten.
+ - when(mock.method(...)).thenReturn(value): Stubbt das Rückgabeverhalten eines Mock-Objekts.
+ - any(): Matcher, der jeden Wert passenden Typs akzeptiert (z.B. any(String.class)).
+ - times(n) / never(): Geben an, wie oft eine Mock-Methode erwartet wird (z.B. verify(mock, times(1))).
+ - doReturn()/doThrow(): Alternative Stubbing-Syntax (z. B. für void-Methoden oder Spies).
+ - MimeMessage: Repräsentiert eine E-Mail (HTML/Multipart) aus dem JavaMail API.
+ - verify(mock).method(...): Überprüft Aufrufe auf Mocks; oft kombiniert mit ArgumentCaptor oder Matchern.
+*/
+
+
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.entity.Invoice;
+import com.hotel.booking.entity.Payment;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.PaymentRepository;
+import com.hotel.booking.testsupport.HotelTestData;
+import com.hotel.booking.testsupport.QueryCountTest;
+import com.hotel.booking.testsupport.QueryCounter;
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Subgraph;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the heap that one loaded grid list keeps alive, {@value #BOOKINGS} entries each.
+ * <p>
+ * <b>Entities</b> are the bookings, invoices and payments with the graph the grids used to hold
+ * (guest, room, category, extras, invoice and feedback of the booking). <b>Rows</b> are the
+ * {@code BookingRow}, {@code InvoiceRow} and {@code PaymentRow} pages the grids load now. Both
+ * lists are detached, as in a view. The retained size is the used heap after a full GC with the
+ * list reachable minus the used heap before loading it, median of {@value #RUNS} runs. The
+ * figures are logged; the assertions only require the rows to be smaller.
+ * </p>
+ */
+@QueryCountTest({BookingService.class, InvoiceService.class, PaymentService.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class GridRowHeapBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(GridRowHeapBenchmarkTest.class);
+
+    private static final int BOOKINGS = 1_000;
+    private static final int RUNS = 3;
+
+    @MockitoBean
+    EmailService emailService;
+
+    @MockitoBean
+    BookingModificationService modificationService;
+
+    @Autowired BookingService bookingService;
+    @Autowired InvoiceService invoiceService;
+    @Autowired PaymentService paymentService;
+    @Autowired BookingRepository bookingRepository;
+    @Autowired PaymentRepository paymentRepository;
+    @Autowired HotelTestData testData;
+    @Autowired EntityManager entityManager;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+
+    @BeforeAll
+    void seed() {
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        testData.seed(BOOKINGS);
+        paymentRepository.saveAll(bookingRepository.findAll().stream().map(booking -> {
+            Payment payment = new Payment(booking.getTotalPrice(), Invoice.PaymentMethod.CARD);
+            payment.setBooking(booking);
+            payment.setStatus(Invoice.PaymentStatus.PAID);
+            payment.setTransactionRef("TXN-" + booking.getBookingNumber());
+            return payment;
+        }).toList());
+    }
+
+    @Test
+    public void gridRows_retainLessHeapThanEntities() {
+        PageRequest page = PageRequest.of(0, BOOKINGS);
+
+        long bookingEntities = retainedBytes(() -> loadEntities(Booking.class, entityManager.getEntityGraph(Booking.GRAPH_DETAIL)));
+        long bookingRows = retainedBytes(() -> bookingService.findBookings(BookingFilter.none(), page));
+        long invoiceEntities = retainedBytes(() -> loadEntities(Invoice.class, entityManager.getEntityGraph(Invoice.GRAPH_PDF)));
+        long invoiceRows = retainedBytes(() -> invoiceService.findInvoices(InvoiceFilter.forGuest(null), page));
+        long paymentEntities = retainedBytes(() -> loadEntities(Payment.class, paymentGraph()));
+        long paymentRows = retainedBytes(() -> paymentService.findPayments(PaymentFilter.forGuest(null), page));
+
+        log.info("{} entries per list, retained heap (median of {} runs):", BOOKINGS, RUNS);
+        log.info("bookings: entities {} KB -> rows {} KB", bookingEntities / 1024, bookingRows / 1024);
+        log.info("invoices: entities {} KB -> rows {} KB", invoiceEntities / 1024, invoiceRows / 1024);
+        log.info("payments: entities {} KB -> rows {} KB", paymentEntities / 1024, paymentRows / 1024);
+
+        assertTrue(bookingRows < bookingEntities, "bookings: rows " + bookingRows + " B, entities " + bookingEntities + " B");
+        assertTrue(invoiceRows < invoiceEntities, "invoices: rows " + invoiceRows + " B, entities " + invoiceEntities + " B");
+        assertTrue(paymentRows < paymentEntities, "payments: rows " + paymentRows + " B, entities " + paymentEntities + " B");
+    }
+
+    // Loads all entities of the type with the graph in its own transaction; they are detached afterwards
+    private <T> List<T> loadEntities(Class<T> type, EntityGraph<?> graph) {
+        List<T> entities = transaction.execute(status -> entityManager
+                .createQuery("SELECT e FROM " + type.getSimpleName() + " e", type)
+                .setHint("jakarta.persistence.fetchgraph", graph)
+                .getResultList());
+        assertEquals(BOOKINGS, entities.size());
+        return entities;
+    }
+
+    // The booking graph the payment grid used to hold
+    private EntityGraph<Payment> paymentGraph() {
+        EntityGraph<Payment> graph = entityManager.createEntityGraph(Payment.class);
+        Subgraph<Booking> booking = graph.addSubgraph("booking");
+        booking.addAttributeNodes("guest", "room", "roomCategory", "extras", "invoice", "feedback");
+        return graph;
+    }
+
+    private static long retainedBytes(Supplier<List<?>> load) {
+        load.get();
+        long[] samples = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            QueryCounter.reset();
+            long before = usedHeapAfterGc();
+            List<?> list = load.get();
+            samples[i] = usedHeapAfterGc() - before;
+            Reference.reachabilityFence(list);
+        }
+        Arrays.sort(samples);
+        return samples[RUNS / 2];
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
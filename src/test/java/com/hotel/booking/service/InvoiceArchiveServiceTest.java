@@ -0,0 +1,157 @@
+package com.hotel.booking.service;
+
+/*
+ Kurze Erklärungen zu gängigen Test-Annotationen und Hilfsobjekten:
+ - @Mock: Erzeugt ein Mock-Objekt, das Aufrufe aufzeichnet und Verhalten stubbed.
+ - @InjectMocks: Erzeugt das zu testende Objekt und injiziert @Mock-Felder darin.
+ - @BeforeEach: Diese Methode läuft vor jedem Test zur Vorbereitung (Setup).
+ - @Test: Kennzeichnet eine Testmethode (JUnit 5 / Jupiter).
+ - assertEquals(expected, actual): Prüft, ob erwarteter und tatsächlicher Wert gleich sind (Reihenfolge wichtig).
+ - assertTrue(condition) / assertFalse(condition): Prüfen Wahrheitswerte in Tests.
+ - assertNull(x) / assertNotNull(x): Prüfen, ob ein Objekt (nicht) null ist.
+ - ArgumentCaptor<T>: Fängt Argumente ab, die an Mock-Methoden übergeben wurden, zum genaueren Prüfen.
+ - mock(Class.class): Erstellt ein Mockito-Mock-Objekt zur Isolierung von Abhängigkeiten.
+ - when(mock.method(...)).thenReturn(value): Stubbt das Rückgabeverhalten eines Mock-Objekts.
+ - any(): Matcher, der jeden Wert passenden Typs akzeptiert (z.B. any(String.class)).
+ - times(n) / never(): Geben an, wie oft eine Mock-Methode erwartet wird (z.B. verify(mock, times(1))).
+ - doReturn()/doThrow(): Alternative Stubbing-Syntax (z. B. für void-Methoden oder Spies).
+ - MimeMessage: Repräsentiert eine E-Mail (HTML/Multipart) aus dem JavaMail API.
+ - verify(mock).method(...): Überprüft Aufrufe auf Mocks; oft kombiniert mit ArgumentCaptor oder Matchern.
+*/
+
+
+import com.hotel.booking.entity.Invoice;
+import com.hotel.booking.repository.InvoiceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class InvoiceArchiveServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 9, 1);
+    private static final LocalDate TO = LocalDate.of(2026, 9, 30);
+
+    InvoiceRepository invoiceRepository;
+    InvoicePdfService invoicePdfService;
+    ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        invoiceRepository = mock(InvoiceRepository.class);
+        invoicePdfService = mock(InvoicePdfService.class);
+        executor = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private List<Invoice> invoices(int count) {
+        List<Invoice> invoices = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            Invoice invoice = new Invoice("INV-" + i, BigDecimal.TEN, Invoice.PaymentMethod.CARD);
+            invoice.setId((long) i);
+            invoice.setIssuedAt(LocalDateTime.of(2026, 9, 1 + i % 28, 10, 0));
+            invoices.add(invoice);
+            when(invoiceRepository.findById((long) i)).thenReturn(Optional.of(invoice));
+        }
+        when(invoiceRepository.findIdsByIssuedAtBetween(FROM.atStartOfDay(), TO.atTime(23, 59, 59, 999_999_999)))
+                .thenReturn(invoices.stream().map(Invoice::getId).toList());
+        return invoices;
+    }
+
+    private static Map<String, String> unzip(byte[] zip) throws Exception {
+        Map<String, String> entries = new HashMap<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                entries.put(entry.getName(), new String(in.readAllBytes()));
+            }
+        }
+        return entries;
+    }
+
+    @Test
+    void writeArchive_containsEveryInvoiceOfPeriod() throws Exception {
+        invoices(20);
+        when(invoicePdfService.generateInvoicePdf(any())).thenAnswer(inv -> ("%PDF " + ((Invoice) inv.getArgument(0)).getInvoiceNumber()).getBytes());
+        InvoiceArchiveService service = new InvoiceArchiveService(invoiceRepository, invoicePdfService, executor, 4);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int written = service.writeArchive(FROM, TO, out);
+
+        Map<String, String> entries = unzip(out.toByteArray());
+        assertEquals(20, written);
+        assertEquals(20, entries.size());
+        assertEquals("%PDF INV-7", entries.get("Invoice_INV-7.pdf"));
+        // Only ids are listed; the workers load one invoice each
+        verify(invoiceRepository, never()).findByIssuedAtBetween(any(), any());
+    }
+
+    @Test
+    void writeArchive_keepsAtMostWindowDocumentsInFlight() throws Exception {
+        invoices(30);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(invoicePdfService.generateInvoicePdf(any())).thenAnswer(inv -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            running.decrementAndGet();
+            return "%PDF".getBytes();
+        });
+        InvoiceArchiveService service = new InvoiceArchiveService(invoiceRepository, invoicePdfService, executor, 2);
+
+        service.writeArchive(FROM, TO, new ByteArrayOutputStream());
+
+        assertTrue(maxRunning.get() <= 2, "at most the window renders at once, was " + maxRunning.get());
+        verify(invoicePdfService, times(30)).generateInvoicePdf(any());
+    }
+
+    @Test
+    void writeArchive_emptyPeriod_writesEmptyArchive() throws Exception {
+        invoices(0);
+        InvoiceArchiveService service = new InvoiceArchiveService(invoiceRepository, invoicePdfService, executor, 4);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(0, service.writeArchive(FROM, TO, out));
+
+        assertTrue(unzip(out.toByteArray()).isEmpty());
+        verifyNoInteractions(invoicePdfService);
+    }
+
+    @Test
+    void writeArchive_renderingFails_throws() {
+        invoices(5);
+        when(invoicePdfService.generateInvoicePdf(any())).thenThrow(new RuntimeException("PDF generation failed"));
+        InvoiceArchiveService service = new InvoiceArchiveService(invoiceRepository, invoicePdfService, executor, 2);
+
+        assertThrows(IllegalStateException.class, () -> service.writeArchive(FROM, TO, new ByteArrayOutputStream()));
+    }
+
+    @Test
+    void writeArchive_invalidPeriod_throws() {
+        InvoiceArchiveService service = new InvoiceArchiveService(invoiceRepository, invoicePdfService, executor, 2);
+
+        assertThrows(IllegalArgumentException.class, () -> service.writeArchive(TO, FROM, new ByteArrayOutputStream()));
+    }
+}
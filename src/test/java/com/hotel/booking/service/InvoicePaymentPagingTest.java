@@ -0,0 +1,185 @@
+package com.hotel.booking.service;
+
+/*
+ Kurze Erklärungen zu gängigen Test-Annotationen und Hilfsobjekten:
+ - @Mock: Erzeugt ein Mock-Objekt, das Aufrufe aufzeichnet und Verhalten stubbed.
+ - @InjectMocks: Erzeugt das zu testende Objekt und injiziert @Mock-Felder darin.
+ - @BeforeEach: Diese Methode läuft vor jedem Test zur Vorbereitung (Setup).
+ - @Test: Kennzeichnet eine Testmethode (JUnit 5 / Jupiter).
+ - assertEquals(expected, actual): Prüft, ob erwarteter und tatsächlicher Wert gleich sind (Reihenfolge wichtig).
+ - assertTrue(condition) / assertFalse(condition): Prüfen Wahrheitswerte in Tests.
+ - assertNull(x) / assertNotNull(x): Prüfen, ob ein Objekt (nicht) null ist.
+ - ArgumentCaptor<T>: Fängt Argumente ab, die an Mock-Methoden übergeben wurden, zum genaueren Prüfen.
+ - mock(Class.class): Erstellt ein Mockito-Mock-Objekt zur Isolierung von Abhängigkeiten.
+ - when(mock.method(...)).thenReturn(value): Stubbt das Rückgabeverhalten eines Mock-Objekts.
+ - any(): Matcher, der jeden Wert passenden Typs akzeptiert (z.B. any(String.class)).
+ - times(n) / never(): Geben an, wie oft eine Mock-Methode erwartet wird (z.B. verify(mock, times(1))).
+ - doReturn()/doThrow(): Alternative Stubbing-Syntax (z. B. für void-Methoden oder Spies).
+ - MimeMessage: Repräsentiert eine E-Mail (HTML/Multipart) aus dem JavaMail API.
+ - verify(mock).method(...): Überprüft Aufrufe auf Mocks; oft kombiniert mit ArgumentCaptor oder Matchern.
+*/
+
+
+
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.entity.Invoice;
+import com.hotel.booking.entity.Payment;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.InvoiceRepository;
+import com.hotel.booking.repository.PaymentRepository;
+import com.hotel.booking.repository.projection.InvoiceRow;
+import com.hotel.booking.repository.projection.PaymentRow;
+import com.hotel.booking.testsupport.HotelTestData;
+import com.hotel.booking.testsupport.QueryCountTest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.hotel.booking.testsupport.QueryAssertions.assertQueries;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Database-side filtering and paging of the invoice and payment grids.
+ * <p>
+ * Seeds {@value #BOOKINGS} bookings (even ones belong to {@code guest1}) with one invoice
+ * and one payment each. Every page is one select and every count one count query,
+ * regardless of the filter.
+ * </p>
+ */
+@QueryCountTest({InvoiceService.class, PaymentService.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class InvoicePaymentPagingTest {
+
+    private static final int BOOKINGS = 12;
+
+    @MockitoBean
+    EmailService emailService;
+
+    @Autowired InvoiceService invoiceService;
+    @Autowired PaymentService paymentService;
+    @Autowired InvoiceRepository invoiceRepository;
+    @Autowired PaymentRepository paymentRepository;
+    @Autowired BookingRepository bookingRepository;
+    @Autowired HotelTestData testData;
+
+    private Long guestId;
+    private Long firstBookingId;
+    private final LocalDate yesterday = LocalDate.now().minusDays(1);
+
+    @BeforeAll
+    void seed() {
+        HotelTestData.Seed seed = testData.seed(BOOKINGS);
+        guestId = seed.guestId();
+        firstBookingId = seed.bookingId();
+
+        // INV-3 was paid by transfer yesterday
+        Invoice paid = invoiceRepository.findByInvoiceNumber("INV-3").orElseThrow();
+        paid.setInvoiceStatus(Invoice.PaymentStatus.PAID);
+        paid.setPaymentMethod(Invoice.PaymentMethod.TRANSFER);
+        paid.setIssuedAt(yesterday.atTime(12, 0));
+        invoiceRepository.save(paid);
+
+        // One payment per booking; every third one in cash
+        for (Booking booking : bookingRepository.findAll()) {
+            int i = Integer.parseInt(booking.getBookingNumber().substring("BK-".length()));
+            Payment payment = new Payment(booking.getTotalPrice(),
+                    i % 3 == 0 ? Invoice.PaymentMethod.CASH : Invoice.PaymentMethod.CARD);
+            payment.setBooking(booking);
+            payment.setStatus(Invoice.PaymentStatus.PAID);
+            payment.setTransactionRef("TXN-" + i);
+            payment.setPaidAt(i == 0 ? yesterday.atTime(9, 0) : LocalDateTime.now());
+            paymentRepository.save(payment);
+        }
+    }
+
+    @Test
+    public void findInvoices_guestScope_loadsOnePageInOneQuery() {
+        List<InvoiceRow> rows = assertQueries(1,
+                () -> invoiceService.findInvoices(InvoiceFilter.forGuest(guestId), PageRequest.of(0, 4)));
+
+        assertEquals(4, rows.size());
+        rows.forEach(row -> assertEquals(0, bookingIndex(row.bookingNumber()) % 2, row.bookingNumber()));
+        assertEquals(BOOKINGS / 2, assertQueries(1, () -> invoiceService.countInvoices(InvoiceFilter.forGuest(guestId))));
+        assertEquals(BOOKINGS, invoiceService.countInvoices(InvoiceFilter.forGuest(null)));
+    }
+
+    @Test
+    public void findInvoices_numberPrefix_matchesInvoiceOrBookingNumberIgnoringCase() {
+        assertEquals(3, invoiceService.countInvoices(invoiceFilter(null, "inv-1")));
+        assertEquals(3, invoiceService.countInvoices(invoiceFilter(null, "bk-1")));
+
+        List<InvoiceRow> rows = invoiceService.findInvoices(invoiceFilter(guestId, "INV-1"), PageRequest.of(0, 10));
+        assertEquals(List.of("INV-10"), rows.stream().map(InvoiceRow::invoiceNumber).toList());
+    }
+
+    @Test
+    public void findInvoices_statusMethodAndDay_filterInDatabase() {
+        assertEquals(1, invoiceService.countInvoices(
+                new InvoiceFilter(null, null, Invoice.PaymentStatus.PAID, null, null)));
+        assertEquals(1, invoiceService.countInvoices(
+                new InvoiceFilter(null, null, null, Invoice.PaymentMethod.TRANSFER, null)));
+
+        List<InvoiceRow> rows = invoiceService.findInvoices(
+                new InvoiceFilter(null, null, null, null, yesterday), PageRequest.of(0, 10));
+        assertEquals(List.of("INV-3"), rows.stream().map(InvoiceRow::invoiceNumber).toList());
+        assertEquals(BOOKINGS - 1, invoiceService.countInvoices(
+                new InvoiceFilter(null, null, null, null, LocalDate.now())));
+    }
+
+    @Test
+    public void findInvoices_sortsByNestedBookingNumber() {
+        List<InvoiceRow> rows = assertQueries(1, () -> invoiceService.findInvoices(
+                InvoiceFilter.forGuest(null), PageRequest.of(0, 3, Sort.by("booking.bookingNumber"))));
+
+        assertEquals(List.of("BK-0", "BK-1", "BK-10"), rows.stream().map(InvoiceRow::bookingNumber).toList());
+    }
+
+    @Test
+    public void findPayments_guestScope_loadsOnePageInOneQuery() {
+        List<PaymentRow> rows = assertQueries(1,
+                () -> paymentService.findPayments(PaymentFilter.forGuest(guestId), PageRequest.of(1, 4)));
+
+        // Six payments of guest1, second page of four
+        assertEquals(2, rows.size());
+        assertEquals(BOOKINGS / 2, assertQueries(1, () -> paymentService.countPayments(PaymentFilter.forGuest(guestId))));
+    }
+
+    @Test
+    public void findPayments_numberPrefix_matchesTransactionRefBookingNumberOrId() {
+        assertEquals(3, paymentService.countPayments(paymentFilter("txn-1")));
+        assertEquals(3, paymentService.countPayments(paymentFilter("BK-1")));
+
+        List<PaymentRow> rows = paymentService.findPayments(paymentFilter(String.valueOf(firstBookingId)), PageRequest.of(0, 10));
+        assertTrue(rows.stream().anyMatch(row -> firstBookingId.equals(row.bookingId())));
+    }
+
+    @Test
+    public void findPayments_methodAndDay_filterInDatabase() {
+        assertEquals(4, paymentService.countPayments(
+                new PaymentFilter(null, null, null, Invoice.PaymentMethod.CASH, null)));
+
+        List<PaymentRow> rows = paymentService.findPayments(
+                new PaymentFilter(null, null, Invoice.PaymentStatus.PAID, null, yesterday), PageRequest.of(0, 10));
+        assertEquals(List.of("TXN-0"), rows.stream().map(PaymentRow::transactionRef).toList());
+    }
+
+    private static InvoiceFilter invoiceFilter(Long guestId, String numberPrefix) {
+        return new InvoiceFilter(guestId, numberPrefix, null, null, null);
+    }
+
+    private static PaymentFilter paymentFilter(String numberPrefix) {
+        return new PaymentFilter(null, numberPrefix, null, null, null);
+    }
+
+    private static int bookingIndex(String bookingNumber) {
+        return Integer.parseInt(bookingNumber.substring("BK-".length()));
+    }
+}
@@ -0,0 +1,125 @@
+package com.hotel.booking.service;
+
+/*
+ Kurze Erklärungen zu gängigen Test-Annotationen und Hilfsobjekten:
+ - @Mock: Erzeugt ein Mock-Objekt, das Aufrufe aufzeichnet und Verhalten stubbed.
+ - @InjectMocks: Erzeugt das zu testende Objekt und injiziert @Mock-Felder darin.
+ - @BeforeEach: Diese Methode läuft vor jedem Test zur Vorbereitung (Setup).
+ - @Test: Kennzeichnet eine Testmethode (JUnit 5 / Jupiter).
+ - assertEquals(expected, actual): Prüft, ob erwarteter und tatsächlicher Wert gleich sind (Reihenfolge wichtig).
+ - assertTrue(condition) / assertFalse(condition): Prüfen Wahrheitswerte in Tests.
+ - assertNull(x) / assertNotNull(x): Prüfen, ob ein Objekt (nicht) null ist.
+ - ArgumentCaptor<T>: Fängt Argumente ab, die an Mock-Methoden übergeben wurden, zum genaueren Prüfen.
+ - mock(Class.class): Erstellt ein Mockito-Mock-Objekt zur Isolierung von Abhängigkeiten.
+ - when(mock.method(...)).thenReturn(value): Stubbt das Rückgabeverhalten eines Mock-Objekts.
+ - any(): Matcher, der jeden Wert passenden Typs akzeptiert (z.B. any(String.class)).
+ - times(n) / never(): Geben an, wie oft eine Mock-Methode erwartet wird (z.B. verify(mock, times(1))).
+ - doReturn()/doThrow(): Alternative Stubbing-Syntax (z. B. für void-Methoden oder Spies).
+ - MimeMessage: Repräsentiert eine E-Mail (HTML/Multipart) aus dem JavaMail API.
+ - verify(mock).method(...): Überprüft Aufrufe auf Mocks; oft kombiniert mit ArgumentCaptor oder Matchern.
+*/
+
+
+import com.hotel.booking.entity.AdressEmbeddable;
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.entity.BookingStatus;
+import com.hotel.booking.entity.Invoice;
+import com.hotel.booking.entity.User;
+import com.hotel.booking.entity.UserRole;
+import com.hotel.booking.repository.BookingCancellationRepository;
+import com.hotel.booking.repository.PaymentRepository;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfStream;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures invoice PDFs per second with the rendering resources loaded per document and with the
+ * preloaded ones (the header template is copied as Form XObject), on the same invoice in the same
+ * run. Both figures are logged; the assertions guard the shape of the output and that preloading
+ * is faster.
+ */
+class InvoicePdfBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(InvoicePdfBenchmarkTest.class);
+
+    private static final int WARMUP = 5;
+    private static final int DOCUMENTS = 200;
+    // Loading per render is an order of magnitude slower, fewer documents give a stable rate
+    private static final int PER_RENDER_DOCUMENTS = 20;
+
+    private final BookingCancellationRepository cancellationRepository = mock(BookingCancellationRepository.class);
+    private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+
+    @Test
+    void preloadedResources_fasterThanPerRenderLoading_embedLogoOnce() throws Exception {
+        Invoice invoice = invoice();
+        InvoicePdfService service = new InvoicePdfService(cancellationRepository, paymentRepository);
+
+        // A fresh service loads logo, font and header template for its one document
+        Measurement perRender = measure(() -> new InvoicePdfService(cancellationRepository, paymentRepository)
+                .generateInvoicePdf(invoice), PER_RENDER_DOCUMENTS);
+        Measurement preloaded = measure(() -> service.generateInvoicePdf(invoice), DOCUMENTS);
+        log.info("per-render loading: {} PDFs/s, {} bytes", perRender.perSecond(), perRender.bytes());
+        log.info("preloaded resources, header XObject: {} PDFs/s, {} bytes", preloaded.perSecond(), preloaded.bytes());
+
+        assertTrue(preloaded.perSecond() > perRender.perSecond(),
+                "preloaded " + preloaded.perSecond() + " PDFs/s, per render " + perRender.perSecond() + " PDFs/s");
+        assertEquals(perRender.bytes(), preloaded.bytes(), "both paths render the same document");
+
+        // The header is one Form XObject that carries the scaled logo
+        byte[] pdf = service.generateInvoicePdf(invoice);
+        try (PdfDocument document = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)))) {
+            assertEquals(1, document.getNumberOfPages());
+            PdfDictionary xObjects = document.getFirstPage().getResources().getResource(PdfName.XObject);
+            assertEquals(1, xObjects.size());
+            PdfStream header = xObjects.getAsStream(xObjects.keySet().iterator().next());
+            assertEquals(PdfName.Form, header.getAsName(PdfName.Subtype));
+            PdfDictionary images = header.getAsDictionary(PdfName.Resources).getAsDictionary(PdfName.XObject);
+            assertEquals(1, images.size());
+            PdfStream logo = images.getAsStream(images.keySet().iterator().next());
+            assertTrue(logo.getAsNumber(PdfName.Width).intValue() <= 300);
+        }
+    }
+
+    private static Measurement measure(Supplier<byte[]> render, int documents) {
+        for (int i = 0; i < WARMUP; i++) {
+            render.get();
+        }
+        int bytes = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < documents; i++) {
+            bytes = render.get().length;
+        }
+        long nanos = System.nanoTime() - start;
+        return new Measurement(Math.round(documents * 1e9 / nanos), bytes);
+    }
+
+    private static Invoice invoice() {
+        User guest = new User("erika", "Erika", "Mustermann",
+                new AdressEmbeddable("Interaktion", "1", "33602", "Bielefeld", "Germany"),
+                "erika@example.com", "Test123!", UserRole.GUEST, true);
+        Booking booking = new Booking("BK-1", LocalDate.now(), LocalDate.now().plusDays(3), BookingStatus.CONFIRMED, guest, null);
+        booking.setTotalPrice(BigDecimal.valueOf(300));
+        Invoice invoice = new Invoice("INV-1", BigDecimal.valueOf(300), Invoice.PaymentMethod.CARD);
+        invoice.setIssuedAt(LocalDateTime.now());
+        invoice.setBooking(booking);
+        return invoice;
+    }
+
+    private record Measurement(long perSecond, int bytes) {
+    }
+}
@@ -0,0 +1,244 @@
+package com.hotel.booking.service;
+
+/*
+ Kurze Erklärungen zu gängigen Test-Annotationen und Hilfsobjekten:
+ - @Mock: Erzeugt ein Mock-Objekt, das Aufrufe aufzeichnet und Verhalten stubbed.
+ - @InjectMocks: Erzeugt das zu testende Objekt und injiziert @Mock-Felder darin.
+ - @BeforeEach: Diese Methode läuft vor jedem Test zur Vorbereitung (Setup).
+ - @Test: Kennzeichnet eine Testmethode (JUnit 5 / Jupiter).
+ - assertEquals(expected, actual): Prüft, ob erwarteter und tatsächlicher Wert gleich sind (Reihenfolge wichtig).
+ - assertTrue(condition) / assertFalse(condition): Prüfen Wahrheitswerte in Tests.
+ - assertNull(x) / assertNotNull(x): Prüfen, ob ein Objekt (nicht) null ist.
+ - ArgumentCaptor<T>: Fängt Argumente ab, die an Mock-Methoden übergeben wurden, zum genaueren Prüfen.
+ - mock(Class.class): Erstellt ein Mockito-Mock-Objekt zur Isolierung von Abhängigkeiten.
+ - when(mock.method(...)).thenReturn(value): Stubbt das Rückgabeverhalten eines Mock-Objekts.
+ - any(): Matcher, der jeden Wert passenden Typs akzeptiert (z.B. any(String.class)).
+ - times(n) / never(): Geben an, wie oft eine Mock-Methode erwartet wird (z.B. verify(mock, times(1))).
+ - doReturn()/doThrow(): Alternative Stubbing-Syntax (z. B. für void-Methoden oder Spies).
+ - MimeMessage: Repräsentiert eine E-Mail (HTML/Multipart) aus dem JavaMail API.
+ - verify(mock).method(...): Überprüft Aufrufe auf Mocks; oft kombiniert mit ArgumentCaptor oder Matchern.
+*/
+
+
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.entity.Invoice;
+import com.hotel.booking.entity.Payment;
+import com.hotel.booking.event.EntityChangedEvent;
+import com.hotel.booking.event.EntityChangedEvent.ChangeType;
+import com.hotel.booking.repository.BookingCancellationRepository;
+import com.hotel.booking.repository.InvoiceRepository;
+import com.hotel.booking.repository.PaymentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.util.unit.DataSize;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class InvoicePdfCacheTest {
+
+    @TempDir
+    Path dir;
+
+    InvoicePdfService renderer;
+    InvoiceRepository invoiceRepository;
+    PaymentRepository paymentRepository;
+    BookingCancellationRepository cancellationRepository;
+    TaskScheduler taskScheduler;
+    List<Runnable> renderTasks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        renderer = mock(InvoicePdfService.class);
+        invoiceRepository = mock(InvoiceRepository.class);
+        paymentRepository = mock(PaymentRepository.class);
+        cancellationRepository = mock(BookingCancellationRepository.class);
+        taskScheduler = mock(TaskScheduler.class);
+        when(renderer.writeInvoicePdf(any(), any())).thenAnswer(inv -> {
+            byte[] pdf = ("%PDF " + ((Invoice) inv.getArgument(0)).getInvoiceNumber()).getBytes();
+            ((OutputStream) inv.getArgument(1)).write(pdf);
+            return (long) pdf.length;
+        });
+        when(cancellationRepository.findTopByBookingIdOrderByCancelledAtDesc(any())).thenReturn(Optional.empty());
+    }
+
+    private InvoicePdfCache cache(DataSize maxSize) {
+        return new InvoicePdfCache(renderer, invoiceRepository, paymentRepository, cancellationRepository,
+                taskScheduler, renderTasks::add, dir.toString(), maxSize, Duration.ofSeconds(2), Duration.ofMinutes(1));
+    }
+
+    // Runs the delayed deletions scheduled so far
+    private void runScheduledTasks() {
+        ArgumentCaptor<Runnable> tasks = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler, atLeastOnce()).schedule(tasks.capture(), any(Instant.class));
+        tasks.getAllValues().forEach(Runnable::run);
+    }
+
+    private static Invoice invoice(long id, long bookingId) {
+        Booking booking = mock(Booking.class);
+        when(booking.getId()).thenReturn(bookingId);
+        Invoice invoice = new Invoice("INV-" + id, BigDecimal.valueOf(100), Invoice.PaymentMethod.CARD);
+        invoice.setId(id);
+        invoice.setBooking(booking);
+        return invoice;
+    }
+
+    @Test
+    void getPdf_sameState_rendersOnce() {
+        InvoicePdfCache cache = cache(DataSize.ofMegabytes(1));
+        Invoice invoice = invoice(1L, 10L);
+
+        byte[] first = cache.getPdf(invoice);
+        byte[] second = cache.getPdf(invoice);
+
+        assertArrayEquals("%PDF INV-1".getBytes(), first);
+        assertArrayEquals(first, second);
+        verify(renderer, times(1)).writeInvoicePdf(eq(invoice), any());
+
+        InvoicePdfCache.Statistics statistics = cache.getStatistics();
+        assertEquals(1, statistics.hits());
+        assertEquals(1, statistics.misses());
+        assertEquals(1, statistics.renders());
+        assertEquals(first.length, statistics.averageBytes());
+        assertEquals(first.length, statistics.bytesOnDisk());
+    }
+
+    @Test
+    void keyFor_paymentChanged_newKeyAndOldFileRemoved() throws Exception {
+        InvoicePdfCache cache = cache(DataSize.ofMegabytes(1));
+        Invoice invoice = invoice(1L, 10L);
+        Payment payment = new Payment(BigDecimal.valueOf(100), Invoice.PaymentMethod.CARD);
+        payment.setId(5L);
+        when(paymentRepository.findByBookingId(10L)).thenReturn(List.of(payment));
+
+        InvoicePdfCache.Key before = cache.keyFor(invoice);
+        Path oldFile = cache.resolve(invoice, before);
+
+        payment.setRefundedAmount(BigDecimal.valueOf(40));
+        InvoicePdfCache.Key after = cache.keyFor(invoice);
+        Path newFile = cache.resolve(invoice, after);
+
+        assertNotEquals(before.etag(), after.etag());
+        // Kept for running downloads until the grace period has passed
+        assertTrue(Files.exists(oldFile));
+        runScheduledTasks();
+        assertFalse(Files.exists(oldFile));
+        assertTrue(Files.exists(newFile));
+        verify(renderer, times(2)).writeInvoicePdf(eq(invoice), any());
+    }
+
+    @Test
+    void resolve_overLimit_evictsLeastRecentlyUsed() throws Exception {
+        // Every PDF has 10 bytes ("%PDF INV-n"), the limit fits two of them
+        InvoicePdfCache cache = cache(DataSize.ofBytes(25));
+        Invoice first = invoice(1L, 10L);
+        Invoice second = invoice(2L, 20L);
+        Invoice third = invoice(3L, 30L);
+
+        Path firstFile = cache.resolve(first, cache.keyFor(first));
+        Path secondFile = cache.resolve(second, cache.keyFor(second));
+        Files.setLastModifiedTime(firstFile, FileTime.from(Instant.now().minusSeconds(60)));
+        Path thirdFile = cache.resolve(third, cache.keyFor(third));
+
+        assertEquals(20, cache.totalBytes());
+        assertTrue(Files.exists(firstFile));
+        runScheduledTasks();
+        assertFalse(Files.exists(firstFile));
+        assertTrue(Files.exists(secondFile));
+        assertTrue(Files.exists(thirdFile));
+    }
+
+    @Test
+    void resolve_evictedFileRequestedWithinGrace_keepsFile() throws Exception {
+        InvoicePdfCache cache = cache(DataSize.ofBytes(25));
+        Invoice first = invoice(1L, 10L);
+        Invoice second = invoice(2L, 20L);
+        Invoice third = invoice(3L, 30L);
+
+        Path firstFile = cache.resolve(first, cache.keyFor(first));
+        cache.resolve(second, cache.keyFor(second));
+        Files.setLastModifiedTime(firstFile, FileTime.from(Instant.now().minusSeconds(60)));
+        cache.resolve(third, cache.keyFor(third));
+
+        assertEquals(firstFile, cache.resolve(first, cache.keyFor(first)));
+        runScheduledTasks();
+
+        assertTrue(Files.exists(firstFile));
+        assertEquals(30, cache.totalBytes());
+        verify(renderer, times(1)).writeInvoicePdf(eq(first), any());
+    }
+
+    @Test
+    void onEntityChanged_coalescesChangesOfOneBooking() {
+        InvoicePdfCache cache = cache(DataSize.ofMegabytes(1));
+        Invoice invoice = invoice(1L, 10L);
+        Payment payment = new Payment(BigDecimal.valueOf(100), Invoice.PaymentMethod.CARD);
+        payment.setBooking(invoice.getBooking());
+
+        cache.onEntityChanged(new EntityChangedEvent<>(payment, ChangeType.CREATED));
+        cache.onEntityChanged(new EntityChangedEvent<>(invoice, ChangeType.UPDATED));
+
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void onEntityChanged_rendersOnRenderExecutorAfterDebounce() {
+        InvoicePdfCache cache = cache(DataSize.ofMegabytes(1));
+        Invoice invoice = invoice(1L, 10L);
+        when(invoiceRepository.findByBookingIdIn(List.of(10L))).thenReturn(List.of(invoice));
+        when(invoiceRepository.findById(1L)).thenReturn(Optional.of(invoice));
+
+        cache.onEntityChanged(new EntityChangedEvent<>(invoice, ChangeType.UPDATED));
+        runScheduledTasks();
+
+        // The scheduler thread only hands the rendering over
+        verify(renderer, never()).writeInvoicePdf(any(), any());
+        assertEquals(1, renderTasks.size());
+        renderTasks.getFirst().run();
+        verify(renderer, times(1)).writeInvoicePdf(eq(invoice), any());
+    }
+
+    @Test
+    void onEntityChanged_invoiceDeleted_evictsFiles() {
+        InvoicePdfCache cache = cache(DataSize.ofMegabytes(1));
+        Invoice invoice = invoice(1L, 10L);
+        Path file = cache.resolve(invoice, cache.keyFor(invoice));
+
+        cache.onEntityChanged(new EntityChangedEvent<>(invoice, ChangeType.DELETED));
+
+        assertEquals(0, cache.totalBytes());
+        runScheduledTasks();
+        assertFalse(Files.exists(file));
+        // Only the deletion is scheduled, no re-rendering
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void regenerate_rendersInvoicesOfBooking() {
+        InvoicePdfCache cache = cache(DataSize.ofMegabytes(1));
+        Invoice invoice = invoice(1L, 10L);
+        when(invoiceRepository.findByBookingIdIn(List.of(10L))).thenReturn(List.of(invoice));
+        when(invoiceRepository.findById(1L)).thenReturn(Optional.of(invoice));
+
+        cache.regenerate(10L);
+        cache.getPdf(invoice);
+
+        verify(renderer, times(1)).writeInvoicePdf(eq(invoice), any());
+    }
+}
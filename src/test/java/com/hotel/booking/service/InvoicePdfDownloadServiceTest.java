@@ -39,7 +39,7 @@ class InvoicePdfDownloadServiceTest {
     InvoiceService invoiceService;
 
     @Mock
-    InvoicePdfService invoicePdfService;
+    InvoicePdfCache invoicePdfCache;
 
     @InjectMocks
     InvoicePdfDownloadService service;
@@ -51,12 +51,12 @@ class InvoicePdfDownloadServiceTest {
         byte[] pdf = "pdf-content".getBytes();
 
         when(invoiceService.findById(id)).thenReturn(Optional.of(invoice));
-        when(invoicePdfService.generateInvoicePdf(invoice)).thenReturn(pdf);
+        when(invoicePdfCache.getPdf(invoice)).thenReturn(pdf);
 
         byte[] result = service.generatePdfForInvoice(id);
 
         assertArrayEquals(pdf, result);
-        verify(invoicePdfService).generateInvoicePdf(invoice);
+        verify(invoicePdfCache).getPdf(invoice);
     }
 
     @Test
@@ -30,6 +30,8 @@ import com.hotel.booking.entity.Booking;
 import com.hotel.booking.entity.Invoice;
 import com.hotel.booking.entity.User;
 import com.hotel.booking.repository.InvoiceRepository;
+import com.hotel.booking.repository.projection.InvoiceRow;
+import org.springframework.data.domain.PageRequest;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -64,6 +66,20 @@ class InvoiceServiceTest {
         verify(invoiceRepository).findAll();
     }
 
+    @Test
+    void findInvoices_withoutSort_loadsNewestRowsFirst() {
+        InvoiceRow row = new InvoiceRow(1L, "INV-1", 2L, "BK-2", null, java.math.BigDecimal.TEN,
+                Invoice.PaymentMethod.CARD, Invoice.PaymentStatus.PAID, null);
+        when(invoiceRepository.findInvoiceRows(any(), any())).thenReturn(List.of(row));
+
+        var res = invoiceService.findInvoices(InvoiceFilter.forGuest(7L), PageRequest.of(0, 50));
+
+        assertEquals(List.of(row), res);
+        verify(invoiceRepository).findInvoiceRows(any(), argThat(page ->
+                page.getPageSize() == 50 && page.getSort().getOrderFor("issuedAt").isDescending()));
+        verify(invoiceRepository, never()).findAll();
+    }
+
     @Test
     void findById_delegates() {
         Invoice inv = new Invoice();
@@ -130,8 +146,9 @@ class InvoiceServiceTest {
 
     @Test
     void getNumberOfPendingInvoices_returnsCount() {
-        when(invoiceRepository.findByInvoiceStatus(Invoice.PaymentStatus.PENDING)).thenReturn(List.of(new Invoice(), new Invoice()));
+        when(invoiceRepository.countByInvoiceStatus(Invoice.PaymentStatus.PENDING)).thenReturn(2L);
         int count = invoiceService.getNumberOfPendingInvoices();
         assertEquals(2, count);
+        verify(invoiceRepository, never()).findByInvoiceStatus(any());
     }
 }
\ No newline at end of file
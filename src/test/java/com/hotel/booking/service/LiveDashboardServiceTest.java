@@ -0,0 +1,123 @@
+package com.hotel.booking.service;
+
+/*
+ Kurze Erklärungen zu gängigen Test-Annotationen und Hilfsobjekten:
+ - @Mock: Erzeugt ein Mock-Objekt, das Aufrufe aufzeichnet und Verhalten stubbed.
+ - @InjectMocks: Erzeugt das zu testende Objekt und injiziert @Mock-Felder darin.
+ - @BeforeEach: Diese Methode läuft vor jedem Test zur Vorbereitung (Setup).
+ - @Test: Kennzeichnet eine Testmethode (JUnit 5 / Jupiter).
+ - assertEquals(expected, actual): Prüft, ob erwarteter und tatsächlicher Wert gleich sind (Reihenfolge wichtig).
+ - assertTrue(condition) / assertFalse(condition): Prüfen Wahrheitswerte in Tests.
+ - assertNull(x) / assertNotNull(x): Prüfen, ob ein Objekt (nicht) null ist.
+ - ArgumentCaptor<T>: Fängt Argumente ab, die an Mock-Methoden übergeben wurden, zum genaueren Prüfen.
+ - mock(Class.class): Erstellt ein Mockito-Mock-Objekt zur Isolierung von Abhängigkeiten.
+ - when(mock.method(...)).thenReturn(value): Stubbt das Rückgabeverhalten eines Mock-Objekts.
+ - any(): Matcher, der jeden Wert passenden Typs akzeptiert (z.B. any(String.class)).
+ - times(n) / never(): Geben an, wie oft eine Mock-Methode erwartet wird (z.B. verify(mock, times(1))).
+ - doReturn()/doThrow(): Alternative Stubbing-Syntax (z. B. für void-Methoden oder Spies).
+ - MimeMessage: Repräsentiert eine E-Mail (HTML/Multipart) aus dem JavaMail API.
+ - verify(mock).method(...): Überprüft Aufrufe auf Mocks; oft kombiniert mit ArgumentCaptor oder Matchern.
+*/
+
+
+
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.entity.RoomStatus;
+import com.hotel.booking.entity.User;
+import com.hotel.booking.event.EntityChangedEvent;
+import com.hotel.booking.event.EntityChangedEvent.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LiveDashboardServiceTest {
+
+    @Mock
+    DashboardService dashboardService;
+
+    @Mock
+    TaskScheduler taskScheduler;
+
+    LiveDashboardService liveDashboardService;
+
+    @BeforeEach
+    void setUp() {
+        liveDashboardService = new LiveDashboardService(
+            dashboardService, taskScheduler, Duration.ofMinutes(1), Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void getCurrent_sharesSnapshotBetweenCallers() {
+        when(dashboardService.getSnapshot()).thenReturn(snapshot(3));
+
+        DashboardSnapshot first = liveDashboardService.getCurrent();
+        DashboardSnapshot second = liveDashboardService.getCurrent();
+
+        assertSame(first, second);
+        verify(dashboardService, times(1)).getSnapshot();
+    }
+
+    @Test
+    public void refreshIfSubscribed_pushesOnlyChangedSnapshots() {
+        when(dashboardService.getSnapshot()).thenReturn(snapshot(3), snapshot(3), snapshot(4));
+        List<DashboardSnapshot> received = new ArrayList<>();
+        liveDashboardService.subscribe(received::add);
+
+        liveDashboardService.refreshIfSubscribed();
+        liveDashboardService.refreshIfSubscribed();
+        liveDashboardService.refreshIfSubscribed();
+
+        assertEquals(2, received.size());
+        assertEquals(4, received.get(1).guestsPresent());
+    }
+
+    @Test
+    public void refreshIfSubscribed_skipsQueriesWithoutSubscribers() {
+        Runnable unsubscribe = liveDashboardService.subscribe(s -> { });
+        unsubscribe.run();
+
+        liveDashboardService.refreshIfSubscribed();
+
+        verifyNoInteractions(dashboardService);
+    }
+
+    @Test
+    public void onEntityChanged_coalescesBurstIntoOneRefresh() {
+        when(dashboardService.getSnapshot()).thenReturn(snapshot(5));
+        List<DashboardSnapshot> received = new ArrayList<>();
+        liveDashboardService.subscribe(received::add);
+
+        liveDashboardService.onEntityChanged(new EntityChangedEvent<>(mock(Booking.class), ChangeType.CREATED));
+        liveDashboardService.onEntityChanged(new EntityChangedEvent<>(mock(Booking.class), ChangeType.UPDATED));
+        liveDashboardService.onEntityChanged(new EntityChangedEvent<>(mock(User.class), ChangeType.UPDATED));
+
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler, times(1)).schedule(task.capture(), any(Instant.class));
+
+        task.getValue().run();
+        assertEquals(1, received.size());
+        verify(dashboardService, times(1)).getSnapshot();
+    }
+
+    private static DashboardSnapshot snapshot(int guestsPresent) {
+        return new DashboardSnapshot(LocalDate.now(), guestsPresent, 1, 2, new BigDecimal("100.00"), 0,
+            Map.of(RoomStatus.OCCUPIED, 2L, RoomStatus.AVAILABLE, 8L));
+    }
+}
@@ -0,0 +1,103 @@
+package com.hotel.booking.service;
+
+/*
+ Kurze Erklärungen zu gängigen Test-Annotationen und Hilfsobjekten:
+ - @Mock: Erzeugt ein Mock-Objekt, das Aufrufe aufzeichnet und Verhalten stubbed.
+ - @InjectMocks: Erzeugt das zu testende Objekt und injiziert @Mock-Felder darin.
+ - @BeforeEach: Diese Methode läuft vor jedem Test zur Vorbereitung (Setup).
+ - @Test: Kennzeichnet eine Testmethode (JUnit 5 / Jupiter).
+ - assertEquals(expected, actual): Prüft, ob erwarteter und tatsächlicher Wert gleich sind (Reihenfolge wichtig).
+ - assertTrue(condition) / assertFalse(condition): Prüfen Wahrheitswerte in Tests.
+ - assertNull(x) / assertNotNull(x): Prüfen, ob ein Objekt (nicht) null ist.
+ - ArgumentCaptor<T>: Fängt Argumente ab, die an Mock-Methoden übergeben wurden, zum genaueren Prüfen.
+ - mock(Class.class): Erstellt ein Mockito-Mock-Objekt zur Isolierung von Abhängigkeiten.
+ - when(mock.method(...)).thenReturn(value): Stubbt das Rückgabeverhalten eines Mock-Objekts.
+ - any(): Matcher, der jeden Wert passenden Typs akzeptiert (z.B. any(String.class)).
+ - times(n) / never(): Geben an, wie oft eine Mock-Methode erwartet wird (z.B. verify(mock, times(1))).
+ - doReturn()/doThrow(): Alternative Stubbing-Syntax (z. B. für void-Methoden oder Spies).
+ - MimeMessage: Repräsentiert eine E-Mail (HTML/Multipart) aus dem JavaMail API.
+ - verify(mock).method(...): Überprüft Aufrufe auf Mocks; oft kombiniert mit ArgumentCaptor oder Matchern.
+*/
+
+
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NGramIndexTest {
+
+    @Test
+    public void search_findsSubstringInAnyFieldIgnoringCase() {
+        NGramIndex<Long, String> index = new NGramIndex<>();
+        index.put(1L, "booking-1", "BK-2025-0001", "Max Mustermann", "max@example.com");
+        index.put(2L, "booking-2", "BK-2025-0002", "Erika Musterfrau", "erika@example.com");
+
+        assertEquals(List.of("booking-2", "booking-1"), index.search("muster", 10));
+        assertEquals(List.of("booking-1"), index.search("  MAX   muster ", 10));
+        assertEquals(List.of("booking-2"), index.search("0002", 10));
+        assertEquals(List.of("booking-2"), index.search("erika@", 10));
+    }
+
+    @Test
+    public void search_requiresContiguousMatchNotJustSharedGrams() {
+        NGramIndex<Long, String> index = new NGramIndex<>();
+        // Contains the grams "abc" and "bcd" but not "abcd"
+        index.put(1L, "doc", "abc-bcd");
+
+        assertTrue(index.search("abcd", 10).isEmpty());
+    }
+
+    @Test
+    public void search_shortQueryReturnsNothing() {
+        NGramIndex<Long, String> index = new NGramIndex<>();
+        index.put(1L, "doc", "BK-1");
+
+        assertTrue(index.search("bk", 10).isEmpty());
+        assertTrue(index.search(null, 10).isEmpty());
+    }
+
+    @Test
+    public void put_replacesAndRemoveDeletesDocument() {
+        NGramIndex<Long, String> index = new NGramIndex<>();
+        index.put(1L, "old", "Max Mustermann");
+        index.put(1L, "new", "Max Schmidt");
+
+        assertTrue(index.search("muster", 10).isEmpty());
+        assertEquals(List.of("new"), index.search("schmidt", 10));
+
+        index.remove(1L);
+        assertTrue(index.search("schmidt", 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void search_respectsLimitAndSurvivesCompaction() {
+        NGramIndex<Integer, Integer> index = new NGramIndex<>();
+        for (int i = 0; i < 5_000; i++) {
+            index.put(i, i, String.format("BK-%06d", i));
+        }
+        // Replacing every document creates enough tombstones to trigger a rebuild
+        for (int i = 0; i < 5_000; i++) {
+            index.put(i, i, String.format("TX-%06d", i));
+        }
+
+        assertEquals(5_000, index.size());
+        assertTrue(index.search("bk-", 10).isEmpty());
+        assertEquals(10, index.search("tx-", 10).size());
+        assertEquals(List.of(4_321), index.search("tx-004321", 10));
+    }
+
+    @Test
+    public void search_findsSingleHitOnLargeIndex() {
+        NGramIndex<Integer, Integer> index = new NGramIndex<>();
+        for (int i = 0; i < 1_000_000; i++) {
+            index.put(i, i, "BK-" + (10_000_000 + i), "Guest " + (i % 5_000));
+        }
+
+        assertEquals(List.of(999_999), index.search("bk-10999999", 20));
+        assertEquals(20, index.search("guest 4999", 20).size());
+    }
+}
@@ -26,8 +26,14 @@ import static org.mockito.Mockito.*;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import com.hotel.booking.entity.Payment;
+import com.hotel.booking.repository.projection.PaymentRow;
+import com.hotel.booking.repository.projection.PendingTransfer;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -41,6 +47,12 @@ class PaymentServiceTest {
     @Mock
     com.hotel.booking.repository.PaymentRepository paymentRepository;
 
+    @Mock
+    com.hotel.booking.repository.BookingRepository bookingRepository;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     PaymentService paymentService;
 
@@ -54,6 +66,35 @@ class PaymentServiceTest {
         verify(paymentRepository).findAll();
     }
 
+    @Test
+    void findPayments_withRequestedSort_keepsSortAndLoadsNoEntities() {
+        PaymentRow row = new PaymentRow(1L, 2L, "BK-2", null, BigDecimal.TEN, null,
+                com.hotel.booking.entity.Invoice.PaymentMethod.CARD, com.hotel.booking.entity.Invoice.PaymentStatus.PAID, "TX1", null);
+        PageRequest page = PageRequest.of(1, 25, Sort.by("amount"));
+        when(paymentRepository.findPaymentRows(any(), eq(page))).thenReturn(List.of(row));
+
+        var res = paymentService.findPayments(PaymentFilter.forGuest(null), page);
+
+        assertEquals(List.of(row), res);
+        verify(paymentRepository, never()).findAll();
+    }
+
+    @Test
+    void markTransfersPaid_updatesOnlyStillPendingPaymentsInOneStatement() {
+        PendingTransfer first = new PendingTransfer(1L, 10L, "BK-1", "TX1", BigDecimal.TEN);
+        PendingTransfer paidByHand = new PendingTransfer(2L, 20L, "BK-2", "TX2", BigDecimal.TEN);
+        var pending = com.hotel.booking.entity.Invoice.PaymentStatus.PENDING;
+        var transfer = com.hotel.booking.entity.Invoice.PaymentMethod.TRANSFER;
+        when(paymentRepository.lockIdsByStatus(Set.of(1L, 2L), pending, transfer)).thenReturn(List.of(1L));
+
+        Set<Long> paid = paymentService.markTransfersPaid(List.of(first, paidByHand));
+
+        assertEquals(Set.of(1L), paid);
+        verify(paymentRepository).updateStatusIn(eq(Set.of(1L)), eq(com.hotel.booking.entity.Invoice.PaymentStatus.PAID),
+                any(), eq(pending), eq(transfer));
+        verify(bookingRepository).findByIdIn(Set.of(10L));
+    }
+
     @Test
     void findByBookingId_delegates() {
         when(paymentRepository.findByBookingId(5L)).thenReturn(List.of());
@@ -0,0 +1,158 @@
+package com.hotel.booking.service;
+
+/*
+ Kurze Erklärungen zu gängigen Test-Annotationen und Hilfsobjekten:
+ - @Mock: Erzeugt ein Mock-Objekt, das Aufrufe aufzeichnet und Verhalten stubbed.
+ - @InjectMocks: Erzeugt das zu testende Objekt und injiziert @Mock-Felder darin.
+ - @BeforeEach: Diese Methode läuft vor jedem Test zur Vorbereitung (Setup).
+ - @Test: Kennzeichnet eine Testmethode (JUnit 5 / Jupiter).
+ - assertEquals(expected, actual): Prüft, ob erwarteter und tatsächlicher Wert gleich sind (Reihenfolge wichtig).
+ - assertTrue(condition) / assertFalse(condition): Prüfen Wahrheitswerte in Tests.
+ - assertNull(x) / assertNotNull(x): Prüfen, ob ein Objekt (nicht) null ist.
+ - ArgumentCaptor<T>: Fängt Argumente ab, die an Mock-Methoden übergeben wurden, zum genaueren Prüfen.
+ - mock(Class.class): Erstellt ein Mockito-Mock-Objekt zur Isolierung von Abhängigkeiten.
+ - when(mock.method(...)).thenReturn(value): Stubbt das Rückgabeverhalten eines Mock-Objekts.
+ - any(): Matcher, der jeden Wert passenden Typs akzeptiert (z.B. any(String.class)).
+ - times(n) / never(): Geben an, wie oft eine Mock-Methode erwartet wird (z.B. verify(mock, times(1))).
+ - doReturn()/doThrow(): Alternative Stubbing-Syntax (z. B. für void-Methoden oder Spies).
+ - MimeMessage: Repräsentiert eine E-Mail (HTML/Multipart) aus dem JavaMail API.
+ - verify(mock).method(...): Überprüft Aufrufe auf Mocks; oft kombiniert mit ArgumentCaptor oder Matchern.
+*/
+
+
+import com.hotel.booking.config.ReportExecutorConfig;
+import com.hotel.booking.entity.Room;
+import com.hotel.booking.entity.RoomCategory;
+import com.hotel.booking.event.EntityChangePublisher;
+import com.hotel.booking.repository.RoomCategoryRepository;
+import com.hotel.booking.testsupport.HotelTestData;
+import com.hotel.booking.testsupport.MaxQueries;
+import com.hotel.booking.testsupport.QueryCountTest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.hotel.booking.testsupport.QueryAssertions.assertQueries;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query budgets of the hot read paths.
+ * <p>
+ * Every budget is independent of the amount of data: the hotel is seeded with
+ * {@value #BOOKINGS} rooms and bookings, so an N+1 regression (one select per room,
+ * booking or category) exceeds the budget by far and fails the build. When a change
+ * legitimately needs another statement, raise the budget in the same commit and say why.
+ * </p>
+ */
+@QueryCountTest({BookingService.class, DashboardService.class, ReportService.class,
+        ReportComparisonService.class, ReportExecutorConfig.class, RoomService.class,
+        RoomCategoryService.class, EntityChangePublisher.class})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class QueryBudgetTest {
+
+    private static final int BOOKINGS = 20;
+
+    @MockitoBean
+    EmailService emailService;
+
+    @MockitoBean
+    BookingModificationService modificationService;
+
+    @Autowired BookingService bookingService;
+    @Autowired DashboardService dashboardService;
+    @Autowired ReportService reportService;
+    @Autowired ReportComparisonService reportComparisonService;
+    @Autowired RoomService roomService;
+    @Autowired RoomCategoryService roomCategoryService;
+    @Autowired RoomCategoryRepository roomCategoryRepository;
+    @Autowired HotelTestData testData;
+
+    private Long categoryId;
+
+    @BeforeAll
+    void seed() {
+        categoryId = testData.seed(BOOKINGS).categoryId();
+    }
+
+    @Test
+    public void availableRoomCategoriesSearch_staysWithinThreeQueries() {
+        LocalDate checkIn = LocalDate.now().plusDays(30);
+
+        // Categories with images, rooms without overlapping booking, amenities subselect
+        List<RoomCategory> categories = assertQueries(3,
+                () -> bookingService.availableRoomCategoriesSearch(checkIn, checkIn.plusDays(2), 2, null));
+
+        assertEquals(2, categories.size());
+        categories.forEach(c -> assertEquals(2, c.getAmenities().size()));
+    }
+
+    @Test
+    public void availableRoomCategoriesSearch_filtersByNameAndOccupancy() {
+        // Room 111 is booked in this period, the other Single rooms are free
+        LocalDate today = LocalDate.now();
+        List<RoomCategory> categories = assertQueries(3,
+                () -> bookingService.availableRoomCategoriesSearch(today.plusDays(10), today.plusDays(12), 2, "Single"));
+
+        assertEquals(1, categories.size());
+        assertEquals("Single", categories.get(0).getName());
+        assertTrue(bookingService.availableRoomCategoriesSearch(today.plusDays(30), today.plusDays(32), 3, null).isEmpty());
+    }
+
+    @Test
+    @MaxQueries(2)
+    public void dashboardSnapshot_usesTwoAggregates() {
+        assertNotNull(dashboardService.getSnapshot());
+    }
+
+    @Test
+    @MaxQueries(5)
+    public void reportKpis_needOneQueryEach() {
+        LocalDate from = LocalDate.now().minusDays(30);
+        LocalDate to = LocalDate.now();
+
+        assertNotNull(reportService.getTotalRevenueInPeriod(from, to));
+        assertEquals("Breakfast", reportService.getMostPopularExtraInPeriod(from, to));
+        assertNotNull(reportService.getAvgStayDurationInPeriod(from, to));
+        assertNotNull(reportService.getTopCategoryInPeriod(from, to));
+        assertNotNull(reportService.getAvgRevenuePerBookingInPeriod(from, to));
+    }
+
+    @Test
+    public void reportTrendSeriesAndComparison_doNotScaleWithBookings() {
+        LocalDate to = LocalDate.now();
+
+        assertQueries(3, () -> reportService.getTrendSeries(to.minusDays(90), to, 50));
+        // One query per period, regardless of the bookings inside it
+        assertEquals(12, assertQueries(12, () -> reportComparisonService
+                .compare(ReportComparisonService.ComparisonMode.ROLLING_12_MONTHS, to.minusMonths(1), to)).size());
+    }
+
+    @Test
+    @MaxQueries(6)
+    public void roomManagementRefresh_staysWithinSixQueries() {
+        // Rooms with category, categories with images + amenities, three counts for the statistics
+        List<Room> rooms = roomService.getAllRooms();
+        List<RoomCategory> categories = roomCategoryService.getAllRoomCategories();
+        RoomService.RoomStatistics statistics = roomService.calculateStatistics();
+
+        assertEquals(BOOKINGS, rooms.size());
+        rooms.forEach(r -> assertNotNull(r.getCategory().getName()));
+        categories.forEach(c -> {
+            assertEquals(1, c.getImages().size());
+            assertEquals(2, c.getAmenities().size());
+        });
+        assertEquals(2, statistics.totalCategories);
+    }
+
+    @Test
+    public void averageRatingForCategory_isOneQuery() {
+        RoomCategory category = roomCategoryRepository.findById(categoryId).orElseThrow();
+
+        assertEquals(4.0, assertQueries(1, () -> bookingService.getAverageRatingForCategory(category)));
+    }
+}
@@ -0,0 +1,133 @@
+package com.hotel.booking.service;
+
+/*
+ Kurze Erklärungen zu gängigen Test-Annotationen und Hilfsobjekten:
+ - @Mock: Erzeugt ein Mock-Objekt, das Aufrufe aufzeichnet und Verhalten stubbed.
+ - @InjectMocks: Erzeugt das zu testende Objekt und injiziert @Mock-Felder darin.
+ - @BeforeEach: Diese Methode läuft vor jedem Test zur Vorbereitung (Setup).
+ - @Test: Kennzeichnet eine Testmethode (JUnit 5 / Jupiter).
+ - assertEquals(expected, actual): Prüft, ob erwarteter und tatsächlicher Wert gleich sind (Reihenfolge wichtig).
+ - assertTrue(condition) / assertFalse(condition): Prüfen Wahrheitswerte in Tests.
+ - assertNull(x) / assertNotNull(x): Prüfen, ob ein Objekt (nicht) null ist.
+ - ArgumentCaptor<T>: Fängt Argumente ab, die an Mock-Methoden übergeben wurden, zum genaueren Prüfen.
+ - mock(Class.class): Erstellt ein Mockito-Mock-Objekt zur Isolierung von Abhängigkeiten.
+ - when(mock.method(...)).thenReturn(value): Stubbt das Rückgabeverhalten eines Mock-Objekts.
+ - any(): Matcher, der jeden Wert passenden Typs akzeptiert (z.B. any(String.class)).
+ - times(n) / never(): Geben an, wie oft eine Mock-Methode erwartet wird (z.B. verify(mock, times(1))).
+ - doReturn()/doThrow(): Alternative Stubbing-Syntax (z. B. für void-Methoden oder Spies).
+ - MimeMessage: Repräsentiert eine E-Mail (HTML/Multipart) aus dem JavaMail API.
+ - verify(mock).method(...): Überprüft Aufrufe auf Mocks; oft kombiniert mit ArgumentCaptor oder Matchern.
+*/
+
+
+
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.entity.BookingStatus;
+import com.hotel.booking.event.EntityChangedEvent;
+import com.hotel.booking.event.EntityChangedEvent.ChangeType;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.projection.RecentBooking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RecentBookingsFeedTest {
+
+    @Mock
+    BookingRepository bookingRepository;
+
+    RecentBookingsFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new RecentBookingsFeed(bookingRepository, 2);
+    }
+
+    @Test
+    public void getLatest_loadsOnePageOnlyOnce() {
+        LocalDate since = LocalDate.now().minusDays(RecentBookingsFeed.RECENT_DAYS);
+        when(bookingRepository.findRecentBookings(since, PageRequest.of(0, 2)))
+            .thenReturn(List.of(row(2L, LocalDate.now()), row(1L, LocalDate.now())));
+
+        feed.getLatest();
+        List<RecentBooking> latest = feed.getLatest();
+
+        assertEquals(List.of(2L, 1L), latest.stream().map(RecentBooking::id).toList());
+        verify(bookingRepository, times(1)).findRecentBookings(any(), any());
+        verify(bookingRepository, never()).findAll();
+    }
+
+    @Test
+    public void onBookingChanged_createdBookingEvictsOldest() {
+        when(bookingRepository.findRecentBookings(any(), any()))
+            .thenReturn(List.of(row(2L, LocalDate.now()), row(1L, LocalDate.now())));
+        when(bookingRepository.findRecentBookingById(3L)).thenReturn(Optional.of(row(3L, LocalDate.now())));
+        feed.getLatest();
+
+        feed.onBookingChanged(new EntityChangedEvent<>(booking(3L), ChangeType.CREATED));
+
+        assertEquals(List.of(3L, 2L), feed.getLatest().stream().map(RecentBooking::id).toList());
+    }
+
+    @Test
+    public void onBookingChanged_updatedBookingKeepsPosition() {
+        when(bookingRepository.findRecentBookings(any(), any()))
+            .thenReturn(List.of(row(2L, LocalDate.now()), row(1L, LocalDate.now())));
+        RecentBooking cancelled = new RecentBooking(2L, "B-2", "Anna Test", "101",
+            LocalDate.now(), BookingStatus.CANCELLED, LocalDate.now());
+        when(bookingRepository.findRecentBookingById(2L)).thenReturn(Optional.of(cancelled));
+        feed.getLatest();
+
+        feed.onBookingChanged(new EntityChangedEvent<>(booking(2L), ChangeType.UPDATED));
+
+        List<RecentBooking> latest = feed.getLatest();
+        assertEquals(BookingStatus.CANCELLED, latest.get(0).status());
+        assertEquals(2, latest.size());
+    }
+
+    @Test
+    public void onBookingChanged_deletedBookingReloadsFeed() {
+        when(bookingRepository.findRecentBookings(any(), any()))
+            .thenReturn(List.of(row(2L, LocalDate.now()), row(1L, LocalDate.now())));
+        feed.getLatest();
+
+        feed.onBookingChanged(new EntityChangedEvent<>(booking(2L), ChangeType.DELETED));
+        feed.getLatest();
+
+        verify(bookingRepository, times(2)).findRecentBookings(any(), any());
+    }
+
+    @Test
+    public void getLatest_hidesEntriesOlderThanFiveDays() {
+        when(bookingRepository.findRecentBookings(any(), any())).thenReturn(List.of());
+        when(bookingRepository.findRecentBookingById(9L))
+            .thenReturn(Optional.of(row(9L, LocalDate.now().minusDays(10))));
+        feed.getLatest();
+
+        feed.onBookingChanged(new EntityChangedEvent<>(booking(9L), ChangeType.CREATED));
+
+        assertTrue(feed.getLatest().isEmpty());
+    }
+
+    private static RecentBooking row(Long id, LocalDate createdAt) {
+        return new RecentBooking(id, "B-" + id, "Anna Test", "101", LocalDate.now(), BookingStatus.CONFIRMED, createdAt);
+    }
+
+    private static Booking booking(Long id) {
+        Booking booking = mock(Booking.class);
+        when(booking.getId()).thenReturn(id);
+        return booking;
+    }
+}
@@ -0,0 +1,137 @@
+package com.hotel.booking.service;
+
+/*
+ Kurze Erklärungen zu gängigen Test-Annotationen und Hilfsobjekten:
+ - @Mock: Erzeugt ein Mock-Objekt, das Aufrufe aufzeichnet und Verhalten stubbed.
+ - @InjectMocks: Erzeugt das zu testende Objekt und injiziert @Mock-Felder darin.
+ - @BeforeEach: Diese Methode läuft vor jedem Test zur Vorbereitung (Setup).
+ - @Test: Kennzeichnet eine Testmethode (JUnit 5 / Jupiter).
+ - assertEquals(expected, actual): Prüft, ob erwarteter und tatsächlicher Wert gleich sind (Reihenfolge wichtig).
+ - assertTrue(condition) / assertFalse(condition): Prüfen Wahrheitswerte in Tests.
+ - assertNull(x) / assertNotNull(x): Prüfen, ob ein Objekt (nicht) null ist.
+ - ArgumentCaptor<T>: Fängt Argumente ab, die an Mock-Methoden übergeben wurden, zum genaueren Prüfen.
+ - mock(Class.class): Erstellt ein Mockito-Mock-Objekt zur Isolierung von Abhängigkeiten.
+ - when(mock.method(...)).thenReturn(value): Stubbt das Rückgabeverhalten eines Mock-Objekts.
+ - any(): Matcher, der jeden Wert passenden Typs akzeptiert (z.B. any(String.class)).
+ - times(n) / never(): Geben an, wie oft eine Mock-Methode erwartet wird (z.B. verify(mock, times(1))).
+ - doReturn()/doThrow(): Alternative Stubbing-Syntax (z. B. für void-Methoden oder Spies).
+ - MimeMessage: Repräsentiert eine E-Mail (HTML/Multipart) aus dem JavaMail API.
+ - verify(mock).method(...): Überprüft Aufrufe auf Mocks; oft kombiniert mit ArgumentCaptor oder Matchern.
+*/
+
+
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.service.ReportComparisonService.ComparisonMode;
+import com.hotel.booking.service.ReportComparisonService.PeriodComparisonRow;
+import com.hotel.booking.service.ReportComparisonService.ReportPeriod;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ReportComparisonServiceTest {
+
+    @Mock
+    BookingRepository bookingRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    private ExecutorService executor;
+    private ReportComparisonService service;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        service = new ReportComparisonService(bookingRepository, transactionManager, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void buildPeriods_rolling12Months_returnsCalendarMonthsOldestFirst() {
+        List<ReportPeriod> periods = service.buildPeriods(ComparisonMode.ROLLING_12_MONTHS,
+            LocalDate.of(2025, 1, 10), LocalDate.of(2025, 3, 15));
+
+        assertEquals(12, periods.size());
+        assertEquals(LocalDate.of(2024, 4, 1), periods.get(0).from());
+        assertEquals(LocalDate.of(2025, 3, 31), periods.get(11).to());
+        assertEquals("Mar 2025", periods.get(11).label());
+    }
+
+    @Test
+    public void buildPeriods_yearOverYear_shiftsRangeByOneYear() {
+        LocalDate from = LocalDate.of(2025, 6, 1);
+        LocalDate to = LocalDate.of(2025, 6, 30);
+
+        List<ReportPeriod> periods = service.buildPeriods(ComparisonMode.YEAR_OVER_YEAR, from, to);
+
+        assertEquals(2, periods.size());
+        assertEquals(from.minusYears(1), periods.get(0).from());
+        assertEquals(to, periods.get(1).to());
+    }
+
+    @Test
+    public void compare_mergesPeriodsInOrderWithChanges() {
+        LocalDate from = LocalDate.of(2025, 6, 1);
+        LocalDate to = LocalDate.of(2025, 6, 30);
+        List<Object[]> previous = List.<Object[]>of(
+            new Object[] {LocalDate.of(2025, 5, 2), LocalDate.of(2025, 5, 4), new BigDecimal("200.00")});
+        List<Object[]> current = List.<Object[]>of(
+            new Object[] {LocalDate.of(2025, 6, 2), LocalDate.of(2025, 6, 3), new BigDecimal("100.00")},
+            new Object[] {LocalDate.of(2025, 6, 5), LocalDate.of(2025, 6, 8), new BigDecimal("200.00")});
+        when(bookingRepository.findReportFiguresCreatedBetween(from.minusMonths(1), to.minusMonths(1))).thenReturn(previous);
+        when(bookingRepository.findReportFiguresCreatedBetween(from, to)).thenReturn(current);
+
+        List<PeriodComparisonRow> rows = service.compare(ComparisonMode.MONTH_OVER_MONTH, from, to);
+
+        assertEquals(2, rows.size());
+        assertEquals(1, rows.get(0).bookings());
+        assertNull(rows.get(0).revenueChangePercent());
+
+        PeriodComparisonRow last = rows.get(1);
+        assertEquals(2, last.bookings());
+        assertEquals(0, last.revenue().compareTo(new BigDecimal("300.00")));
+        assertEquals(2.0, last.avgStayDays());
+        assertEquals(0, last.avgRevenuePerBooking().compareTo(new BigDecimal("150.00")));
+        assertEquals(50.0, last.revenueChangePercent());
+        assertEquals(100.0, last.bookingChangePercent());
+
+        // every period runs in its own read-only transaction
+        ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, times(2)).getTransaction(definitions.capture());
+        assertTrue(definitions.getAllValues().stream().allMatch(TransactionDefinition::isReadOnly));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    public void compare_propagatesWorkerFailure() {
+        when(bookingRepository.findReportFiguresCreatedBetween(any(), any()))
+            .thenThrow(new IllegalStateException("db down"));
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+            () -> service.compare(ComparisonMode.YEAR_OVER_YEAR, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31)));
+        assertEquals("db down", ex.getMessage());
+    }
+}
@@ -24,6 +24,8 @@ import com.hotel.booking.entity.BookingExtra;
 import com.hotel.booking.entity.BookingStatus;
 import com.hotel.booking.entity.RoomCategory;
 import com.hotel.booking.entity.User;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.RoomRepository;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
@@ -50,6 +52,12 @@ public class ReportServiceTest {
     @Mock
     BookingService bookingService;
 
+    @Mock
+    BookingRepository bookingRepository;
+
+    @Mock
+    RoomRepository roomRepository;
+
     @InjectMocks
     ReportService reportService;
 
@@ -112,4 +120,32 @@ public class ReportServiceTest {
         String s2 = reportService.createTrendString(0.0, 0.0);
         assertEquals("0% from last period", s2);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getTrendSeries_fillsDaysAndComputesOccupancy() {
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate to = LocalDate.of(2025, 3, 5);
+
+        java.util.List<Object[]> perDay = List.<Object[]>of(
+            new Object[] {LocalDate.of(2025, 3, 2), 2L, new BigDecimal("300.00")});
+        java.util.List<Object[]> stays = List.<Object[]>of(
+            // occupies the nights of 28.02., 01.03. and 02.03. -> counts on 01.03. and 02.03.
+            new Object[] {LocalDate.of(2025, 2, 28), LocalDate.of(2025, 3, 3)},
+            // occupies 02.03. and 03.03.
+            new Object[] {LocalDate.of(2025, 3, 2), LocalDate.of(2025, 3, 4)});
+
+        when(bookingRepository.sumBookingsAndRevenuePerDay(from, to)).thenReturn(perDay);
+        when(bookingRepository.findStayIntervals(from, to, BookingStatus.CANCELLED)).thenReturn(stays);
+        when(roomRepository.countByActiveTrue()).thenReturn(4L);
+
+        ReportService.TrendSeries series = reportService.getTrendSeries(from, to, 100);
+
+        assertEquals(5, series.revenue().size());
+        assertEquals(0.0, series.revenue().get(0).value());
+        assertEquals(300.0, series.revenue().get(1).value());
+        assertEquals(2.0, series.bookings().get(1).value());
+
+        assertEquals(List.of(25.0, 50.0, 25.0, 0.0, 0.0),
+            series.occupancy().stream().map(TimeSeriesPoint::value).toList());
+    }
+}
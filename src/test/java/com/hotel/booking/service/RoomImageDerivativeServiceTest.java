@@ -0,0 +1,169 @@
+package com.hotel.booking.service;
+
+/*
+ Kurze Erklärungen zu gängigen Test-Annotationen und Hilfsobjekten:
+ - @Mock: Erzeugt ein Mock-Objekt, das Aufrufe aufzeichnet und Verhalten stubbed.
+ - @InjectMocks: Erzeugt das zu testende Objekt und injiziert @Mock-Felder darin.
+ - @BeforeEach: Diese Methode läuft vor jedem Test zur Vorbereitung (Setup).
+ - @Test: Kennzeichnet eine Testmethode (JUnit 5 / Jupiter).
+ - assertEquals(expected, actual): Prüft, ob erwarteter und tatsächlicher Wert gleich sind (Reihenfolge wichtig).
+ - assertTrue(condition) / assertFalse(condition): Prüfen Wahrheitswerte in Tests.
+ - assertNull(x) / assertNotNull(x): Prüfen, ob ein Objekt (nicht) null ist.
+ - ArgumentCaptor<T>: Fängt Argumente ab, die an Mock-Methoden übergeben wurden, zum genaueren Prüfen.
+ - mock(Class.class): Erstellt ein Mockito-Mock-Objekt zur Isolierung von Abhängigkeiten.
+ - when(mock.method(...)).thenReturn(value): Stubbt das Rückgabeverhalten eines Mock-Objekts.
+ - any(): Matcher, der jeden Wert passenden Typs akzeptiert (z.B. any(String.class)).
+ - times(n) / never(): Geben an, wie oft eine Mock-Methode erwartet wird (z.B. verify(mock, times(1))).
+ - doReturn()/doThrow(): Alternative Stubbing-Syntax (z. B. für void-Methoden oder Spies).
+ - MimeMessage: Repräsentiert eine E-Mail (HTML/Multipart) aus dem JavaMail API.
+ - verify(mock).method(...): Überprüft Aufrufe auf Mocks; oft kombiniert mit ArgumentCaptor oder Matchern.
+*/
+
+
+
+import com.hotel.booking.entity.RoomImage;
+import com.hotel.booking.event.EntityChangedEvent;
+import com.hotel.booking.event.EntityChangedEvent.ChangeType;
+import com.hotel.booking.repository.RoomImageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class RoomImageDerivativeServiceTest {
+
+    @TempDir
+    Path imagesRoot;
+
+    RoomImageRepository roomImageRepository;
+    ExecutorService executor;
+    RoomImageDerivativeService service;
+
+    @BeforeEach
+    void setUp() {
+        roomImageRepository = mock(RoomImageRepository.class);
+        executor = Executors.newSingleThreadExecutor();
+        service = new RoomImageDerivativeService(roomImageRepository, executor, imagesRoot.toString(), "400,800,1600", true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private RoomImage upload(String fileName, int width, int height) throws Exception {
+        Path rooms = Files.createDirectories(imagesRoot.resolve("rooms"));
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", rooms.resolve(fileName).toFile());
+        RoomImage image = new RoomImage("/images/rooms/" + fileName, null);
+        image.setId(7L);
+        return image;
+    }
+
+    @Test
+    void generate_writesJpegForEveryWidthBelowOriginal() throws Exception {
+        RoomImage image = upload("photo.png", 1000, 750);
+
+        String recorded = service.schedule(image).get(10, TimeUnit.SECONDS);
+
+        assertEquals("400,800", recorded);
+        verify(roomImageRepository).updateDerivativeWidths(7L, "400,800");
+        BufferedImage small = ImageIO.read(imagesRoot.resolve("rooms/derivatives/photo_400w.jpg").toFile());
+        assertEquals(400, small.getWidth());
+        assertEquals(300, small.getHeight());
+        assertEquals(800, ImageIO.read(imagesRoot.resolve("rooms/derivatives/photo_800w.jpg").toFile()).getWidth());
+        assertFalse(Files.exists(imagesRoot.resolve("rooms/derivatives/photo_1600w.jpg")));
+    }
+
+    @Test
+    void generate_smallOrMissingOriginal_recordsNoDerivatives() throws Exception {
+        RoomImage small = upload("icon.png", 300, 200);
+        RoomImage missing = new RoomImage("/images/rooms/missing.png", null);
+        missing.setId(8L);
+
+        assertEquals("", service.schedule(small).get(10, TimeUnit.SECONDS));
+        assertEquals("", service.schedule(missing).get(10, TimeUnit.SECONDS));
+
+        verify(roomImageRepository).updateDerivativeWidths(7L, "");
+        verify(roomImageRepository).updateDerivativeWidths(8L, "");
+    }
+
+    @Test
+    void generate_bundledDemoImage_isMuchSmaller() throws Exception {
+        RoomImage demo = new RoomImage("/images/rooms/standard_001.png", null);
+        demo.setId(1L);
+
+        String recorded = service.schedule(demo).get(30, TimeUnit.SECONDS);
+
+        assertFalse(recorded.isEmpty());
+        long original = Files.size(Path.of("src/main/resources/static/images/rooms/standard_001.png"));
+        long card = Files.size(service.resolveDiskPath(RoomImage.derivativePath(demo.getImagePath(), 800)));
+        assertTrue(card * 5 < original, "the card derivative is a fraction of the original");
+    }
+
+    @Test
+    void onRoomImageChanged_schedulesOnlyNewImages() throws Exception {
+        RoomImage image = upload("photo.png", 1000, 750);
+
+        service.onRoomImageChanged(new EntityChangedEvent<>(image, ChangeType.UPDATED));
+        service.onRoomImageChanged(new EntityChangedEvent<>(image, ChangeType.CREATED));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        verify(roomImageRepository, times(1)).updateDerivativeWidths(anyLong(), any());
+    }
+
+    @Test
+    void generateMissing_disabled_doesNothing() {
+        RoomImageDerivativeService disabled =
+                new RoomImageDerivativeService(roomImageRepository, executor, imagesRoot.toString(), "400", false);
+
+        disabled.generateMissing();
+
+        verifyNoInteractions(roomImageRepository);
+    }
+
+    @Test
+    void generateMissing_processesImagesWithoutDerivatives() throws Exception {
+        RoomImage image = upload("photo.png", 1000, 750);
+        when(roomImageRepository.findWithoutDerivatives()).thenReturn(List.of(image));
+
+        service.generateMissing();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        verify(roomImageRepository).updateDerivativeWidths(7L, "400,800");
+    }
+
+    @Test
+    void resolveDiskPath_staysInsideImagesDirectory() {
+        assertEquals(imagesRoot.toAbsolutePath().resolve("rooms/a.png"), service.resolveDiskPath("/images/rooms/a.png"));
+        assertNull(service.resolveDiskPath("/images/../secret.png"));
+        assertNull(service.resolveDiskPath("https://example.com/a.png"));
+    }
+
+    @Test
+    void roomImage_picksSmallestFittingDerivative() {
+        RoomImage image = new RoomImage("/images/rooms/a.png", null);
+        assertEquals("/images/rooms/a.png", image.getImagePath(400));
+
+        image.setDerivativeWidths("400,800");
+
+        assertEquals("/images/rooms/derivatives/a_400w.jpg", image.getImagePath(160));
+        assertEquals("/images/rooms/derivatives/a_800w.jpg", image.getImagePath(800));
+        assertEquals("/images/rooms/a.png", image.getImagePath(1600));
+    }
+}
@@ -28,8 +28,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -41,11 +44,14 @@ public class RoomImageServiceTest {
     @Mock
     RoomImageRepository roomImageRepository;
 
+    @Mock
+    ResourceUrlProvider resourceUrlProvider;
+
     RoomImageService svc;
 
     @BeforeEach
     void setUp() {
-        svc = new RoomImageService(roomImageRepository, "target/test-images");
+        svc = new RoomImageService(roomImageRepository, resourceUrlProvider, "target/test-images");
     }
 
     @Test
@@ -114,4 +120,33 @@ public class RoomImageServiceTest {
 
         verify(roomImageRepository).delete(img);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void deleteImage_deletesOriginalAndDerivatives() throws Exception {
+        Path rooms = Files.createDirectories(Path.of("target/test-images/rooms/derivatives")).getParent();
+        Path original = Files.writeString(rooms.resolve("del.png"), "png");
+        Path derivative = Files.writeString(rooms.resolve("derivatives/del_400w.jpg"), "jpg");
+        RoomImage img = new RoomImage("/images/rooms/del.png", null);
+        img.setDerivativeWidths("400");
+
+        svc.deleteImage(img);
+
+        assertFalse(Files.exists(original));
+        assertFalse(Files.exists(derivative));
+        verify(roomImageRepository).delete(img);
+    }
+
+    @Test
+    public void getImageUrl_fingerprintsSmallestFittingDerivative() {
+        RoomImage img = new RoomImage("/images/rooms/a.png", null);
+        img.setDerivativeWidths("400,800");
+        when(resourceUrlProvider.getForLookupPath("/images/rooms/derivatives/a_400w.jpg"))
+                .thenReturn("/images/rooms/derivatives/a_400w-0123abcd.jpg");
+
+        assertEquals("/images/rooms/derivatives/a_400w-0123abcd.jpg", svc.getImageUrl(img, 160));
+        // Not resolvable (e.g. file missing): plain path
+        assertEquals("/images/rooms/derivatives/a_800w.jpg", svc.getImageUrl(img, 800));
+        assertEquals("/images/rooms/derivatives/a_400w-0123abcd.jpg 400w, /images/rooms/derivatives/a_800w.jpg 800w",
+                svc.getSrcSet(img));
+    }
+}
@@ -150,13 +150,13 @@ public class RoomServiceTest {
 
     @Test
     public void calculateStatistics_aggregatesCounts() {
-        when(roomRepo.count()).thenReturn(10L);
-        when(roomRepo.countByStatus(RoomStatus.AVAILABLE)).thenReturn(4L);
-        when(roomRepo.countByStatus(RoomStatus.OCCUPIED)).thenReturn(2L);
-        when(roomRepo.countByStatus(RoomStatus.CLEANING)).thenReturn(1L);
-        when(roomRepo.countByStatus(RoomStatus.RENOVATING)).thenReturn(0L);
-        when(roomRepo.countByStatus(RoomStatus.OUT_OF_SERVICE)).thenReturn(1L);
-        when(roomRepo.countByStatus(RoomStatus.INACTIVE)).thenReturn(2L);
+        // RENOVATING has no rooms and is therefore missing from the GROUP BY result
+        when(roomRepo.countGroupedByStatus()).thenReturn(List.of(
+                new Object[]{RoomStatus.AVAILABLE, 4L},
+                new Object[]{RoomStatus.OCCUPIED, 2L},
+                new Object[]{RoomStatus.CLEANING, 1L},
+                new Object[]{RoomStatus.OUT_OF_SERVICE, 1L},
+                new Object[]{RoomStatus.INACTIVE, 2L}));
         when(catSvc.getStatistics()).thenReturn(new long[]{3L,2L,1L});
 
         var stats = svc.calculateStatistics();
@@ -169,5 +169,9 @@ public class RoomServiceTest {
         assertEquals(1L, stats.outOfServiceRooms);
         assertEquals(2L, stats.inactiveRooms);
         assertEquals(3L, stats.totalCategories);
+        // one GROUP BY instead of count() plus one countByStatus per status
+        verify(roomRepo, times(1)).countGroupedByStatus();
+        verify(roomRepo, never()).countByStatus(any());
+        verify(roomRepo, never()).count();
     }
 }
\ No newline at end of file
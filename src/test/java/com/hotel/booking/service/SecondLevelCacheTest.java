@@ -0,0 +1,149 @@
+package com.hotel.booking.service;
+
+/*
+ Kurze Erklärungen zu gängigen Test-Annotationen und Hilfsobjekten:
+ - @Mock: Erzeugt ein Mock-Objekt, das Aufrufe aufzeichnet und Verhalten stubbed.
+ - @InjectMocks: Erzeugt das zu testende Objekt und injiziert @Mock-Felder darin.
+ - @BeforeEach: Diese Methode läuft vor jedem Test zur Vorbereitung (Setup).
+ - @Test: Kennzeichnet eine Testmethode (JUnit 5 / Jupiter).
+ - assertEquals(expected, actual): Prüft, ob erwarteter und tatsächlicher Wert gleich sind (Reihenfolge wichtig).
+ - assertTrue(condition) / assertFalse(condition): Prüfen Wahrheitswerte in Tests.
+ - assertNull(x) / assertNotNull(x): Prüfen, ob ein Objekt (nicht) null ist.
+ - ArgumentCaptor<T>: Fängt Argumente ab, die an Mock-Methoden übergeben wurden, zum genaueren Prüfen.
+ - mock(Class.class): Erstellt ein Mockito-Mock-Objekt zur Isolierung von Abhängigkeiten.
+ - when(mock.method(...)).thenReturn(value): Stubbt das Rückgabeverhalten eines Mock-Objekts.
+ - any(): Matcher, der jeden Wert passenden Typs akzeptiert (z.B. any(String.class)).
+ - times(n) / never(): Geben an, wie oft eine Mock-Methode erwartet wird (z.B. verify(mock, times(1))).
+ - doReturn()/doThrow(): Alternative Stubbing-Syntax (z. B. für void-Methoden oder Spies).
+ - MimeMessage: Repräsentiert eine E-Mail (HTML/Multipart) aus dem JavaMail API.
+ - verify(mock).method(...): Überprüft Aufrufe auf Mocks; oft kombiniert mit ArgumentCaptor oder Matchern.
+*/
+
+
+import com.hotel.booking.config.LocalCacheRegionFactory.RegionStatistics;
+import com.hotel.booking.entity.BookingExtra;
+import com.hotel.booking.entity.Room;
+import com.hotel.booking.entity.RoomCategory;
+import com.hotel.booking.entity.RoomImage;
+import com.hotel.booking.entity.RoomStatus;
+import com.hotel.booking.event.EntityChangePublisher;
+import com.hotel.booking.repository.RoomImageRepository;
+import com.hotel.booking.repository.RoomRepository;
+import com.hotel.booking.testsupport.HotelTestData;
+import com.hotel.booking.testsupport.QueryCountTest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.hotel.booking.testsupport.QueryAssertions.assertQueryCount;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the second-level cache of the reference data: repeated reads are served without
+ * SQL, and writes through the services are visible immediately afterwards.
+ */
+@QueryCountTest({RoomCategoryService.class, RoomService.class, BookingExtraService.class,
+        CacheStatisticsService.class, EntityChangePublisher.class})
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class SecondLevelCacheTest {
+
+    @Autowired RoomCategoryService roomCategoryService;
+    @Autowired RoomService roomService;
+    @Autowired BookingExtraService bookingExtraService;
+    @Autowired CacheStatisticsService cacheStatisticsService;
+    @Autowired RoomRepository roomRepository;
+    @Autowired RoomImageRepository roomImageRepository;
+    @Autowired HotelTestData testData;
+
+    private Long categoryId;
+
+    @BeforeAll
+    void seed() {
+        categoryId = testData.seed(4).categoryId();
+    }
+
+    @Test
+    public void activeCategories_secondReadIsServedFromCache() {
+        roomCategoryService.getActiveCategories();
+
+        List<RoomCategory> categories = assertQueryCount(0, () -> roomCategoryService.getActiveCategories());
+
+        assertFalse(categories.isEmpty());
+        categories.forEach(c -> {
+            assertFalse(c.getImages().isEmpty());
+            assertEquals(2, c.getAmenities().size());
+        });
+    }
+
+    @Test
+    public void bookingExtras_secondReadIsServedFromCache() {
+        bookingExtraService.getAllBookingExtras();
+
+        List<BookingExtra> extras = assertQueryCount(0, () -> bookingExtraService.getAllBookingExtras());
+
+        assertEquals("Breakfast", extras.get(0).getName());
+    }
+
+    @Test
+    public void toggleActive_invalidatesCachedCategoryLists() {
+        RoomCategory suite = roomCategoryService.createCategory("Suite", "Suite room",
+                BigDecimal.valueOf(250), 4, true);
+        assertTrue(names(roomCategoryService.getActiveCategories()).contains("Suite"));
+
+        roomCategoryService.toggleActive(suite.getCategory_id());
+
+        assertFalse(names(roomCategoryService.getActiveCategories()).contains("Suite"));
+        assertTrue(names(roomCategoryService.getInactiveCategories()).contains("Suite"));
+        assertFalse(roomCategoryService.getRoomCategoryById(suite.getCategory_id()).orElseThrow().getActive());
+    }
+
+    @Test
+    public void changeStatus_isVisibleOnNextRead() {
+        Long roomId = roomService.getAllRooms().get(0).getId();
+        roomService.getRoomById(roomId);
+
+        roomService.changeStatus(roomId, RoomStatus.CLEANING);
+
+        Room room = roomService.getRoomById(roomId).orElseThrow();
+        assertEquals(RoomStatus.CLEANING, room.getStatus());
+        assertNotNull(room.getCategory().getName());
+        roomService.changeStatus(roomId, RoomStatus.AVAILABLE);
+    }
+
+    @Test
+    public void imageSavedThroughItsRepository_evictsCachedImageList() {
+        int before = roomCategoryService.getRoomCategoryById(categoryId).orElseThrow().getImages().size();
+        RoomCategory category = roomCategoryService.getRoomCategoryById(categoryId).orElseThrow();
+
+        roomImageRepository.save(new RoomImage("single-extra.jpg", category));
+
+        assertEquals(before + 1, roomCategoryService.getRoomCategoryById(categoryId).orElseThrow().getImages().size());
+    }
+
+    @Test
+    public void regionStatistics_reportHits() {
+        roomCategoryService.getActiveCategories();
+        roomCategoryService.getActiveCategories();
+
+        List<RegionStatistics> statistics = cacheStatisticsService.getRegionStatistics();
+
+        RegionStatistics categories = statistics.stream()
+                .filter(s -> s.region().equals(RoomCategory.class.getName()))
+                .findFirst().orElseThrow();
+        assertTrue(categories.hits() > 0);
+        assertTrue(categories.hitRatio() > 0 && categories.hitRatio() <= 1);
+    }
+
+    private static List<String> names(List<RoomCategory> categories) {
+        return categories.stream().map(RoomCategory::getName).toList();
+    }
+}
@@ -0,0 +1,79 @@
+package com.hotel.booking.service;
+
+/*
+ Kurze Erklärungen zu gängigen Test-Annotationen und Hilfsobjekten:
+ - @Mock: Erzeugt ein Mock-Objekt, das Aufrufe aufzeichnet und Verhalten stubbed.
+ - @InjectMocks: Erzeugt das zu testende Objekt und injiziert @Mock-Felder darin.
+ - @BeforeEach: Diese Methode läuft vor jedem Test zur Vorbereitung (Setup).
+ - @Test: Kennzeichnet eine Testmethode (JUnit 5 / Jupiter).
+ - assertEquals(expected, actual): Prüft, ob erwarteter und tatsächlicher Wert gleich sind (Reihenfolge wichtig).
+ - assertTrue(condition) / assertFalse(condition): Prüfen Wahrheitswerte in Tests.
+ - assertNull(x) / assertNotNull(x): Prüfen, ob ein Objekt (nicht) null ist.
+ - ArgumentCaptor<T>: Fängt Argumente ab, die an Mock-Methoden übergeben wurden, zum genaueren Prüfen.
+ - mock(Class.class): Erstellt ein Mockito-Mock-Objekt zur Isolierung von Abhängigkeiten.
+ - when(mock.method(...)).thenReturn(value): Stubbt das Rückgabeverhalten eines Mock-Objekts.
+ - any(): Matcher, der jeden Wert passenden Typs akzeptiert (z.B. any(String.class)).
+ - times(n) / never(): Geben an, wie oft eine Mock-Methode erwartet wird (z.B. verify(mock, times(1))).
+ - doReturn()/doThrow(): Alternative Stubbing-Syntax (z. B. für void-Methoden oder Spies).
+ - MimeMessage: Repräsentiert eine E-Mail (HTML/Multipart) aus dem JavaMail API.
+ - verify(mock).method(...): Überprüft Aufrufe auf Mocks; oft kombiniert mit ArgumentCaptor oder Matchern.
+*/
+
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimeSeriesDownsamplerTest {
+
+    private static List<TimeSeriesPoint> series(int size) {
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        List<TimeSeriesPoint> points = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            points.add(new TimeSeriesPoint(start.plusDays(i), Math.sin(i / 10.0)));
+        }
+        return points;
+    }
+
+    @Test
+    public void returnsInputWhenBelowBudget() {
+        List<TimeSeriesPoint> data = series(50);
+        assertSame(data, TimeSeriesDownsampler.largestTriangleThreeBuckets(data, 100));
+    }
+
+    @Test
+    public void emptyOrNullInput_returnsEmptyList() {
+        assertTrue(TimeSeriesDownsampler.largestTriangleThreeBuckets(null, 10).isEmpty());
+        assertTrue(TimeSeriesDownsampler.largestTriangleThreeBuckets(List.of(), 10).isEmpty());
+    }
+
+    @Test
+    public void reducesToBudgetAndKeepsFirstAndLastPoint() {
+        List<TimeSeriesPoint> data = series(3650);
+        List<TimeSeriesPoint> sampled = TimeSeriesDownsampler.largestTriangleThreeBuckets(data, 400);
+
+        assertEquals(400, sampled.size());
+        assertEquals(data.get(0), sampled.get(0));
+        assertEquals(data.get(data.size() - 1), sampled.get(sampled.size() - 1));
+        for (int i = 1; i < sampled.size(); i++) {
+            assertTrue(sampled.get(i).date().isAfter(sampled.get(i - 1).date()));
+        }
+    }
+
+    @Test
+    public void keepsIsolatedSpike() {
+        List<TimeSeriesPoint> data = new ArrayList<>();
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < 1000; i++) {
+            data.add(new TimeSeriesPoint(start.plusDays(i), i == 517 ? 1000.0 : 1.0));
+        }
+
+        List<TimeSeriesPoint> sampled = TimeSeriesDownsampler.largestTriangleThreeBuckets(data, 50);
+
+        assertTrue(sampled.stream().anyMatch(p -> p.value() == 1000.0));
+    }
+}
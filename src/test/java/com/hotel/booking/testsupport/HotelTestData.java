@@ -0,0 +1,151 @@
+package com.hotel.booking.testsupport;
+
+import com.hotel.booking.entity.AdressEmbeddable;
+import com.hotel.booking.entity.Amenities;
+import com.hotel.booking.entity.Booking;
+import com.hotel.booking.entity.BookingExtra;
+import com.hotel.booking.entity.BookingStatus;
+import com.hotel.booking.entity.Feedback;
+import com.hotel.booking.entity.Invoice;
+import com.hotel.booking.entity.Room;
+import com.hotel.booking.entity.RoomCategory;
+import com.hotel.booking.entity.RoomImage;
+import com.hotel.booking.entity.RoomStatus;
+import com.hotel.booking.entity.User;
+import com.hotel.booking.entity.UserRole;
+import com.hotel.booking.repository.BookingExtraRepository;
+import com.hotel.booking.repository.BookingRepository;
+import com.hotel.booking.repository.FeedbackRepository;
+import com.hotel.booking.repository.InvoiceRepository;
+import com.hotel.booking.repository.RoomCategoryRepository;
+import com.hotel.booking.repository.RoomRepository;
+import com.hotel.booking.repository.UserRepository;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Seeds a small but complete hotel for repository and query-count tests.
+ * <p>
+ * {@link #seed(int)} creates the extra "Breakfast", the categories "Single" and "Double"
+ * (one image and two amenities each), the guests {@code guest1} and {@code guest2}
+ * and one room plus booking per requested booking. Rooms and guests alternate, so booking
+ * {@code i} lies in room {@code 101 + i}, category {@code i % 2} and belongs to guest
+ * {@code i % 2 + 1}. The first half of the bookings are completed stays in the past with a
+ * feedback (rating 4), the second half are confirmed future stays. Every booking has an
+ * invoice and the breakfast extra.
+ * </p>
+ */
+@TestComponent
+public class HotelTestData {
+
+    private final UserRepository userRepository;
+    private final RoomCategoryRepository roomCategoryRepository;
+    private final RoomRepository roomRepository;
+    private final BookingExtraRepository extraRepository;
+    private final BookingRepository bookingRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final FeedbackRepository feedbackRepository;
+
+    public HotelTestData(UserRepository userRepository, RoomCategoryRepository roomCategoryRepository,
+                         RoomRepository roomRepository, BookingExtraRepository extraRepository,
+                         BookingRepository bookingRepository, InvoiceRepository invoiceRepository,
+                         FeedbackRepository feedbackRepository) {
+        this.userRepository = userRepository;
+        this.roomCategoryRepository = roomCategoryRepository;
+        this.roomRepository = roomRepository;
+        this.extraRepository = extraRepository;
+        this.bookingRepository = bookingRepository;
+        this.invoiceRepository = invoiceRepository;
+        this.feedbackRepository = feedbackRepository;
+    }
+
+    /**
+     * Ids of the seeded entities that tests typically start from.
+     *
+     * @param guestId    {@code guest1}
+     * @param categoryId the "Single" category
+     * @param bookingId  booking {@code BK-0} (past, room 101, guest1)
+     * @param invoiceId  invoice {@code INV-0} of that booking
+     */
+    public record Seed(Long guestId, Long categoryId, Long bookingId, Long invoiceId) {
+    }
+
+    /**
+     * Seeds the hotel in one transaction. Call it once per test context.
+     *
+     * @param bookings number of rooms and bookings to create
+     * @return the ids of the starting entities
+     */
+    @Transactional
+    public Seed seed(int bookings) {
+        BookingExtra breakfast = new BookingExtra(null, "Breakfast", "Buffet", 15.0);
+        breakfast.setPerPerson(true);
+        breakfast = extraRepository.save(breakfast);
+
+        List<RoomCategory> categories = List.of(category("Single"), category("Double"));
+        List<User> guests = List.of(guest(1), guest(2));
+        LocalDate today = LocalDate.now();
+
+        Long bookingId = null;
+        Long invoiceId = null;
+        for (int i = 0; i < bookings; i++) {
+            RoomCategory category = categories.get(i % 2);
+            Room room = new Room(category, RoomStatus.AVAILABLE, true);
+            room.setRoomNumber(String.valueOf(101 + i));
+            room.setFloor(1);
+            room = roomRepository.save(room);
+
+            boolean past = i < bookings / 2;
+            Booking booking = new Booking("BK-" + i,
+                    past ? today.minusDays(10 + i) : today.plusDays(i),
+                    past ? today.minusDays(7 + i) : today.plusDays(i + 2),
+                    past ? BookingStatus.COMPLETED : BookingStatus.CONFIRMED,
+                    guests.get(i % 2), category);
+            booking.setRoom(room);
+            booking.setAmount(2);
+            booking.setTotalPrice(BigDecimal.valueOf(200 + i));
+            booking.setExtras(new HashSet<>(Set.of(breakfast)));
+            booking = bookingRepository.save(booking);
+
+            Invoice invoice = new Invoice("INV-" + i, booking.getTotalPrice(), Invoice.PaymentMethod.CARD);
+            invoice.setBooking(booking);
+            invoice = invoiceRepository.save(invoice);
+
+            if (past) {
+                Feedback feedback = new Feedback(4, "Nice stay");
+                feedback.setBooking(booking);
+                feedbackRepository.save(feedback);
+            }
+            if (i == 0) {
+                bookingId = booking.getId();
+                invoiceId = invoice.getId();
+            }
+        }
+        return new Seed(guests.get(0).getId(), categories.get(0).getCategory_id(), bookingId, invoiceId);
+    }
+
+    private RoomCategory category(String name) {
+        RoomCategory category = new RoomCategory();
+        category.setName(name);
+        category.setDescription(name + " room");
+        category.setPricePerNight(BigDecimal.valueOf(90));
+        category.setMaxOccupancy(2);
+        category.setActive(true);
+        category.setAmenities(EnumSet.of(Amenities.BALCONY, Amenities.AIRCONDITIONING));
+        category.getImages().add(new RoomImage(name.toLowerCase() + ".jpg", category));
+        return roomCategoryRepository.save(category);
+    }
+
+    private User guest(int n) {
+        return userRepository.save(new User("guest" + n, "First" + n, "Last" + n,
+                new AdressEmbeddable("Street", "1", "33602", "Bielefeld", "Germany"),
+                "guest" + n + "@example.com", "Test123!", UserRole.GUEST, true));
+    }
+}
@@ -0,0 +1,18 @@
+package com.hotel.booking.testsupport;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Query budget of a whole test method, checked by the {@link QueryCountExtension} after
+ * the test has run. Statements executed by {@code @BeforeEach} methods are not counted.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MaxQueries {
+
+    /** Maximum number of SQL statements the test method may execute. */
+    int value();
+}
@@ -0,0 +1,79 @@
+package com.hotel.booking.testsupport;
+
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+import org.opentest4j.AssertionFailedError;
+
+import java.util.List;
+
+/**
+ * Assertions on the number of SQL statements a piece of code executes.
+ * <p>
+ * Requires the {@link QueryCountingDataSource}, e.g. via {@link QueryCountTest}. Typical use:
+ * </p>
+ * <pre>{@code
+ * List<RoomCategory> result = assertQueries(3, () -> bookingService.availableRoomCategoriesSearch(...));
+ * }</pre>
+ */
+public final class QueryAssertions {
+
+    private QueryAssertions() {
+    }
+
+    /**
+     * Runs {@code call} and fails if it executes more than {@code max} statements.
+     *
+     * @return the result of the call
+     */
+    public static <T> T assertQueries(int max, ThrowingSupplier<T> call) {
+        QueryCounter.reset();
+        T result = get(call);
+        check(QueryCounter.statements(), max, false);
+        return result;
+    }
+
+    /**
+     * Runs {@code call} and fails if it executes more than {@code max} statements.
+     */
+    public static void assertQueries(int max, Executable call) {
+        assertQueries(max, () -> {
+            call.execute();
+            return null;
+        });
+    }
+
+    /**
+     * Runs {@code call} and fails unless it executes exactly {@code expected} statements.
+     *
+     * @return the result of the call
+     */
+    public static <T> T assertQueryCount(int expected, ThrowingSupplier<T> call) {
+        QueryCounter.reset();
+        T result = get(call);
+        check(QueryCounter.statements(), expected, true);
+        return result;
+    }
+
+    static void check(List<String> statements, int limit, boolean exact) {
+        boolean failed = exact ? statements.size() != limit : statements.size() > limit;
+        if (failed) {
+            StringBuilder message = new StringBuilder()
+                    .append(exact ? "Expected " : "Expected at most ").append(limit)
+                    .append(" SQL statements but ").append(statements.size()).append(" were executed:");
+            for (int i = 0; i < statements.size(); i++) {
+                message.append(System.lineSeparator()).append(i + 1).append(": ").append(statements.get(i));
+            }
+            throw new AssertionFailedError(message.toString(), limit, statements.size());
+        }
+    }
+
+    private static <T> T get(ThrowingSupplier<T> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.hotel.booking.testsupport;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * JUnit 5 extension that resets the {@link QueryCounter} right before each test method and
+ * enforces its {@link MaxQueries} budget afterwards.
+ */
+public class QueryCountExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        QueryCounter.reset();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+        MaxQueries budget = context.getRequiredTestMethod().getAnnotation(MaxQueries.class);
+        if (budget != null) {
+            QueryAssertions.check(QueryCounter.statements(), budget.value(), false);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.hotel.booking.testsupport;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.annotation.AliasFor;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * JPA slice test on H2 with statement counting.
+ * <p>
+ * Starts the repositories, wraps the data source with a {@link QueryCountingDataSource},
+ * registers the {@link QueryCountExtension} and imports {@link HotelTestData} plus the given
+ * services. There is no surrounding test transaction: every service call runs in its own
+ * transaction and returns detached entities, exactly as in the views. Seeded data therefore
+ * stays in the database for the lifetime of the test context.
+ * </p>
+ * <p>
+ * The second-level cache is switched off so that the counts reflect the database access plan;
+ * a test class can switch it on again with its own {@code @TestPropertySource}.
+ * </p>
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@DataJpaTest(showSql = false)
+@Import({QueryCountingConfiguration.class, HotelTestData.class})
+@ExtendWith(QueryCountExtension.class)
+@TestPropertySource(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public @interface QueryCountTest {
+
+    /** Services (and other beans) to start in addition to the repositories. */
+    @AliasFor(annotation = Import.class, attribute = "value")
+    Class<?>[] value() default {};
+}
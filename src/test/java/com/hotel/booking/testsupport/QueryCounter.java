@@ -0,0 +1,50 @@
+package com.hotel.booking.testsupport;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the SQL statements executed and the result set rows read through a
+ * {@link QueryCountingDataSource}.
+ * <p>
+ * The counter is global rather than per thread because services such as the report
+ * comparison run their queries on worker threads. Tests using it must not run in parallel.
+ * </p>
+ */
+public final class QueryCounter {
+
+    private static final List<String> STATEMENTS = new ArrayList<>();
+    private static long rows;
+
+    private QueryCounter() {
+    }
+
+    /** Forgets all statements and rows recorded so far. */
+    public static synchronized void reset() {
+        STATEMENTS.clear();
+        rows = 0;
+    }
+
+    /** Number of statements executed since the last {@link #reset()}. */
+    public static synchronized int count() {
+        return STATEMENTS.size();
+    }
+
+    /** The statements executed since the last {@link #reset()}, in execution order. */
+    public static synchronized List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+
+    /** Number of result set rows read since the last {@link #reset()}. */
+    public static synchronized long rows() {
+        return rows;
+    }
+
+    static synchronized void recordRow() {
+        rows++;
+    }
+
+    static synchronized void record(String sql) {
+        STATEMENTS.add(sql);
+    }
+}
@@ -0,0 +1,91 @@
+package com.hotel.booking.testsupport;
+
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Set;
+import javax.sql.DataSource;
+
+/**
+ * Wraps a {@link DataSource} so that every executed statement and every row read is
+ * recorded in the {@link QueryCounter}.
+ * <p>
+ * Connections, statements and result sets handed out by the wrapped data source are JDK
+ * proxies; a statement counts once per {@code execute*} call, a JDBC batch counts once per
+ * {@code executeBatch}, a row counts once per successful {@code ResultSet.next()}.
+ * </p>
+ */
+public final class QueryCountingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate",
+            "executeBatch", "executeLargeBatch");
+
+    private QueryCountingDataSource() {
+    }
+
+    /**
+     * Returns a proxy of {@code target} implementing all of its interfaces.
+     *
+     * @param target the data source to wrap
+     * @return the counting data source
+     */
+    public static DataSource wrap(DataSource target) {
+        return proxy(target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Connection connection ? wrap(connection) : result;
+        });
+    }
+
+    private static Connection wrap(Connection target) {
+        return proxy(target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Statement statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                return wrap(statement, sql);
+            }
+            return result;
+        });
+    }
+
+    private static Statement wrap(Statement target, String preparedSql) {
+        return proxy(target, (proxy, method, args) -> {
+            if (EXECUTE_METHODS.contains(method.getName())) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+                QueryCounter.record(sql);
+            }
+            Object result = invoke(target, method, args);
+            return result instanceof ResultSet resultSet ? wrap(resultSet) : result;
+        });
+    }
+
+    private static ResultSet wrap(ResultSet target) {
+        return proxy(target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                QueryCounter.recordRow();
+            }
+            return result;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(T target, InvocationHandler handler) {
+        Class<?>[] interfaces = ClassUtils.getAllInterfaces(target);
+        return (T) Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(), interfaces, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
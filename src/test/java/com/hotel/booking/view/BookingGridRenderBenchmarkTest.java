@@ -0,0 +1,277 @@
+package com.hotel.booking.view;
+
+/*
+ Kurze Erklärungen zu gängigen Test-Annotationen und Hilfsobjekten:
+ - @Mock: Erzeugt ein Mock-Objekt, das Aufrufe aufzeichnet und Verhalten stubbed.
+ - @InjectMocks: Erzeugt das zu testende Objekt und injiziert @Mock-Felder darin.
+ - @BeforeEach: Diese Methode läuft vor jedem Test zur Vorbereitung (Setup).
+ - @Test: Kennzeichnet eine Testmethode (JUnit 5 / Jupiter).
+ - assertEquals(expected, actual): Prüft, ob erwarteter und tatsächlicher Wert gleich sind (Reihenfolge wichtig).
+ - assertTrue(condition) / assertFalse(condition): Prüfen Wahrheitswerte in Tests.
+ - assertNull(x) / assertNotNull(x): Prüfen, ob ein Objekt (nicht) null ist.
+ - ArgumentCaptor<T>: Fängt Argumente ab, die an Mock-Methoden übergeben wurden, zum genaueren Prüfen.
+ - mock(Class.class): Erstellt ein Mockito-Mock-Objekt zur Isolierung von Abhängigkeiten.
+ - when(mock.method(...)).thenReturn(value): Stubbt das Rückgabeverhalten eines Mock-Objekts.
+ - any(): Matcher, der jeden Wert passenden Typs akzeptiert (z.B. any(String.class)).
+ - times(n) / never(): Geben an, wie oft eine Mock-Methode erwartet wird (z.B. verify(mock, times(1))).
+ - doReturn()/doThrow(): Alternative Stubbing-Syntax (z. B. für void-Methoden oder Spies).
+ - MimeMessage: Repräsentiert eine E-Mail (HTML/Multipart) aus dem JavaMail API.
+ - verify(mock).method(...): Überprüft Aufrufe auf Mocks; oft kombiniert mit ArgumentCaptor oder Matchern.
+*/
+
+
+import com.hotel.booking.entity.BookingStatus;
+import com.hotel.booking.repository.projection.BookingRow;
+import com.hotel.booking.security.SessionService;
+import com.hotel.booking.service.BookingCancellationService;
+import com.hotel.booking.service.BookingFormService;
+import com.hotel.booking.service.BookingModificationService;
+import com.hotel.booking.service.BookingService;
+import com.hotel.booking.service.FrontDeskService;
+import com.hotel.booking.service.InvoiceService;
+import com.hotel.booking.service.PaymentService;
+import com.hotel.booking.service.RoomCategoryService;
+import com.hotel.booking.service.RoomService;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.icon.VaadinIcon;
+import com.vaadin.flow.component.notification.Notification;
+import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.dom.ElementUtil;
+import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.server.VaadinContext;
+import com.vaadin.flow.server.VaadinRequest;
+import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.server.startup.ApplicationConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares the server-side components and the serialized session of {@link BookingManagementView}
+ * with {@value #ROWS} bookings in view.
+ * <p>
+ * The view runs in a UI of a locked {@link VaadinSession} without servlet; the services are mocks
+ * and the booking grid fetches and shows all rows in one page. <b>Before</b> replaces the status and action
+ * columns with the former per-row component columns ({@code createStatusBadge} and
+ * {@code createActionButtons} as they were before the LitRenderer templates). <b>After</b> is the
+ * view as it is. The session is written as in production mode, where it includes the UIs; service
+ * references are left out and rows are written as their values, so both cases carry the same
+ * data. The figures are logged; the assertions guard that the templates add no component per row
+ * and shrink the session.
+ * </p>
+ */
+class BookingGridRenderBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingGridRenderBenchmarkTest.class);
+
+    private static final int ROWS = 1_000;
+
+    private final List<BookingRow> rows = IntStream.range(0, ROWS)
+            .mapToObj(i -> new BookingRow((long) i, "BK-" + i, "Guest " + i, String.valueOf(101 + i), 2,
+                    LocalDate.now().plusDays(i), LocalDate.now().plusDays(i + 2), BigDecimal.valueOf(200 + i),
+                    BookingStatus.values()[i % BookingStatus.values().length], LocalDate.now()))
+            .toList();
+
+    @AfterEach
+    void clearCurrentInstances() {
+        UI.setCurrent(null);
+        VaadinSession.setCurrent(null);
+    }
+
+    @Test
+    void litRendererColumns_addNoComponentsPerRow_andShrinkTheSession() throws IOException {
+        Measurement before = render(grid -> {
+            List<Grid.Column<BookingRow>> columns = grid.getColumns();
+            grid.removeColumn(columns.get(columns.size() - 1));
+            grid.removeColumn(columns.get(columns.size() - 2));
+            grid.addComponentColumn(BookingGridRenderBenchmarkTest::createStatusBadge).setHeader("Status");
+            grid.addComponentColumn(BookingGridRenderBenchmarkTest::createActionButtons).setHeader("Actions");
+        });
+        Measurement after = render(grid -> {
+        });
+
+        log.info("{} rows in view", ROWS);
+        log.info("before (component columns): {} components, {} KB serialized session", before.components(), before.sessionBytes() / 1024);
+        log.info("after (LitRenderer): {} components, {} KB serialized session", after.components(), after.sessionBytes() / 1024);
+
+        // Badge plus layout, buttons and icons of the actions in every row
+        assertTrue(before.components() - after.components() >= 4 * ROWS,
+                "before " + before.components() + ", after " + after.components());
+        assertTrue(after.components() < ROWS, "after " + after.components());
+        assertTrue(after.sessionBytes() < before.sessionBytes(),
+                "before " + before.sessionBytes() + " B, after " + after.sessionBytes() + " B");
+    }
+
+    // Renders the view with all rows in the viewport, after letting the caller adjust the booking grid
+    private Measurement render(Consumer<Grid<BookingRow>> customizeBookingGrid) throws IOException {
+        VaadinSession session = createSession();
+        VaadinSession.setCurrent(session);
+        UI ui = new UI();
+        ui.getInternals().setSession(session);
+        ui.doInit(mock(VaadinRequest.class), 1, "benchmark");
+        session.addUI(ui);
+        UI.setCurrent(ui);
+
+        BookingService bookingService = mock(BookingService.class);
+        when(bookingService.findBookings(any(), any())).thenAnswer(invocation -> {
+            Pageable page = invocation.getArgument(1);
+            int from = (int) Math.min(page.getOffset(), ROWS);
+            return rows.subList(from, Math.min(from + page.getPageSize(), ROWS));
+        });
+        when(bookingService.countBookings(any())).thenReturn((long) ROWS);
+        BookingManagementView view = new BookingManagementView(mock(SessionService.class), bookingService,
+                mock(FrontDeskService.class), mock(BookingFormService.class), mock(BookingModificationService.class),
+                mock(BookingCancellationService.class), mock(RoomCategoryService.class), mock(RoomService.class),
+                mock(PaymentService.class), mock(InvoiceService.class));
+        ui.add(view);
+
+        Grid<BookingRow> grid = bookingGrid(view);
+        customizeBookingGrid.accept(grid);
+        grid.setPageSize(ROWS);
+        grid.getDataCommunicator().setViewportRange(0, ROWS);
+        ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
+        ui.getInternals().getStateTree().collectChanges(change -> {
+        });
+
+        int[] components = {0};
+        ui.getElement().getNode().visitNodeTree(node -> {
+            if (ElementUtil.from(node).flatMap(Element::getComponent).isPresent()) {
+                components[0]++;
+            }
+        });
+        return new Measurement(components[0], serializedSize(session));
+    }
+
+    // The grid with the status and action columns; the check-in/out grid has fewer columns
+    @SuppressWarnings("unchecked")
+    private static Grid<BookingRow> bookingGrid(Component root) {
+        return (Grid<BookingRow>) descendants(root)
+                .filter(component -> component instanceof Grid<?> grid && grid.getColumns().size() == 9)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static Stream<Component> descendants(Component root) {
+        return Stream.concat(Stream.of(root), root.getChildren().flatMap(BookingGridRenderBenchmarkTest::descendants));
+    }
+
+    private static VaadinSession createSession() {
+        ApplicationConfiguration configuration = mock(ApplicationConfiguration.class);
+        when(configuration.isProductionMode()).thenReturn(true);
+        VaadinContext context = mock(VaadinContext.class);
+        when(context.getAttribute(eq(ApplicationConfiguration.class), any())).thenReturn(configuration);
+        VaadinService service = mock(VaadinService.class);
+        when(service.getContext()).thenReturn(context);
+        DeploymentConfiguration deploymentConfiguration = mock(DeploymentConfiguration.class);
+        when(service.getDeploymentConfiguration()).thenReturn(deploymentConfiguration);
+
+        VaadinSession session = new LockedSession(service);
+        session.setConfiguration(deploymentConfiguration);
+        return session;
+    }
+
+    private static int serializedSize(VaadinSession session) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new SessionOutputStream(bytes)) {
+            out.writeObject(session);
+        }
+        return bytes.size();
+    }
+
+    // The former status column: one Span per row
+    private static Component createStatusBadge(BookingRow row) {
+        BookingStatus st = row != null ? row.status() : null;
+        Span badge = new Span(st != null ? st.name() : "UNKNOWN");
+        badge.addClassName("status-badge");
+        badge.addClassName("status-" + (st != null ? st.name().toLowerCase() : "unknown"));
+        return badge;
+    }
+
+    // The former action column: a layout with up to three buttons and their icons per row
+    private static Component createActionButtons(BookingRow row) {
+        HorizontalLayout actions = new HorizontalLayout();
+        actions.setSpacing(true);
+        actions.addClassName("booking-actions");
+
+        Button viewBtn = new Button("View", VaadinIcon.EYE.create());
+        viewBtn.addClickListener(e -> Notification.show(row.bookingNumber()));
+        actions.add(viewBtn);
+
+        BookingStatus status = row.status();
+        if (status != BookingStatus.CONFIRMED && status != BookingStatus.CANCELLED && status != BookingStatus.COMPLETED) {
+            Button editBtn = new Button("Edit", VaadinIcon.EDIT.create());
+            editBtn.addClickListener(e -> Notification.show(row.bookingNumber()));
+            actions.add(editBtn);
+        }
+
+        if (status == BookingStatus.PENDING || status == BookingStatus.MODIFIED || status == BookingStatus.CONFIRMED) {
+            Button cancelBtn = new Button("Cancel", VaadinIcon.CLOSE.create());
+            cancelBtn.addClickListener(e -> Notification.show(row.bookingNumber()));
+            actions.add(cancelBtn);
+        }
+
+        return actions;
+    }
+
+    // Session of a request thread: always holds the lock
+    private static class LockedSession extends VaadinSession {
+
+        LockedSession(VaadinService service) {
+            super(service);
+        }
+
+        @Override
+        public boolean hasLock() {
+            return true;
+        }
+    }
+
+    // Leaves out the mocked services and writes rows as their values
+    private static class SessionOutputStream extends ObjectOutputStream {
+
+        SessionOutputStream(ByteArrayOutputStream out) throws IOException {
+            super(out);
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(Object obj) {
+            if (mockingDetails(obj).isMock()) {
+                return null;
+            }
+            if (obj instanceof BookingRow row) {
+                return new Object[]{row.id(), row.bookingNumber(), row.guestName(), row.roomNumber(), row.amount(),
+                        row.checkInDate(), row.checkOutDate(), row.totalPrice(), row.status(), row.createdAt()};
+            }
+            return obj;
+        }
+    }
+
+    private record Measurement(int components, int sessionBytes) {
+    }
+}